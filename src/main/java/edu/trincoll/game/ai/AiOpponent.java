@@ -0,0 +1,65 @@
+package edu.trincoll.game.ai;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.roster.Roster;
+import edu.trincoll.game.roster.RosterAction;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Computer-controlled side of a battle.
+ *
+ * Chooses one action per decision for its team by searching over the
+ * attacks, power attacks and heals available to it, using the configured
+ * algorithm and time budget. Damage comes from the characters' own
+ * strategies: every candidate is played out on a persistent Roster.
+ *
+ * An opponent is bound to one matchup (its team and the enemy team, as
+ * roster slots) and keeps its transposition table between decisions.
+ */
+public class AiOpponent {
+    private final SearchConfig config;
+    private final int[] team;
+    private final int[] enemies;
+    private final MoveGenerator moves;
+    private final TranspositionTable table;
+
+    public AiOpponent(SearchConfig config, int[] team, int[] enemies) {
+        this.config = Objects.requireNonNull(config, "Config cannot be null");
+        if (team.length == 0 || enemies.length == 0) {
+            throw new IllegalArgumentException("Both teams need at least one member");
+        }
+        this.team = team.clone();
+        this.enemies = enemies.clone();
+        this.moves = new MoveGenerator(config.healAmount());
+        this.table = new TranspositionTable(config.tableSize());
+    }
+
+    /**
+     * Choose the team's next action, or empty if it has no legal move.
+     */
+    public Optional<RosterAction> chooseAction(Roster roster) {
+        long deadline = System.nanoTime() + config.timeBudget().toNanos();
+        RosterAction action = switch (config.algorithm()) {
+            case ALPHA_BETA -> new AlphaBetaSearch(config, moves, table, team, enemies).search(roster, deadline);
+            case MONTE_CARLO -> new MonteCarloTreeSearch(config, moves, team, enemies).search(roster, deadline);
+        };
+        return Optional.ofNullable(action);
+    }
+
+    /**
+     * Choose an action for live characters (slot i is characters.get(i)).
+     */
+    public Optional<RosterAction> chooseAction(List<Character> characters) {
+        return chooseAction(Roster.of(characters));
+    }
+
+    /**
+     * Forget cached positions, e.g. after the rosters were changed outside the search.
+     */
+    public void clearTable() {
+        table.clear();
+    }
+}
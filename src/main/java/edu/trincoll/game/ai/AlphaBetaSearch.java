@@ -0,0 +1,150 @@
+package edu.trincoll.game.ai;
+
+import edu.trincoll.game.roster.Roster;
+import edu.trincoll.game.roster.RosterAction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Iterative-deepening negamax with alpha-beta pruning.
+ *
+ * Each finished depth replaces the best move; when the budget runs out
+ * mid-depth the last finished answer is used. Backtracking is free:
+ * children are persistent Roster versions, so nothing has to be undone.
+ */
+final class AlphaBetaSearch {
+    private static final long SIDE_TO_MOVE_KEY = 0x2545F4914F6CDD1DL;
+
+    private static final class TimeUp extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private TimeUp() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final TimeUp TIME_UP = new TimeUp();
+
+    private final SearchConfig config;
+    private final MoveGenerator moves;
+    private final TranspositionTable table;
+    private final int[] us;
+    private final int[] them;
+    private long deadline;
+    private int nodes;
+
+    AlphaBetaSearch(SearchConfig config, MoveGenerator moves, TranspositionTable table, int[] us, int[] them) {
+        this.config = config;
+        this.moves = moves;
+        this.table = table;
+        this.us = us;
+        this.them = them;
+    }
+
+    RosterAction search(Roster root, long deadline) {
+        this.deadline = deadline;
+        List<Move> rootMoves = moves.generate(root, us, them);
+        RosterAction best = rootMoves.get(0).action();
+        if (rootMoves.size() == 1) {
+            return best;
+        }
+        for (int depth = 1; depth <= config.maxDepth(); depth++) {
+            try {
+                int alpha = -Integer.MAX_VALUE;
+                Move depthBest = null;
+                for (Move move : rootMoves) {
+                    int score = -negamax(move.result(), false, depth - 1, -Integer.MAX_VALUE, -alpha);
+                    if (depthBest == null || score > alpha) {
+                        alpha = score;
+                        depthBest = move;
+                    }
+                }
+                best = depthBest.action();
+                // Search the previous best first at the next depth
+                rootMoves.remove(depthBest);
+                rootMoves.add(0, depthBest);
+                if (alpha >= Evaluator.WIN) {
+                    break;
+                }
+            } catch (TimeUp timeUp) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    private int negamax(Roster roster, boolean usToMove, int depth, int alpha, int beta) {
+        if ((++nodes & 63) == 0 && System.nanoTime() > deadline) {
+            throw TIME_UP;
+        }
+        int[] mover = usToMove ? us : them;
+        int[] other = usToMove ? them : us;
+        if (Evaluator.defeated(roster, mover)) {
+            return -Evaluator.WIN - depth;
+        }
+        if (Evaluator.defeated(roster, other)) {
+            return Evaluator.WIN + depth;
+        }
+        if (depth == 0) {
+            return Evaluator.score(roster, mover, other);
+        }
+
+        long key = roster.statsHash() ^ (usToMove ? SIDE_TO_MOVE_KEY : 0);
+        int originalAlpha = alpha;
+        TranspositionTable.Entry entry = table.probe(key);
+        int hinted = -1;
+        if (entry != null) {
+            hinted = entry.bestMove();
+            if (entry.depth() >= depth) {
+                if (entry.bound() == TranspositionTable.EXACT) {
+                    return entry.score();
+                } else if (entry.bound() == TranspositionTable.LOWER_BOUND) {
+                    alpha = Math.max(alpha, entry.score());
+                } else {
+                    beta = Math.min(beta, entry.score());
+                }
+                if (alpha >= beta) {
+                    return entry.score();
+                }
+            }
+        }
+
+        List<Move> children = moves.generate(roster, mover, other);
+        List<Integer> order = order(children, hinted, mover, other);
+        int best = -Integer.MAX_VALUE;
+        int bestIndex = order.get(0);
+        for (int index : order) {
+            int score = -negamax(children.get(index).result(), !usToMove, depth - 1, -beta, -alpha);
+            if (score > best) {
+                best = score;
+                bestIndex = index;
+            }
+            alpha = Math.max(alpha, score);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        byte bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+            : best >= beta ? TranspositionTable.LOWER_BOUND
+            : TranspositionTable.EXACT;
+        table.store(key, depth, best, bound, bestIndex);
+        return best;
+    }
+
+    /**
+     * Table move first, then the rest by static score for the mover.
+     */
+    private static List<Integer> order(List<Move> children, int hinted, int[] mover, int[] other) {
+        int[] scores = new int[children.size()];
+        List<Integer> order = new ArrayList<>(children.size());
+        for (int i = 0; i < children.size(); i++) {
+            scores[i] = i == hinted ? Integer.MAX_VALUE : Evaluator.score(children.get(i).result(), mover, other);
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt((Integer i) -> scores[i]).reversed());
+        return order;
+    }
+}
@@ -0,0 +1,55 @@
+package edu.trincoll.game.ai;
+
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.roster.Roster;
+
+/**
+ * Static evaluation of a roster version.
+ * Scores are relative health: a side's health fraction summed over its members.
+ */
+final class Evaluator {
+    static final int WIN = 1_000_000;
+
+    private Evaluator() {
+    }
+
+    static boolean defeated(Roster roster, int[] team) {
+        for (int slot : team) {
+            if (roster.isAlive(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Integer score from the mover's point of view, for alpha-beta.
+     */
+    static int score(Roster roster, int[] mover, int[] other) {
+        return (int) ((healthFraction(roster, mover) - healthFraction(roster, other)) * 10_000);
+    }
+
+    /**
+     * Playout reward for the given side, in [0, 1].
+     */
+    static double reward(Roster roster, int[] side, int[] other) {
+        if (defeated(roster, other)) {
+            return 1.0;
+        }
+        if (defeated(roster, side)) {
+            return 0.0;
+        }
+        double own = healthFraction(roster, side) / side.length;
+        double theirs = healthFraction(roster, other) / other.length;
+        return 0.5 + (own - theirs) / 2;
+    }
+
+    private static double healthFraction(Roster roster, int[] team) {
+        double total = 0;
+        for (int slot : team) {
+            CharacterStats stats = roster.stats(slot);
+            total += (double) stats.health() / stats.maxHealth();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,164 @@
+package edu.trincoll.game.ai;
+
+import edu.trincoll.game.roster.Roster;
+import edu.trincoll.game.roster.RosterAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Monte Carlo Tree Search (UCT) with root parallelization.
+ *
+ * Each worker grows its own tree from the shared root moves on the
+ * fork-join pool, so workers never contend; at the deadline the visit
+ * counts of the root moves are summed and the most visited move wins.
+ */
+final class MonteCarloTreeSearch {
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private final SearchConfig config;
+    private final MoveGenerator moves;
+    private final int[] us;
+    private final int[] them;
+
+    MonteCarloTreeSearch(SearchConfig config, MoveGenerator moves, int[] us, int[] them) {
+        this.config = config;
+        this.moves = moves;
+        this.us = us;
+        this.them = them;
+    }
+
+    RosterAction search(Roster root, long deadline) {
+        List<Move> rootMoves = moves.generate(root, us, them);
+        if (rootMoves.size() == 1) {
+            return rootMoves.get(0).action();
+        }
+
+        List<ForkJoinTask<long[]>> workers = new ArrayList<>();
+        for (int i = 0; i < config.parallelism(); i++) {
+            long seed = config.seed() + i;
+            workers.add(ForkJoinPool.commonPool().submit(() -> runWorker(root, rootMoves, seed, deadline)));
+        }
+
+        long[] visits = new long[rootMoves.size()];
+        for (ForkJoinTask<long[]> worker : workers) {
+            long[] counts = worker.join();
+            for (int i = 0; i < visits.length; i++) {
+                visits[i] += counts[i];
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < visits.length; i++) {
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+        return rootMoves.get(best).action();
+    }
+
+    private long[] runWorker(Roster rootRoster, List<Move> rootMoves, long seed, long deadline) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Node root = new Node(null, rootRoster, true);
+        root.untried = new ArrayList<>(rootMoves);
+        root.children = new ArrayList<>();
+
+        int iterations = 0;
+        while (System.nanoTime() < deadline
+            && (config.maxIterations() == 0 || iterations < config.maxIterations())) {
+            iterate(root, random);
+            iterations++;
+        }
+
+        long[] counts = new long[rootMoves.size()];
+        for (Node child : root.children) {
+            counts[rootMoves.indexOf(child.move)] = child.visits;
+        }
+        return counts;
+    }
+
+    private void iterate(Node root, SplittableRandom random) {
+        // Selection
+        Node node = root;
+        while (node.untried != null && node.untried.isEmpty() && !node.children.isEmpty()) {
+            node = node.bestChild();
+        }
+        // Expansion
+        if (!node.isTerminal()) {
+            if (node.untried == null) {
+                node.expand();
+            }
+            if (!node.untried.isEmpty()) {
+                Move move = node.untried.remove(random.nextInt(node.untried.size()));
+                Node child = new Node(move, move.result(), !node.usToMove);
+                child.parent = node;
+                node.children.add(child);
+                node = child;
+            }
+        }
+        // Simulation
+        double reward = rollout(node.roster, node.usToMove, random);
+        // Backpropagation: each node scores the move that led into it
+        while (node != null) {
+            node.visits++;
+            boolean movedByUs = !node.usToMove;
+            node.value += movedByUs ? reward : 1 - reward;
+            node = node.parent;
+        }
+    }
+
+    private double rollout(Roster roster, boolean usToMove, SplittableRandom random) {
+        for (int ply = 0; ply < config.rolloutDepth(); ply++) {
+            if (Evaluator.defeated(roster, us) || Evaluator.defeated(roster, them)) {
+                break;
+            }
+            List<Move> options = usToMove ? moves.generate(roster, us, them) : moves.generate(roster, them, us);
+            roster = options.get(random.nextInt(options.size())).result();
+            usToMove = !usToMove;
+        }
+        return Evaluator.reward(roster, us, them);
+    }
+
+    private final class Node {
+        private final Move move;
+        private final Roster roster;
+        private final boolean usToMove;
+        private Node parent;
+        private List<Move> untried;
+        private List<Node> children;
+        private int visits;
+        private double value;
+
+        private Node(Move move, Roster roster, boolean usToMove) {
+            this.move = move;
+            this.roster = roster;
+            this.usToMove = usToMove;
+        }
+
+        private boolean isTerminal() {
+            return Evaluator.defeated(roster, us) || Evaluator.defeated(roster, them);
+        }
+
+        private void expand() {
+            untried = usToMove ? moves.generate(roster, us, them) : moves.generate(roster, them, us);
+            children = new ArrayList<>(untried.size());
+        }
+
+        private Node bestChild() {
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(visits);
+            for (Node child : children) {
+                double score = child.value / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
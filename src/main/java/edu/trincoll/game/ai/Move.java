@@ -0,0 +1,11 @@
+package edu.trincoll.game.ai;
+
+import edu.trincoll.game.roster.Roster;
+import edu.trincoll.game.roster.RosterAction;
+
+/**
+ * A legal action together with the roster version it produces.
+ * A null action means the side has no legal move and passes.
+ */
+record Move(RosterAction action, Roster result) {
+}
@@ -0,0 +1,57 @@
+package edu.trincoll.game.ai;
+
+import edu.trincoll.game.roster.Roster;
+import edu.trincoll.game.roster.RosterAction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enumerates the moves available to one side of a roster.
+ *
+ * Every living member may attack or power-attack any living enemy, or
+ * heal any damaged living ally. Moves are applied as they are generated,
+ * so strategies decide what is legal: a mage without mana simply has no
+ * attacks.
+ */
+final class MoveGenerator {
+    private final int healAmount;
+
+    MoveGenerator(int healAmount) {
+        this.healAmount = healAmount;
+    }
+
+    List<Move> generate(Roster roster, int[] side, int[] enemies) {
+        List<Move> moves = new ArrayList<>();
+        for (int actor : side) {
+            if (!roster.isAlive(actor)) {
+                continue;
+            }
+            for (int enemy : enemies) {
+                if (roster.isAlive(enemy)) {
+                    tryApply(roster, new RosterAction.Attack(actor, enemy), moves);
+                    tryApply(roster, new RosterAction.PowerAttack(actor, enemy), moves);
+                }
+            }
+            if (healAmount > 0) {
+                for (int ally : side) {
+                    if (roster.isAlive(ally) && roster.stats(ally).health() < roster.stats(ally).maxHealth()) {
+                        tryApply(roster, new RosterAction.Heal(actor, ally, healAmount), moves);
+                    }
+                }
+            }
+        }
+        if (moves.isEmpty()) {
+            moves.add(new Move(null, roster));
+        }
+        return moves;
+    }
+
+    private static void tryApply(Roster roster, RosterAction action, List<Move> moves) {
+        try {
+            moves.add(new Move(action, roster.apply(action)));
+        } catch (IllegalStateException notPossible) {
+            // e.g. not enough mana - not a legal move
+        }
+    }
+}
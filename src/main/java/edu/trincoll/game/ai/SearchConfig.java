@@ -0,0 +1,86 @@
+package edu.trincoll.game.ai;
+
+import java.time.Duration;
+
+/**
+ * Immutable settings for an AiOpponent.
+ *
+ * @param algorithm       which search to run
+ * @param timeBudget      wall-clock budget per decision
+ * @param maxDepth        deepest ply alpha-beta will iterate to
+ * @param rolloutDepth    max moves in one MCTS random playout
+ * @param maxIterations   MCTS iterations per worker (0 = until the budget runs out)
+ * @param parallelism     MCTS workers run on the fork-join pool
+ * @param healAmount      HP restored by a heal action (0 disables heals)
+ * @param tableSize       transposition table entries (rounded up to a power of two)
+ * @param seed            base seed for MCTS playouts
+ */
+public record SearchConfig(
+    Algorithm algorithm,
+    Duration timeBudget,
+    int maxDepth,
+    int rolloutDepth,
+    int maxIterations,
+    int parallelism,
+    int healAmount,
+    int tableSize,
+    long seed
+) {
+    public enum Algorithm {
+        ALPHA_BETA,
+        MONTE_CARLO
+    }
+
+    public SearchConfig {
+        if (algorithm == null || timeBudget == null) {
+            throw new IllegalArgumentException("Algorithm and time budget are required");
+        }
+        if (timeBudget.isNegative() || timeBudget.isZero()) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        if (maxDepth < 1 || rolloutDepth < 1 || parallelism < 1 || tableSize < 1) {
+            throw new IllegalArgumentException("Depths, parallelism and table size must be positive");
+        }
+        if (maxIterations < 0 || healAmount < 0) {
+            throw new IllegalArgumentException("Iterations and heal amount cannot be negative");
+        }
+    }
+
+    /**
+     * Alpha-beta, 50 ms per decision, heals of 25 HP.
+     */
+    public static SearchConfig defaults() {
+        return new SearchConfig(Algorithm.ALPHA_BETA, Duration.ofMillis(50), 8, 30, 0,
+            Runtime.getRuntime().availableProcessors(), 25, 1 << 16, 42L);
+    }
+
+    public SearchConfig withAlgorithm(Algorithm newAlgorithm) {
+        return new SearchConfig(newAlgorithm, timeBudget, maxDepth, rolloutDepth, maxIterations,
+            parallelism, healAmount, tableSize, seed);
+    }
+
+    public SearchConfig withTimeBudget(Duration newTimeBudget) {
+        return new SearchConfig(algorithm, newTimeBudget, maxDepth, rolloutDepth, maxIterations,
+            parallelism, healAmount, tableSize, seed);
+    }
+
+    public SearchConfig withMaxDepth(int newMaxDepth) {
+        return new SearchConfig(algorithm, timeBudget, newMaxDepth, rolloutDepth, maxIterations,
+            parallelism, healAmount, tableSize, seed);
+    }
+
+    public SearchConfig withMaxIterations(int newMaxIterations) {
+        return new SearchConfig(algorithm, timeBudget, maxDepth, rolloutDepth, newMaxIterations,
+            parallelism, healAmount, tableSize, seed);
+    }
+
+    public SearchConfig withParallelism(int newParallelism) {
+        return new SearchConfig(algorithm, timeBudget, maxDepth, rolloutDepth, maxIterations,
+            newParallelism, healAmount, tableSize, seed);
+    }
+
+    public SearchConfig withHealAmount(int newHealAmount) {
+        return new SearchConfig(algorithm, timeBudget, maxDepth, rolloutDepth, maxIterations,
+            parallelism, newHealAmount, tableSize, seed);
+    }
+}
@@ -0,0 +1,48 @@
+package edu.trincoll.game.ai;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lossy, lock-free transposition table keyed by roster stats hash.
+ * A slot keeps whichever entry was searched deeper.
+ */
+final class TranspositionTable {
+    static final byte EXACT = 0;
+    static final byte LOWER_BOUND = 1;
+    static final byte UPPER_BOUND = 2;
+
+    record Entry(long key, int depth, int score, byte bound, int bestMove) {
+    }
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+
+    TranspositionTable(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        entries = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    Entry probe(long key) {
+        Entry entry = entries.get(index(key));
+        return entry != null && entry.key() == key ? entry : null;
+    }
+
+    void store(long key, int depth, int score, byte bound, int bestMove) {
+        int index = index(key);
+        Entry existing = entries.get(index);
+        if (existing == null || existing.key() != key || existing.depth() <= depth) {
+            entries.set(index, new Entry(key, depth, score, bound, bestMove));
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    private int index(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,115 @@
+package edu.trincoll.game.codec;
+
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Versioned binary format for characters, shared by CharacterEncoder and
+ * CharacterDecoder.
+ *
+ * A stream is a header followed by character records:
+ * <pre>
+ *   header    := 'G' 'C' byte version
+ *   record    := varint nameRef [name] byte kinds stats
+ *   nameRef   := 0 end of stream | 1 new name follows | n + 2 name table entry n
+ *   name      := varint length, UTF-8 bytes; appended to the name table
+ *   kinds     := type (bits 0-2) | attack kind (bits 3-4) | defense kind (bits 5-6)
+ *   stats     := varints maxHealth, maxHealth - health, attackPower,
+ *                defense, maxMana, maxMana - mana
+ * </pre>
+ * Characters at full health and mana spend one byte on each of those.
+ * Ids are the enum ordinals of CharacterType and the strategy Kinds;
+ * reordering those enums needs a new version. Only built-in strategies
+ * have ids - CUSTOM ones (lambdas, caching decorators) can't be encoded.
+ */
+public final class CharacterCodec {
+    public static final int VERSION = 1;
+    static final byte MAGIC_0 = 'G';
+    static final byte MAGIC_1 = 'C';
+    static final int HEADER_BYTES = 3;
+
+    static final int END = 0;
+    static final int NEW_NAME = 1;
+    static final int FIRST_TABLE_REF = 2;
+
+    static final int MAX_STATS_BYTES = 6 * Varints.MAX_INT_BYTES;
+
+    private static final CharacterType[] TYPES = CharacterType.values();
+    // Built-in strategies are stateless, so decoded characters share them
+    private static final AttackStrategy[] ATTACKS = {
+        new MeleeAttackStrategy(), new MagicAttackStrategy(), new RangedAttackStrategy()
+    };
+    private static final DefenseStrategy[] DEFENSES = {
+        new StandardDefenseStrategy(), new HeavyArmorDefenseStrategy()
+    };
+
+    private CharacterCodec() {
+    }
+
+    public static void writeStats(ByteBuffer out, CharacterStats stats) {
+        Varints.writeUnsigned(out, stats.maxHealth());
+        Varints.writeUnsigned(out, stats.maxHealth() - stats.health());
+        Varints.writeUnsigned(out, stats.attackPower());
+        Varints.writeUnsigned(out, stats.defense());
+        Varints.writeUnsigned(out, stats.maxMana());
+        Varints.writeUnsigned(out, stats.maxMana() - stats.mana());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the values don't make valid stats
+     */
+    public static CharacterStats readStats(ByteBuffer in) {
+        int maxHealth = Varints.readUnsigned(in);
+        int health = maxHealth - Varints.readUnsigned(in);
+        int attackPower = Varints.readUnsigned(in);
+        int defense = Varints.readUnsigned(in);
+        int maxMana = Varints.readUnsigned(in);
+        int mana = maxMana - Varints.readUnsigned(in);
+        return new CharacterStats(health, maxHealth, attackPower, defense, mana, maxMana);
+    }
+
+    /**
+     * Pack type and strategy kinds into the kinds byte.
+     *
+     * @throws IllegalArgumentException for CUSTOM strategies
+     */
+    static int kinds(CharacterType type, AttackStrategy.Kind attack, DefenseStrategy.Kind defense) {
+        if (attack == AttackStrategy.Kind.CUSTOM || defense == DefenseStrategy.Kind.CUSTOM) {
+            throw new IllegalArgumentException("Custom strategies have no id and can't be encoded");
+        }
+        return type.ordinal() | attack.ordinal() << 3 | defense.ordinal() << 5;
+    }
+
+    static CharacterType type(int kinds) {
+        int id = kinds & 0x7;
+        if (id >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown character type id: " + id);
+        }
+        return TYPES[id];
+    }
+
+    static AttackStrategy attackStrategy(int kinds) {
+        int id = (kinds >>> 3) & 0x3;
+        if (id >= ATTACKS.length) {
+            throw new IllegalArgumentException("Unknown attack strategy id: " + id);
+        }
+        return ATTACKS[id];
+    }
+
+    static DefenseStrategy defenseStrategy(int kinds) {
+        int id = (kinds >>> 5) & 0x3;
+        if (id >= DEFENSES.length) {
+            throw new IllegalArgumentException("Unknown defense strategy id: " + id);
+        }
+        return DEFENSES[id];
+    }
+}
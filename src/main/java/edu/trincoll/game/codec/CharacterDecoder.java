@@ -0,0 +1,151 @@
+package edu.trincoll.game.codec;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads characters written by CharacterEncoder.
+ *
+ * Mirrors the encoder's name table, so repeated names decode to the same
+ * String instance. A record is only added to the table once it has been
+ * read completely, so a decode() cut short by a BufferUnderflowException
+ * can simply be retried with more data.
+ *
+ * Not thread-safe; use one decoder per stream.
+ */
+public final class CharacterDecoder {
+    private static final int MAX_NAME_BYTES = 1 << 16;
+
+    private final List<String> names = new ArrayList<>();
+    private byte[] scratch = new byte[64];
+
+    /**
+     * @throws IllegalArgumentException if this isn't a character stream or
+     *                                  its version is unsupported
+     */
+    public void readHeader(ByteBuffer in) {
+        byte magic0 = in.get();
+        byte magic1 = in.get();
+        int version = in.get();
+        if (magic0 != CharacterCodec.MAGIC_0 || magic1 != CharacterCodec.MAGIC_1) {
+            throw new IllegalArgumentException("Not a character stream");
+        }
+        if (version != CharacterCodec.VERSION) {
+            throw new IllegalArgumentException("Unsupported character stream version: " + version);
+        }
+    }
+
+    /**
+     * Read the next character.
+     *
+     * @return the character, or null at the end of the stream
+     * @throws IllegalArgumentException if the record is corrupt
+     * @throws BufferUnderflowException if the record is incomplete
+     */
+    public Character decode(ByteBuffer in) {
+        int nameRef = Varints.readUnsigned(in);
+        if (nameRef == CharacterCodec.END) {
+            return null;
+        }
+        String name;
+        boolean newName = nameRef == CharacterCodec.NEW_NAME;
+        if (newName) {
+            name = readName(in);
+        } else {
+            int index = nameRef - CharacterCodec.FIRST_TABLE_REF;
+            if (index < 0 || index >= names.size()) {
+                throw new IllegalArgumentException("Unknown name reference: " + index);
+            }
+            name = names.get(index);
+        }
+        int kinds = in.get() & 0xFF;
+        CharacterStats stats = CharacterCodec.readStats(in);
+        Character character = new Character(name, CharacterCodec.type(kinds), stats,
+            CharacterCodec.attackStrategy(kinds), CharacterCodec.defenseStrategy(kinds));
+        if (newName) {
+            names.add(name);
+        }
+        return character;
+    }
+
+    /**
+     * Stream a whole roster from a channel, header to end marker, through
+     * one reusable buffer that must hold at least the largest record.
+     *
+     * @return the number of characters read
+     * @throws IllegalArgumentException if the stream is corrupt or truncated
+     * @throws IllegalStateException    if the channel fails
+     */
+    public int decodeAll(ReadableByteChannel channel, ByteBuffer buffer, Consumer<Character> sink) {
+        buffer.clear().flip();
+        boolean headerRead = false;
+        int count = 0;
+        while (true) {
+            int start = buffer.position();
+            try {
+                if (!headerRead) {
+                    readHeader(buffer);
+                    headerRead = true;
+                    continue;
+                }
+                Character character = decode(buffer);
+                if (character == null) {
+                    return count;
+                }
+                sink.accept(character);
+                count++;
+            } catch (BufferUnderflowException e) {
+                buffer.position(start);
+                refill(channel, buffer);
+            }
+        }
+    }
+
+    public int getNameCount() {
+        return names.size();
+    }
+
+    private String readName(ByteBuffer in) {
+        int length = Varints.readUnsigned(in);
+        if (length < 0 || length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Bad name length: " + length);
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        if (in.hasArray()) {
+            String name = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return name;
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        in.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static void refill(ReadableByteChannel channel, ByteBuffer buffer) {
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Record larger than the " + buffer.capacity() + "-byte buffer");
+        }
+        try {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalArgumentException("Character stream ended before its end marker");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read characters", e);
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,133 @@
+package edu.trincoll.game.codec;
+
+import edu.trincoll.game.model.Character;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes characters in the CharacterCodec format.
+ *
+ * The encoder keeps the stream's name table: a name is written out the
+ * first time and as a small table reference after that. Use one encoder
+ * per stream. ASCII names are copied straight into the buffer; other
+ * names go through String.getBytes().
+ *
+ * Not thread-safe.
+ */
+public final class CharacterEncoder {
+    private final Map<String, Integer> names = new HashMap<>();
+
+    /**
+     * Write the stream header.
+     */
+    public void writeHeader(ByteBuffer out) {
+        out.put(CharacterCodec.MAGIC_0).put(CharacterCodec.MAGIC_1).put((byte) CharacterCodec.VERSION);
+    }
+
+    /**
+     * Most bytes encode() can need for the character.
+     */
+    public int maxEncodedSize(Character character) {
+        return Varints.MAX_INT_BYTES * 2 + character.getName().length() * 3 + 1 + CharacterCodec.MAX_STATS_BYTES;
+    }
+
+    /**
+     * Append one character record.
+     *
+     * @throws IllegalArgumentException if the character uses a custom strategy
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public void encode(ByteBuffer out, Character character) {
+        int kinds = CharacterCodec.kinds(character.getType(),
+            character.getAttackKind(), character.getDefenseKind());
+        String name = character.getName();
+        Integer index = names.get(name);
+        if (index != null) {
+            Varints.writeUnsigned(out, index + CharacterCodec.FIRST_TABLE_REF);
+        } else {
+            Varints.writeUnsigned(out, CharacterCodec.NEW_NAME);
+            writeName(out, name);
+            names.put(name, names.size());
+        }
+        out.put((byte) kinds);
+        CharacterCodec.writeStats(out, character.getStats());
+    }
+
+    /**
+     * Append the end-of-stream marker.
+     */
+    public void writeEnd(ByteBuffer out) {
+        Varints.writeUnsigned(out, CharacterCodec.END);
+    }
+
+    /**
+     * Stream a whole roster to a channel, header and end marker included,
+     * through one reusable buffer.
+     *
+     * @return bytes written
+     * @throws IllegalStateException if the channel fails
+     */
+    public long encodeAll(Iterable<Character> characters, WritableByteChannel channel, ByteBuffer buffer) {
+        long written = 0;
+        buffer.clear();
+        writeHeader(buffer);
+        for (Character character : characters) {
+            if (buffer.remaining() < maxEncodedSize(character)) {
+                written += drain(buffer, channel);
+                if (buffer.remaining() < maxEncodedSize(character)) {
+                    throw new IllegalArgumentException("Buffer too small for " + character.getName());
+                }
+            }
+            encode(buffer, character);
+        }
+        if (!buffer.hasRemaining()) {
+            written += drain(buffer, channel);
+        }
+        writeEnd(buffer);
+        return written + drain(buffer, channel);
+    }
+
+    /**
+     * Names in the table so far.
+     */
+    public int getNameCount() {
+        return names.size();
+    }
+
+    private static void writeName(ByteBuffer out, String name) {
+        int length = name.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = name.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            Varints.writeUnsigned(out, length);
+            for (int i = 0; i < length; i++) {
+                out.put((byte) name.charAt(i));
+            }
+        } else {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            Varints.writeUnsigned(out, bytes.length);
+            out.put(bytes);
+        }
+    }
+
+    private static int drain(ByteBuffer buffer, WritableByteChannel channel) {
+        buffer.flip();
+        int bytes = buffer.remaining();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write characters", e);
+        }
+        buffer.clear();
+        return bytes;
+    }
+}
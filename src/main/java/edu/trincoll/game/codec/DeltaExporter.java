@@ -0,0 +1,154 @@
+package edu.trincoll.game.codec;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.StatField;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Writes the stats fields that changed since the last export, using the
+ * characters' dirty bits, and clears those bits.
+ *
+ * A roster is identified by slot (list index), which both ends must
+ * agree on. The format is a sequence of records ended by a zero byte:
+ * <pre>
+ *   record := varint(slot - previousSlot)  ; previousSlot starts at -1
+ *             byte   StatField mask
+ *             varint value                 ; one per set bit, in StatField order
+ * </pre>
+ * A single health change is typically four bytes, against 24 for the
+ * whole record - and untouched characters cost nothing.
+ *
+ * Not thread-safe; export from the thread that mutates the roster.
+ */
+public final class DeltaExporter {
+    static final int END = 0;
+    /**
+     * Most bytes a single character's record can take.
+     */
+    public static final int MAX_RECORD_BYTES =
+        Varints.MAX_INT_BYTES + 1 + StatField.values().length * Varints.MAX_INT_BYTES;
+
+    private static final StatField[] FIELDS = StatField.values();
+
+    private final List<Character> roster;
+    private long bytesExported;
+
+    public DeltaExporter(List<Character> roster) {
+        this.roster = List.copyOf(roster);
+    }
+
+    /**
+     * Write one delta. If the buffer fills up, the characters that didn't
+     * fit stay dirty and go out with the next export.
+     *
+     * @return the number of characters written
+     * @throws IllegalArgumentException if the buffer can't hold even the end marker
+     */
+    public int export(ByteBuffer out) {
+        if (!out.hasRemaining()) {
+            throw new IllegalArgumentException("No room in the output buffer");
+        }
+        int start = out.position();
+        int written = 0;
+        int previous = -1;
+        for (int slot = 0; slot < roster.size(); slot++) {
+            Character character = roster.get(slot);
+            int mask = character.getDirtyFields();
+            if (mask == 0) {
+                continue;
+            }
+            if (out.remaining() < MAX_RECORD_BYTES + 1) {
+                break;
+            }
+            writeRecord(out, slot - previous, mask, character.getStats());
+            character.clearDirtyFields();
+            previous = slot;
+            written++;
+        }
+        out.put((byte) END);
+        bytesExported += out.position() - start;
+        return written;
+    }
+
+    /**
+     * Write one delta covering only the given slots, which must be in
+     * ascending order; clean slots and repeats are skipped. The caller
+     * makes sure the buffer has room for count records and the end marker.
+     *
+     * @return the number of characters written
+     */
+    public int exportSlots(ByteBuffer out, int[] slots, int count) {
+        int start = out.position();
+        int written = 0;
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            int slot = slots[i];
+            Character character = roster.get(slot);
+            int mask = character.getDirtyFields();
+            if (mask == 0) {
+                continue;
+            }
+            writeRecord(out, slot - previous, mask, character.getStats());
+            character.clearDirtyFields();
+            previous = slot;
+            written++;
+        }
+        out.put((byte) END);
+        bytesExported += out.position() - start;
+        return written;
+    }
+
+    /**
+     * Write every field of every character as one delta, leaving the
+     * dirty bits alone. Needs size() * MAX_RECORD_BYTES + 1 bytes at most.
+     */
+    public void writeSnapshot(ByteBuffer out) {
+        for (int slot = 0; slot < roster.size(); slot++) {
+            writeRecord(out, 1, StatField.ALL, roster.get(slot).getStats());
+        }
+        out.put((byte) END);
+    }
+
+    public int size() {
+        return roster.size();
+    }
+
+    /**
+     * Mark every character fully dirty so the next exports carry the
+     * whole roster, e.g. for a replica that is joining.
+     */
+    public void markAllDirty() {
+        for (Character character : roster) {
+            character.markAllDirty();
+        }
+    }
+
+    /**
+     * True if some character has changes not yet exported.
+     */
+    public boolean hasPendingChanges() {
+        for (Character character : roster) {
+            if (character.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getBytesExported() {
+        return bytesExported;
+    }
+
+    private static void writeRecord(ByteBuffer out, int slotGap, int mask, CharacterStats stats) {
+        Varints.writeUnsigned(out, slotGap);
+        out.put((byte) mask);
+        for (StatField field : FIELDS) {
+            if ((mask & field.bit()) != 0) {
+                Varints.writeUnsigned(out, field.get(stats));
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package edu.trincoll.game.codec;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.StatField;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies deltas written by DeltaExporter to a replica roster with the
+ * same slots.
+ *
+ * A delta is decoded and validated in full before any of it is applied,
+ * so one that fails leaves the roster untouched. Applied changes mark the
+ * replica's characters dirty like any other mutation, so a replica can
+ * export them onward.
+ */
+public final class DeltaImporter {
+    private static final StatField[] FIELDS = StatField.values();
+
+    private final List<Character> roster;
+    private final int[] values = new int[FIELDS.length];
+    // Decoded records of the delta being applied, in slot order
+    private int[] pendingSlots = new int[16];
+    private CharacterStats[] pendingStats = new CharacterStats[16];
+
+    public DeltaImporter(List<Character> roster) {
+        this.roster = List.copyOf(roster);
+    }
+
+    /**
+     * Read one delta, up to and including its end marker.
+     *
+     * @return the number of characters updated
+     * @throws IllegalArgumentException if the delta is truncated, corrupt or
+     *                                  produces invalid stats; nothing is
+     *                                  applied
+     */
+    public int apply(ByteBuffer in) {
+        int records;
+        try {
+            records = read(in, true);
+        } catch (RuntimeException e) {
+            Arrays.fill(pendingStats, null);
+            throw e;
+        }
+        for (int i = 0; i < records; i++) {
+            roster.get(pendingSlots[i]).restoreStats(pendingStats[i]);
+            pendingStats[i] = null;
+        }
+        return records;
+    }
+
+    /**
+     * Read past one delta without applying it.
+     *
+     * @return the number of character records skipped
+     * @throws IllegalArgumentException if the delta is truncated or corrupt
+     */
+    public int skip(ByteBuffer in) {
+        return read(in, false);
+    }
+
+    /**
+     * Decode one delta; with decode set, the new stats of each record go
+     * into the pending arrays.
+     */
+    private int read(ByteBuffer in, boolean decode) {
+        try {
+            int records = 0;
+            int slot = -1;
+            int gap;
+            while ((gap = Varints.readUnsigned(in)) != DeltaExporter.END) {
+                slot += gap;
+                if (gap < 0 || slot < 0 || slot >= roster.size()) {
+                    throw new IllegalArgumentException("Delta names slot " + slot
+                        + " but the roster has " + roster.size());
+                }
+                int mask = in.get() & 0xFF;
+                if ((mask & ~StatField.ALL) != 0 || mask == 0) {
+                    throw new IllegalArgumentException("Bad field mask in delta: " + mask);
+                }
+                Character character = roster.get(slot);
+                CharacterStats stats = character.getStats();
+                for (StatField field : FIELDS) {
+                    values[field.ordinal()] = (mask & field.bit()) != 0
+                        ? Varints.readUnsigned(in) : field.get(stats);
+                }
+                if (decode) {
+                    if (records == pendingSlots.length) {
+                        pendingSlots = Arrays.copyOf(pendingSlots, records * 2);
+                        pendingStats = Arrays.copyOf(pendingStats, records * 2);
+                    }
+                    pendingSlots[records] = slot;
+                    pendingStats[records] = new CharacterStats(
+                        values[StatField.HEALTH.ordinal()], values[StatField.MAX_HEALTH.ordinal()],
+                        values[StatField.ATTACK_POWER.ordinal()], values[StatField.DEFENSE.ordinal()],
+                        values[StatField.MANA.ordinal()], values[StatField.MAX_MANA.ordinal()]);
+                }
+                records++;
+            }
+            return records;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated delta", e);
+        }
+    }
+}
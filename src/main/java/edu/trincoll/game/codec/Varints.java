@@ -0,0 +1,83 @@
+package edu.trincoll.game.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * LEB128 variable-length integers: 7 bits per byte, low bits first, with
+ * the high bit set on every byte but the last. Values below 128 take one
+ * byte. Signed values are zigzag-encoded first so small negatives stay
+ * small too.
+ */
+public final class Varints {
+    public static final int MAX_INT_BYTES = 5;
+    public static final int MAX_LONG_BYTES = 10;
+
+    private Varints() {
+    }
+
+    /**
+     * Write an int as unsigned (negative values take five bytes).
+     */
+    public static void writeUnsigned(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the varint is longer than five bytes
+     */
+    public static int readUnsigned(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public static void writeSigned(ByteBuffer out, int value) {
+        writeUnsigned(out, (value << 1) ^ (value >> 31));
+    }
+
+    public static int readSigned(ByteBuffer in) {
+        int zigzag = readUnsigned(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public static void writeUnsignedLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the varint is longer than ten bytes
+     */
+    public static long readUnsignedLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Bytes writeUnsigned() uses for the value.
+     */
+    public static int sizeOfUnsigned(int value) {
+        int bits = 32 - Integer.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+}
@@ -0,0 +1,154 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One attacker hits a whole group of targets - one command instead of
+ * one AttackCommand per target.
+ *
+ * Melee and magic damage doesn't depend on the target, so the attacker's
+ * strategy runs once (a mage pays mana once per cast). Ranged damage is
+ * worked out per target; custom strategies are called once per target,
+ * in order, before any damage lands. Each living target then takes the
+ * damage through its own defense. Dead targets are skipped.
+ *
+ * Undo data is one int per target: the net damage dealt, healed back on
+ * undo like AttackCommand does. With 256 or more targets, applying and
+ * undoing run in parallel chunks, so each target must appear only once.
+ */
+public class AreaAttackCommand implements GameCommand {
+    private final Character attacker;
+    private final Character[] targets;
+    private final int[] damageDealt;
+    private int manaSpent;
+    private List<Character> affected;
+
+    public AreaAttackCommand(Character attacker, Collection<Character> targets) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Area attack needs at least one target");
+        }
+        this.attacker = attacker;
+        this.targets = targets.toArray(new Character[0]);
+        this.damageDealt = new int[this.targets.length];
+    }
+
+    @Override
+    public void execute() {
+        int manaBefore = attacker.getStats().mana();
+        AttackStrategy.Kind kind = attacker.getAttackKind();
+        if (kind == AttackStrategy.Kind.MELEE || kind == AttackStrategy.Kind.MAGIC) {
+            int damage = attacker.attack(targets[0]);
+            TargetChunks.forEach(targets.length, (from, to) -> strike(from, to, damage));
+        } else if (kind == AttackStrategy.Kind.RANGED) {
+            TargetChunks.forEach(targets.length, this::strikeRanged);
+        } else {
+            // Custom strategies may keep state, so call them on this thread
+            for (int i = 0; i < targets.length; i++) {
+                damageDealt[i] = targets[i].isAlive() ? attacker.attack(targets[i]) : 0;
+            }
+            TargetChunks.forEach(targets.length, this::strikePrecomputed);
+        }
+        manaSpent = Math.max(0, manaBefore - attacker.getStats().mana());
+    }
+
+    @Override
+    public void undo() {
+        TargetChunks.forEach(targets.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (damageDealt[i] > 0) {
+                    targets[i].heal(damageDealt[i]);
+                }
+            }
+        });
+        if (manaSpent > 0) {
+            attacker.restoreMana(manaSpent);
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        StringBuilder out = new StringBuilder(40);
+        describeTo(out);
+        return out.toString();
+    }
+
+    @Override
+    public void describeTo(StringBuilder out) {
+        out.append(attacker.getName()).append(" hits ").append(targets.length).append(" targets");
+    }
+
+    public Character getAttacker() {
+        return attacker;
+    }
+
+    public int getTargetCount() {
+        return targets.length;
+    }
+
+    /**
+     * Net damage the target at this index took in the last execute().
+     */
+    public int getDamageDealt(int index) {
+        return damageDealt[index];
+    }
+
+    /**
+     * Net damage over all targets in the last execute().
+     */
+    public long getTotalDamage() {
+        long total = 0;
+        for (int damage : damageDealt) {
+            total += damage;
+        }
+        return total;
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        if (affected == null) {
+            List<Character> characters = new ArrayList<>(targets.length + 1);
+            characters.add(attacker);
+            Collections.addAll(characters, targets);
+            affected = Collections.unmodifiableList(characters);
+        }
+        return affected;
+    }
+
+    private void strike(int from, int to, int damage) {
+        for (int i = from; i < to; i++) {
+            damageDealt[i] = hit(targets[i], damage);
+        }
+    }
+
+    private void strikeRanged(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Character target = targets[i];
+            damageDealt[i] = target.isAlive() ? hit(target, RangedAttackStrategy.damage(attacker, target)) : 0;
+        }
+    }
+
+    private void strikePrecomputed(int from, int to) {
+        for (int i = from; i < to; i++) {
+            damageDealt[i] = hit(targets[i], damageDealt[i]);
+        }
+    }
+
+    /**
+     * @return net damage dealt, 0 for a dead target
+     */
+    private static int hit(Character target, int damage) {
+        int healthBefore = target.getStats().health();
+        if (healthBefore <= 0) {
+            return 0;
+        }
+        target.takeDamage(damage);
+        return Math.max(0, healthBefore - target.getStats().health());
+    }
+}
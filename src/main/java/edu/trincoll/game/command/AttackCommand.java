@@ -2,6 +2,8 @@ package edu.trincoll.game.command;
 
 import edu.trincoll.game.model.Character;
 
+import java.util.List;
+
 /**
  * Command to execute an attack from one character to another.
  *
@@ -16,37 +18,83 @@ import edu.trincoll.game.model.Character;
  * 1. Heal the target for the amount of damage that was dealt
  * 2. Use target.heal(damageDealt)
  *
- * Note: This is a simplified undo - in a real game, you'd need to
- * restore mana usage, status effects, etc.
+ * Undo also gives back any mana the attack strategy spent, so a redo
+ * runs against the same attacker stats. Status effects are not restored.
  */
 public class AttackCommand implements GameCommand {
-    private final Character attacker;
-    private final Character target;
+    // Not final so CommandPool can recycle instances
+    private Character attacker;
+    private Character target;
     private int damageDealt;
+    private int manaSpent;
+    boolean pooled;
 
     public AttackCommand(Character attacker, Character target) {
         this.attacker = attacker;
         this.target = target;
     }
 
+    /**
+     * Re-target a recycled command (used by CommandPool).
+     */
+    void reset(Character attacker, Character target) {
+        this.attacker = attacker;
+        this.target = target;
+        this.damageDealt = 0;
+        this.manaSpent = 0;
+    }
+
     @Override
     public void execute() {
         int healthBefore = target.getStats().health();
+        int manaBefore = attacker.getStats().mana();
         int damage = attacker.attack(target);
         target.takeDamage(damage);
         int healthAfter = target.getStats().health();
         // Store the actual net damage dealt (accounts for defense)
         damageDealt = Math.max(0, healthBefore - healthAfter);
+        manaSpent = Math.max(0, manaBefore - attacker.getStats().mana());
     }
 
     @Override
     public void undo() {
         // Restore the target's health by the exact damage dealt
         target.heal(damageDealt);
+        if (manaSpent > 0) {
+            attacker.restoreMana(manaSpent);
+        }
     }
 
     @Override
     public String getDescription() {
-        return String.format("%s attacks %s", attacker.getName(), target.getName());
+        StringBuilder out = new StringBuilder(32);
+        describeTo(out);
+        return out.toString();
+    }
+
+    @Override
+    public void describeTo(StringBuilder out) {
+        out.append(attacker.getName()).append(" attacks ").append(target.getName());
+    }
+
+    public Character getAttacker() {
+        return attacker;
+    }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    /**
+     * Net damage dealt by the last execute().
+     */
+    public int getDamageDealt() {
+        return damageDealt;
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        // Attacker is included because strategies may spend its mana
+        return List.of(attacker, target);
     }
 }
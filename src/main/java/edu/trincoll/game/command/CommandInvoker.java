@@ -1,8 +1,14 @@
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Stack;
+import java.util.Map;
 
 /**
  * Invoker for executing and managing commands.
@@ -14,9 +20,65 @@ import java.util.Stack;
  * - Queue commands for execution
  * - Maintain history
  * - Support undo operations
+ *
+ * Checkpoints: mark() opens a checkpoint and rollbackTo() returns to it.
+ * While a checkpoint is open, the invoker keeps a small delta log - the
+ * stats each affected character had before it was first touched. Since
+ * stats are immutable, a snapshot is just the old reference, and rolling
+ * back costs one restore per touched character no matter how many
+ * commands ran. Commands that don't report their affected characters
+ * fall back to one-by-one undo().
+ *
+ * History can be bounded: the oldest commands are evicted once the limit
+ * is reached. Commands leaving the invoker for good (evicted, cleared,
+ * or dropped from the redo stack) are handed to CommandPool.release(),
+ * which recycles pooled commands and ignores the rest.
  */
 public class CommandInvoker {
-    private final Stack<GameCommand> commandHistory = new Stack<>();
+    private final Deque<GameCommand> commandHistory = new ArrayDeque<>();
+    private final Deque<GameCommand> redoStack = new ArrayDeque<>();
+    private final List<Frame> frames = new ArrayList<>();
+    private final int historyLimit;
+    private long evictedCount;
+    private int checkpointsCreated;
+    private CommandLogSink logSink;
+    private CommandListener listener;
+
+    /**
+     * Handle returned by mark(), used to roll back to that point.
+     */
+    public record Checkpoint(String name, int id) {
+    }
+
+    /**
+     * Delta log for one open checkpoint.
+     */
+    private static final class Frame {
+        private final Checkpoint checkpoint;
+        // Absolute position in history (evicted commands included)
+        private final long position;
+        private final Map<Character, CharacterStats> statsBefore = new IdentityHashMap<>();
+        private boolean opaque;
+
+        private Frame(Checkpoint checkpoint, long position) {
+            this.checkpoint = checkpoint;
+            this.position = position;
+        }
+    }
+
+    public CommandInvoker() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param historyLimit maximum number of commands kept for undo
+     */
+    public CommandInvoker(int historyLimit) {
+        if (historyLimit <= 0) {
+            throw new IllegalArgumentException("History limit must be positive");
+        }
+        this.historyLimit = historyLimit;
+    }
 
     /**
      * TODO 4c: Implement executeCommand()
@@ -26,8 +88,9 @@ public class CommandInvoker {
      * 2. Add the command to history: commandHistory.push(command)
      */
     public void executeCommand(GameCommand command) {
+        beforeExecute(command);
         command.execute();
-        commandHistory.push(command);
+        afterExecute(command);
     }
 
     /**
@@ -42,8 +105,110 @@ public class CommandInvoker {
         if (commandHistory.isEmpty()) {
             return;
         }
-        GameCommand last = commandHistory.pop();
+        GameCommand last = commandHistory.removeLast();
         last.undo();
+        if (listener != null) {
+            listener.undone(last);
+        }
+        redoStack.push(last);
+        dropFramesAbove(position());
+    }
+
+    /**
+     * Re-execute the most recently undone command.
+     * Executing a new command clears the redo stack.
+     */
+    public void redoLastCommand() {
+        if (redoStack.isEmpty()) {
+            return;
+        }
+        GameCommand command = redoStack.pop();
+        record(command);
+        command.execute();
+        log(command);
+        notifyExecuted(command);
+        append(command);
+    }
+
+    /**
+     * Open a checkpoint at the current point in history.
+     */
+    public Checkpoint mark(String name) {
+        Checkpoint checkpoint = new Checkpoint(name, ++checkpointsCreated);
+        frames.add(new Frame(checkpoint, position()));
+        return checkpoint;
+    }
+
+    public Checkpoint mark() {
+        return mark("checkpoint-" + (checkpointsCreated + 1));
+    }
+
+    /**
+     * Roll back every command executed since the checkpoint was marked.
+     * The rolled back commands become available to redoLastCommand(), oldest first.
+     * The checkpoint stays open, so it can be rolled back to again.
+     *
+     * @throws IllegalArgumentException if the checkpoint was released or already rolled past
+     * @throws IllegalStateException if undo() is needed for commands already evicted from history
+     */
+    public void rollbackTo(Checkpoint checkpoint) {
+        int index = indexOf(checkpoint);
+        Frame target = frames.get(index);
+        boolean evictedSinceMark = target.position < evictedCount;
+
+        boolean opaque = false;
+        for (int i = index; i < frames.size(); i++) {
+            opaque |= frames.get(i).opaque;
+        }
+
+        if (opaque) {
+            if (evictedSinceMark) {
+                throw new IllegalStateException("Checkpoint " + checkpoint.name()
+                    + " needs undo() of commands no longer in history");
+            }
+            while (position() > target.position) {
+                GameCommand command = commandHistory.removeLast();
+                command.undo();
+                if (listener != null) {
+                    listener.undone(command);
+                }
+                redoStack.push(command);
+            }
+        } else {
+            // Newest frame first, so the oldest snapshot of each character wins
+            for (int i = frames.size() - 1; i >= index; i--) {
+                frames.get(i).statsBefore.forEach(Character::restoreStats);
+            }
+            if (listener != null) {
+                listener.rolledBack();
+            }
+            while (!commandHistory.isEmpty() && position() > target.position) {
+                redoStack.push(commandHistory.removeLast());
+            }
+            if (evictedSinceMark) {
+                // Part of the sequence is gone, so it can't be redone
+                releaseAll(redoStack);
+                evictedCount = target.position;
+            }
+        }
+
+        frames.subList(index + 1, frames.size()).clear();
+        target.statsBefore.clear();
+        target.opaque = false;
+    }
+
+    /**
+     * Close a checkpoint without rolling back.
+     * Its delta log is merged into the enclosing checkpoint, if any.
+     */
+    public void release(Checkpoint checkpoint) {
+        int index = indexOf(checkpoint);
+        Frame released = frames.remove(index);
+        if (index > 0) {
+            Frame enclosing = frames.get(index - 1);
+            released.statsBefore.forEach(enclosing.statsBefore::putIfAbsent);
+            enclosing.opaque |= released.opaque;
+        }
     }
 
     /**
@@ -53,11 +218,44 @@ public class CommandInvoker {
         return new ArrayList<>(commandHistory);
     }
 
+    /**
+     * Append one line per command in history, oldest first.
+     */
+    public void describeHistory(StringBuilder out) {
+        for (GameCommand command : commandHistory) {
+            command.describeTo(out);
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Log every executed (and redone) command to the sink, or stop
+     * logging when null. The sink stays owned by the caller.
+     */
+    public void setLogSink(CommandLogSink logSink) {
+        this.logSink = logSink;
+    }
+
+    /**
+     * Tell the listener about every state change from now on, or stop
+     * when null. Only one listener is kept.
+     */
+    public void setListener(CommandListener listener) {
+        this.listener = listener;
+    }
+
+    boolean hasListener() {
+        return listener != null;
+    }
+
     /**
      * Clear all command history.
      */
     public void clearHistory() {
-        commandHistory.clear();
+        releaseAll(commandHistory);
+        releaseAll(redoStack);
+        frames.clear();
+        evictedCount = 0;
     }
 
     /**
@@ -66,4 +264,97 @@ public class CommandInvoker {
     public boolean hasCommandsToUndo() {
         return !commandHistory.isEmpty();
     }
+
+    /**
+     * Check if there are commands to redo.
+     */
+    public boolean hasCommandsToRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    public int getHistoryLimit() {
+        return historyLimit;
+    }
+
+    /**
+     * First half of executeCommand(), for commands executed elsewhere
+     * (see ParallelCommandExecutor): clear the redo stack and snapshot
+     * the command's characters for open checkpoints.
+     */
+    void beforeExecute(GameCommand command) {
+        releaseAll(redoStack);
+        record(command);
+    }
+
+    /**
+     * Second half of executeCommand(): log, notify and add to history.
+     */
+    void afterExecute(GameCommand command) {
+        log(command);
+        notifyExecuted(command);
+        append(command);
+    }
+
+    private void append(GameCommand command) {
+        commandHistory.addLast(command);
+        if (commandHistory.size() > historyLimit) {
+            CommandPool.release(commandHistory.removeFirst());
+            evictedCount++;
+        }
+    }
+
+    private void notifyExecuted(GameCommand command) {
+        if (listener != null) {
+            listener.executed(command);
+        }
+    }
+
+    private void log(GameCommand command) {
+        // Before append(): an evicted pooled command is reset on release
+        if (logSink != null) {
+            logSink.log(command);
+        }
+    }
+
+    private long position() {
+        return evictedCount + commandHistory.size();
+    }
+
+    private void record(GameCommand command) {
+        if (frames.isEmpty()) {
+            return;
+        }
+        // Only the newest frame records: a character untouched since then
+        // has the same stats it had at every older checkpoint
+        Frame current = frames.get(frames.size() - 1);
+        List<Character> affected = command.getAffectedCharacters();
+        if (affected.isEmpty()) {
+            current.opaque = true;
+            return;
+        }
+        for (Character character : affected) {
+            current.statsBefore.putIfAbsent(character, character.getStats());
+        }
+    }
+
+    private void dropFramesAbove(long position) {
+        while (!frames.isEmpty() && frames.get(frames.size() - 1).position > position) {
+            frames.remove(frames.size() - 1);
+        }
+    }
+
+    private int indexOf(Checkpoint checkpoint) {
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            if (frames.get(i).checkpoint.equals(checkpoint)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown or expired checkpoint: " + checkpoint);
+    }
+
+    private static void releaseAll(Deque<GameCommand> commands) {
+        while (!commands.isEmpty()) {
+            CommandPool.release(commands.pop());
+        }
+    }
 }
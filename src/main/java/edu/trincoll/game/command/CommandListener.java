@@ -0,0 +1,25 @@
+package edu.trincoll.game.command;
+
+/**
+ * Notified by a CommandInvoker after each change it makes to game state,
+ * on the invoker's thread. A command passed in may be recycled once the
+ * call returns, so don't keep the reference.
+ */
+public interface CommandListener {
+
+    /**
+     * A command was executed or redone.
+     */
+    void executed(GameCommand command);
+
+    /**
+     * A command was undone, by undoLastCommand() or a rollback.
+     */
+    void undone(GameCommand command);
+
+    /**
+     * A rollback restored stats snapshots directly, without undoing
+     * commands one by one.
+     */
+    void rolledBack();
+}
@@ -0,0 +1,287 @@
+package edu.trincoll.game.command;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Structured, binary command log.
+ *
+ * log() encodes a command as a fixed-size record (opcode, actor id,
+ * target id, amount) into one of two reusable direct buffers. A full
+ * buffer is handed to a background thread that writes it to the channel
+ * while logging continues into the other one, so the caller never formats
+ * strings or waits on I/O unless the writer falls a whole buffer behind.
+ *
+ * Character names are interned: the first record that mentions a name is
+ * preceded by a NAME record defining its id. Commands other than
+ * AttackCommand and HealCommand are logged as their description text.
+ *
+ * Records reach the channel when a buffer fills, on flush() or on close().
+ * A sink is not thread-safe; use one per invoker thread. The channel
+ * belongs to the caller and is not closed by close().
+ */
+public final class CommandLogSink implements AutoCloseable {
+    private static final byte NAME = 0;
+    private static final byte ATTACK = 1;
+    private static final byte HEAL = 2;
+    private static final byte OTHER = 3;
+
+    private static final int COMMAND_RECORD_BYTES = 1 + 3 * Integer.BYTES;
+    private static final int MAX_TEXT_CHARS = 256;
+    private static final int MIN_BUFFER_BYTES = 4096;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final WritableByteChannel channel;
+    private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(2);
+    private final BlockingQueue<ByteBuffer> filled = new ArrayBlockingQueue<>(3);
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final Thread writer;
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile IOException failure;
+    private ByteBuffer active;
+    private long recordCount;
+    private boolean closed;
+
+    public CommandLogSink(WritableByteChannel channel) {
+        this(channel, 64 * 1024);
+    }
+
+    /**
+     * @param bufferBytes size of each of the two buffers
+     */
+    public CommandLogSink(WritableByteChannel channel, int bufferBytes) {
+        if (bufferBytes < MIN_BUFFER_BYTES) {
+            throw new IllegalArgumentException("Buffer must be at least " + MIN_BUFFER_BYTES + " bytes");
+        }
+        this.channel = channel;
+        this.active = ByteBuffer.allocateDirect(bufferBytes);
+        this.free.add(ByteBuffer.allocateDirect(bufferBytes));
+        this.writer = new Thread(this::drain, "command-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Append a record for an executed command.
+     *
+     * @throws IllegalStateException if the sink is closed or a write failed
+     */
+    public void log(GameCommand command) {
+        checkOpen();
+        if (command instanceof AttackCommand attack) {
+            int actor = nameId(attack.getAttacker().getName());
+            int target = nameId(attack.getTarget().getName());
+            writeCommand(ATTACK, actor, target, attack.getDamageDealt());
+        } else if (command instanceof HealCommand heal) {
+            int target = nameId(heal.getTarget().getName());
+            writeCommand(HEAL, -1, target, heal.getActualHealingDone());
+        } else {
+            byte[] text = encode(command.getDescription());
+            ensureRoom(1 + Short.BYTES + text.length);
+            active.put(OTHER).putShort((short) text.length).put(text);
+        }
+        recordCount++;
+    }
+
+    /**
+     * Hand the records logged so far to the writer thread.
+     * Returns without waiting for the write to finish.
+     */
+    public void flush() {
+        checkOpen();
+        if (active.position() > 0) {
+            handOff();
+        }
+    }
+
+    /**
+     * Flush remaining records and wait for the writer thread to finish.
+     *
+     * @throws IllegalStateException if a write failed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (active.position() > 0) {
+            handOff();
+        }
+        putUninterruptibly(filled, END);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Command log write failed", failure);
+        }
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Bytes the writer thread has written to the channel so far.
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    private void writeCommand(byte opcode, int actor, int target, int amount) {
+        ensureRoom(COMMAND_RECORD_BYTES);
+        active.put(opcode).putInt(actor).putInt(target).putInt(amount);
+    }
+
+    private int nameId(String name) {
+        Integer id = nameIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        int newId = nameIds.size();
+        nameIds.put(name, newId);
+        byte[] bytes = encode(name);
+        ensureRoom(1 + Integer.BYTES + Short.BYTES + bytes.length);
+        active.put(NAME).putInt(newId).putShort((short) bytes.length).put(bytes);
+        return newId;
+    }
+
+    private void ensureRoom(int bytes) {
+        if (active.remaining() < bytes) {
+            handOff();
+        }
+    }
+
+    private void handOff() {
+        putUninterruptibly(filled, active);
+        active = takeUninterruptibly(free);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Command log is closed");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Command log write failed", failure);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            ByteBuffer buffer = takeUninterruptibly(filled);
+            if (buffer == END) {
+                return;
+            }
+            buffer.flip();
+            try {
+                // After a failure keep recycling buffers so log() never blocks forever
+                while (failure == null && buffer.hasRemaining()) {
+                    bytesWritten.addAndGet(channel.write(buffer));
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            buffer.clear();
+            free.add(buffer);
+        }
+    }
+
+    private static byte[] encode(String text) {
+        String clipped = text.length() > MAX_TEXT_CHARS ? text.substring(0, MAX_TEXT_CHARS) : text;
+        return clipped.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static <T> void putUninterruptibly(BlockingQueue<T> queue, T item) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T takeUninterruptibly(BlockingQueue<T> queue) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public enum Opcode { ATTACK, HEAL, OTHER }
+
+    /**
+     * One decoded log record. actor is null for heals; for OTHER records
+     * only description is set.
+     */
+    public record Entry(Opcode opcode, String actor, String target, int amount, String description) {
+    }
+
+    /**
+     * Decode a complete log, e.g. the bytes of a log file.
+     *
+     * @throws IllegalArgumentException if the log is malformed
+     */
+    public static List<Entry> read(ByteBuffer log) {
+        List<String> names = new ArrayList<>();
+        List<Entry> entries = new ArrayList<>();
+        try {
+            while (log.hasRemaining()) {
+                byte opcode = log.get();
+                switch (opcode) {
+                    case NAME -> {
+                        int id = log.getInt();
+                        if (id != names.size()) {
+                            throw new IllegalArgumentException("Name id out of order: " + id);
+                        }
+                        names.add(readText(log));
+                    }
+                    case ATTACK -> entries.add(new Entry(Opcode.ATTACK,
+                        names.get(log.getInt()), names.get(log.getInt()), log.getInt(), null));
+                    case HEAL -> {
+                        log.getInt();
+                        entries.add(new Entry(Opcode.HEAL, null, names.get(log.getInt()), log.getInt(), null));
+                    }
+                    case OTHER -> entries.add(new Entry(Opcode.OTHER, null, null, 0, readText(log)));
+                    default -> throw new IllegalArgumentException("Unknown opcode: " + opcode);
+                }
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated or corrupt command log", e);
+        }
+        return entries;
+    }
+
+    private static String readText(ByteBuffer log) {
+        byte[] bytes = new byte[log.getShort()];
+        log.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
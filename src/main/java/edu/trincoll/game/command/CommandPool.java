@@ -0,0 +1,84 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.ArrayDeque;
+
+/**
+ * Thread-local pools of reusable AttackCommand and HealCommand objects.
+ *
+ * acquire*() hands out a recycled command (or a new one when the pool is
+ * empty), release() returns it. A CommandInvoker releases commands
+ * automatically when they leave it for good - evicted from a bounded
+ * history, cleared, or dropped from the redo stack - so with a bounded
+ * history a tick loop reaches a steady state with no command allocation.
+ *
+ * Ownership rules:
+ * - Once a pooled command is given to an invoker, the invoker owns it;
+ *   don't keep using the reference after it may have been evicted.
+ * - Commands return to the pool of the thread that releases them, so
+ *   release on the thread that runs the invoker.
+ * - Commands created with new are never pooled; releasing them is a no-op.
+ */
+public final class CommandPool {
+    private static final int MAX_POOLED = 4096;
+
+    private static final ThreadLocal<ArrayDeque<AttackCommand>> ATTACKS =
+        ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ArrayDeque<HealCommand>> HEALS =
+        ThreadLocal.withInitial(ArrayDeque::new);
+
+    private CommandPool() {
+    }
+
+    public static AttackCommand acquireAttack(Character attacker, Character target) {
+        AttackCommand command = ATTACKS.get().pollLast();
+        if (command == null) {
+            command = new AttackCommand(attacker, target);
+        } else {
+            command.reset(attacker, target);
+        }
+        command.pooled = true;
+        return command;
+    }
+
+    public static HealCommand acquireHeal(Character target, int amount) {
+        HealCommand command = HEALS.get().pollLast();
+        if (command == null) {
+            command = new HealCommand(target, amount);
+        } else {
+            command.reset(target, amount);
+        }
+        command.pooled = true;
+        return command;
+    }
+
+    /**
+     * Return a command to this thread's pool. Commands that weren't
+     * acquired from the pool, or were already released, are ignored.
+     */
+    public static void release(GameCommand command) {
+        if (command instanceof AttackCommand attack && attack.pooled) {
+            attack.pooled = false;
+            attack.reset(null, null);
+            offer(ATTACKS.get(), attack);
+        } else if (command instanceof HealCommand heal && heal.pooled) {
+            heal.pooled = false;
+            heal.reset(null, 0);
+            offer(HEALS.get(), heal);
+        }
+    }
+
+    /**
+     * Number of idle commands in this thread's pools.
+     */
+    public static int idleCount() {
+        return ATTACKS.get().size() + HEALS.get().size();
+    }
+
+    private static <T> void offer(ArrayDeque<T> pool, T command) {
+        if (pool.size() < MAX_POOLED) {
+            pool.addLast(command);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.model.Character;
+
+import java.util.List;
+
 /**
  * Command pattern interface for game actions.
  * Commands encapsulate actions that can be executed and undone.
@@ -23,4 +27,25 @@ public interface GameCommand {
      * Get a description of this command for logging.
      */
     String getDescription();
+
+    /**
+     * Append the description to a caller-supplied builder.
+     * Lets history dumps reuse one builder instead of creating a string
+     * per command; built-in commands override this to append directly.
+     */
+    default void describeTo(StringBuilder out) {
+        out.append(getDescription());
+    }
+
+    /**
+     * Get the characters whose stats this command may change.
+     * The invoker snapshots these before execution so checkpoints can be
+     * restored without undoing commands one by one.
+     *
+     * Default: empty, meaning "unknown" - such commands are always
+     * rolled back through undo().
+     */
+    default List<Character> getAffectedCharacters() {
+        return List.of();
+    }
 }
@@ -0,0 +1,104 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Heals every living character in a group by the same amount - one
+ * command instead of one HealCommand per target. Dead targets stay dead.
+ *
+ * Undo data is one int per target, its health before the heal (-1 for
+ * targets that were skipped); undo restores it like HealCommand does.
+ * With 256 or more targets, healing and undoing run in parallel chunks,
+ * so each target must appear only once.
+ */
+public class GroupHealCommand implements GameCommand {
+    private static final int SKIPPED = -1;
+
+    private final Character[] targets;
+    private final int amount;
+    private final int[] healthBefore;
+    private final List<Character> affected;
+    private long totalHealing;
+
+    public GroupHealCommand(Collection<Character> targets, int amount) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Group heal needs at least one target");
+        }
+        this.targets = targets.toArray(new Character[0]);
+        this.amount = amount;
+        this.healthBefore = new int[this.targets.length];
+        this.affected = Collections.unmodifiableList(Arrays.asList(this.targets));
+    }
+
+    @Override
+    public void execute() {
+        TargetChunks.forEach(targets.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                Character target = targets[i];
+                int health = target.getStats().health();
+                if (health <= 0) {
+                    healthBefore[i] = SKIPPED;
+                    continue;
+                }
+                healthBefore[i] = health;
+                target.heal(amount);
+            }
+        });
+        long total = 0;
+        for (int i = 0; i < targets.length; i++) {
+            if (healthBefore[i] != SKIPPED) {
+                total += targets[i].getStats().health() - healthBefore[i];
+            }
+        }
+        totalHealing = total;
+    }
+
+    @Override
+    public void undo() {
+        TargetChunks.forEach(targets.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (healthBefore[i] != SKIPPED) {
+                    targets[i].setHealth(healthBefore[i]);
+                }
+            }
+        });
+    }
+
+    @Override
+    public String getDescription() {
+        StringBuilder out = new StringBuilder(40);
+        describeTo(out);
+        return out.toString();
+    }
+
+    @Override
+    public void describeTo(StringBuilder out) {
+        out.append("Heal ").append(targets.length).append(" targets for ").append(amount).append(" HP");
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public int getTargetCount() {
+        return targets.length;
+    }
+
+    /**
+     * Healing actually applied over all targets by the last execute()
+     * (capped at each target's max health).
+     */
+    public long getTotalHealing() {
+        return totalHealing;
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        return affected;
+    }
+}
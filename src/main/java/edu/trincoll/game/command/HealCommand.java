@@ -2,6 +2,8 @@ package edu.trincoll.game.command;
 
 import edu.trincoll.game.model.Character;
 
+import java.util.List;
+
 /**
  * Command to heal a character.
  *
@@ -21,16 +23,28 @@ import edu.trincoll.game.model.Character;
  * Note: Need to track actual healing because you can't heal above max health.
  */
 public class HealCommand implements GameCommand {
-    private final Character target;
-    private final int amount;
+    // Not final so CommandPool can recycle instances
+    private Character target;
+    private int amount;
     private int actualHealingDone;
     private int healthBefore;
+    boolean pooled;
 
     public HealCommand(Character target, int amount) {
         this.target = target;
         this.amount = amount;
     }
 
+    /**
+     * Re-target a recycled command (used by CommandPool).
+     */
+    void reset(Character target, int amount) {
+        this.target = target;
+        this.amount = amount;
+        this.actualHealingDone = 0;
+        this.healthBefore = 0;
+    }
+
     @Override
     public void execute() {
         healthBefore = target.getStats().health();
@@ -47,6 +61,33 @@ public class HealCommand implements GameCommand {
 
     @Override
     public String getDescription() {
-        return String.format("Heal %s for %d HP", target.getName(), amount);
+        StringBuilder out = new StringBuilder(32);
+        describeTo(out);
+        return out.toString();
+    }
+
+    @Override
+    public void describeTo(StringBuilder out) {
+        out.append("Heal ").append(target.getName()).append(" for ").append(amount).append(" HP");
+    }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Healing actually applied by the last execute() (capped at max health).
+     */
+    public int getActualHealingDone() {
+        return actualHealingDone;
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        return List.of(target);
     }
 }
@@ -0,0 +1,71 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.List;
+
+/**
+ * The attacker hits the target and heals by the damage dealt.
+ *
+ * Two characters change together, so when other threads may touch
+ * either one, run it through Stm.execute() to make both changes land
+ * (or neither) as one.
+ */
+public class LifeDrainCommand implements GameCommand {
+    private final Character attacker;
+    private final Character target;
+    private int damageDealt;
+    private int healthBefore;
+
+    public LifeDrainCommand(Character attacker, Character target) {
+        this.attacker = attacker;
+        this.target = target;
+    }
+
+    @Override
+    public void execute() {
+        int targetBefore = target.getStats().health();
+        target.takeDamage(attacker.attack(target));
+        damageDealt = Math.max(0, targetBefore - target.getStats().health());
+        healthBefore = attacker.getStats().health();
+        attacker.heal(damageDealt);
+    }
+
+    @Override
+    public void undo() {
+        target.heal(damageDealt);
+        attacker.setHealth(healthBefore);
+    }
+
+    @Override
+    public String getDescription() {
+        StringBuilder out = new StringBuilder(32);
+        describeTo(out);
+        return out.toString();
+    }
+
+    @Override
+    public void describeTo(StringBuilder out) {
+        out.append(attacker.getName()).append(" drains ").append(target.getName());
+    }
+
+    public Character getAttacker() {
+        return attacker;
+    }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    /**
+     * Net damage dealt (and health drained) by the last execute().
+     */
+    public int getDamageDealt() {
+        return damageDealt;
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        return List.of(attacker, target);
+    }
+}
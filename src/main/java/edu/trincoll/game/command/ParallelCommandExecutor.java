@@ -0,0 +1,249 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a batch of commands through a CommandInvoker with the same end
+ * result as calling executeCommand() on each in turn, executing commands
+ * that touch disjoint characters in parallel.
+ *
+ * A command's footprint is getAffectedCharacters(). Each command goes in
+ * the wave after the last one touching any of its characters, so two
+ * commands sharing a character always run in their original order and
+ * commands within a wave share none. Waves run one after another; a
+ * wave of 256 or more commands is split into parallel chunks on the
+ * common pool. Commands reporting no affected characters could touch
+ * anything, so they act as barriers: everything before them finishes,
+ * then they run alone through executeCommand().
+ *
+ * History, checkpoints and the log sink end up as they would
+ * sequentially, so undo order is unchanged. A CommandListener is not
+ * supported: listeners such as JournalWriter and the replication Primary
+ * read each command's characters when told about it, and with waves
+ * those characters may already carry later commands' changes. An
+ * invoker with a listener is rejected.
+ *
+ * If commands throw, the lowest failing one wins: commands after it that
+ * already ran have their characters' stats put back, the ones before it
+ * go into history, and its exception is rethrown - the state a
+ * sequential loop stopping at that exception would leave. The failing
+ * command and every command after it are handed to CommandPool.release(),
+ * as they never reach history.
+ *
+ * Commands within a wave run concurrently, so anything they share other
+ * than characters (strategies, caches, observers) must be thread-safe.
+ */
+public final class ParallelCommandExecutor {
+    private final CommandInvoker invoker;
+    private long commandsExecuted;
+    private long wavesExecuted;
+    private long barriers;
+
+    public ParallelCommandExecutor(CommandInvoker invoker) {
+        this.invoker = invoker;
+    }
+
+    /**
+     * Execute the commands as if by invoker.executeCommand() on each, in order.
+     *
+     * @throws IllegalStateException if the invoker has a listener
+     */
+    public void executeAll(List<GameCommand> commands) {
+        if (invoker.hasListener()) {
+            throw new IllegalStateException("Invoker has a listener; execute its commands one by one");
+        }
+        int start = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            GameCommand command = commands.get(i);
+            if (command.getAffectedCharacters().isEmpty()) {
+                executeSegment(commands, start, i);
+                try {
+                    invoker.executeCommand(command);
+                } catch (RuntimeException e) {
+                    release(commands, i);
+                    throw e;
+                }
+                commandsExecuted++;
+                barriers++;
+                start = i + 1;
+            }
+        }
+        executeSegment(commands, start, commands.size());
+    }
+
+    public long getCommandsExecuted() {
+        return commandsExecuted;
+    }
+
+    public long getWavesExecuted() {
+        return wavesExecuted;
+    }
+
+    /**
+     * Commands without affected characters, run on their own.
+     */
+    public long getBarriers() {
+        return barriers;
+    }
+
+    /**
+     * Run commands [start, end) of the batch, which all report their
+     * affected characters.
+     */
+    private void executeSegment(List<GameCommand> batch, int start, int end) {
+        int size = end - start;
+        if (size == 0) {
+            return;
+        }
+        GameCommand[] commands = batch.subList(start, end).toArray(new GameCommand[0]);
+        List<int[]> waves = plan(commands);
+
+        CharacterStats[][] before = new CharacterStats[size][];
+        RuntimeException[] errors = new RuntimeException[size];
+        boolean[] ran = new boolean[size];
+        // Commands at or after limit don't count: they'd never have run
+        int limit = size;
+        int executedWaves = 0;
+
+        for (int w = 0; w < waves.size(); w++) {
+            int[] wave = waves.get(w);
+            int[] runnable = new int[wave.length];
+            int count = 0;
+            for (int index : wave) {
+                if (index < limit) {
+                    runnable[count++] = index;
+                }
+            }
+            if (count == 0) {
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                GameCommand command = commands[runnable[i]];
+                invoker.beforeExecute(command);
+                before[runnable[i]] = snapshot(command.getAffectedCharacters());
+            }
+            TargetChunks.forEach(count, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int index = runnable[i];
+                    ran[index] = true;
+                    try {
+                        commands[index].execute();
+                    } catch (RuntimeException e) {
+                        errors[index] = e;
+                    }
+                }
+            });
+            executedWaves++;
+
+            int failed = limit;
+            for (int i = 0; i < count; i++) {
+                if (errors[runnable[i]] != null) {
+                    failed = Math.min(failed, runnable[i]);
+                }
+            }
+            if (failed < limit) {
+                discard(commands, waves, w, before, ran, failed, limit);
+                limit = failed;
+            }
+        }
+
+        for (int i = 0; i < limit; i++) {
+            invoker.afterExecute(commands[i]);
+        }
+        commandsExecuted += limit;
+        wavesExecuted += executedWaves;
+        if (limit < size) {
+            release(batch, start + limit);
+            throw errors[limit];
+        }
+    }
+
+    /**
+     * Return the batch's commands from index on to the pool.
+     */
+    private static void release(List<GameCommand> batch, int from) {
+        for (int i = from; i < batch.size(); i++) {
+            CommandPool.release(batch.get(i));
+        }
+    }
+
+    /**
+     * Put each command in the wave after the last one touching any of
+     * its characters.
+     *
+     * @return command indexes per wave, ascending within a wave
+     */
+    private static List<int[]> plan(GameCommand[] commands) {
+        Map<Character, Integer> lastWave = new IdentityHashMap<>();
+        int[] waveOf = new int[commands.length];
+        int[] waveSizes = new int[commands.length];
+        int waveCount = 0;
+        for (int i = 0; i < commands.length; i++) {
+            List<Character> affected = commands[i].getAffectedCharacters();
+            int wave = 0;
+            for (Character character : affected) {
+                Integer last = lastWave.get(character);
+                if (last != null && last >= wave) {
+                    wave = last + 1;
+                }
+            }
+            for (Character character : affected) {
+                lastWave.put(character, wave);
+            }
+            waveOf[i] = wave;
+            waveSizes[wave]++;
+            waveCount = Math.max(waveCount, wave + 1);
+        }
+        List<int[]> waves = new ArrayList<>(waveCount);
+        for (int w = 0; w < waveCount; w++) {
+            waves.add(new int[waveSizes[w]]);
+        }
+        int[] filled = new int[waveCount];
+        for (int i = 0; i < commands.length; i++) {
+            waves.get(waveOf[i])[filled[waveOf[i]]++] = i;
+        }
+        return waves;
+    }
+
+    /**
+     * Undo the effects of commands in (failed, limit] that ran in waves
+     * up to lastWave, newest wave first - including the command at limit,
+     * which is the previous failure (if any) and may have written before
+     * it threw. A character's stats end up as they were before the first
+     * of those commands touched it, since commands sharing a character
+     * run in index order.
+     */
+    private static void discard(GameCommand[] commands, List<int[]> waves, int lastWave,
+                                CharacterStats[][] before, boolean[] ran, int failed, int limit) {
+        for (int w = lastWave; w >= 0; w--) {
+            int[] wave = waves.get(w);
+            for (int i = wave.length - 1; i >= 0; i--) {
+                int index = wave[i];
+                if (index > failed && index <= limit && ran[index]) {
+                    restore(commands[index].getAffectedCharacters(), before[index]);
+                }
+            }
+        }
+    }
+
+    private static CharacterStats[] snapshot(List<Character> characters) {
+        CharacterStats[] stats = new CharacterStats[characters.size()];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = characters.get(i).getStats();
+        }
+        return stats;
+    }
+
+    private static void restore(List<Character> characters, CharacterStats[] stats) {
+        // Reverse order, so a character listed twice keeps its first snapshot
+        for (int i = stats.length - 1; i >= 0; i--) {
+            characters.get(i).restoreStats(stats[i]);
+        }
+    }
+}
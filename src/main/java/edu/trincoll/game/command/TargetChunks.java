@@ -0,0 +1,39 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.stm.Transaction;
+
+import java.util.stream.IntStream;
+
+/**
+ * Splits a multi-target command's targets, or a wave of independent
+ * commands, into chunks, run in parallel on the common pool once there
+ * are enough of them to pay for it.
+ *
+ * Inside a transaction chunks always run on the calling thread: a
+ * transaction belongs to one thread, and pool threads would write the
+ * characters directly.
+ */
+final class TargetChunks {
+    static final int PARALLEL_THRESHOLD = 256;
+    static final int CHUNK_SIZE = 128;
+
+    @FunctionalInterface
+    interface RangeAction {
+        void apply(int from, int to);
+    }
+
+    private TargetChunks() {
+    }
+
+    static void forEach(int size, RangeAction action) {
+        if (size < PARALLEL_THRESHOLD || Transaction.current() != null) {
+            action.apply(0, size);
+            return;
+        }
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            action.apply(from, Math.min(size, from + CHUNK_SIZE));
+        });
+    }
+}
@@ -2,14 +2,22 @@ package edu.trincoll.game.demo;
 
 import edu.trincoll.game.command.AttackCommand;
 import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.CommandPool;
 import edu.trincoll.game.command.HealCommand;
 import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.log.GameEventLogger;
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
 import edu.trincoll.game.strategy.MagicAttackStrategy;
 import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.template.BattleRunner;
 import edu.trincoll.game.template.PowerAttackSequence;
 import edu.trincoll.game.template.StandardBattleSequence;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
 /**
  * Interactive demonstration of design patterns working together.
  *
@@ -21,10 +29,31 @@ import edu.trincoll.game.template.StandardBattleSequence;
  * - Template Method: Customizable battle sequences
  *
  * Run this class to see the patterns in action!
+ *
+ * High-volume mode: {@code --transcript <battles> [file]} plays that many
+ * battles and writes the full transcript (to the file, or stdout) through
+ * a GameEventLogger instead of System.out.
+ *
+ * Load mode: {@code --load [options]} runs the headless LoadGenerator
+ * and prints its throughput/latency report.
  */
 public class GameDemo {
+    private static final int TRANSCRIPT_TURN_LIMIT = 200;
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--load")) {
+            LoadGenerator.main(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--transcript")) {
+            try {
+                runTranscript(args);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open transcript file", e);
+            }
+            return;
+        }
+
         System.out.println("=".repeat(60));
         System.out.println("DESIGN PATTERNS GAME DEMO");
         System.out.println("=".repeat(60));
@@ -272,4 +301,85 @@ public class GameDemo {
         System.out.println("• TEMPLATE METHOD standardizes processes");
         System.out.println("\n→ Together they create flexible, maintainable code!");
     }
+
+    /**
+     * High-volume mode: every turn of every battle goes through the async
+     * logger. Lines are built in one reused StringBuilder.
+     */
+    private static void runTranscript(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException("Usage: --transcript <battles> [file]");
+        }
+        int battles = Integer.parseInt(args[1]);
+        if (battles <= 0) {
+            throw new IllegalArgumentException("Battles must be positive");
+        }
+
+        long start = System.nanoTime();
+        long turns = 0;
+        GameEventLogger logger = args.length == 3
+            ? GameEventLogger.toFile(Path.of(args[2]), 1 << 16, GameEventLogger.OverflowPolicy.BLOCK)
+            : GameEventLogger.toStdout(1 << 16, GameEventLogger.OverflowPolicy.BLOCK);
+        try (logger) {
+            StringBuilder line = new StringBuilder(128);
+            CharacterType[] types = CharacterType.values();
+            for (int battle = 1; battle <= battles; battle++) {
+                CharacterType firstType = types[battle % types.length];
+                CharacterType secondType = types[(battle / types.length + battle + 1) % types.length];
+                Character first = CharacterFactory.createCharacter(firstType.name() + "-" + battle, firstType);
+                Character second = CharacterFactory.createCharacter(secondType.name() + "-" + battle, secondType);
+                turns += playLoggedBattle(battle, first, second, logger, line);
+            }
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        System.err.println(battles + " battles, " + turns + " turns in " + millis + " ms ("
+            + logger.getWrittenCount() + " lines, " + logger.getDroppedCount() + " dropped)");
+    }
+
+    private static int playLoggedBattle(int battle, Character first, Character second,
+                                        GameEventLogger logger, StringBuilder line) {
+        CommandInvoker invoker = new CommandInvoker(16);
+        line.setLength(0);
+        line.append("Battle ").append(battle).append(": ").append(first).append(" vs ").append(second);
+        logger.log(line);
+
+        int turn = 0;
+        Character attacker = first;
+        Character defender = second;
+        while (first.isAlive() && second.isAlive() && turn < TRANSCRIPT_TURN_LIMIT) {
+            turn++;
+            line.setLength(0);
+            line.append("  turn ").append(turn).append(": ");
+            AttackCommand attack = CommandPool.acquireAttack(attacker, defender);
+            try {
+                invoker.executeCommand(attack);
+                attack.describeTo(line);
+                line.append(" for ").append(attack.getDamageDealt())
+                    .append(" (").append(defender.getName()).append(' ')
+                    .append(defender.getStats().health()).append('/')
+                    .append(defender.getStats().maxHealth()).append(" HP)");
+            } catch (IllegalStateException outOfMana) {
+                CommandPool.release(attack);
+                BattleRunner.rest(attacker);
+                line.append(attacker.getName()).append(" is out of mana and rests");
+            }
+            logger.log(line);
+            Character next = defender;
+            defender = attacker;
+            attacker = next;
+        }
+
+        line.setLength(0);
+        line.append("  result: ");
+        if (first.isAlive() && second.isAlive()) {
+            line.append("draw after ").append(turn).append(" turns");
+        } else {
+            line.append(first.isAlive() ? first.getName() : second.getName())
+                .append(" wins in ").append(turn).append(" turns");
+        }
+        logger.log(line);
+        invoker.clearHistory();
+        return turn;
+    }
 }
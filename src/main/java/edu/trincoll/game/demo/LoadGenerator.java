@@ -0,0 +1,262 @@
+package edu.trincoll.game.demo;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.metrics.LatencyHistogram;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.BattleRunner;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless load generator: plays many battles across worker threads and
+ * reports throughput, turn latency, allocation rate and GC time.
+ *
+ * Teams are spawned from one CharacterFactory prototype per type, with
+ * random types per slot. Each worker keeps its own counters and latency
+ * histogram; they are merged once at the end, so measurement adds no
+ * contention.
+ *
+ * Run with {@code GameDemo --load [options]}; see LoadOptions.parse().
+ */
+public final class LoadGenerator {
+
+    /**
+     * Results of one run.
+     *
+     * @param allocatedBytes bytes allocated by the workers, or -1 if the JVM can't tell
+     */
+    public record Report(
+        LoadOptions options,
+        long elapsedNanos,
+        long turns,
+        long commands,
+        long firstTeamWins,
+        long secondTeamWins,
+        long draws,
+        long p50Nanos,
+        long p99Nanos,
+        long maxNanos,
+        long allocatedBytes,
+        long gcCount,
+        long gcMillis
+    ) {
+        public long battles() {
+            return firstTeamWins + secondTeamWins + draws;
+        }
+
+        public double turnsPerSecond() {
+            return turns * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        public double commandsPerSecond() {
+            return commands * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * Allocation rate in MB/s, or -1 if unknown.
+         */
+        public double allocationMbPerSecond() {
+            if (allocatedBytes < 0) {
+                return -1;
+            }
+            return allocatedBytes / 1e6 * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        public String format() {
+            StringBuilder out = new StringBuilder(512);
+            out.append("Load run: ").append(battles()).append(" battles, ")
+                .append(options.rosterSize()).append(" vs ").append(options.rosterSize())
+                .append(", ").append(options.threads()).append(" threads\n");
+            out.append(String.format("  elapsed:     %.1f ms%n", elapsedNanos / 1e6));
+            out.append(String.format("  throughput:  %,.0f turns/s, %,.0f commands/s%n",
+                turnsPerSecond(), commandsPerSecond()));
+            out.append(String.format("  turn time:   p50 %,d ns, p99 %,d ns, max %,d ns%n",
+                p50Nanos, p99Nanos, maxNanos));
+            if (allocatedBytes >= 0) {
+                out.append(String.format("  allocation:  %,.1f MB/s (%,d bytes)%n",
+                    allocationMbPerSecond(), allocatedBytes));
+            } else {
+                out.append("  allocation:  n/a\n");
+            }
+            out.append(String.format("  gc:          %d collections, %d ms%n", gcCount, gcMillis));
+            out.append(String.format("  outcomes:    %d / %d / %d (first / second / draw)%n",
+                firstTeamWins, secondTeamWins, draws));
+            return out.toString();
+        }
+    }
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) {
+        System.out.print(run(LoadOptions.parse(args)).format());
+    }
+
+    /**
+     * Play the warmup battles, then the measured ones, and report.
+     */
+    public static Report run(LoadOptions options) {
+        Character[] prototypes = prototypes();
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads(), runnable -> {
+            Thread thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            if (options.warmup() > 0) {
+                play(pool, options, prototypes, options.warmup(), options.seed() ^ 0x5DEECE66DL);
+            }
+            long gcCountBefore = gcCount();
+            long gcMillisBefore = gcMillis();
+            long start = System.nanoTime();
+            WorkerStats total = play(pool, options, prototypes, options.battles(), options.seed());
+            long elapsed = System.nanoTime() - start;
+
+            return new Report(options, elapsed, total.turns, total.commands,
+                total.outcomes[0], total.outcomes[1], total.outcomes[2],
+                total.latency.percentile(50), total.latency.percentile(99), total.latency.getMax(),
+                total.allocatedBytes, gcCount() - gcCountBefore, gcMillis() - gcMillisBefore);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Character[] prototypes() {
+        CharacterType[] types = CharacterType.values();
+        Character[] prototypes = new Character[types.length];
+        for (int i = 0; i < types.length; i++) {
+            prototypes[i] = CharacterFactory.createCharacter(types[i].name(), types[i]);
+        }
+        return prototypes;
+    }
+
+    private static WorkerStats play(ExecutorService pool, LoadOptions options,
+                                    Character[] prototypes, int battles, long seed) {
+        AtomicInteger nextBattle = new AtomicInteger();
+        List<Future<WorkerStats>> workers = new ArrayList<>();
+        for (int t = 0; t < options.threads(); t++) {
+            SplittableRandom random = new SplittableRandom(seed + t);
+            workers.add(pool.submit(() -> work(options, prototypes, battles, nextBattle, random)));
+        }
+
+        WorkerStats total = new WorkerStats();
+        for (Future<WorkerStats> worker : workers) {
+            try {
+                total.merge(worker.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for load workers", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+        }
+        return total;
+    }
+
+    private static WorkerStats work(LoadOptions options, Character[] prototypes, int battles,
+                                    AtomicInteger nextBattle, SplittableRandom random) {
+        WorkerStats stats = new WorkerStats();
+        String[] firstNames = names("A", options.rosterSize());
+        String[] secondNames = names("B", options.rosterSize());
+        List<Character> first = new ArrayList<>(options.rosterSize());
+        List<Character> second = new ArrayList<>(options.rosterSize());
+        long allocatedBefore = allocatedBytes();
+
+        while (nextBattle.getAndIncrement() < battles) {
+            spawnTeam(first, prototypes, firstNames, random);
+            spawnTeam(second, prototypes, secondNames, random);
+            BattleRunner runner = new BattleRunner(first, second, options.turnLimit());
+            boolean running = true;
+            while (running) {
+                long turnStart = System.nanoTime();
+                running = runner.playTurn();
+                stats.latency.record(System.nanoTime() - turnStart);
+            }
+            stats.turns += runner.getTurns();
+            stats.commands += runner.getCommandCount();
+            stats.outcomes[runner.getOutcome().ordinal()]++;
+        }
+
+        long allocatedAfter = allocatedBytes();
+        stats.allocatedBytes = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return stats;
+    }
+
+    private static void spawnTeam(List<Character> team, Character[] prototypes,
+                                  String[] names, SplittableRandom random) {
+        team.clear();
+        for (String name : names) {
+            team.add(CharacterFactory.spawn(prototypes[random.nextInt(prototypes.length)], name));
+        }
+    }
+
+    private static String[] names(String prefix, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = prefix + (i + 1);
+        }
+        return names;
+    }
+
+    /**
+     * Bytes allocated by the calling thread, or -1 if not supported.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean hotspot
+                && hotspot.isThreadAllocatedMemorySupported()
+                && hotspot.isThreadAllocatedMemoryEnabled()) {
+            return hotspot.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Per-worker counters, merged after the run.
+     */
+    private static final class WorkerStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final long[] outcomes = new long[BattleRunner.Outcome.values().length];
+        private long turns;
+        private long commands;
+        private long allocatedBytes;
+
+        private void merge(WorkerStats other) {
+            latency.merge(other.latency);
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] += other.outcomes[i];
+            }
+            turns += other.turns;
+            commands += other.commands;
+            allocatedBytes = allocatedBytes < 0 || other.allocatedBytes < 0
+                ? -1 : allocatedBytes + other.allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package edu.trincoll.game.demo;
+
+/**
+ * Settings for a LoadGenerator run.
+ *
+ * @param battles    measured battles to play
+ * @param threads    worker threads playing battles
+ * @param rosterSize characters per team
+ * @param turnLimit  turns after which a battle is a draw
+ * @param warmup     unmeasured battles played first so the JIT settles
+ * @param seed       seed for team composition
+ */
+public record LoadOptions(
+    int battles,
+    int threads,
+    int rosterSize,
+    int turnLimit,
+    int warmup,
+    long seed
+) {
+    public LoadOptions {
+        if (battles < 1 || threads < 1 || rosterSize < 1 || turnLimit < 1) {
+            throw new IllegalArgumentException("Battles, threads, roster size and turn limit must be positive");
+        }
+        if (warmup < 0) {
+            throw new IllegalArgumentException("Warmup cannot be negative");
+        }
+    }
+
+    /**
+     * 10,000 battles of 3 vs 3 on every available core, after 1,000 warmup battles.
+     */
+    public static LoadOptions defaults() {
+        return new LoadOptions(10_000, Runtime.getRuntime().availableProcessors(), 3, 200, 1_000, 42L);
+    }
+
+    /**
+     * Parse {@code --battles N --threads T --roster R --turns L --warmup W --seed S};
+     * a leading {@code --load} is ignored and anything omitted keeps its default.
+     *
+     * @throws IllegalArgumentException on an unknown option or a bad value
+     */
+    public static LoadOptions parse(String[] args) {
+        LoadOptions defaults = defaults();
+        int battles = defaults.battles;
+        int threads = defaults.threads;
+        int rosterSize = defaults.rosterSize;
+        int turnLimit = defaults.turnLimit;
+        int warmup = defaults.warmup;
+        long seed = defaults.seed;
+
+        int i = args.length > 0 && args[0].equals("--load") ? 1 : 0;
+        for (; i < args.length; i += 2) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[i + 1];
+            try {
+                switch (option) {
+                    case "--battles" -> battles = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--roster" -> rosterSize = Integer.parseInt(value);
+                    case "--turns" -> turnLimit = Integer.parseInt(value);
+                    case "--warmup" -> warmup = Integer.parseInt(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a number for " + option + ": " + value, e);
+            }
+        }
+        return new LoadOptions(battles, threads, rosterSize, turnLimit, warmup, seed);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+
+/**
+ * Command that applies a status effect; undo cancels it.
+ *
+ * Reports no affected characters on purpose: the effect lives in the
+ * StatusEffects engine, which a stats snapshot can't restore, so
+ * checkpoint rollback goes through undo().
+ */
+public class ApplyEffectCommand implements GameCommand {
+    private final StatusEffects effects;
+    private final Character target;
+    private final EffectType type;
+    private final int amount;
+    private final int duration;
+    private long handle = -1;
+
+    public ApplyEffectCommand(StatusEffects effects, Character target, EffectType type,
+                              int amount, int duration) {
+        this.effects = effects;
+        this.target = target;
+        this.type = type;
+        this.amount = amount;
+        this.duration = duration;
+    }
+
+    @Override
+    public void execute() {
+        handle = effects.apply(target, type, amount, duration);
+    }
+
+    @Override
+    public void undo() {
+        effects.cancel(handle);
+    }
+
+    @Override
+    public String getDescription() {
+        StringBuilder out = new StringBuilder(48);
+        describeTo(out);
+        return out.toString();
+    }
+
+    @Override
+    public void describeTo(StringBuilder out) {
+        out.append("Apply ").append(type).append(" to ").append(target.getName())
+            .append(" for ").append(duration).append(" turns");
+    }
+
+    /**
+     * Handle of the applied effect, or -1 before execute().
+     */
+    public long getHandle() {
+        return handle;
+    }
+}
@@ -0,0 +1,39 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.command.GameCommand;
+
+/**
+ * Command that advances the effect clock one turn; undo reverses that
+ * advance through the engine's journal.
+ *
+ * Like ApplyEffectCommand it reports no affected characters, so
+ * checkpoint rollback uses undo() and the engine stays in step.
+ */
+public class EffectTickCommand implements GameCommand {
+    private final StatusEffects effects;
+
+    /**
+     * @throws IllegalArgumentException if the engine keeps no undo journal
+     */
+    public EffectTickCommand(StatusEffects effects) {
+        if (effects.getUndoDepth() == 0) {
+            throw new IllegalArgumentException("StatusEffects needs an undo depth to tick through commands");
+        }
+        this.effects = effects;
+    }
+
+    @Override
+    public void execute() {
+        effects.advance();
+    }
+
+    @Override
+    public void undo() {
+        effects.undoAdvance();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Status effects tick";
+    }
+}
@@ -0,0 +1,30 @@
+package edu.trincoll.game.effect;
+
+/**
+ * Kinds of status effect.
+ *
+ * Periodic effects act on every tick of their period; the others only
+ * change state when they start and when they end.
+ */
+public enum EffectType {
+    /** Loses magnitude HP per tick, ignoring defense. */
+    DAMAGE_OVER_TIME(true),
+    /** Heals magnitude HP per tick. */
+    HEAL_OVER_TIME(true),
+    /** Restores magnitude mana per tick. */
+    MANA_REGEN(true),
+    /** Can't attack while active. */
+    STUN(false),
+    /** Attack power raised by magnitude while active. */
+    ATTACK_BUFF(false);
+
+    private final boolean periodic;
+
+    EffectType(boolean periodic) {
+        this.periodic = periodic;
+    }
+
+    public boolean isPeriodic() {
+        return periodic;
+    }
+}
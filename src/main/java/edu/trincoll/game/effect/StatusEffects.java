@@ -0,0 +1,643 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * Status-effect engine driven by a hierarchical timing wheel.
+ *
+ * Effects live in parallel primitive arrays indexed by slot; freed slots
+ * are recycled through a free list, so once the arrays have grown to the
+ * peak effect count, applying and expiring effects allocates nothing.
+ * Callers hold effects by a long handle (slot plus generation), which
+ * goes stale when the effect ends.
+ *
+ * Each effect sits in exactly one wheel bucket, keyed by its next event:
+ * its next periodic tick or its expiry, whichever comes first. Four
+ * levels of 64 buckets cover 2^24 turns and cascade down as the clock
+ * reaches them. Scheduling, cancelling and expiring are O(1), and
+ * advance() only touches effects with an event that turn. A stun or buff
+ * costs nothing between its start and its end.
+ *
+ * Undo: with an undo depth of N, the last N advances are journaled. The
+ * journal keeps each fired effect's previous tick time and the stats of
+ * every character it changed. Ended effects keep their slot until their
+ * journal is dropped, so undoAdvance() can bring them back under the
+ * same handle.
+ *
+ * Characters get a dense owner id while any slot (active, or ended but
+ * revivable) refers to them; ids are then recycled like effect slots.
+ *
+ * Not thread-safe.
+ */
+public final class StatusEffects {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final int NONE = -1;
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final EffectType[] TYPES = EffectType.values();
+
+    private static final byte FREE = 0;
+    private static final byte ACTIVE = 1;
+    // Ended, but a journal may still revive it
+    private static final byte ENDED = 2;
+
+    // Effect slots, struct-of-arrays
+    private byte[] state;
+    private byte[] type;
+    private int[] magnitude;
+    private int[] period;
+    private int[] owner;
+    private int[] generation;
+    private long[] nextTick;
+    private long[] expiresAt;
+    private int[] wheelNext;
+    private int[] wheelPrev;
+    private int[] bucket;
+    private int[] ownerNext;
+    private int[] ownerPrev;
+    private int freeHead = NONE;
+    private int used;
+    private int active;
+
+    // Characters with effects, by dense id; a free id's ownerHead links the free list
+    private final IdentityHashMap<Character, Integer> ownerIds = new IdentityHashMap<>();
+    private Character[] owners = new Character[16];
+    private int[] ownerHead = new int[16];
+    private int[] stunCount = new int[16];
+    // Slots, active or ended, that refer to each owner
+    private int[] ownerRefs = new int[16];
+    private int ownerFreeHead = NONE;
+    private int ownersUsed;
+
+    private final int[] wheel = new int[LEVELS * WHEEL_SIZE];
+    private long now;
+
+    private final int undoDepth;
+    private final ArrayDeque<Journal> journals = new ArrayDeque<>();
+    private final ArrayDeque<Journal> spareJournals = new ArrayDeque<>();
+
+    public StatusEffects() {
+        this(64, 0);
+    }
+
+    /**
+     * @param initialCapacity effect slots to allocate up front
+     * @param undoDepth       number of advances undoAdvance() can reverse (0 = no undo)
+     */
+    public StatusEffects(int initialCapacity, int undoDepth) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (undoDepth < 0) {
+            throw new IllegalArgumentException("Undo depth cannot be negative");
+        }
+        this.undoDepth = undoDepth;
+        allocateSlots(initialCapacity);
+        Arrays.fill(wheel, NONE);
+    }
+
+    /**
+     * Apply an effect with the type's default period: every turn for
+     * periodic effects, none for the others.
+     */
+    public long apply(Character target, EffectType effectType, int amount, int duration) {
+        return apply(target, effectType, amount, duration, effectType.isPeriodic() ? 1 : 0);
+    }
+
+    /**
+     * Apply an effect starting now. A periodic effect first acts after
+     * one period, and the effect ends after duration turns.
+     *
+     * @param amount   HP or mana per tick, or the attack bonus of a buff
+     * @param duration turns the effect lasts
+     * @param every    turns between ticks; must be 0 for non-periodic types
+     * @return handle for cancel() and remainingTurns()
+     */
+    public long apply(Character target, EffectType effectType, int amount, int duration, int every) {
+        if (target == null || effectType == null) {
+            throw new IllegalArgumentException("Target and effect type are required");
+        }
+        if (amount < 0 || duration <= 0) {
+            throw new IllegalArgumentException("Amount cannot be negative and duration must be positive");
+        }
+        if (effectType.isPeriodic() ? every <= 0 : every != 0) {
+            throw new IllegalArgumentException("Periodic effects need a positive period, others none");
+        }
+
+        int slot = allocate();
+        int id = ownerId(target);
+        state[slot] = ACTIVE;
+        type[slot] = (byte) effectType.ordinal();
+        magnitude[slot] = amount;
+        period[slot] = every;
+        owner[slot] = id;
+        ownerRefs[id]++;
+        nextTick[slot] = every > 0 ? now + every : NEVER;
+        expiresAt[slot] = now + duration;
+        linkOwner(slot);
+        active++;
+
+        if (effectType == EffectType.STUN) {
+            stunCount[id]++;
+        } else if (effectType == EffectType.ATTACK_BUFF) {
+            target.adjustAttackPower(amount);
+        }
+        schedule(slot);
+        return handle(slot);
+    }
+
+    /**
+     * End an effect early, reverting any stun or buff it applied.
+     * Not journaled: cancelled effects don't come back on undoAdvance().
+     *
+     * @return false if the handle is stale
+     */
+    public boolean cancel(long handle) {
+        int slot = slotOf(handle);
+        if (slot == NONE || state[slot] != ACTIVE) {
+            return false;
+        }
+        unlinkWheel(slot);
+        end(slot, null);
+        release(slot);
+        return true;
+    }
+
+    /**
+     * Move the clock forward one turn and fire every effect due.
+     */
+    public void advance() {
+        now++;
+        Journal journal = null;
+        if (undoDepth > 0) {
+            journal = spareJournals.isEmpty() ? new Journal() : spareJournals.pop();
+            journal.now = now;
+            journals.addLast(journal);
+        }
+
+        // Highest level first, so entries cascade all the way down this turn
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = WHEEL_BITS * level;
+            if ((now & ((1L << shift) - 1)) == 0) {
+                int index = level * WHEEL_SIZE + (int) ((now >>> shift) & WHEEL_MASK);
+                int slot = detach(index);
+                while (slot != NONE) {
+                    int next = wheelNext[slot];
+                    clearWheelLinks(slot);
+                    schedule(slot);
+                    slot = next;
+                }
+            }
+        }
+
+        int slot = detach((int) (now & WHEEL_MASK));
+        while (slot != NONE) {
+            int next = wheelNext[slot];
+            clearWheelLinks(slot);
+            fire(slot, journal);
+            slot = next;
+        }
+
+        while (journals.size() > undoDepth) {
+            dropJournal(journals.pollFirst());
+        }
+    }
+
+    public void advance(int turns) {
+        for (int i = 0; i < turns; i++) {
+            advance();
+        }
+    }
+
+    /**
+     * Reverse the most recent advance: stats changed by its ticks and
+     * expiries are restored, ended effects come back, and the clock steps
+     * back one turn. Advances are undone newest first.
+     *
+     * @throws IllegalStateException if there is no journaled advance left
+     */
+    public void undoAdvance() {
+        Journal journal = journals.pollLast();
+        if (journal == null) {
+            throw new IllegalStateException("No effect tick to undo");
+        }
+        for (int i = journal.changes - 1; i >= 0; i--) {
+            journal.changed[i].restoreStats(journal.statsBefore[i]);
+        }
+        now = journal.now - 1;
+        for (int e = journal.events - 1; e >= 0; e--) {
+            int slot = journal.slots[e];
+            if (generation[slot] != journal.generations[e]) {
+                // Cancelled and reused since
+                continue;
+            }
+            if (journal.ended[e]) {
+                if (state[slot] != ENDED) {
+                    continue;
+                }
+                state[slot] = ACTIVE;
+                linkOwner(slot);
+                active++;
+                if (type[slot] == EffectType.STUN.ordinal()) {
+                    stunCount[owner[slot]]++;
+                }
+            } else {
+                if (state[slot] != ACTIVE) {
+                    continue;
+                }
+                unlinkWheel(slot);
+            }
+            nextTick[slot] = journal.previousTicks[e];
+            schedule(slot);
+        }
+        journal.clear();
+        spareJournals.push(journal);
+    }
+
+    /**
+     * Remove every effect on a character, e.g. when it dies. Journaled into
+     * the latest advance, so undoing that advance brings them back.
+     *
+     * @return number of effects removed
+     */
+    public int removeAll(Character target) {
+        Integer id = ownerIds.get(target);
+        if (id == null) {
+            return 0;
+        }
+        Journal journal = journals.peekLast();
+        int removed = 0;
+        int slot = ownerHead[id];
+        while (slot != NONE) {
+            int next = ownerNext[slot];
+            unlinkWheel(slot);
+            if (journal != null) {
+                journal.addEvent(slot, generation[slot], nextTick[slot], true);
+            }
+            end(slot, journal);
+            if (journal != null) {
+                state[slot] = ENDED;
+            } else {
+                release(slot);
+            }
+            removed++;
+            slot = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Remove a character's effects if it has died.
+     */
+    public int clearIfDead(Character target) {
+        return target.isDead() ? removeAll(target) : 0;
+    }
+
+    public boolean isStunned(Character target) {
+        Integer id = ownerIds.get(target);
+        return id != null && stunCount[id] > 0;
+    }
+
+    /**
+     * Number of active effects on a character.
+     */
+    public int effectCount(Character target) {
+        Integer id = ownerIds.get(target);
+        if (id == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int slot = ownerHead[id]; slot != NONE; slot = ownerNext[slot]) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Turns until the effect ends, or 0 if it already has.
+     */
+    public int remainingTurns(long handle) {
+        int slot = slotOf(handle);
+        if (slot == NONE || state[slot] != ACTIVE) {
+            return 0;
+        }
+        return (int) (expiresAt[slot] - now);
+    }
+
+    public int getActiveCount() {
+        return active;
+    }
+
+    public long getTurn() {
+        return now;
+    }
+
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    /**
+     * Effect slots allocated so far (grows to the peak number of effects).
+     */
+    public int getCapacity() {
+        return state.length;
+    }
+
+    /**
+     * Owner ids allocated so far (grows to the peak number of characters
+     * with effects at once).
+     */
+    public int getOwnerCapacity() {
+        return ownersUsed;
+    }
+
+    private void fire(int slot, Journal journal) {
+        if (Math.min(nextTick[slot], expiresAt[slot]) > now) {
+            // Cascaded early or revived by undo; not due yet
+            schedule(slot);
+            return;
+        }
+        long previousTick = nextTick[slot];
+        if (nextTick[slot] <= now) {
+            Character target = owners[owner[slot]];
+            if (target.isAlive()) {
+                tick(slot, target, journal);
+            }
+            nextTick[slot] += period[slot];
+        }
+        boolean ended = expiresAt[slot] <= now;
+        if (journal != null) {
+            journal.addEvent(slot, generation[slot], previousTick, ended);
+        }
+        if (!ended) {
+            schedule(slot);
+            return;
+        }
+        end(slot, journal);
+        if (journal != null) {
+            state[slot] = ENDED;
+        } else {
+            release(slot);
+        }
+    }
+
+    private void tick(int slot, Character target, Journal journal) {
+        if (journal != null) {
+            journal.addChange(target);
+        }
+        switch (TYPES[type[slot]]) {
+            case DAMAGE_OVER_TIME -> target.setHealth(target.getStats().health() - magnitude[slot]);
+            case HEAL_OVER_TIME -> target.heal(magnitude[slot]);
+            case MANA_REGEN -> target.restoreMana(magnitude[slot]);
+            default -> {
+                // Not periodic
+            }
+        }
+    }
+
+    /**
+     * Revert what the effect applied when it started and detach it from its
+     * owner. The caller decides whether the slot is freed or kept for undo.
+     */
+    private void end(int slot, Journal journal) {
+        int id = owner[slot];
+        if (type[slot] == EffectType.STUN.ordinal()) {
+            stunCount[id]--;
+        } else if (type[slot] == EffectType.ATTACK_BUFF.ordinal()) {
+            Character target = owners[id];
+            if (journal != null) {
+                journal.addChange(target);
+            }
+            target.adjustAttackPower(-magnitude[slot]);
+        }
+        unlinkOwner(slot);
+        active--;
+    }
+
+    private void schedule(int slot) {
+        // due == now only while cascading, before this turn's bucket is fired
+        long due = Math.max(Math.min(nextTick[slot], expiresAt[slot]), now);
+        long delta = due - now;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int index = level * WHEEL_SIZE + (int) ((due >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        int head = wheel[index];
+        wheelNext[slot] = head;
+        wheelPrev[slot] = NONE;
+        if (head != NONE) {
+            wheelPrev[head] = slot;
+        }
+        wheel[index] = slot;
+        bucket[slot] = index;
+    }
+
+    private int detach(int index) {
+        int head = wheel[index];
+        wheel[index] = NONE;
+        return head;
+    }
+
+    private void clearWheelLinks(int slot) {
+        wheelPrev[slot] = NONE;
+        wheelNext[slot] = NONE;
+        bucket[slot] = NONE;
+    }
+
+    private void unlinkWheel(int slot) {
+        int index = bucket[slot];
+        if (index == NONE) {
+            return;
+        }
+        int prev = wheelPrev[slot];
+        int next = wheelNext[slot];
+        if (prev != NONE) {
+            wheelNext[prev] = next;
+        } else {
+            wheel[index] = next;
+        }
+        if (next != NONE) {
+            wheelPrev[next] = prev;
+        }
+        clearWheelLinks(slot);
+    }
+
+    private void linkOwner(int slot) {
+        int id = owner[slot];
+        int head = ownerHead[id];
+        ownerNext[slot] = head;
+        ownerPrev[slot] = NONE;
+        if (head != NONE) {
+            ownerPrev[head] = slot;
+        }
+        ownerHead[id] = slot;
+    }
+
+    private void unlinkOwner(int slot) {
+        int prev = ownerPrev[slot];
+        int next = ownerNext[slot];
+        if (prev != NONE) {
+            ownerNext[prev] = next;
+        } else {
+            ownerHead[owner[slot]] = next;
+        }
+        if (next != NONE) {
+            ownerPrev[next] = prev;
+        }
+        ownerPrev[slot] = NONE;
+        ownerNext[slot] = NONE;
+    }
+
+    private int ownerId(Character target) {
+        Integer existing = ownerIds.get(target);
+        if (existing != null) {
+            return existing;
+        }
+        int id;
+        if (ownerFreeHead != NONE) {
+            id = ownerFreeHead;
+            ownerFreeHead = ownerHead[id];
+        } else {
+            id = ownersUsed++;
+            if (id == owners.length) {
+                int size = id * 2;
+                owners = Arrays.copyOf(owners, size);
+                ownerHead = Arrays.copyOf(ownerHead, size);
+                stunCount = Arrays.copyOf(stunCount, size);
+                ownerRefs = Arrays.copyOf(ownerRefs, size);
+            }
+        }
+        owners[id] = target;
+        ownerHead[id] = NONE;
+        ownerIds.put(target, id);
+        return id;
+    }
+
+    private int allocate() {
+        int slot;
+        if (freeHead != NONE) {
+            slot = freeHead;
+            freeHead = wheelNext[slot];
+        } else {
+            if (used == state.length) {
+                allocateSlots(state.length * 2);
+            }
+            slot = used++;
+        }
+        clearWheelLinks(slot);
+        ownerNext[slot] = NONE;
+        ownerPrev[slot] = NONE;
+        return slot;
+    }
+
+    private void release(int slot) {
+        state[slot] = FREE;
+        generation[slot]++;
+        wheelNext[slot] = freeHead;
+        freeHead = slot;
+        int id = owner[slot];
+        if (--ownerRefs[id] == 0) {
+            ownerIds.remove(owners[id]);
+            owners[id] = null;
+            ownerHead[id] = ownerFreeHead;
+            ownerFreeHead = id;
+        }
+    }
+
+    private void dropJournal(Journal journal) {
+        // Effects that ended in this advance can no longer be revived
+        for (int e = 0; e < journal.events; e++) {
+            int slot = journal.slots[e];
+            if (journal.ended[e] && generation[slot] == journal.generations[e] && state[slot] == ENDED) {
+                release(slot);
+            }
+        }
+        journal.clear();
+        spareJournals.push(journal);
+    }
+
+    private void allocateSlots(int capacity) {
+        int old = state == null ? 0 : state.length;
+        state = state == null ? new byte[capacity] : Arrays.copyOf(state, capacity);
+        type = type == null ? new byte[capacity] : Arrays.copyOf(type, capacity);
+        magnitude = magnitude == null ? new int[capacity] : Arrays.copyOf(magnitude, capacity);
+        period = period == null ? new int[capacity] : Arrays.copyOf(period, capacity);
+        owner = owner == null ? new int[capacity] : Arrays.copyOf(owner, capacity);
+        generation = generation == null ? new int[capacity] : Arrays.copyOf(generation, capacity);
+        nextTick = nextTick == null ? new long[capacity] : Arrays.copyOf(nextTick, capacity);
+        expiresAt = expiresAt == null ? new long[capacity] : Arrays.copyOf(expiresAt, capacity);
+        wheelNext = wheelNext == null ? new int[capacity] : Arrays.copyOf(wheelNext, capacity);
+        wheelPrev = wheelPrev == null ? new int[capacity] : Arrays.copyOf(wheelPrev, capacity);
+        bucket = bucket == null ? new int[capacity] : Arrays.copyOf(bucket, capacity);
+        ownerNext = ownerNext == null ? new int[capacity] : Arrays.copyOf(ownerNext, capacity);
+        ownerPrev = ownerPrev == null ? new int[capacity] : Arrays.copyOf(ownerPrev, capacity);
+        Arrays.fill(bucket, old, capacity, NONE);
+    }
+
+    private long handle(int slot) {
+        return ((long) generation[slot] << 32) | slot;
+    }
+
+    private int slotOf(long handle) {
+        int slot = (int) handle;
+        if (slot < 0 || slot >= used || generation[slot] != (int) (handle >>> 32)) {
+            return NONE;
+        }
+        return slot;
+    }
+
+    /**
+     * Undo record for one advance. Pooled; its arrays only ever grow.
+     */
+    private static final class Journal {
+        private long now;
+        private int events;
+        private int[] slots = new int[16];
+        private int[] generations = new int[16];
+        private long[] previousTicks = new long[16];
+        private boolean[] ended = new boolean[16];
+        private int changes;
+        private Character[] changed = new Character[16];
+        private CharacterStats[] statsBefore = new CharacterStats[16];
+
+        private void addEvent(int slot, int generation, long previousTick, boolean hasEnded) {
+            if (events == slots.length) {
+                int size = events * 2;
+                slots = Arrays.copyOf(slots, size);
+                generations = Arrays.copyOf(generations, size);
+                previousTicks = Arrays.copyOf(previousTicks, size);
+                ended = Arrays.copyOf(ended, size);
+            }
+            slots[events] = slot;
+            generations[events] = generation;
+            previousTicks[events] = previousTick;
+            ended[events] = hasEnded;
+            events++;
+        }
+
+        private void addChange(Character character) {
+            if (changes == changed.length) {
+                changed = Arrays.copyOf(changed, changes * 2);
+                statsBefore = Arrays.copyOf(statsBefore, changes * 2);
+            }
+            changed[changes] = character;
+            statsBefore[changes] = character.getStats();
+            changes++;
+        }
+
+        private void clear() {
+            Arrays.fill(changed, 0, changes, null);
+            Arrays.fill(statsBefore, 0, changes, null);
+            changes = 0;
+            events = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+
+/**
+ * A validated template for one character type: starting stats and strategies.
+ * Built-in strategies are stateless, so every character of the type shares them.
+ */
+public record Archetype(
+    CharacterType type,
+    CharacterStats stats,
+    AttackStrategy attackStrategy,
+    DefenseStrategy defenseStrategy
+) {
+    /**
+     * Create a character from this template.
+     * Stats and strategies were validated when the archetype was loaded.
+     *
+     * @throws IllegalStateException if name is null or blank (as Character.Builder does)
+     */
+    public Character create(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalStateException("name cannot be blank");
+        }
+        return new Character(name, type, stats, attackStrategy, defenseStrategy);
+    }
+}
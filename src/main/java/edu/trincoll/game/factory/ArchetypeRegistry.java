@@ -0,0 +1,180 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Cache of character archetypes loaded from a properties file.
+ *
+ * The whole table is parsed and validated up front, then published with a
+ * single volatile write; lookups are a plain array read, with no locks.
+ * A reload that fails validation leaves the previous table in place.
+ *
+ * File format (see archetypes.properties):
+ * <pre>
+ * # maxHealth, attackPower, defense, maxMana
+ * warrior.stats=150, 40, 30, 0
+ * # MELEE | MAGIC | RANGED
+ * warrior.attack=MELEE
+ * # STANDARD | HEAVY_ARMOR
+ * warrior.defense=HEAVY_ARMOR
+ * </pre>
+ * Properties files only treat # as a comment at the start of a line.
+ */
+public final class ArchetypeRegistry {
+    private static final String DEFAULT_RESOURCE = "/archetypes.properties";
+    private static final ArchetypeRegistry DEFAULT = fromClasspath(DEFAULT_RESOURCE);
+
+    // Indexed by CharacterType.ordinal(); replaced wholesale, never mutated
+    private volatile Archetype[] archetypes;
+
+    private ArchetypeRegistry(Archetype[] archetypes) {
+        this.archetypes = archetypes;
+    }
+
+    /**
+     * The registry CharacterFactory uses, loaded from archetypes.properties on the classpath.
+     */
+    public static ArchetypeRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public static ArchetypeRegistry fromProperties(Properties properties) {
+        return new ArchetypeRegistry(parse(properties));
+    }
+
+    public static ArchetypeRegistry fromFile(Path file) {
+        return new ArchetypeRegistry(parse(read(file)));
+    }
+
+    private static ArchetypeRegistry fromClasspath(String resource) {
+        try (InputStream in = ArchetypeRegistry.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing archetype resource " + resource);
+            }
+            Properties properties = new Properties();
+            properties.load(in);
+            return fromProperties(properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Archetype get(CharacterType type) {
+        return archetypes[type.ordinal()];
+    }
+
+    /**
+     * Replace every archetype at once.
+     *
+     * @throws IllegalArgumentException if the properties are incomplete or invalid;
+     *                                  the current archetypes are kept
+     */
+    public void reload(Properties properties) {
+        archetypes = parse(properties);
+    }
+
+    public void reload(Path file) {
+        reload(read(file));
+    }
+
+    /**
+     * Reload this registry whenever the file changes. Close the returned
+     * watcher to stop. Failed reloads are only counted (see
+     * ArchetypeWatcher.getLastFailure()).
+     */
+    public ArchetypeWatcher watch(Path file) throws IOException {
+        return watch(file, failure -> { });
+    }
+
+    /**
+     * As watch(file), passing each failed reload to onFailure on the
+     * watcher's thread.
+     */
+    public ArchetypeWatcher watch(Path file, Consumer<RuntimeException> onFailure) throws IOException {
+        return new ArchetypeWatcher(this, file, Objects.requireNonNull(onFailure, "Failure callback cannot be null"));
+    }
+
+    private static Properties read(Path file) {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return properties;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archetypes from " + file, e);
+        }
+    }
+
+    static Archetype[] parse(Properties properties) {
+        CharacterType[] types = CharacterType.values();
+        Archetype[] parsed = new Archetype[types.length];
+        for (CharacterType type : types) {
+            String prefix = type.name().toLowerCase(Locale.ROOT) + ".";
+            try {
+                parsed[type.ordinal()] = new Archetype(
+                    type,
+                    parseStats(required(properties, prefix + "stats")),
+                    attackStrategy(AttackStrategy.Kind.valueOf(required(properties, prefix + "attack"))),
+                    defenseStrategy(DefenseStrategy.Kind.valueOf(required(properties, prefix + "defense"))));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid archetype " + type + ": " + e.getMessage(), e);
+            }
+        }
+        return parsed;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("missing " + key);
+        }
+        return value.trim();
+    }
+
+    private static CharacterStats parseStats(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("stats needs maxHealth, attackPower, defense, maxMana: " + value);
+        }
+        return CharacterStats.create(
+            Integer.parseInt(parts[0].trim()),
+            Integer.parseInt(parts[1].trim()),
+            Integer.parseInt(parts[2].trim()),
+            Integer.parseInt(parts[3].trim()));
+    }
+
+    private static AttackStrategy attackStrategy(AttackStrategy.Kind kind) {
+        return switch (kind) {
+            case MELEE -> new MeleeAttackStrategy();
+            case MAGIC -> new MagicAttackStrategy();
+            case RANGED -> new RangedAttackStrategy();
+            case CUSTOM -> throw new IllegalArgumentException("CUSTOM attack cannot be configured");
+        };
+    }
+
+    private static DefenseStrategy defenseStrategy(DefenseStrategy.Kind kind) {
+        return switch (kind) {
+            case STANDARD -> new StandardDefenseStrategy();
+            case HEAVY_ARMOR -> new HeavyArmorDefenseStrategy();
+            case CUSTOM -> throw new IllegalArgumentException("CUSTOM defense cannot be configured");
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package edu.trincoll.game.factory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Background watcher that reloads an ArchetypeRegistry when its file changes.
+ *
+ * Runs on a daemon thread. A change that fails to parse is counted and
+ * passed to the failure callback given to watch(), and the registry keeps
+ * serving the last good table.
+ */
+public final class ArchetypeWatcher implements AutoCloseable {
+    private static final long SETTLE_MILLIS = 50;
+
+    private final ArchetypeRegistry registry;
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final Consumer<RuntimeException> onFailure;
+    private volatile RuntimeException lastFailure;
+
+    ArchetypeWatcher(ArchetypeRegistry registry, Path file, Consumer<RuntimeException> onFailure) throws IOException {
+        this.registry = registry;
+        this.file = file.toAbsolutePath();
+        this.onFailure = onFailure;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::run, "archetype-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                // Editors often truncate then write; let the burst of events settle
+                while (key != null) {
+                    changed |= mentionsFile(key);
+                    if (!key.reset()) {
+                        return;
+                    }
+                    key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed - stop watching
+        }
+    }
+
+    private boolean mentionsFile(WatchKey key) {
+        boolean mentioned = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            mentioned |= file.getFileName().equals(event.context());
+        }
+        return mentioned;
+    }
+
+    private void reload() {
+        try {
+            registry.reload(file);
+            reloads.incrementAndGet();
+        } catch (RuntimeException e) {
+            lastFailure = e;
+            failures.incrementAndGet();
+            onFailure.accept(e);
+        }
+    }
+
+    public long getReloadCount() {
+        return reloads.get();
+    }
+
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Why the most recent failed reload failed, or null if none has.
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
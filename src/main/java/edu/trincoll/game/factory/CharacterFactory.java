@@ -1,9 +1,7 @@
 package edu.trincoll.game.factory;
 
 import edu.trincoll.game.model.Character;
-import edu.trincoll.game.model.CharacterStats;
 import edu.trincoll.game.model.CharacterType;
-import edu.trincoll.game.strategy.*;
 
 /**
  * Factory for creating pre-configured characters.
@@ -11,6 +9,9 @@ import edu.trincoll.game.strategy.*;
  *
  * This class provides static factory methods that create characters
  * with appropriate stats and strategies for their type.
+ *
+ * Stats and strategies come from the default ArchetypeRegistry
+ * (archetypes.properties), so balance can be tuned without code changes.
  */
 public class CharacterFactory {
 
@@ -23,19 +24,13 @@ public class CharacterFactory {
      * - Attack: MeleeAttackStrategy
      * - Defense: HeavyArmorDefenseStrategy
      *
-     * Use Character.builder() to construct the character.
+     * Default stats and strategies are read from archetypes.properties.
      *
      * @param name The warrior's name
      * @return A fully configured Warrior character
      */
     public static Character createWarrior(String name) {
-        // TODO 2a: Implement warrior creation
-        CharacterStats stats = new CharacterStats(150, 150, 40, 30, 0, 0);
-        //throw new UnsupportedOperationException("TODO 2a: Implement createWarrior()");
-        return Character.builder().name(name).type(CharacterType.WARRIOR)
-                .stats(stats)
-                .attackStrategy(new MeleeAttackStrategy())
-                .defenseStrategy(new HeavyArmorDefenseStrategy()).build();
+        return ArchetypeRegistry.getDefault().get(CharacterType.WARRIOR).create(name);
     }
 
     /**
@@ -51,13 +46,7 @@ public class CharacterFactory {
      * @return A fully configured Mage character
      */
     public static Character createMage(String name) {
-        // TODO 2b: Implement mage creation
-        CharacterStats stats = new CharacterStats(80, 80, 60, 10, 100, 100);
-        return Character.builder().name(name).type(CharacterType.MAGE)
-                .stats(stats)
-                .attackStrategy((new MagicAttackStrategy()))
-                .defenseStrategy(new StandardDefenseStrategy()).build();
-
+        return ArchetypeRegistry.getDefault().get(CharacterType.MAGE).create(name);
     }
 
     /**
@@ -73,12 +62,7 @@ public class CharacterFactory {
      * @return A fully configured Archer character
      */
     public static Character createArcher(String name) {
-        // TODO 2c: Implement archer creation
-        CharacterStats stats = new CharacterStats(100, 100, 50, 15, 20, 20);
-        return Character.builder().name(name).type(CharacterType.ARCHER)
-                .stats(stats)
-                .attackStrategy((new RangedAttackStrategy()))
-                .defenseStrategy(new StandardDefenseStrategy()).build();
+        return ArchetypeRegistry.getDefault().get(CharacterType.ARCHER).create(name);
     }
 
     /**
@@ -94,12 +78,7 @@ public class CharacterFactory {
      * @return A fully configured Rogue character
      */
     public static Character createRogue(String name) {
-        // TODO 2d: Implement rogue creation
-        CharacterStats stats = new CharacterStats(90, 90, 55, 20, 30, 30);
-        return Character.builder().name(name).type(CharacterType.ROGUE)
-                .stats(stats)
-                .attackStrategy((new MeleeAttackStrategy()))
-                .defenseStrategy(new StandardDefenseStrategy()).build();
+        return ArchetypeRegistry.getDefault().get(CharacterType.ROGUE).create(name);
     }
 
     /**
@@ -130,4 +109,32 @@ public class CharacterFactory {
             default -> throw new IllegalArgumentException("Unknown character type: " + type);
         };
     }
+
+    /**
+     * Spawn a character by copying a prototype (Prototype pattern).
+     * Much cheaper than a builder chain: the prototype was validated when
+     * it was created, so the copy only needs a name.
+     *
+     * @param prototype A fully built character to copy
+     * @param name The new character's name
+     * @return A new character with the prototype's current stats and strategies
+     */
+    public static Character spawn(Character prototype, String name) {
+        return prototype.copyAs(name);
+    }
+
+    /**
+     * Spawn one copy of the prototype per name, e.g. a monster wave.
+     *
+     * @param prototype A fully built character to copy
+     * @param names Names for the new characters
+     * @return The spawned characters, in the same order as names
+     */
+    public static Character[] spawnAll(Character prototype, String[] names) {
+        Character[] spawned = new Character[names.length];
+        for (int i = 0; i < names.length; i++) {
+            spawned[i] = prototype.copyAs(names[i]);
+        }
+        return spawned;
+    }
 }
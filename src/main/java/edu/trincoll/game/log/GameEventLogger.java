@@ -0,0 +1,278 @@
+package edu.trincoll.game.log;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous game event log.
+ *
+ * Any number of threads log() lines into a bounded lock-free ring; one
+ * background thread drains it, encodes the lines as UTF-8 into a direct
+ * buffer and writes whole batches to the channel. Callers never take a
+ * lock or touch I/O, unlike System.out.println.
+ *
+ * Each ring slot owns a StringBuilder the line is copied into, so a
+ * caller may reuse its own builder for every line.
+ *
+ * When the ring is full the OverflowPolicy decides: DROP discards the
+ * line (counted in getDroppedCount()), BLOCK waits for the writer.
+ *
+ * close() writes every line logged before it was called; lines logged
+ * by other threads while it runs may be lost.
+ */
+public final class GameEventLogger implements AutoCloseable {
+
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    private static final int BATCH_BYTES = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final long FULL_PARK_NANOS = 10_000;
+
+    private final WritableByteChannel channel;
+    private final boolean ownsChannel;
+    private final OverflowPolicy policy;
+    private final int mask;
+    private final StringBuilder[] slots;
+    // Vyukov bounded queue: a slot is free for ticket t when its sequence
+    // is t, and holds the line for ticket t when it is t + 1
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean idle;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // Writer thread only
+    private long head;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    /**
+     * @param capacity ring size in lines, rounded up to a power of two
+     */
+    public GameEventLogger(WritableByteChannel channel, int capacity, OverflowPolicy policy) {
+        this(channel, false, capacity, policy);
+    }
+
+    private GameEventLogger(WritableByteChannel channel, boolean ownsChannel,
+                            int capacity, OverflowPolicy policy) {
+        if (capacity <= 0 || capacity > 1 << 20) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + (1 << 20));
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.policy = policy;
+        this.mask = size - 1;
+        this.slots = new StringBuilder[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new StringBuilder(128);
+            sequences.set(i, i);
+        }
+        this.writer = new Thread(this::drain, "game-event-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Log to a file, replacing its contents. The file is closed by close().
+     */
+    public static GameEventLogger toFile(Path file, int capacity, OverflowPolicy policy) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new GameEventLogger(channel, true, capacity, policy);
+    }
+
+    /**
+     * Log straight to the process's standard output, bypassing System.out.
+     * Standard output stays open after close().
+     */
+    public static GameEventLogger toStdout(int capacity, OverflowPolicy policy) {
+        return new GameEventLogger(Channels.newChannel(new FileOutputStream(FileDescriptor.out)),
+            false, capacity, policy);
+    }
+
+    /**
+     * Queue one line; a newline is appended.
+     *
+     * @return false if the line was dropped because the ring was full
+     * @throws IllegalStateException if the logger is closed or a write failed
+     */
+    public boolean log(CharSequence line) {
+        if (closed) {
+            throw new IllegalStateException("Event logger is closed");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Event log write failed", failure);
+        }
+        long ticket;
+        while (true) {
+            ticket = tail.get();
+            long available = sequences.get((int) ticket & mask) - ticket;
+            if (available == 0) {
+                if (tail.compareAndSet(ticket, ticket + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                // Ring full: the writer hasn't freed this slot yet
+                if (policy == OverflowPolicy.DROP) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                if (closed) {
+                    throw new IllegalStateException("Event logger is closed");
+                }
+                wakeWriter();
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+        }
+        int index = (int) ticket & mask;
+        StringBuilder slot = slots[index];
+        slot.setLength(0);
+        slot.append(line);
+        sequences.set(index, ticket + 1);
+        wakeWriter();
+        return true;
+    }
+
+    /**
+     * Drain the ring, write everything queued and stop the writer thread.
+     *
+     * @throws IllegalStateException if a write failed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ownsChannel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Event log write failed", failure);
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Lines the writer thread has taken from the ring so far.
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    private void wakeWriter() {
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            boolean wasClosed = closed;
+            int drained = drainAvailable();
+            if (drained > 0) {
+                continue;
+            }
+            writeBatch();
+            if (wasClosed) {
+                // Nothing left that was logged before close()
+                return;
+            }
+            idle = true;
+            // Re-check after publishing idle so a wake-up can't be missed
+            if (!hasNext()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+    }
+
+    private boolean hasNext() {
+        return sequences.get((int) head & mask) == head + 1 || closed;
+    }
+
+    private int drainAvailable() {
+        int count = 0;
+        while (sequences.get((int) head & mask) == head + 1) {
+            int index = (int) head & mask;
+            encode(slots[index]);
+            // Hand the slot back for the ticket one lap ahead
+            sequences.set(index, head + slots.length);
+            head++;
+            count++;
+        }
+        written.addAndGet(count);
+        return count;
+    }
+
+    private void encode(StringBuilder line) {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, batch, true);
+            if (result.isOverflow()) {
+                writeBatch();
+            } else {
+                break;
+            }
+        }
+        encoder.flush(batch);
+        if (!batch.hasRemaining()) {
+            writeBatch();
+        }
+        batch.put((byte) '\n');
+    }
+
+    private void writeBatch() {
+        batch.flip();
+        try {
+            while (failure == null && batch.hasRemaining()) {
+                channel.write(batch);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+        batch.clear();
+    }
+}
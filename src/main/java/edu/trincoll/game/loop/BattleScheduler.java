@@ -0,0 +1,279 @@
+package edu.trincoll.game.loop;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.BattleSequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays one turn of every active battle per tick on a fork-join pool.
+ *
+ * Each battle is placed in a partition when it's added (the least loaded
+ * one) and stays there until it ends, so a partition's battles are
+ * always played together, in the same order, by one task. A tick splits
+ * the partitions in halves down to single partitions; idle workers steal
+ * the halves, so a slow partition doesn't hold up the others. runTick()
+ * returns only once every partition is done - the tick's barrier.
+ *
+ * No character may be in two active battles at once (add() rejects it),
+ * which is what lets turns run without locks. Whatever the battles share
+ * besides characters - a StatusEffects engine, a TurnObserver - must be
+ * safe to use from several threads.
+ *
+ * A battle leaves the scheduler at the end of the tick in which its
+ * attacker or defender dies, or in which a turn throws.
+ *
+ * Typically driven from a TickLoop: loop.schedule(scheduler::runTick, 1).
+ */
+public final class BattleScheduler {
+    private final ForkJoinPool pool;
+    private final Partition[] partitions;
+    private final Queue<BattleSequence> added = new ConcurrentLinkedQueue<>();
+    private final Set<Character> fighting = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Tick thread only
+    private long ticks;
+    private long turnsPlayed;
+    private long finished;
+    private long failures;
+
+    /**
+     * A fixed group of battles, played in order by one task per tick.
+     * Only that task touches it during a tick.
+     */
+    private static final class Partition {
+        private BattleSequence[] battles = new BattleSequence[16];
+        private int size;
+        private final List<BattleSequence> ended = new ArrayList<>();
+        private int turns;
+        private int failed;
+
+        private void add(BattleSequence battle) {
+            if (size == battles.length) {
+                battles = Arrays.copyOf(battles, size * 2);
+            }
+            battles[size++] = battle;
+        }
+
+        /**
+         * Play a turn of each battle, compacting out the ones that end.
+         */
+        private void play() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                BattleSequence battle = battles[i];
+                boolean over;
+                try {
+                    battle.executeTurn();
+                    turns++;
+                    over = battle.getAttacker().isDead() || battle.getDefender().isDead();
+                } catch (RuntimeException e) {
+                    failed++;
+                    over = true;
+                }
+                if (over) {
+                    ended.add(battle);
+                } else {
+                    battles[kept++] = battle;
+                }
+            }
+            Arrays.fill(battles, kept, size, null);
+            size = kept;
+        }
+    }
+
+    /**
+     * Plays partitions [from, to), forking the upper half until one is left.
+     */
+    private final class PlayTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private PlayTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                partitions[from].play();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PlayTask(from, mid), new PlayTask(mid, to));
+        }
+    }
+
+    private BattleScheduler(Builder builder) {
+        this.pool = builder.pool;
+        int count = builder.partitions > 0 ? builder.partitions : pool.getParallelism() * 4;
+        this.partitions = new Partition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new Partition();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Queue a battle to start playing from the next tick.
+     * May be called from any thread.
+     *
+     * @throws IllegalArgumentException if either side is already fighting,
+     *         or both sides are the same character
+     */
+    public void add(BattleSequence battle) {
+        Character attacker = battle.getAttacker();
+        Character defender = battle.getDefender();
+        if (attacker == defender) {
+            throw new IllegalArgumentException(attacker.getName() + " can't fight itself");
+        }
+        synchronized (fighting) {
+            for (Character side : List.of(attacker, defender)) {
+                if (fighting.contains(side)) {
+                    throw new IllegalArgumentException(side.getName() + " is already in a battle");
+                }
+            }
+            fighting.add(attacker);
+            fighting.add(defender);
+        }
+        added.add(battle);
+    }
+
+    /**
+     * Play one turn of every active battle, returning when all are done.
+     * Call from one thread at a time (e.g. the tick loop's).
+     *
+     * @return the number of turns played
+     */
+    public int runTick() {
+        ticks++;
+        BattleSequence battle;
+        while ((battle = added.poll()) != null) {
+            leastLoaded().add(battle);
+        }
+        pool.invoke(new PlayTask(0, partitions.length));
+
+        int turns = 0;
+        for (Partition partition : partitions) {
+            turns += partition.turns;
+            failures += partition.failed;
+            partition.turns = 0;
+            partition.failed = 0;
+            if (!partition.ended.isEmpty()) {
+                release(partition.ended);
+                finished += partition.ended.size();
+                partition.ended.clear();
+            }
+        }
+        turnsPlayed += turns;
+        return turns;
+    }
+
+    /**
+     * Battles being played, not counting ones added since the last tick.
+     */
+    public int getActiveBattles() {
+        int active = 0;
+        for (Partition partition : partitions) {
+            active += partition.size;
+        }
+        return active;
+    }
+
+    /**
+     * Battles in each partition, in partition order.
+     */
+    public int[] getPartitionSizes() {
+        int[] sizes = new int[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            sizes[i] = partitions[i].size;
+        }
+        return sizes;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    /**
+     * Battles that have ended, including ones ended by a failing turn.
+     */
+    public long getFinishedBattles() {
+        return finished;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    private Partition leastLoaded() {
+        Partition best = partitions[0];
+        for (Partition partition : partitions) {
+            if (partition.size < best.size) {
+                best = partition;
+            }
+        }
+        return best;
+    }
+
+    private void release(List<BattleSequence> ended) {
+        synchronized (fighting) {
+            for (BattleSequence battle : ended) {
+                fighting.remove(battle.getAttacker());
+                fighting.remove(battle.getDefender());
+            }
+        }
+    }
+
+    /**
+     * Builder for schedulers. Defaults: the common fork-join pool and
+     * four partitions per pool thread.
+     */
+    public static class Builder {
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+        private int partitions;
+
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * Number of partitions; more gives stealing finer pieces to
+         * balance, fewer keeps more battles together.
+         */
+        public Builder partitions(int partitions) {
+            this.partitions = partitions;
+            return this;
+        }
+
+        public BattleScheduler build() {
+            if (pool == null) {
+                throw new IllegalArgumentException("A pool is required");
+            }
+            if (partitions < 0) {
+                throw new IllegalArgumentException("Partitions cannot be negative");
+            }
+            return new BattleScheduler(this);
+        }
+    }
+}
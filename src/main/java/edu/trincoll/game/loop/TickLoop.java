@@ -0,0 +1,359 @@
+package edu.trincoll.game.loop;
+
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.CommandPool;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.metrics.LatencyHistogram;
+import edu.trincoll.game.template.BattleSequence;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-rate server tick loop.
+ *
+ * Each tick first drains the commands submitted since the last one, then
+ * runs the scheduled turns that are due. Work stops once the tick's
+ * budget is spent: leftover commands and turns wait, in order, for the
+ * next tick instead of stretching this one. Every tick runs at least one
+ * item, so a budget smaller than a single item can't stall the loop.
+ *
+ * Ticks start on a fixed-rate schedule. A tick that overruns the period
+ * delays the next one; if the loop falls a whole period behind it drops
+ * the missed ticks rather than running them back to back.
+ *
+ * submit() and schedule() may be called from any thread. Commands and
+ * turns run on the loop thread, so battles driven only through one loop
+ * need no locking. A command or turn that throws is counted and skipped.
+ */
+public final class TickLoop implements AutoCloseable {
+    private static final int HISTORY_LIMIT = 256;
+
+    private final long periodNanos;
+    private final long budgetNanos;
+    private final CommandInvoker invoker;
+    private final Queue<Submitted> commands = new ConcurrentLinkedQueue<>();
+    private final Queue<Scheduled> newTasks = new ConcurrentLinkedQueue<>();
+    private final Object statsLock = new Object();
+
+    // Loop thread only
+    private final List<Scheduled> tasks = new ArrayList<>();
+    private final ArrayDeque<Scheduled> ready = new ArrayDeque<>();
+    private long tick;
+
+    // Guarded by statsLock
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private long overruns;
+    private long skippedTicks;
+    private long deferredTicks;
+    private long commandCount;
+    private long turnCount;
+    private long failures;
+
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    /**
+     * A recurring task; cancel() stops it from the next tick on.
+     */
+    public static final class Scheduled {
+        private final Consumer<Scheduled> action;
+        private final int everyTicks;
+        private volatile boolean cancelled;
+        private volatile long runs;
+        private long nextTick;
+        private boolean queued;
+
+        private Scheduled(Consumer<Scheduled> action, int everyTicks) {
+            this.action = action;
+            this.everyTicks = everyTicks;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Times the task has run.
+         */
+        public long getRuns() {
+            return runs;
+        }
+    }
+
+    private record Submitted(CommandInvoker invoker, GameCommand command) {
+    }
+
+    private TickLoop(Builder builder) {
+        this.periodNanos = 1_000_000_000L / builder.ticksPerSecond;
+        this.budgetNanos = builder.budget != null
+            ? builder.budget.toNanos()
+            : periodNanos * 4 / 5;
+        this.invoker = new CommandInvoker(HISTORY_LIMIT);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Queue a command for the loop's own invoker.
+     */
+    public void submit(GameCommand command) {
+        submit(invoker, command);
+    }
+
+    /**
+     * Queue a command for a battle's invoker. All of that invoker's
+     * commands should go through this loop.
+     */
+    public void submit(CommandInvoker target, GameCommand command) {
+        commands.add(new Submitted(target, command));
+    }
+
+    /**
+     * Run the action every everyTicks ticks, starting with the next tick.
+     */
+    public Scheduled schedule(Runnable action, int everyTicks) {
+        return schedule(task -> action.run(), everyTicks);
+    }
+
+    /**
+     * Play a turn of the sequence every everyTicks ticks until its
+     * attacker or defender is dead.
+     */
+    public Scheduled scheduleTurns(BattleSequence sequence, int everyTicks) {
+        return schedule(task -> {
+            if (sequence.getAttacker().isDead() || sequence.getDefender().isDead()) {
+                task.cancel();
+                return;
+            }
+            sequence.executeTurn();
+        }, everyTicks);
+    }
+
+    private Scheduled schedule(Consumer<Scheduled> action, int everyTicks) {
+        if (everyTicks <= 0) {
+            throw new IllegalArgumentException("Ticks between runs must be positive");
+        }
+        Scheduled scheduled = new Scheduled(action, everyTicks);
+        newTasks.add(scheduled);
+        return scheduled;
+    }
+
+    /**
+     * Start ticking on a daemon thread.
+     *
+     * @throws IllegalStateException if already started
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Tick loop already started");
+        }
+        running = true;
+        thread = new Thread(this::run, "tick-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop after the current tick and wait for the loop thread.
+     * Work still queued stays queued.
+     */
+    @Override
+    public synchronized void close() {
+        Thread current = thread;
+        if (current == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(current);
+        boolean interrupted = false;
+        while (current.isAlive()) {
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        thread = null;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Run one tick on the calling thread, e.g. to step a loop that was
+     * never started.
+     *
+     * @throws IllegalStateException if the loop thread is running
+     */
+    public void runTick() {
+        if (thread != null) {
+            throw new IllegalStateException("Tick loop is running on its own thread");
+        }
+        tick();
+    }
+
+    public TickStats getStats() {
+        synchronized (statsLock) {
+            return new TickStats(tickTimes.getCount(), overruns, skippedTicks, deferredTicks,
+                commandCount, turnCount, failures,
+                tickTimes.percentile(50), tickTimes.percentile(99), tickTimes.getMax());
+        }
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * The invoker commands passed to submit(command) run through.
+     * Only touch it from the loop thread.
+     */
+    public CommandInvoker getInvoker() {
+        return invoker;
+    }
+
+    private void run() {
+        long next = System.nanoTime();
+        while (running) {
+            tick();
+            next += periodNanos;
+            long behind = System.nanoTime() - next;
+            if (behind >= periodNanos) {
+                synchronized (statsLock) {
+                    skippedTicks += behind / periodNanos;
+                }
+                next += behind / periodNanos * periodNanos;
+            }
+            long wait;
+            while (running && (wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        tick++;
+        queueDueTasks();
+
+        long commandsRun = 0;
+        long turnsRun = 0;
+        long failed = 0;
+        boolean ranAny = false;
+        while (!ranAny || System.nanoTime() < deadline) {
+            Submitted submitted = commands.poll();
+            if (submitted == null) {
+                break;
+            }
+            ranAny = true;
+            try {
+                submitted.invoker.executeCommand(submitted.command);
+                commandsRun++;
+            } catch (RuntimeException e) {
+                CommandPool.release(submitted.command);
+                failed++;
+            }
+        }
+        while (!ready.isEmpty() && (!ranAny || System.nanoTime() < deadline)) {
+            Scheduled task = ready.poll();
+            task.queued = false;
+            if (task.cancelled) {
+                continue;
+            }
+            ranAny = true;
+            try {
+                task.action.accept(task);
+                turnsRun++;
+            } catch (RuntimeException e) {
+                failed++;
+            }
+            task.runs++;
+        }
+        boolean deferred = !ready.isEmpty() || !commands.isEmpty();
+
+        long elapsed = System.nanoTime() - start;
+        synchronized (statsLock) {
+            tickTimes.record(elapsed);
+            if (elapsed > periodNanos) {
+                overruns++;
+            }
+            if (deferred) {
+                deferredTicks++;
+            }
+            commandCount += commandsRun;
+            turnCount += turnsRun;
+            failures += failed;
+        }
+    }
+
+    /**
+     * Move due tasks to the ready queue. A task still waiting from an
+     * earlier tick isn't queued twice; it just runs once when it gets
+     * its turn.
+     */
+    private void queueDueTasks() {
+        Scheduled added;
+        while ((added = newTasks.poll()) != null) {
+            added.nextTick = tick;
+            tasks.add(added);
+        }
+        Iterator<Scheduled> it = tasks.iterator();
+        while (it.hasNext()) {
+            Scheduled task = it.next();
+            if (task.cancelled) {
+                it.remove();
+            } else if (task.nextTick <= tick && !task.queued) {
+                task.queued = true;
+                task.nextTick = tick + task.everyTicks;
+                ready.add(task);
+            }
+        }
+    }
+
+    public static class Builder {
+        private int ticksPerSecond = 30;
+        private Duration budget;
+
+        public Builder ticksPerSecond(int ticksPerSecond) {
+            this.ticksPerSecond = ticksPerSecond;
+            return this;
+        }
+
+        /**
+         * Work time allowed per tick. Default: 80% of the tick period.
+         */
+        public Builder budget(Duration budget) {
+            this.budget = budget;
+            return this;
+        }
+
+        public TickLoop build() {
+            if (ticksPerSecond < 1 || ticksPerSecond > 1000) {
+                throw new IllegalArgumentException("Tick rate must be between 1 and 1000 per second");
+            }
+            if (budget != null && (budget.isNegative() || budget.isZero())) {
+                throw new IllegalArgumentException("Budget must be positive");
+            }
+            return new TickLoop(this);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package edu.trincoll.game.loop;
+
+/**
+ * Counters and tick-time percentiles of a TickLoop, as of the last
+ * finished tick.
+ *
+ * @param ticks         ticks run
+ * @param overruns      ticks whose work took longer than the tick period
+ * @param skippedTicks  ticks dropped because the loop fell a whole period behind
+ * @param deferredTicks ticks that ran out of budget and left work for the next one
+ * @param commands      commands executed
+ * @param turns         scheduled turns run
+ * @param failures      commands and turns that threw
+ * @param p50Nanos      median tick work time
+ * @param p99Nanos      99th percentile tick work time
+ * @param maxNanos      longest tick work time
+ */
+public record TickStats(
+    long ticks,
+    long overruns,
+    long skippedTicks,
+    long deferredTicks,
+    long commands,
+    long turns,
+    long failures,
+    long p50Nanos,
+    long p99Nanos,
+    long maxNanos
+) {
+}
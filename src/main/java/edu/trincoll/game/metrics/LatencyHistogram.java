@@ -0,0 +1,111 @@
+package edu.trincoll.game.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of non-negative values, typically latencies in
+ * nanoseconds.
+ *
+ * Values below 128 are counted exactly; above that each power of two is
+ * split into 64 buckets, so a reported percentile is within about 1.6%
+ * of the true value. Recording is a couple of shifts and an array
+ * increment with no allocation.
+ *
+ * Not thread-safe: give each thread its own histogram and merge() them.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int HALF = 1 << (SUB_BITS - 1);
+    // Highest bit of a non-negative long is bit 62
+    private static final int BUCKETS = (62 - SUB_BITS + 3) * HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * Record one value; negative values count as zero.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[indexOf(v)]++;
+        count++;
+        sum += v;
+        if (v > max) {
+            max = v;
+        }
+    }
+
+    /**
+     * Add all of another histogram's values to this one.
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Value at the given percentile (0-100], reported as the upper bound of
+     * its bucket. Zero when nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    static int indexOf(long value) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude < SUB_BITS) {
+            return (int) value;
+        }
+        int shift = magnitude - SUB_BITS + 1;
+        int top = (int) (value >>> shift);
+        return (shift + 1) * HALF + top - HALF;
+    }
+
+    static long upperBound(int index) {
+        if (index < 2 * HALF) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long top = index % HALF + HALF;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -1,13 +1,23 @@
 package edu.trincoll.game.model;
 
+import edu.trincoll.game.stm.Transaction;
 import edu.trincoll.game.strategy.AttackStrategy;
 import edu.trincoll.game.strategy.DefenseStrategy;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
 
 import java.util.Objects;
 
 /**
  * Represents a game character with stats and behavior strategies.
  * This class will be constructed using the Builder pattern.
+ *
+ * Inside a software transaction (see edu.trincoll.game.stm) stats are
+ * read and written through the transaction running on the current
+ * thread, and only reach the character when it commits.
  */
 public class Character {
     private final String name;
@@ -15,6 +25,11 @@ public class Character {
     private CharacterStats stats;
     private AttackStrategy attackStrategy;
     private DefenseStrategy defenseStrategy;
+    // Cached kinds so attack/defend can switch instead of making an interface call
+    private AttackStrategy.Kind attackKind;
+    private DefenseStrategy.Kind defenseKind;
+    // StatField bits changed since the last clearDirtyFields()
+    private int dirtyFields;
 
     // Public constructor for testing - prefer Builder for production use
     public Character(String name, CharacterType type, CharacterStats stats,
@@ -24,6 +39,28 @@ public class Character {
         this.stats = Objects.requireNonNull(stats, "Stats cannot be null");
         this.attackStrategy = Objects.requireNonNull(attackStrategy, "Attack strategy cannot be null");
         this.defenseStrategy = Objects.requireNonNull(defenseStrategy, "Defense strategy cannot be null");
+        this.attackKind = attackKindOf(attackStrategy);
+        this.defenseKind = defenseKindOf(defenseStrategy);
+    }
+
+    // Prototype copy - the prototype's fields were validated when it was built
+    private Character(Character prototype, String name) {
+        this.name = name;
+        this.type = prototype.type;
+        this.stats = prototype.getStats();
+        this.attackStrategy = prototype.attackStrategy;
+        this.defenseStrategy = prototype.defenseStrategy;
+        this.attackKind = prototype.attackKind;
+        this.defenseKind = prototype.defenseKind;
+    }
+
+    /**
+     * Create a copy of this character under a new name (Prototype pattern).
+     * The copy shares this character's immutable stats and its strategies,
+     * and skips validation - only the name is checked.
+     */
+    public Character copyAs(String name) {
+        return new Character(this, Objects.requireNonNull(name, "Name cannot be null"));
     }
 
     // Getters
@@ -36,6 +73,14 @@ public class Character {
     }
 
     public CharacterStats getStats() {
+        Transaction transaction = Transaction.current();
+        return transaction == null ? stats : transaction.read(this);
+    }
+
+    /**
+     * Stats as last committed, ignoring any transaction on this thread.
+     */
+    public CharacterStats getCommittedStats() {
         return stats;
     }
 
@@ -47,33 +92,85 @@ public class Character {
         return defenseStrategy;
     }
 
+    /**
+     * The kind attack() dispatches on: the strategy's own kind if it's a
+     * built-in strategy, otherwise CUSTOM.
+     */
+    public AttackStrategy.Kind getAttackKind() {
+        return attackKind;
+    }
+
+    /**
+     * The kind defend() dispatches on (see getAttackKind()).
+     */
+    public DefenseStrategy.Kind getDefenseKind() {
+        return defenseKind;
+    }
+
     // Strategy setters (allow runtime strategy changes - Strategy pattern)
     public void setAttackStrategy(AttackStrategy attackStrategy) {
         this.attackStrategy = Objects.requireNonNull(attackStrategy, "Attack strategy cannot be null");
+        this.attackKind = attackKindOf(attackStrategy);
     }
 
     public void setDefenseStrategy(DefenseStrategy defenseStrategy) {
         this.defenseStrategy = Objects.requireNonNull(defenseStrategy, "Defense strategy cannot be null");
+        this.defenseKind = defenseKindOf(defenseStrategy);
     }
 
-    // Combat methods that delegate to strategies
+    // Combat methods that delegate to strategies.
+    // Built-in strategies are dispatched by kind so the call sites stay
+    // monomorphic in mixed rosters; anything else goes through the interface.
     public int attack(Character target) {
-        return attackStrategy.calculateDamage(this, target);
+        return switch (attackKind) {
+            case MELEE -> MeleeAttackStrategy.damage(this);
+            case MAGIC -> MagicAttackStrategy.damage(this);
+            case RANGED -> RangedAttackStrategy.damage(this, target);
+            case CUSTOM -> attackStrategy.calculateDamage(this, target);
+        };
     }
 
     public int defend(int incomingDamage) {
-        return defenseStrategy.calculateDamageReduction(this, incomingDamage);
+        return switch (defenseKind) {
+            case STANDARD -> StandardDefenseStrategy.reduce(this, incomingDamage);
+            case HEAVY_ARMOR -> HeavyArmorDefenseStrategy.reduce(this, incomingDamage);
+            case CUSTOM -> defenseStrategy.calculateDamageReduction(this, incomingDamage);
+        };
+    }
+
+    // Only the final built-in classes are trusted: any other strategy could
+    // claim a built-in kind and have its own formula skipped
+    private static AttackStrategy.Kind attackKindOf(AttackStrategy strategy) {
+        if (strategy instanceof MeleeAttackStrategy) {
+            return AttackStrategy.Kind.MELEE;
+        } else if (strategy instanceof MagicAttackStrategy) {
+            return AttackStrategy.Kind.MAGIC;
+        } else if (strategy instanceof RangedAttackStrategy) {
+            return AttackStrategy.Kind.RANGED;
+        }
+        return AttackStrategy.Kind.CUSTOM;
+    }
+
+    private static DefenseStrategy.Kind defenseKindOf(DefenseStrategy strategy) {
+        if (strategy instanceof StandardDefenseStrategy) {
+            return DefenseStrategy.Kind.STANDARD;
+        } else if (strategy instanceof HeavyArmorDefenseStrategy) {
+            return DefenseStrategy.Kind.HEAVY_ARMOR;
+        }
+        return DefenseStrategy.Kind.CUSTOM;
     }
 
     // Health management
     public void takeDamage(int damage) {
         int actualDamage = defend(damage);
         int netDamage = Math.max(0, actualDamage);
-        stats = stats.withHealth(stats.health() - netDamage);
+        CharacterStats current = getStats();
+        update(current.withHealth(current.health() - netDamage));
     }
 
     public void heal(int amount) {
-        stats = stats.withHealth(stats.health() + amount);
+        CharacterStats current = getStats();
+        update(current.withHealth(current.health() + amount));
     }
 
     /**
@@ -81,32 +178,84 @@ public class Character {
      * Use with caution - bypasses defense calculations.
      */
     public void setHealth(int health) {
-        stats = stats.withHealth(health);
+        update(getStats().withHealth(health));
+    }
+
+    /**
+     * Restore a previously captured stats snapshot (used for checkpoint rollback).
+     * Stats are immutable, so a snapshot is just the old reference.
+     */
+    public void restoreStats(CharacterStats snapshot) {
+        update(Objects.requireNonNull(snapshot, "Stats cannot be null"));
+    }
+
+    /**
+     * Raise (or with a negative delta, lower) attack power, e.g. for buffs.
+     */
+    public void adjustAttackPower(int delta) {
+        CharacterStats current = getStats();
+        update(current.withAttackPower(current.attackPower() + delta));
     }
 
     // Mana management
     public void useMana(int amount) {
-        if (stats.mana() < amount) {
+        CharacterStats current = getStats();
+        if (current.mana() < amount) {
             throw new IllegalStateException("Not enough mana");
         }
-        stats = stats.withMana(stats.mana() - amount);
+        update(current.withMana(current.mana() - amount));
     }
 
     public void restoreMana(int amount) {
-        stats = stats.withMana(stats.mana() + amount);
+        CharacterStats current = getStats();
+        update(current.withMana(current.mana() + amount));
+    }
+
+    /**
+     * StatField bits of the stats changed since the last clearDirtyFields().
+     * New characters and prototype copies start clean.
+     */
+    public int getDirtyFields() {
+        return dirtyFields;
+    }
+
+    public boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    public void clearDirtyFields() {
+        dirtyFields = 0;
+    }
+
+    /**
+     * Mark every field changed, e.g. to force a full resync.
+     */
+    public void markAllDirty() {
+        dirtyFields = StatField.ALL;
+    }
+
+    private void update(CharacterStats next) {
+        Transaction transaction = Transaction.current();
+        if (transaction != null) {
+            transaction.write(this, next);
+            return;
+        }
+        dirtyFields |= StatField.diff(stats, next);
+        stats = next;
     }
 
     // Status checks
     public boolean isAlive() {
-        return stats.isAlive();
+        return getStats().isAlive();
     }
 
     public boolean isDead() {
-        return stats.isDead();
+        return getStats().isDead();
     }
 
     @Override
     public String toString() {
+        CharacterStats stats = getStats();
         return String.format("%s (%s) - HP: %d/%d, ATK: %d, DEF: %d",
             name, type, stats.health(), stats.maxHealth(),
             stats.attackPower(), stats.defense());
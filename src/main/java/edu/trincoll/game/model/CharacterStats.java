@@ -65,6 +65,20 @@ public record CharacterStats(
         );
     }
 
+    /**
+     * Returns a copy with modified attack power (never below zero).
+     */
+    public CharacterStats withAttackPower(int newAttackPower) {
+        return new CharacterStats(
+            health,
+            maxHealth,
+            Math.max(0, newAttackPower),
+            defense,
+            mana,
+            maxMana
+        );
+    }
+
     public boolean isAlive() {
         return health > 0;
     }
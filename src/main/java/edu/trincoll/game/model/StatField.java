@@ -0,0 +1,49 @@
+package edu.trincoll.game.model;
+
+/**
+ * The fields of CharacterStats, each with a bit for change tracking
+ * (see Character.getDirtyFields()).
+ */
+public enum StatField {
+    HEALTH,
+    MAX_HEALTH,
+    ATTACK_POWER,
+    DEFENSE,
+    MANA,
+    MAX_MANA;
+
+    /**
+     * Mask with every field's bit set.
+     */
+    public static final int ALL = (1 << values().length) - 1;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public int get(CharacterStats stats) {
+        return switch (this) {
+            case HEALTH -> stats.health();
+            case MAX_HEALTH -> stats.maxHealth();
+            case ATTACK_POWER -> stats.attackPower();
+            case DEFENSE -> stats.defense();
+            case MANA -> stats.mana();
+            case MAX_MANA -> stats.maxMana();
+        };
+    }
+
+    /**
+     * Bits of the fields that differ between two stats records.
+     */
+    public static int diff(CharacterStats before, CharacterStats after) {
+        if (before == after) {
+            return 0;
+        }
+        return (before.health() != after.health() ? HEALTH.bit() : 0)
+            | (before.maxHealth() != after.maxHealth() ? MAX_HEALTH.bit() : 0)
+            | (before.attackPower() != after.attackPower() ? ATTACK_POWER.bit() : 0)
+            | (before.defense() != after.defense() ? DEFENSE.bit() : 0)
+            | (before.mana() != after.mana() ? MANA.bit() : 0)
+            | (before.maxMana() != after.maxMana() ? MAX_MANA.bit() : 0);
+    }
+}
@@ -0,0 +1,170 @@
+package edu.trincoll.game.regen;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Passive health and mana regeneration for every living character, once
+ * per tick.
+ *
+ * Rates are per CharacterType. Two ways to run a tick:
+ * - over a StatsTable: a columnar pass that walks the pending bitsets,
+ *   switching to a branch-free loop for words where all 64 slots need
+ *   regen, which C2 can vectorize;
+ * - over a list of Characters: one stats record per character that
+ *   actually changes, split into chunks for parallel passes.
+ *
+ * Dead characters never regenerate, and full ones are skipped.
+ */
+public final class RegenEngine {
+    private static final int WORDS_PER_CHUNK = 64;
+    private static final int CHARACTERS_PER_CHUNK = 1024;
+
+    private final int[] healthRate;
+    private final int[] manaRate;
+
+    /**
+     * @param rates regen per type; types without an entry don't regenerate
+     */
+    public RegenEngine(Map<CharacterType, RegenRates> rates) {
+        CharacterType[] types = CharacterType.values();
+        healthRate = new int[types.length];
+        manaRate = new int[types.length];
+        for (CharacterType type : types) {
+            RegenRates rate = rates.get(type);
+            if (rate != null) {
+                healthRate[type.ordinal()] = rate.health();
+                manaRate[type.ordinal()] = rate.mana();
+            }
+        }
+    }
+
+    public static RegenEngine withDefaults() {
+        return new RegenEngine(RegenRates.defaults());
+    }
+
+    public RegenRates getRates(CharacterType type) {
+        return new RegenRates(healthRate[type.ordinal()], manaRate[type.ordinal()]);
+    }
+
+    /**
+     * Apply one tick of regen to every pending slot in the table.
+     */
+    public void regenerate(StatsTable table) {
+        regenerateWords(table, 0, table.healthPending.length);
+    }
+
+    /**
+     * Same as regenerate(table), with chunks of 4096 slots processed in
+     * parallel on the common pool.
+     */
+    public void regenerateParallel(StatsTable table) {
+        int words = table.healthPending.length;
+        int chunks = (words + WORDS_PER_CHUNK - 1) / WORDS_PER_CHUNK;
+        if (chunks <= 1) {
+            regenerateWords(table, 0, words);
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * WORDS_PER_CHUNK;
+            regenerateWords(table, from, Math.min(words, from + WORDS_PER_CHUNK));
+        });
+    }
+
+    /**
+     * Apply one tick of regen to each living character in the list.
+     *
+     * @return the number of characters whose stats changed
+     */
+    public int regenerate(List<Character> characters) {
+        return regenerateRange(characters, 0, characters.size());
+    }
+
+    /**
+     * Same as regenerate(characters), with chunks of 1024 characters
+     * processed in parallel on the common pool. The list must be
+     * random-access and hold each character at most once.
+     *
+     * @return the number of characters whose stats changed
+     */
+    public int regenerateParallel(List<Character> characters) {
+        int size = characters.size();
+        int chunks = (size + CHARACTERS_PER_CHUNK - 1) / CHARACTERS_PER_CHUNK;
+        if (chunks <= 1) {
+            return regenerateRange(characters, 0, size);
+        }
+        return IntStream.range(0, chunks).parallel()
+            .map(chunk -> {
+                int from = chunk * CHARACTERS_PER_CHUNK;
+                return regenerateRange(characters, from, Math.min(size, from + CHARACTERS_PER_CHUNK));
+            })
+            .sum();
+    }
+
+    private int regenerateRange(List<Character> characters, int from, int to) {
+        int changed = 0;
+        for (int i = from; i < to; i++) {
+            Character character = characters.get(i);
+            CharacterStats stats = character.getStats();
+            if (stats.health() <= 0) {
+                continue;
+            }
+            int type = character.getType().ordinal();
+            int health = Math.min(stats.maxHealth(), stats.health() + healthRate[type]);
+            int mana = Math.min(stats.maxMana(), stats.mana() + manaRate[type]);
+            if (health != stats.health() || mana != stats.mana()) {
+                character.restoreStats(new CharacterStats(health, stats.maxHealth(),
+                    stats.attackPower(), stats.defense(), mana, stats.maxMana()));
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private void regenerateWords(StatsTable table, int fromWord, int toWord) {
+        for (int w = fromWord; w < toWord; w++) {
+            table.healthPending[w] = regenerateWord(
+                table.healthPending[w], w, table.type, table.health, table.maxHealth, healthRate);
+            table.manaPending[w] = regenerateWord(
+                table.manaPending[w], w, table.type, table.mana, table.maxMana, manaRate);
+        }
+    }
+
+    /**
+     * Regenerate one column for the 64 slots of a bitset word.
+     *
+     * @return the word's pending bits afterwards
+     */
+    private static long regenerateWord(long pending, int word, byte[] type,
+                                       int[] value, int[] max, int[] rate) {
+        int base = word << 6;
+        if (pending == -1L) {
+            // Every slot pending: straight-line loop with no bit tests
+            for (int i = base; i < base + 64; i++) {
+                value[i] = Math.min(max[i], value[i] + rate[type[i]]);
+            }
+            long stillPending = 0;
+            for (int i = 0; i < 64; i++) {
+                stillPending |= (value[base + i] < max[base + i] ? 1L : 0L) << i;
+            }
+            return stillPending;
+        }
+        long bits = pending;
+        while (bits != 0) {
+            int bit = Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            int i = base + bit;
+            int next = Math.min(max[i], value[i] + rate[type[i]]);
+            value[i] = next;
+            if (next == max[i]) {
+                pending &= ~(1L << bit);
+            }
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,29 @@
+package edu.trincoll.game.regen;
+
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Health and mana a character of some type regains each tick.
+ */
+public record RegenRates(int health, int mana) {
+    public RegenRates {
+        if (health < 0 || mana < 0) {
+            throw new IllegalArgumentException("Regen rates cannot be negative");
+        }
+    }
+
+    /**
+     * Default rates: warriors recover health fastest, mages mana.
+     */
+    public static Map<CharacterType, RegenRates> defaults() {
+        Map<CharacterType, RegenRates> rates = new EnumMap<>(CharacterType.class);
+        rates.put(CharacterType.WARRIOR, new RegenRates(3, 0));
+        rates.put(CharacterType.MAGE, new RegenRates(1, 5));
+        rates.put(CharacterType.ARCHER, new RegenRates(2, 2));
+        rates.put(CharacterType.ROGUE, new RegenRates(2, 1));
+        return rates;
+    }
+}
@@ -0,0 +1,150 @@
+package edu.trincoll.game.regen;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.util.List;
+
+/**
+ * Columnar copy of the health and mana of a fixed group of characters.
+ *
+ * Each stat is its own int array, and two bitsets mark the slots that
+ * are alive and below max health or max mana. RegenEngine only visits
+ * set bits, so dead and full characters cost nothing beyond their share
+ * of a 64-bit word.
+ *
+ * Changes made here reach the characters through writeTo(); changes
+ * made to the characters (battles) come back through refresh().
+ * Not thread-safe.
+ */
+public final class StatsTable {
+    final int size;
+    final byte[] type;
+    final int[] health;
+    final int[] maxHealth;
+    final int[] mana;
+    final int[] maxMana;
+    final long[] healthPending;
+    final long[] manaPending;
+
+    private StatsTable(int size) {
+        this.size = size;
+        int words = (size + 63) >>> 6;
+        type = new byte[size];
+        health = new int[size];
+        maxHealth = new int[size];
+        mana = new int[size];
+        maxMana = new int[size];
+        healthPending = new long[words];
+        manaPending = new long[words];
+    }
+
+    /**
+     * Capture the current stats of the given characters, slot i holding
+     * characters.get(i).
+     */
+    public static StatsTable of(List<Character> characters) {
+        StatsTable table = new StatsTable(characters.size());
+        for (int i = 0; i < table.size; i++) {
+            table.type[i] = (byte) characters.get(i).getType().ordinal();
+        }
+        table.refresh(characters);
+        return table;
+    }
+
+    /**
+     * Re-read health and mana from the characters this table was built from.
+     */
+    public void refresh(List<Character> characters) {
+        checkSize(characters);
+        for (int i = 0; i < size; i++) {
+            CharacterStats stats = characters.get(i).getStats();
+            health[i] = stats.health();
+            maxHealth[i] = stats.maxHealth();
+            mana[i] = stats.mana();
+            maxMana[i] = stats.maxMana();
+            updatePending(i);
+        }
+    }
+
+    /**
+     * Push health and mana back to the characters, touching only those
+     * whose values differ.
+     *
+     * @return the number of characters updated
+     */
+    public int writeTo(List<Character> characters) {
+        checkSize(characters);
+        int updated = 0;
+        for (int i = 0; i < size; i++) {
+            Character character = characters.get(i);
+            CharacterStats stats = character.getStats();
+            if (stats.health() != health[i] || stats.mana() != mana[i]) {
+                character.restoreStats(new CharacterStats(health[i], stats.maxHealth(),
+                    stats.attackPower(), stats.defense(), mana[i], stats.maxMana()));
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int health(int slot) {
+        return health[slot];
+    }
+
+    public int mana(int slot) {
+        return mana[slot];
+    }
+
+    public boolean isAlive(int slot) {
+        return health[slot] > 0;
+    }
+
+    /**
+     * Set health, clamped to [0, max health] like CharacterStats.withHealth().
+     */
+    public void setHealth(int slot, int value) {
+        health[slot] = Math.max(0, Math.min(value, maxHealth[slot]));
+        updatePending(slot);
+    }
+
+    /**
+     * Set mana, clamped to [0, max mana] like CharacterStats.withMana().
+     */
+    public void setMana(int slot, int value) {
+        mana[slot] = Math.max(0, Math.min(value, maxMana[slot]));
+        updatePending(slot);
+    }
+
+    /**
+     * Number of living characters that can still regenerate something.
+     */
+    public int pendingCount() {
+        int count = 0;
+        for (int w = 0; w < healthPending.length; w++) {
+            count += Long.bitCount(healthPending[w] | manaPending[w]);
+        }
+        return count;
+    }
+
+    private void updatePending(int slot) {
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        boolean alive = health[slot] > 0;
+        healthPending[word] = alive && health[slot] < maxHealth[slot]
+            ? healthPending[word] | bit : healthPending[word] & ~bit;
+        manaPending[word] = alive && mana[slot] < maxMana[slot]
+            ? manaPending[word] | bit : manaPending[word] & ~bit;
+    }
+
+    private void checkSize(List<Character> characters) {
+        if (characters.size() != size) {
+            throw new IllegalArgumentException(
+                "Expected " + size + " characters but got " + characters.size());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.codec.Varints;
+
+/**
+ * Binary format of a battle journal, shared by JournalWriter and
+ * BattleReplay.
+ *
+ * <pre>
+ *   journal  := header roster record* [index trailer]
+ *   header   := 'G' 'J' byte version, varint snapshotInterval, varint rosterSize
+ *   roster   := CharacterCodec stream (header, records, end marker)
+ *   record   := TURN [snapshot] | ATTACK varint attacker, varint target
+ *             | HEAL varint target, varint amount | STATS varint count, (varint slot, stats)*
+ *   snapshot := SNAPSHOT, stats for every roster slot
+ *   index    := INDEX varint turnCount, varint entries, (varint turn delta, varint offset delta)*
+ *   trailer  := long indexOffset, int TRAILER_MAGIC
+ * </pre>
+ * Characters are referred to by roster slot. Records before the first
+ * TURN belong to turn 0; a snapshot follows the TURN marker of every
+ * snapshotInterval-th turn and holds the state at the start of that turn.
+ * Index entries point at those TURN markers. A journal cut short (no
+ * trailer) is still readable; its index is rebuilt by scanning.
+ */
+final class BattleJournal {
+    static final byte MAGIC_0 = 'G';
+    static final byte MAGIC_1 = 'J';
+    static final int VERSION = 1;
+
+    static final byte TURN = 1;
+    static final byte SNAPSHOT = 2;
+    static final byte ATTACK = 3;
+    static final byte HEAL = 4;
+    static final byte STATS = 5;
+    static final byte INDEX = 6;
+
+    static final int TRAILER_MAGIC = 0x474A4958;
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    static final int MAX_STATS_BYTES = 6 * Varints.MAX_INT_BYTES;
+    static final int MAX_SLOT_STATS_BYTES = Varints.MAX_INT_BYTES + MAX_STATS_BYTES;
+
+    private BattleJournal() {
+    }
+}
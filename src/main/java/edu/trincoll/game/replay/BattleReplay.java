@@ -0,0 +1,409 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.codec.CharacterCodec;
+import edu.trincoll.game.codec.CharacterDecoder;
+import edu.trincoll.game.codec.Varints;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.CommandPool;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays a journal written by JournalWriter, seeking to any turn.
+ *
+ * The file is memory-mapped, and the snapshot index comes from its
+ * trailer (or a scan of the records if the journal was cut short). A
+ * seek restores the latest snapshot at or before the target turn - or
+ * carries on from the current position when that is closer - and streams
+ * the remaining commands through a CommandInvoker. Only the records
+ * between the snapshot and the target are decoded, so a seek costs at
+ * most snapshotInterval turns of replay however long the battle is.
+ *
+ * The roster is rebuilt from the journal; after seek(t) its characters
+ * hold their stats at the end of turn t. Journals are limited to 2 GB,
+ * the most one mapping can hold.
+ *
+ * Not thread-safe; commands run on the caller's thread.
+ */
+public final class BattleReplay implements AutoCloseable {
+    private static final int HISTORY_LIMIT = 64;
+
+    private final FileChannel file;
+    private final MappedByteBuffer journal;
+    private final CommandInvoker invoker;
+    private final List<Character> roster = new ArrayList<>();
+    private final CharacterStats[] initialStats;
+    private final int snapshotInterval;
+    private final int recordsStart;
+    private int recordsEnd;
+    private int turnCount;
+    private int[] indexTurns;
+    private int[] indexOffsets;
+    private int indexSize;
+    private int position;
+    private int turn;
+    private long commandsReplayed;
+    private long snapshotsRestored;
+
+    private BattleReplay(FileChannel file, MappedByteBuffer journal, CommandInvoker invoker) {
+        this.file = file;
+        this.journal = journal;
+        this.invoker = invoker;
+        try {
+            byte magic0 = journal.get();
+            byte magic1 = journal.get();
+            int version = journal.get();
+            if (magic0 != BattleJournal.MAGIC_0 || magic1 != BattleJournal.MAGIC_1) {
+                throw new IllegalArgumentException("Not a battle journal");
+            }
+            if (version != BattleJournal.VERSION) {
+                throw new IllegalArgumentException("Unsupported journal version: " + version);
+            }
+            snapshotInterval = Varints.readUnsigned(journal);
+            int rosterSize = Varints.readUnsigned(journal);
+            CharacterDecoder decoder = new CharacterDecoder();
+            decoder.readHeader(journal);
+            Character character;
+            while ((character = decoder.decode(journal)) != null) {
+                roster.add(character);
+            }
+            if (roster.size() != rosterSize) {
+                throw new IllegalArgumentException("Journal roster has " + roster.size()
+                    + " characters, header says " + rosterSize);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Journal header is truncated", e);
+        }
+        initialStats = new CharacterStats[roster.size()];
+        for (int i = 0; i < initialStats.length; i++) {
+            initialStats[i] = roster.get(i).getStats();
+        }
+        recordsStart = journal.position();
+        position = recordsStart;
+        if (!readIndex()) {
+            scanIndex();
+        }
+    }
+
+    /**
+     * Map a journal and replay it through a private invoker.
+     *
+     * @throws IllegalArgumentException if the file isn't a valid journal
+     * @throws IllegalStateException    if the file can't be read
+     */
+    public static BattleReplay open(Path path) {
+        return open(path, new CommandInvoker(HISTORY_LIMIT));
+    }
+
+    /**
+     * Map a journal and replay its commands through the given invoker,
+     * e.g. one with a listener attached. Its history is cleared whenever
+     * the replay jumps to a snapshot.
+     */
+    public static BattleReplay open(Path path, CommandInvoker invoker) {
+        FileChannel file = null;
+        try {
+            file = FileChannel.open(path, StandardOpenOption.READ);
+            long size = file.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Journal is larger than 2 GB: " + path);
+            }
+            MappedByteBuffer journal = file.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new BattleReplay(file, journal, invoker);
+        } catch (IOException e) {
+            closeQuietly(file);
+            throw new IllegalStateException("Could not map journal " + path, e);
+        } catch (RuntimeException e) {
+            closeQuietly(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Bring the roster to its state at the end of the given turn.
+     *
+     * @throws IllegalArgumentException if the journal has no such turn
+     * @throws IllegalStateException    if a journaled command fails on replay
+     */
+    public BattleReplay seek(int target) {
+        if (target < 0 || target > turnCount) {
+            throw new IllegalArgumentException("Turn " + target + " is outside 0.." + turnCount);
+        }
+        int snapshot = latestSnapshotAtOrBefore(target);
+        boolean behind = target < turn;
+        boolean snapshotAhead = snapshot >= 0 && indexTurns[snapshot] > turn;
+        if (behind || snapshotAhead) {
+            if (snapshot >= 0) {
+                restoreSnapshot(snapshot);
+            } else {
+                rewind();
+            }
+        }
+        while (position < recordsEnd) {
+            byte opcode = journal.get(position);
+            if (opcode == BattleJournal.TURN) {
+                if (turn == target) {
+                    break;
+                }
+                journal.position(position + 1);
+                if (journal.position() < recordsEnd && journal.get(journal.position()) == BattleJournal.SNAPSHOT) {
+                    // Streaming past a snapshot: the state already matches it
+                    skipSnapshot();
+                }
+                turn++;
+                position = journal.position();
+            } else {
+                apply(opcode);
+            }
+        }
+        return this;
+    }
+
+    public List<Character> getRoster() {
+        return List.copyOf(roster);
+    }
+
+    /**
+     * Turn the roster was last brought to.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Last turn in the journal.
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public int getSnapshotCount() {
+        return indexSize;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Commands executed through the invoker since the journal was opened.
+     */
+    public long getCommandsReplayed() {
+        return commandsReplayed;
+    }
+
+    public long getSnapshotsRestored() {
+        return snapshotsRestored;
+    }
+
+    @Override
+    public void close() {
+        invoker.clearHistory();
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not close journal", e);
+        }
+    }
+
+    private void apply(byte opcode) {
+        journal.position(position + 1);
+        try {
+            switch (opcode) {
+                case BattleJournal.ATTACK -> {
+                    Character attacker = slot(Varints.readUnsigned(journal));
+                    Character target = slot(Varints.readUnsigned(journal));
+                    execute(CommandPool.acquireAttack(attacker, target));
+                }
+                case BattleJournal.HEAL -> {
+                    Character target = slot(Varints.readUnsigned(journal));
+                    execute(CommandPool.acquireHeal(target, Varints.readUnsigned(journal)));
+                }
+                case BattleJournal.STATS -> {
+                    int count = Varints.readUnsigned(journal);
+                    for (int i = 0; i < count; i++) {
+                        Character character = slot(Varints.readUnsigned(journal));
+                        character.restoreStats(CharacterCodec.readStats(journal));
+                    }
+                }
+                default -> throw new IllegalArgumentException(
+                    "Unknown journal record " + opcode + " at offset " + position);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Journal record at offset " + position + " is truncated", e);
+        }
+        position = journal.position();
+    }
+
+    private void execute(GameCommand command) {
+        try {
+            invoker.executeCommand(command);
+        } catch (IllegalStateException e) {
+            CommandPool.release(command);
+            throw new IllegalStateException("Journaled command at offset " + position
+                + " failed on replay; the journal doesn't match its battle", e);
+        }
+        commandsReplayed++;
+    }
+
+    private Character slot(int slot) {
+        if (slot < 0 || slot >= roster.size()) {
+            throw new IllegalArgumentException("Roster slot out of range: " + slot);
+        }
+        return roster.get(slot);
+    }
+
+    private void rewind() {
+        invoker.clearHistory();
+        for (int i = 0; i < initialStats.length; i++) {
+            roster.get(i).restoreStats(initialStats[i]);
+        }
+        position = recordsStart;
+        turn = 0;
+    }
+
+    private void restoreSnapshot(int entry) {
+        invoker.clearHistory();
+        // TURN marker, then SNAPSHOT
+        journal.position(indexOffsets[entry] + 2);
+        for (Character character : roster) {
+            character.restoreStats(CharacterCodec.readStats(journal));
+        }
+        position = journal.position();
+        turn = indexTurns[entry];
+        snapshotsRestored++;
+    }
+
+    private void skipSnapshot() {
+        journal.position(journal.position() + 1);
+        for (int i = 0; i < roster.size(); i++) {
+            CharacterCodec.readStats(journal);
+        }
+    }
+
+    private int latestSnapshotAtOrBefore(int target) {
+        int index = Arrays.binarySearch(indexTurns, 0, indexSize, target);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Load the index written by JournalWriter.close().
+     *
+     * @return false if the journal has no valid trailer
+     */
+    private boolean readIndex() {
+        int size = journal.capacity();
+        if (size - recordsStart < 1 + BattleJournal.TRAILER_BYTES
+                || journal.getInt(size - Integer.BYTES) != BattleJournal.TRAILER_MAGIC) {
+            return false;
+        }
+        long indexOffset = journal.getLong(size - BattleJournal.TRAILER_BYTES);
+        if (indexOffset < recordsStart || indexOffset >= size - BattleJournal.TRAILER_BYTES
+                || journal.get((int) indexOffset) != BattleJournal.INDEX) {
+            return false;
+        }
+        ByteBuffer index = journal.duplicate();
+        index.position((int) indexOffset + 1);
+        try {
+            turnCount = Varints.readUnsigned(index);
+            indexSize = Varints.readUnsigned(index);
+            if (indexSize < 0 || indexSize > turnCount) {
+                throw new IllegalArgumentException("Corrupt journal index");
+            }
+            indexTurns = new int[indexSize];
+            indexOffsets = new int[indexSize];
+            int turnSoFar = 0;
+            long offsetSoFar = 0;
+            for (int i = 0; i < indexSize; i++) {
+                turnSoFar += Varints.readUnsigned(index);
+                offsetSoFar += Varints.readUnsignedLong(index);
+                if (offsetSoFar < recordsStart || offsetSoFar >= indexOffset) {
+                    throw new IllegalArgumentException("Journal index points outside the records");
+                }
+                indexTurns[i] = turnSoFar;
+                indexOffsets[i] = (int) offsetSoFar;
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Journal index is truncated", e);
+        }
+        recordsEnd = (int) indexOffset;
+        return true;
+    }
+
+    /**
+     * Rebuild the index by walking the records, for a journal whose
+     * writer never closed. A trailing partial record is ignored.
+     */
+    private void scanIndex() {
+        List<int[]> entries = new ArrayList<>();
+        ByteBuffer records = journal.duplicate();
+        records.position(recordsStart);
+        int end = recordsStart;
+        int turns = 0;
+        try {
+            while (records.hasRemaining() && records.get(records.position()) != BattleJournal.INDEX) {
+                byte opcode = records.get();
+                switch (opcode) {
+                    case BattleJournal.TURN -> {
+                        turns++;
+                        if (records.hasRemaining() && records.get(records.position()) == BattleJournal.SNAPSHOT) {
+                            records.get();
+                            for (int i = 0; i < roster.size(); i++) {
+                                CharacterCodec.readStats(records);
+                            }
+                            entries.add(new int[] {turns, end});
+                        }
+                    }
+                    case BattleJournal.ATTACK, BattleJournal.HEAL -> {
+                        Varints.readUnsigned(records);
+                        Varints.readUnsigned(records);
+                    }
+                    case BattleJournal.STATS -> {
+                        int count = Varints.readUnsigned(records);
+                        for (int i = 0; i < count; i++) {
+                            Varints.readUnsigned(records);
+                            CharacterCodec.readStats(records);
+                        }
+                    }
+                    default -> throw new IllegalArgumentException(
+                        "Unknown journal record " + opcode + " at offset " + end);
+                }
+                end = records.position();
+                turnCount = turns;
+            }
+        } catch (BufferUnderflowException e) {
+            // Cut off mid-record: everything before it is still good
+        }
+        recordsEnd = end;
+        indexSize = entries.size();
+        indexTurns = new int[indexSize];
+        indexOffsets = new int[indexSize];
+        for (int i = 0; i < indexSize; i++) {
+            indexTurns[i] = entries.get(i)[0];
+            indexOffsets[i] = entries.get(i)[1];
+        }
+    }
+
+    private static void closeQuietly(FileChannel file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException suppressed) {
+            // Already failing; the original exception matters more
+        }
+    }
+}
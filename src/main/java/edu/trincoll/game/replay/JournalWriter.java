@@ -0,0 +1,262 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.codec.CharacterCodec;
+import edu.trincoll.game.codec.CharacterEncoder;
+import edu.trincoll.game.codec.Varints;
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandListener;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.Character;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records a battle as a journal BattleReplay can seek through.
+ *
+ * Attach it to the battle's CommandInvoker with setListener() and call
+ * nextTurn() at the start of every turn. Attacks and heals are journaled
+ * as commands and replayed by executing them again; anything else the
+ * invoker reports (other commands, undo, rollback) is journaled as the
+ * resulting stats of the characters involved. Changes made outside the
+ * invoker can be journaled with capture().
+ *
+ * Every snapshotInterval turns the whole roster's stats are written too,
+ * which bounds how far a replay has to stream after a seek. close()
+ * appends the snapshot index; the channel stays owned by the caller.
+ *
+ * Not thread-safe; use it on the invoker's thread.
+ */
+public final class JournalWriter implements CommandListener, AutoCloseable {
+    private static final int MIN_BUFFER_BYTES = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final List<Character> roster;
+    private final Map<Character, Integer> slots = new IdentityHashMap<>();
+    private final int snapshotInterval;
+    private final ByteBuffer buffer;
+    private int[] indexTurns = new int[16];
+    private long[] indexOffsets = new long[16];
+    private int indexSize;
+    private long flushed;
+    private int turn;
+    private boolean closed;
+
+    /**
+     * Write the journal header and the roster as it is now.
+     *
+     * @param snapshotInterval turns between roster snapshots
+     * @throws IllegalArgumentException if the roster is empty, repeats a
+     *                                  character or uses custom strategies
+     * @throws IllegalStateException    if the channel fails
+     */
+    public JournalWriter(WritableByteChannel channel, List<Character> roster, int snapshotInterval) {
+        if (roster.isEmpty()) {
+            throw new IllegalArgumentException("Roster cannot be empty");
+        }
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        this.channel = channel;
+        this.roster = List.copyOf(roster);
+        this.snapshotInterval = snapshotInterval;
+        for (Character character : this.roster) {
+            if (slots.put(character, slots.size()) != null) {
+                throw new IllegalArgumentException("Character appears twice in roster: " + character.getName());
+            }
+        }
+        int snapshotBytes = 2 + Varints.MAX_INT_BYTES + this.roster.size() * BattleJournal.MAX_SLOT_STATS_BYTES;
+        this.buffer = ByteBuffer.allocate(Math.max(MIN_BUFFER_BYTES, 2 * snapshotBytes));
+
+        buffer.put(BattleJournal.MAGIC_0).put(BattleJournal.MAGIC_1).put((byte) BattleJournal.VERSION);
+        Varints.writeUnsigned(buffer, snapshotInterval);
+        Varints.writeUnsigned(buffer, this.roster.size());
+        CharacterEncoder encoder = new CharacterEncoder();
+        encoder.writeHeader(buffer);
+        for (Character character : this.roster) {
+            ensureRoom(encoder.maxEncodedSize(character));
+            encoder.encode(buffer, character);
+        }
+        ensureRoom(Varints.MAX_INT_BYTES);
+        encoder.writeEnd(buffer);
+    }
+
+    /**
+     * Start the next turn; every snapshotInterval turns this also writes
+     * a roster snapshot.
+     */
+    public void nextTurn() {
+        checkOpen();
+        ensureRoom(2 + roster.size() * BattleJournal.MAX_STATS_BYTES);
+        turn++;
+        long offset = position();
+        buffer.put(BattleJournal.TURN);
+        if (turn % snapshotInterval == 0) {
+            buffer.put(BattleJournal.SNAPSHOT);
+            for (Character character : roster) {
+                CharacterCodec.writeStats(buffer, character.getStats());
+            }
+            addIndexEntry(turn, offset);
+        }
+    }
+
+    @Override
+    public void executed(GameCommand command) {
+        checkOpen();
+        if (command instanceof AttackCommand attack) {
+            ensureRoom(1 + 2 * Varints.MAX_INT_BYTES);
+            buffer.put(BattleJournal.ATTACK);
+            Varints.writeUnsigned(buffer, slotOf(attack.getAttacker()));
+            Varints.writeUnsigned(buffer, slotOf(attack.getTarget()));
+        } else if (command instanceof HealCommand heal) {
+            ensureRoom(1 + 2 * Varints.MAX_INT_BYTES);
+            buffer.put(BattleJournal.HEAL);
+            Varints.writeUnsigned(buffer, slotOf(heal.getTarget()));
+            Varints.writeUnsigned(buffer, heal.getAmount());
+        } else {
+            writeStats(command.getAffectedCharacters());
+        }
+    }
+
+    @Override
+    public void undone(GameCommand command) {
+        checkOpen();
+        writeStats(command.getAffectedCharacters());
+    }
+
+    @Override
+    public void rolledBack() {
+        checkOpen();
+        writeStats(roster);
+    }
+
+    /**
+     * Journal the current stats of a character changed outside the
+     * invoker, e.g. by a status effect tick.
+     */
+    public void capture(Character character) {
+        checkOpen();
+        writeStats(List.of(character));
+    }
+
+    /**
+     * Hand buffered records to the channel.
+     *
+     * @throws IllegalStateException if the channel fails
+     */
+    public void flush() {
+        checkOpen();
+        drain();
+    }
+
+    /**
+     * Write the snapshot index and trailer and flush.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        long indexOffset = position();
+        ensureRoom(1 + 2 * Varints.MAX_INT_BYTES);
+        buffer.put(BattleJournal.INDEX);
+        Varints.writeUnsigned(buffer, turn);
+        Varints.writeUnsigned(buffer, indexSize);
+        int previousTurn = 0;
+        long previousOffset = 0;
+        for (int i = 0; i < indexSize; i++) {
+            ensureRoom(Varints.MAX_INT_BYTES + Varints.MAX_LONG_BYTES);
+            Varints.writeUnsigned(buffer, indexTurns[i] - previousTurn);
+            Varints.writeUnsignedLong(buffer, indexOffsets[i] - previousOffset);
+            previousTurn = indexTurns[i];
+            previousOffset = indexOffsets[i];
+        }
+        ensureRoom(BattleJournal.TRAILER_BYTES);
+        buffer.putLong(indexOffset).putInt(BattleJournal.TRAILER_MAGIC);
+        drain();
+        closed = true;
+    }
+
+    /**
+     * Turns started so far.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getSnapshotCount() {
+        return indexSize;
+    }
+
+    /**
+     * Journal bytes produced so far, buffered ones included.
+     */
+    public long getBytesWritten() {
+        return position();
+    }
+
+    private void writeStats(List<Character> characters) {
+        // Commands that don't say what they touch may have touched anyone
+        List<Character> changed = characters.isEmpty() ? roster : characters;
+        ensureRoom(1 + Varints.MAX_INT_BYTES + changed.size() * BattleJournal.MAX_SLOT_STATS_BYTES);
+        buffer.put(BattleJournal.STATS);
+        Varints.writeUnsigned(buffer, changed.size());
+        for (Character character : changed) {
+            Varints.writeUnsigned(buffer, slotOf(character));
+            CharacterCodec.writeStats(buffer, character.getStats());
+        }
+    }
+
+    private int slotOf(Character character) {
+        Integer slot = slots.get(character);
+        if (slot == null) {
+            throw new IllegalArgumentException(character.getName() + " is not in the journal's roster");
+        }
+        return slot;
+    }
+
+    private void addIndexEntry(int turn, long offset) {
+        if (indexSize == indexTurns.length) {
+            indexTurns = Arrays.copyOf(indexTurns, indexSize * 2);
+            indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+        }
+        indexTurns[indexSize] = turn;
+        indexOffsets[indexSize] = offset;
+        indexSize++;
+    }
+
+    private long position() {
+        return flushed + buffer.position();
+    }
+
+    private void ensureRoom(int bytes) {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        } finally {
+            buffer.compact();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+}
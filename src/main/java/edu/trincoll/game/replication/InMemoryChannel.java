@@ -0,0 +1,30 @@
+package edu.trincoll.game.replication;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Channel to a replica in the same JVM: batches are applied on the
+ * sending thread, so the replica never lags behind a flush.
+ */
+public final class InMemoryChannel implements ReplicationChannel {
+    private final Replica replica;
+
+    public InMemoryChannel(Replica replica) {
+        this.replica = replica;
+    }
+
+    @Override
+    public void send(ByteBuffer batch) {
+        replica.apply(batch.duplicate());
+    }
+
+    @Override
+    public long getAcknowledgedSequence() {
+        return replica.getAppliedSequence();
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,301 @@
+package edu.trincoll.game.replication;
+
+import edu.trincoll.game.codec.DeltaExporter;
+import edu.trincoll.game.codec.Varints;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.CommandListener;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the state changes made through a CommandInvoker to replicas.
+ *
+ * Each executed, undone or rolled back command becomes one entry with
+ * the next sequence number, holding the changed fields of the characters
+ * it affected (a DeltaExporter delta driven by their dirty bits; opaque
+ * commands and rollbacks scan the whole roster). Shipping resulting
+ * state instead of commands means replicas never re-run strategies, so
+ * they can't diverge. Entries are sent in batches of batchSize, or on
+ * flush().
+ *
+ * A replica joining with a recent enough sequence gets the missing
+ * entries from a retained tail; otherwise it gets a snapshot of the
+ * whole roster first. Replicas whose channel fails are dropped.
+ *
+ * The primary takes exclusive ownership of the roster's dirty bits: the
+ * characters must be clean when it is built (export or clear them
+ * first), and nothing else (another DeltaExporter, say) may export or
+ * clear them while it is in use. Stats changed outside the invoker go
+ * out with the next entry that touches the character, or with
+ * captureAll(). Not thread-safe; use it on the invoker's thread.
+ *
+ * Batch encoding:
+ * <pre>
+ *   ENTRIES:  byte 1, int count, then per entry varlong sequence + delta
+ *   SNAPSHOT: byte 2, varlong sequence, varint roster size, full delta
+ * </pre>
+ */
+public final class Primary implements CommandListener {
+    static final byte ENTRIES = 1;
+    static final byte SNAPSHOT = 2;
+    static final int HEADER_BYTES = 1 + Integer.BYTES;
+
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final int DEFAULT_TAIL_LIMIT = 4096;
+
+    private final List<Character> roster;
+    private final Map<Character, Integer> slots = new IdentityHashMap<>();
+    private final DeltaExporter exporter;
+    private final int batchSize;
+    private final int tailLimit;
+    private final List<ReplicationChannel> replicas = new ArrayList<>();
+    // Encoded entries, oldest first, ending with the one for sequence
+    private final ArrayDeque<byte[]> tail = new ArrayDeque<>();
+    private ByteBuffer batch = ByteBuffer.allocate(64 * 1024);
+    private int[] affectedSlots = new int[8];
+    private int pendingEntries;
+    private long sequence;
+    private long batchesSent;
+    private long droppedReplicas;
+
+    public Primary(List<Character> roster) {
+        this(roster, DEFAULT_BATCH_SIZE, DEFAULT_TAIL_LIMIT);
+    }
+
+    /**
+     * @param batchSize entries per batch
+     * @param tailLimit entries kept for replicas catching up
+     * @throws IllegalArgumentException if a character is listed twice or
+     *         has dirty fields another user hasn't exported yet
+     */
+    public Primary(List<Character> roster, int batchSize, int tailLimit) {
+        if (batchSize <= 0 || tailLimit < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and tail limit not negative");
+        }
+        this.roster = List.copyOf(roster);
+        for (int i = 0; i < this.roster.size(); i++) {
+            if (slots.put(this.roster.get(i), i) != null) {
+                throw new IllegalArgumentException("Character listed twice: " + this.roster.get(i).getName());
+            }
+            if (this.roster.get(i).isDirty()) {
+                throw new IllegalArgumentException(this.roster.get(i).getName()
+                    + " has unexported changes; export or clear them before replicating");
+            }
+        }
+        this.exporter = new DeltaExporter(this.roster);
+        this.batchSize = batchSize;
+        this.tailLimit = tailLimit;
+        batch.position(HEADER_BYTES);
+    }
+
+    /**
+     * Start streaming the invoker's changes.
+     */
+    public void attachTo(CommandInvoker invoker) {
+        invoker.setListener(this);
+    }
+
+    /**
+     * Bring a replica up to date and stream to it from now on. The
+     * channel's acknowledged sequence says how far the replica already is.
+     *
+     * @throws IllegalArgumentException if the replica claims to be ahead
+     */
+    public void addReplica(ReplicationChannel channel) {
+        flush();
+        long acknowledged = channel.getAcknowledgedSequence();
+        if (acknowledged > sequence) {
+            throw new IllegalArgumentException("Replica is at " + acknowledged
+                + " but the primary only reached " + sequence);
+        }
+        if (acknowledged < sequence || acknowledged < 0) {
+            long oldestRetained = sequence - tail.size() + 1;
+            channel.send(acknowledged >= 0 && acknowledged + 1 >= oldestRetained
+                ? tailAfter(acknowledged) : snapshot());
+            batchesSent++;
+        }
+        replicas.add(channel);
+    }
+
+    public void removeReplica(ReplicationChannel channel) {
+        replicas.remove(channel);
+    }
+
+    @Override
+    public void executed(GameCommand command) {
+        capture(command.getAffectedCharacters());
+    }
+
+    @Override
+    public void undone(GameCommand command) {
+        capture(command.getAffectedCharacters());
+    }
+
+    @Override
+    public void rolledBack() {
+        captureAll();
+    }
+
+    /**
+     * Record every dirty character in the roster as one entry.
+     */
+    public void captureAll() {
+        ensureRoom(Varints.MAX_LONG_BYTES + roster.size() * DeltaExporter.MAX_RECORD_BYTES + 1);
+        int start = batch.position();
+        Varints.writeUnsignedLong(batch, sequence + 1);
+        finishEntry(start, exporter.export(batch));
+    }
+
+    /**
+     * Send the entries not yet sent.
+     */
+    public void flush() {
+        if (pendingEntries == 0) {
+            return;
+        }
+        batch.put(0, ENTRIES).putInt(1, pendingEntries);
+        batch.flip();
+        for (Iterator<ReplicationChannel> it = replicas.iterator(); it.hasNext(); ) {
+            ReplicationChannel channel = it.next();
+            try {
+                channel.send(batch.duplicate());
+            } catch (IllegalStateException e) {
+                it.remove();
+                droppedReplicas++;
+            }
+        }
+        batchesSent++;
+        batch.clear().position(HEADER_BYTES);
+        pendingEntries = 0;
+    }
+
+    /**
+     * Sequence number of the latest entry; 0 before the first.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Entries the replica has yet to confirm, unsent ones included.
+     */
+    public long getLag(ReplicationChannel channel) {
+        return sequence - channel.getAcknowledgedSequence();
+    }
+
+    public long getMaxLag() {
+        long max = 0;
+        for (ReplicationChannel channel : replicas) {
+            max = Math.max(max, getLag(channel));
+        }
+        return max;
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public long getBatchesSent() {
+        return batchesSent;
+    }
+
+    /**
+     * Replicas removed because their channel failed.
+     */
+    public long getDroppedReplicas() {
+        return droppedReplicas;
+    }
+
+    private void capture(List<Character> affected) {
+        if (affected.isEmpty()) {
+            captureAll();
+            return;
+        }
+        if (affectedSlots.length < affected.size()) {
+            affectedSlots = new int[affected.size()];
+        }
+        int count = 0;
+        for (Character character : affected) {
+            Integer slot = slots.get(character);
+            if (slot != null) {
+                affectedSlots[count++] = slot;
+            }
+        }
+        Arrays.sort(affectedSlots, 0, count);
+        ensureRoom(Varints.MAX_LONG_BYTES + count * DeltaExporter.MAX_RECORD_BYTES + 1);
+        int start = batch.position();
+        Varints.writeUnsignedLong(batch, sequence + 1);
+        finishEntry(start, exporter.exportSlots(batch, affectedSlots, count));
+    }
+
+    private void finishEntry(int start, int written) {
+        if (written == 0) {
+            // Nothing changed; don't spend a sequence number
+            batch.position(start);
+            return;
+        }
+        sequence++;
+        if (tailLimit > 0) {
+            byte[] entry = new byte[batch.position() - start];
+            batch.get(start, entry);
+            tail.addLast(entry);
+            if (tail.size() > tailLimit) {
+                tail.removeFirst();
+            }
+        }
+        pendingEntries++;
+        if (pendingEntries >= batchSize) {
+            flush();
+        }
+    }
+
+    private void ensureRoom(int bytes) {
+        if (batch.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(batch.capacity() * 2, batch.position() + bytes));
+            batch.flip();
+            larger.put(batch);
+            batch = larger;
+        }
+    }
+
+    private ByteBuffer tailAfter(long acknowledged) {
+        int skip = (int) (acknowledged + 1 - (sequence - tail.size() + 1));
+        int count = tail.size() - skip;
+        int bytes = HEADER_BYTES;
+        Iterator<byte[]> entries = tail.iterator();
+        for (int i = 0; i < skip; i++) {
+            entries.next();
+        }
+        List<byte[]> missing = new ArrayList<>(count);
+        while (entries.hasNext()) {
+            byte[] entry = entries.next();
+            missing.add(entry);
+            bytes += entry.length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(bytes);
+        out.put(ENTRIES).putInt(count);
+        for (byte[] entry : missing) {
+            out.put(entry);
+        }
+        return out.flip();
+    }
+
+    private ByteBuffer snapshot() {
+        ByteBuffer out = ByteBuffer.allocate(1 + Varints.MAX_LONG_BYTES + Varints.MAX_INT_BYTES
+            + roster.size() * DeltaExporter.MAX_RECORD_BYTES + 1);
+        out.put(SNAPSHOT);
+        Varints.writeUnsignedLong(out, sequence);
+        Varints.writeUnsigned(out, roster.size());
+        exporter.writeSnapshot(out);
+        return out.flip();
+    }
+}
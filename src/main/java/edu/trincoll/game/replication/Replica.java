@@ -0,0 +1,131 @@
+package edu.trincoll.game.replication;
+
+import edu.trincoll.game.codec.DeltaImporter;
+import edu.trincoll.game.codec.Varints;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Applies a Primary's batches to a local copy of its roster, slot for
+ * slot, and serves stats reads from it.
+ *
+ * Batches are applied under a write lock and reads take the read lock,
+ * so any number of threads can query while batches arrive. Entries at or
+ * below the applied sequence are skipped, which makes resending after a
+ * reconnect harmless; a gap means entries were lost and fails the batch.
+ */
+public final class Replica {
+    private final List<Character> roster;
+    private final Map<String, Integer> slotsByName = new HashMap<>();
+    private final DeltaImporter importer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long appliedSequence = -1;
+
+    /**
+     * @param roster characters laid out like the primary's roster; their
+     *               stats are overwritten by the first snapshot
+     */
+    public Replica(List<Character> roster) {
+        this.roster = List.copyOf(roster);
+        for (int i = 0; i < this.roster.size(); i++) {
+            slotsByName.put(this.roster.get(i).getName(), i);
+        }
+        this.importer = new DeltaImporter(this.roster);
+    }
+
+    /**
+     * Apply one batch.
+     *
+     * @throws IllegalArgumentException if the batch is corrupt
+     * @throws IllegalStateException    if entries are missing before it,
+     *                                  or it isn't a snapshot and the
+     *                                  replica has none yet
+     */
+    public void apply(ByteBuffer batch) {
+        lock.writeLock().lock();
+        try {
+            byte kind = batch.get();
+            if (kind == Primary.SNAPSHOT) {
+                applySnapshot(batch);
+            } else if (kind == Primary.ENTRIES) {
+                applyEntries(batch);
+            } else {
+                throw new IllegalArgumentException("Unknown batch kind: " + kind);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated batch", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sequence number of the last entry applied; -1 before the first snapshot.
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public CharacterStats getStats(int slot) {
+        lock.readLock().lock();
+        try {
+            return roster.get(slot).getStats();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if no character has the name
+     */
+    public CharacterStats getStats(String name) {
+        Integer slot = slotsByName.get(name);
+        if (slot == null) {
+            throw new IllegalArgumentException("Unknown character: " + name);
+        }
+        return getStats(slot);
+    }
+
+    public int size() {
+        return roster.size();
+    }
+
+    private void applySnapshot(ByteBuffer batch) {
+        long sequence = Varints.readUnsignedLong(batch);
+        int size = Varints.readUnsigned(batch);
+        if (size != roster.size()) {
+            throw new IllegalArgumentException("Snapshot has " + size
+                + " characters but the replica has " + roster.size());
+        }
+        importer.apply(batch);
+        appliedSequence = sequence;
+    }
+
+    private void applyEntries(ByteBuffer batch) {
+        if (appliedSequence < 0) {
+            throw new IllegalStateException("Replica needs a snapshot before entries");
+        }
+        int count = batch.getInt();
+        for (int i = 0; i < count; i++) {
+            long sequence = Varints.readUnsignedLong(batch);
+            if (sequence <= appliedSequence) {
+                importer.skip(batch);
+                continue;
+            }
+            if (sequence != appliedSequence + 1) {
+                throw new IllegalStateException("Replica at " + appliedSequence
+                    + " received entry " + sequence + "; entries are missing");
+            }
+            importer.apply(batch);
+            appliedSequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package edu.trincoll.game.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/**
+ * Replica side of a loopback socket link: accepts a primary's
+ * SocketReplicationChannel and applies what it sends.
+ *
+ * On connect the server sends the replica's applied sequence, so the
+ * primary knows whether to send a snapshot or a tail. After each batch
+ * it sends the new applied sequence back as the acknowledgement. A
+ * batch that fails to apply closes the connection; the primary drops
+ * the replica and can add it again to catch it up.
+ */
+public final class ReplicaServer implements AutoCloseable {
+    private final Replica replica;
+    private final ServerSocket server;
+    private volatile Socket connection;
+    private volatile boolean closed;
+
+    /**
+     * Listen on a loopback port; 0 picks a free one (see getPort()).
+     *
+     * @throws IllegalStateException if the port can't be bound
+     */
+    public ReplicaServer(Replica replica, int port) {
+        this.replica = replica;
+        try {
+            server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not listen on port " + port, e);
+        }
+        Thread acceptor = new Thread(this::acceptLoop, "replica-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(server);
+        Socket current = connection;
+        if (current != null) {
+            closeQuietly(current);
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try (Socket socket = server.accept()) {
+                connection = socket;
+                serve(socket);
+            } catch (IOException | RuntimeException e) {
+                // Connection lost or bad batch; wait for the primary to reconnect
+            }
+        }
+    }
+
+    private void serve(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        out.writeLong(replica.getAppliedSequence());
+        out.flush();
+        byte[] buffer = new byte[64 * 1024];
+        while (true) {
+            int length = in.readInt();
+            if (length > buffer.length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            in.readFully(buffer, 0, length);
+            replica.apply(ByteBuffer.wrap(buffer, 0, length));
+            out.writeLong(replica.getAppliedSequence());
+            out.flush();
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Already closing
+        }
+    }
+}
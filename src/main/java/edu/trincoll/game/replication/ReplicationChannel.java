@@ -0,0 +1,27 @@
+package edu.trincoll.game.replication;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Primary-side link to one replica.
+ */
+public interface ReplicationChannel extends AutoCloseable {
+
+    /**
+     * Deliver an encoded batch (the buffer's remaining bytes). May return
+     * before the replica has applied it, but the buffer is reused once
+     * the call returns, so copy it to keep it.
+     *
+     * @throws IllegalStateException if the replica can't be reached
+     */
+    void send(ByteBuffer batch);
+
+    /**
+     * Highest sequence number the replica has confirmed applying; -1 if
+     * it has no state yet.
+     */
+    long getAcknowledgedSequence();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,94 @@
+package edu.trincoll.game.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/**
+ * Primary side of a loopback socket link to a ReplicaServer.
+ *
+ * Batches are written length-prefixed; a reader thread picks up the
+ * replica's acknowledgements, so getAcknowledgedSequence() - and the
+ * primary's lag figures - trail what has been sent.
+ */
+public final class SocketReplicationChannel implements ReplicationChannel {
+    private final Socket socket;
+    private final DataOutputStream out;
+    private volatile long acknowledged;
+    private volatile boolean closed;
+
+    /**
+     * Connect to a ReplicaServer and read the replica's applied sequence.
+     *
+     * @throws IllegalStateException if the connection fails
+     */
+    public SocketReplicationChannel(int port) {
+        try {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            acknowledged = in.readLong();
+            Thread reader = new Thread(() -> readAcks(in), "replication-acks");
+            reader.setDaemon(true);
+            reader.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not connect to replica on port " + port, e);
+        }
+    }
+
+    @Override
+    public void send(ByteBuffer batch) {
+        if (closed) {
+            throw new IllegalStateException("Replica connection is closed");
+        }
+        try {
+            int length = batch.remaining();
+            out.writeInt(length);
+            if (batch.hasArray()) {
+                out.write(batch.array(), batch.arrayOffset() + batch.position(), length);
+            } else {
+                byte[] bytes = new byte[length];
+                batch.duplicate().get(bytes);
+                out.write(bytes);
+            }
+            out.flush();
+        } catch (IOException e) {
+            closed = true;
+            throw new IllegalStateException("Could not send to replica", e);
+        }
+    }
+
+    @Override
+    public long getAcknowledgedSequence() {
+        return acknowledged;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closing
+        }
+    }
+
+    private void readAcks(DataInputStream in) {
+        try {
+            while (true) {
+                acknowledged = in.readLong();
+            }
+        } catch (IOException e) {
+            // Connection closed by either side
+            closed = true;
+        }
+    }
+}
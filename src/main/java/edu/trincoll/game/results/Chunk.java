@@ -0,0 +1,85 @@
+package edu.trincoll.game.results;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A sealed, immutable block of rows, stored column after column:
+ * attacker types, defender types, sequence ids and flags as one byte per
+ * row, then turns and damage as one int per row.
+ *
+ * The data is either on the heap or a read-only mapping of the spill
+ * file, and may be deflated. Type masks and the turn range let a scan
+ * skip chunks that can't match its query.
+ */
+final class Chunk {
+    static final int ROW_BYTES = 12;
+    static final byte DEFEATED = 1;
+
+    private final int rows;
+    private final boolean compressed;
+    private final ByteBuffer data;
+    private final int attackerMask;
+    private final int defenderMask;
+    private final int minTurn;
+    private final int maxTurn;
+
+    Chunk(int rows, boolean compressed, ByteBuffer data,
+          int attackerMask, int defenderMask, int minTurn, int maxTurn) {
+        this.rows = rows;
+        this.compressed = compressed;
+        this.data = data;
+        this.attackerMask = attackerMask;
+        this.defenderMask = defenderMask;
+        this.minTurn = minTurn;
+        this.maxTurn = maxTurn;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    boolean isMapped() {
+        return data.isDirect();
+    }
+
+    /**
+     * False if no row in this chunk can match; -1 means any.
+     */
+    boolean mayMatch(int attacker, int defender, int fromTurn, int toTurn) {
+        return (attacker < 0 || (attackerMask & 1 << attacker) != 0)
+            && (defender < 0 || (defenderMask & 1 << defender) != 0)
+            && fromTurn <= maxTurn && toTurn >= minTurn;
+    }
+
+    /**
+     * The uncompressed columns; safe to call from several threads.
+     */
+    ByteBuffer columns() {
+        if (!compressed) {
+            return data.duplicate();
+        }
+        byte[] raw = new byte[rows * ROW_BYTES];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.duplicate());
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, raw.length - length);
+                if (read == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != raw.length) {
+                throw new IllegalStateException("Compressed chunk is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed chunk is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+}
@@ -0,0 +1,11 @@
+package edu.trincoll.game.results;
+
+/**
+ * A column results can be grouped by.
+ */
+public enum Dimension {
+    ATTACKER_TYPE,
+    DEFENDER_TYPE,
+    SEQUENCE,
+    TURN
+}
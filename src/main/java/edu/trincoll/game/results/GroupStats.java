@@ -0,0 +1,74 @@
+package edu.trincoll.game.results;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregates over one group of results.
+ *
+ * The damage histogram has power-of-two buckets: bucket 0 counts attacks
+ * that did no damage, bucket i > 0 counts damage in [2^(i-1), 2^i).
+ *
+ * @param key             one value per grouping dimension, in query order
+ * @param attacks         rows in the group
+ * @param wins            attacks that left the defender dead
+ * @param totalDamage     sum of damage over the group
+ * @param damageHistogram counts per damage bucket
+ *
+ * equals(), hashCode() and toString() compare and print the histogram by
+ * content rather than by array identity.
+ */
+public record GroupStats(
+    List<String> key,
+    long attacks,
+    long wins,
+    long totalDamage,
+    long[] damageHistogram
+) {
+    public static final int HISTOGRAM_BUCKETS = 33;
+
+    public double winRate() {
+        return attacks == 0 ? 0 : (double) wins / attacks;
+    }
+
+    public double meanDamage() {
+        return attacks == 0 ? 0 : (double) totalDamage / attacks;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GroupStats other)) return false;
+        return attacks == other.attacks
+            && wins == other.wins
+            && totalDamage == other.totalDamage
+            && key.equals(other.key)
+            && Arrays.equals(damageHistogram, other.damageHistogram);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = key.hashCode();
+        result = 31 * result + Long.hashCode(attacks);
+        result = 31 * result + Long.hashCode(wins);
+        result = 31 * result + Long.hashCode(totalDamage);
+        return 31 * result + Arrays.hashCode(damageHistogram);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupStats[key=" + key + ", attacks=" + attacks + ", wins=" + wins
+            + ", totalDamage=" + totalDamage + ", damageHistogram=" + Arrays.toString(damageHistogram) + "]";
+    }
+
+    /**
+     * Smallest damage counted in the given histogram bucket.
+     */
+    public static long bucketLowerBound(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+
+    static int bucketOf(int damage) {
+        return damage <= 0 ? 0 : 32 - Integer.numberOfLeadingZeros(damage);
+    }
+}
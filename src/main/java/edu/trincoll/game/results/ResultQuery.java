@@ -0,0 +1,49 @@
+package edu.trincoll.game.results;
+
+import edu.trincoll.game.model.CharacterType;
+
+/**
+ * Which rows an aggregate scan looks at. A null field matches anything.
+ *
+ * @param attacker attacker type, or null for any
+ * @param defender defender type, or null for any
+ * @param sequence battle sequence name, or null for any
+ * @param minTurn  lowest turn included
+ * @param maxTurn  highest turn included
+ */
+public record ResultQuery(
+    CharacterType attacker,
+    CharacterType defender,
+    String sequence,
+    int minTurn,
+    int maxTurn
+) {
+    public ResultQuery {
+        if (minTurn < 0 || maxTurn < minTurn) {
+            throw new IllegalArgumentException("Turn range must be non-negative and not empty");
+        }
+    }
+
+    /**
+     * Every row.
+     */
+    public static ResultQuery all() {
+        return new ResultQuery(null, null, null, 0, Integer.MAX_VALUE);
+    }
+
+    public ResultQuery withAttacker(CharacterType attacker) {
+        return new ResultQuery(attacker, defender, sequence, minTurn, maxTurn);
+    }
+
+    public ResultQuery withDefender(CharacterType defender) {
+        return new ResultQuery(attacker, defender, sequence, minTurn, maxTurn);
+    }
+
+    public ResultQuery withSequence(String sequence) {
+        return new ResultQuery(attacker, defender, sequence, minTurn, maxTurn);
+    }
+
+    public ResultQuery withTurns(int minTurn, int maxTurn) {
+        return new ResultQuery(attacker, defender, sequence, minTurn, maxTurn);
+    }
+}
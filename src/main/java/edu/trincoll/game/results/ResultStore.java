@@ -0,0 +1,538 @@
+package edu.trincoll.game.results;
+
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.TurnObserver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Append-only columnar store of attack outcomes, one row per attack:
+ * attacker type, defender type, battle sequence, turn, damage and
+ * whether the defender died.
+ *
+ * Rows go into primitive column arrays; every chunkRows rows the arrays
+ * are sealed into an immutable Chunk, deflated if compression is on.
+ * Character types are stored as their ordinal and sequence names through
+ * a dictionary, one byte each. With a spill directory set, chunks sealed
+ * after the heap budget is used up are written to a temp file and read
+ * back through a memory mapping instead of taking heap.
+ *
+ * Aggregate queries scan the chunks in parallel on the common pool,
+ * skipping chunks whose type masks or turn range rule them out, and merge
+ * per-chunk totals at the end.
+ *
+ * Attach the store to battle sequences with withObserver() and it records
+ * every attack they play. Appends and queries are synchronized, so any
+ * number of battles can share one store; a scan works on the chunks
+ * present when it started.
+ */
+public final class ResultStore implements TurnObserver, AutoCloseable {
+    static final int MAX_GROUPS = 4096;
+    private static final int MAX_SEQUENCES = 256;
+    private static final int TYPES = CharacterType.values().length;
+
+    private final int chunkRows;
+    private final boolean compress;
+    private final Path spillDirectory;
+    private final long heapLimit;
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final Map<String, Integer> sequenceIds = new HashMap<>();
+    private final List<String> sequenceNames = new ArrayList<>();
+    private final byte[] attackers;
+    private final byte[] defenders;
+    private final byte[] sequences;
+    private final byte[] flags;
+    private final int[] turns;
+    private final int[] damage;
+    private int size;
+    private long rows;
+    private int maxTurn;
+    private long heapBytes;
+    private long spilledBytes;
+    private Deflater deflater;
+    private FileChannel spill;
+    private boolean closed;
+
+    private ResultStore(Builder builder) {
+        this.chunkRows = builder.chunkRows;
+        this.compress = builder.compress;
+        this.spillDirectory = builder.spillDirectory;
+        this.heapLimit = builder.heapLimit;
+        this.attackers = new byte[chunkRows];
+        this.defenders = new byte[chunkRows];
+        this.sequences = new byte[chunkRows];
+        this.flags = new byte[chunkRows];
+        this.turns = new int[chunkRows];
+        this.damage = new int[chunkRows];
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Record the attack a battle sequence just played.
+     */
+    @Override
+    public void attackPlayed(BattleSequence sequence, int turn, int damage) {
+        record(sequence.getAttacker().getType(), sequence.getDefender().getType(),
+            sequence.getName(), turn, damage, !sequence.getDefender().isAlive());
+    }
+
+    /**
+     * Append one row.
+     *
+     * @throws IllegalArgumentException if turn is negative or there are
+     *                                  too many distinct sequence names
+     * @throws IllegalStateException    if the store is closed
+     */
+    public synchronized void record(CharacterType attacker, CharacterType defender,
+                                    String sequence, int turn, int damage, boolean defeated) {
+        ensureOpen();
+        if (turn < 0) {
+            throw new IllegalArgumentException("Turn cannot be negative");
+        }
+        attackers[size] = (byte) attacker.ordinal();
+        defenders[size] = (byte) defender.ordinal();
+        sequences[size] = (byte) sequenceId(sequence);
+        flags[size] = defeated ? Chunk.DEFEATED : 0;
+        turns[size] = turn;
+        this.damage[size] = damage;
+        size++;
+        rows++;
+        maxTurn = Math.max(maxTurn, turn);
+        if (size == chunkRows) {
+            seal();
+        }
+    }
+
+    /**
+     * Totals over every row the query matches.
+     */
+    public GroupStats total(ResultQuery query) {
+        List<GroupStats> groups = aggregate(query);
+        if (groups.isEmpty()) {
+            return new GroupStats(List.of(), 0, 0, 0, new long[GroupStats.HISTOGRAM_BUCKETS]);
+        }
+        return groups.get(0);
+    }
+
+    /**
+     * Win rate, damage and damage histogram per group of matching rows.
+     * Empty groups are left out; the rest come in dimension value order.
+     *
+     * @throws IllegalArgumentException if the grouping has more than 4096
+     *                                  possible groups, or repeats a dimension
+     */
+    public List<GroupStats> aggregate(ResultQuery query, Dimension... groupBy) {
+        List<Chunk> snapshot;
+        List<String> names;
+        int turnCount;
+        synchronized (this) {
+            ensureOpen();
+            snapshot = new ArrayList<>(chunks);
+            if (size > 0) {
+                snapshot.add(encodeActive());
+            }
+            names = List.copyOf(sequenceNames);
+            turnCount = maxTurn + 1;
+        }
+
+        int sequence = -1;
+        if (query.sequence() != null) {
+            sequence = names.indexOf(query.sequence());
+            if (sequence < 0) {
+                return List.of();
+            }
+        }
+        Scan scan = new Scan(query, sequence, groupBy, names.size(), turnCount);
+        Totals totals = snapshot.parallelStream()
+            .filter(chunk -> chunk.mayMatch(scan.attacker, scan.defender, query.minTurn(), query.maxTurn()))
+            .map(scan::run)
+            .reduce(Totals::merge)
+            .orElse(null);
+        if (totals == null) {
+            return List.of();
+        }
+        return totals.toStats(scan, names);
+    }
+
+    /**
+     * Names sequences were recorded under, in dictionary order.
+     */
+    public synchronized List<String> getSequenceNames() {
+        return List.copyOf(sequenceNames);
+    }
+
+    public synchronized long getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Sealed chunks, not counting the rows still being filled.
+     */
+    public synchronized int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Bytes of sealed chunks held on the heap.
+     */
+    public synchronized long getHeapBytes() {
+        return heapBytes;
+    }
+
+    /**
+     * Bytes of sealed chunks written to the spill file.
+     */
+    public synchronized long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * Drop the spill file; the store can't be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        chunks.clear();
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not close the spill file", e);
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Result store is closed");
+        }
+    }
+
+    private int sequenceId(String name) {
+        Integer id = sequenceIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (sequenceNames.size() == MAX_SEQUENCES) {
+            throw new IllegalArgumentException("More than " + MAX_SEQUENCES + " sequence names");
+        }
+        sequenceIds.put(name, sequenceNames.size());
+        sequenceNames.add(name);
+        return sequenceNames.size() - 1;
+    }
+
+    private void seal() {
+        byte[] raw = columnBytes();
+        int attackerMask = mask(attackers);
+        int defenderMask = mask(defenders);
+        int[] turnRange = turnRange();
+        boolean deflated = false;
+        byte[] stored = raw;
+        if (compress) {
+            byte[] packed = deflate(raw);
+            if (packed != null) {
+                stored = packed;
+                deflated = true;
+            }
+        }
+
+        ByteBuffer data;
+        if (spillDirectory != null && heapBytes + stored.length > heapLimit) {
+            data = spill(stored);
+            spilledBytes += stored.length;
+        } else {
+            data = ByteBuffer.wrap(stored);
+            heapBytes += stored.length;
+        }
+        chunks.add(new Chunk(size, deflated, data, attackerMask, defenderMask, turnRange[0], turnRange[1]));
+        size = 0;
+    }
+
+    /**
+     * The rows not sealed yet, as a throwaway uncompressed chunk.
+     */
+    private Chunk encodeActive() {
+        int[] turnRange = turnRange();
+        return new Chunk(size, false, ByteBuffer.wrap(columnBytes()),
+            mask(attackers), mask(defenders), turnRange[0], turnRange[1]);
+    }
+
+    private byte[] columnBytes() {
+        ByteBuffer raw = ByteBuffer.allocate(size * Chunk.ROW_BYTES);
+        raw.put(attackers, 0, size).put(defenders, 0, size).put(sequences, 0, size).put(flags, 0, size);
+        raw.asIntBuffer().put(turns, 0, size).put(damage, 0, size);
+        return raw.array();
+    }
+
+    private int mask(byte[] types) {
+        int mask = 0;
+        for (int i = 0; i < size; i++) {
+            mask |= 1 << types[i];
+        }
+        return mask;
+    }
+
+    private int[] turnRange() {
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, turns[i]);
+            max = Math.max(max, turns[i]);
+        }
+        return new int[] {min, max};
+    }
+
+    /**
+     * Deflated bytes, or null if deflating doesn't make them smaller.
+     */
+    private byte[] deflate(byte[] raw) {
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] out = new byte[raw.length];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == out.length) {
+                return null;
+            }
+            length += deflater.deflate(out, length, out.length - length);
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    private ByteBuffer spill(byte[] bytes) {
+        try {
+            if (spill == null) {
+                Path file = Files.createTempFile(spillDirectory, "results-", ".col");
+                spill = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            long position = spill.size();
+            ByteBuffer source = ByteBuffer.wrap(bytes);
+            while (source.hasRemaining()) {
+                spill.write(source, position + source.position());
+            }
+            return spill.map(FileChannel.MapMode.READ_ONLY, position, bytes.length);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not spill results to " + spillDirectory, e);
+        }
+    }
+
+    /**
+     * A resolved query: filter codes (-1 = any) and, per dimension, the
+     * stride its value is multiplied by in the group index.
+     */
+    private static final class Scan {
+        private final int attacker;
+        private final int defender;
+        private final int sequence;
+        private final int minTurn;
+        private final int maxTurn;
+        private final Dimension[] groupBy;
+        private final int[] cardinality;
+        private final int groups;
+        private int attackerStride;
+        private int defenderStride;
+        private int sequenceStride;
+        private int turnStride;
+
+        private Scan(ResultQuery query, int sequence, Dimension[] groupBy, int sequenceCount, int turnCount) {
+            this.attacker = query.attacker() == null ? -1 : query.attacker().ordinal();
+            this.defender = query.defender() == null ? -1 : query.defender().ordinal();
+            this.sequence = sequence;
+            this.minTurn = query.minTurn();
+            this.maxTurn = query.maxTurn();
+            this.groupBy = groupBy.clone();
+            this.cardinality = new int[groupBy.length];
+
+            long groups = 1;
+            for (int i = groupBy.length - 1; i >= 0; i--) {
+                int stride = (int) Math.min(groups, MAX_GROUPS + 1);
+                switch (groupBy[i]) {
+                    case ATTACKER_TYPE -> {
+                        checkUnused(attackerStride, groupBy[i]);
+                        attackerStride = stride;
+                        cardinality[i] = TYPES;
+                    }
+                    case DEFENDER_TYPE -> {
+                        checkUnused(defenderStride, groupBy[i]);
+                        defenderStride = stride;
+                        cardinality[i] = TYPES;
+                    }
+                    case SEQUENCE -> {
+                        checkUnused(sequenceStride, groupBy[i]);
+                        sequenceStride = stride;
+                        cardinality[i] = Math.max(1, sequenceCount);
+                    }
+                    case TURN -> {
+                        checkUnused(turnStride, groupBy[i]);
+                        turnStride = stride;
+                        cardinality[i] = turnCount;
+                    }
+                }
+                groups *= cardinality[i];
+            }
+            if (groups > MAX_GROUPS) {
+                throw new IllegalArgumentException(
+                    "Grouping has " + groups + " possible groups; narrow it to at most " + MAX_GROUPS);
+            }
+            this.groups = (int) groups;
+        }
+
+        private static void checkUnused(int stride, Dimension dimension) {
+            if (stride != 0) {
+                throw new IllegalArgumentException("Grouped by " + dimension + " twice");
+            }
+        }
+
+        private Totals run(Chunk chunk) {
+            Totals totals = new Totals(groups);
+            ByteBuffer columns = chunk.columns();
+            int rows = chunk.rows();
+            int turnBase = 4 * rows;
+            int damageBase = 8 * rows;
+            for (int i = 0; i < rows; i++) {
+                int a = columns.get(i);
+                int d = columns.get(rows + i);
+                int s = columns.get(2 * rows + i) & 0xFF;
+                int turn = columns.getInt(turnBase + 4 * i);
+                if ((attacker >= 0 && a != attacker) || (defender >= 0 && d != defender)
+                        || (sequence >= 0 && s != sequence) || turn < minTurn || turn > maxTurn) {
+                    continue;
+                }
+                int hit = columns.getInt(damageBase + 4 * i);
+                int group = a * attackerStride + d * defenderStride + s * sequenceStride + turn * turnStride;
+                totals.attacks[group]++;
+                totals.wins[group] += columns.get(3 * rows + i) & Chunk.DEFEATED;
+                totals.damage[group] += hit;
+                totals.histogram[group * GroupStats.HISTOGRAM_BUCKETS + GroupStats.bucketOf(hit)]++;
+            }
+            return totals;
+        }
+
+        private List<String> key(int group, List<String> names) {
+            List<String> key = new ArrayList<>(groupBy.length);
+            int rest = group;
+            for (int i = groupBy.length - 1; i >= 0; i--) {
+                int value = rest % cardinality[i];
+                rest /= cardinality[i];
+                key.add(0, switch (groupBy[i]) {
+                    case ATTACKER_TYPE, DEFENDER_TYPE -> CharacterType.values()[value].name();
+                    case SEQUENCE -> names.get(value);
+                    case TURN -> Integer.toString(value);
+                });
+            }
+            return List.copyOf(key);
+        }
+    }
+
+    /**
+     * Per-group sums from one or more chunks.
+     */
+    private static final class Totals {
+        private final long[] attacks;
+        private final long[] wins;
+        private final long[] damage;
+        private final long[] histogram;
+
+        private Totals(int groups) {
+            attacks = new long[groups];
+            wins = new long[groups];
+            damage = new long[groups];
+            histogram = new long[groups * GroupStats.HISTOGRAM_BUCKETS];
+        }
+
+        private Totals merge(Totals other) {
+            for (int g = 0; g < attacks.length; g++) {
+                attacks[g] += other.attacks[g];
+                wins[g] += other.wins[g];
+                damage[g] += other.damage[g];
+            }
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            return this;
+        }
+
+        private List<GroupStats> toStats(Scan scan, List<String> names) {
+            List<GroupStats> stats = new ArrayList<>();
+            for (int g = 0; g < attacks.length; g++) {
+                if (attacks[g] == 0) {
+                    continue;
+                }
+                int from = g * GroupStats.HISTOGRAM_BUCKETS;
+                stats.add(new GroupStats(scan.key(g, names), attacks[g], wins[g], damage[g],
+                    Arrays.copyOfRange(histogram, from, from + GroupStats.HISTOGRAM_BUCKETS)));
+            }
+            return stats;
+        }
+    }
+
+    public static class Builder {
+        private int chunkRows = 65_536;
+        private boolean compress;
+        private Path spillDirectory;
+        private long heapLimit;
+
+        /**
+         * Rows per sealed chunk.
+         */
+        public Builder chunkRows(int chunkRows) {
+            this.chunkRows = chunkRows;
+            return this;
+        }
+
+        /**
+         * Deflate sealed chunks; scans then inflate each chunk they read.
+         */
+        public Builder compress(boolean compress) {
+            this.compress = compress;
+            return this;
+        }
+
+        /**
+         * Once sealed chunks take more than heapLimitBytes of heap, write
+         * further chunks to a temp file in the given directory and map them.
+         */
+        public Builder spillTo(Path directory, long heapLimitBytes) {
+            this.spillDirectory = directory;
+            this.heapLimit = heapLimitBytes;
+            return this;
+        }
+
+        public ResultStore build() {
+            if (chunkRows < 1) {
+                throw new IllegalArgumentException("Chunk rows must be positive");
+            }
+            if (spillDirectory != null && heapLimit < 0) {
+                throw new IllegalArgumentException("Heap limit cannot be negative");
+            }
+            return new ResultStore(this);
+        }
+    }
+}
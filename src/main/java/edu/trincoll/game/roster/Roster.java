@@ -0,0 +1,141 @@
+package edu.trincoll.game.roster;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+
+import java.util.List;
+
+/**
+ * Immutable, versioned view of a group of characters.
+ *
+ * Names, types and strategies never change during a search, so they are
+ * captured once and shared by every version. Stats live in a persistent
+ * vector: apply() returns a new Roster in O(log n) and leaves this one
+ * untouched, so any number of speculative branches can be held at once
+ * and evaluated from different threads.
+ *
+ * Strategies are shared between versions, so they must be stateless
+ * (all built-in strategies are).
+ */
+public final class Roster {
+    private final Profiles profiles;
+    private final StatsVector stats;
+    private final long hash;
+
+    private record Profiles(String[] names, CharacterType[] types,
+                            AttackStrategy[] attackStrategies,
+                            DefenseStrategy[] defenseStrategies) {
+    }
+
+    private Roster(Profiles profiles, StatsVector stats, long hash) {
+        this.profiles = profiles;
+        this.stats = stats;
+        this.hash = hash;
+    }
+
+    /**
+     * Capture the current state of the given characters. Slot i is characters.get(i).
+     */
+    public static Roster of(List<Character> characters) {
+        int size = characters.size();
+        String[] names = new String[size];
+        CharacterType[] types = new CharacterType[size];
+        AttackStrategy[] attackStrategies = new AttackStrategy[size];
+        DefenseStrategy[] defenseStrategies = new DefenseStrategy[size];
+        CharacterStats[] values = new CharacterStats[size];
+        long hash = 0;
+        for (int i = 0; i < size; i++) {
+            Character character = characters.get(i);
+            names[i] = character.getName();
+            types[i] = character.getType();
+            attackStrategies[i] = character.getAttackStrategy();
+            defenseStrategies[i] = character.getDefenseStrategy();
+            values[i] = character.getStats();
+            hash += mix(i, values[i]);
+        }
+        return new Roster(new Profiles(names, types, attackStrategies, defenseStrategies),
+            StatsVector.of(values), hash);
+    }
+
+    public int size() {
+        return stats.size();
+    }
+
+    public CharacterStats stats(int slot) {
+        return stats.get(slot);
+    }
+
+    public String name(int slot) {
+        return profiles.names[slot];
+    }
+
+    public CharacterType type(int slot) {
+        return profiles.types[slot];
+    }
+
+    public boolean isAlive(int slot) {
+        return stats.get(slot).isAlive();
+    }
+
+    /**
+     * 64-bit hash of every slot's stats, maintained incrementally.
+     * Equal rosters from the same lineage have equal hashes.
+     */
+    public long statsHash() {
+        return hash;
+    }
+
+    /**
+     * Returns a copy with one slot's stats replaced.
+     */
+    public Roster withStats(int slot, CharacterStats newStats) {
+        CharacterStats old = stats.get(slot);
+        if (old.equals(newStats)) {
+            return this;
+        }
+        return new Roster(profiles, stats.set(slot, newStats), hash - mix(slot, old) + mix(slot, newStats));
+    }
+
+    /**
+     * Returns the version produced by performing the action. This version is unchanged.
+     *
+     * @throws IllegalStateException if the action is not possible (e.g. not enough mana)
+     */
+    public Roster apply(RosterAction action) {
+        int actorSlot = action.actor();
+        int targetSlot = action.target();
+        Character actor = materialize(actorSlot);
+        Character target = actorSlot == targetSlot ? actor : materialize(targetSlot);
+        action.perform(actor, target);
+        return withStats(actorSlot, actor.getStats()).withStats(targetSlot, target.getStats());
+    }
+
+    /**
+     * Create a detached Character holding this version's state for the slot.
+     */
+    public Character materialize(int slot) {
+        return new Character(profiles.names[slot], profiles.types[slot], stats.get(slot),
+            profiles.attackStrategies[slot], profiles.defenseStrategies[slot]);
+    }
+
+    /**
+     * Copy this version's stats onto live characters (slot i to characters.get(i)).
+     */
+    public void writeTo(List<Character> characters) {
+        for (int i = 0; i < size(); i++) {
+            characters.get(i).restoreStats(stats.get(i));
+        }
+    }
+
+    private static long mix(int slot, CharacterStats s) {
+        long h = slot * 0x9E3779B97F4A7C15L;
+        h = (h ^ s.health()) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ s.mana()) * 0x94D049BB133111EBL;
+        h = (h ^ ((long) s.attackPower() << 32 | s.defense())) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ ((long) s.maxHealth() << 32 | s.maxMana())) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,52 @@
+package edu.trincoll.game.roster;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.PowerAttackSequence;
+
+/**
+ * An action against a Roster, addressed by slot instead of by Character.
+ *
+ * Each action runs the existing command or battle sequence against
+ * detached copies of the two characters involved, so a speculative
+ * version follows exactly the same rules as the live game.
+ */
+public sealed interface RosterAction {
+
+    /**
+     * Slot of the character taking the action.
+     */
+    int actor();
+
+    /**
+     * Slot of the character the action is aimed at (may equal actor).
+     */
+    int target();
+
+    /**
+     * Perform the action on detached copies of the actor and target.
+     */
+    void perform(Character actor, Character target);
+
+    record Attack(int actor, int target) implements RosterAction {
+        @Override
+        public void perform(Character actor, Character target) {
+            new AttackCommand(actor, target).execute();
+        }
+    }
+
+    record Heal(int actor, int target, int amount) implements RosterAction {
+        @Override
+        public void perform(Character actor, Character target) {
+            new HealCommand(target, amount).execute();
+        }
+    }
+
+    record PowerAttack(int actor, int target) implements RosterAction {
+        @Override
+        public void perform(Character actor, Character target) {
+            new PowerAttackSequence(actor, target).executeTurn();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package edu.trincoll.game.roster;
+
+import edu.trincoll.game.model.CharacterStats;
+
+/**
+ * Persistent (immutable, structurally shared) vector of CharacterStats.
+ *
+ * A 32-way trie: set() copies only the nodes on the path to the changed
+ * slot - log32(n) small arrays - and shares everything else with the
+ * previous version. A 1024-character roster is two levels deep.
+ */
+final class StatsVector {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final Object[] root;
+    private final int shift;
+    private final int size;
+
+    private StatsVector(Object[] root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    static StatsVector of(CharacterStats[] values) {
+        int shift = 0;
+        while ((long) WIDTH << shift < values.length) {
+            shift += BITS;
+        }
+        return new StatsVector(build(values, 0, shift), shift, values.length);
+    }
+
+    private static Object[] build(CharacterStats[] values, int offset, int shift) {
+        Object[] node = new Object[WIDTH];
+        if (shift == 0) {
+            System.arraycopy(values, offset, node, 0, Math.min(WIDTH, values.length - offset));
+            return node;
+        }
+        int childSpan = 1 << shift;
+        for (int i = 0; i < WIDTH && offset + i * childSpan < values.length; i++) {
+            node[i] = build(values, offset + i * childSpan, shift - BITS);
+        }
+        return node;
+    }
+
+    int size() {
+        return size;
+    }
+
+    CharacterStats get(int index) {
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (CharacterStats) node[index & MASK];
+    }
+
+    StatsVector set(int index, CharacterStats value) {
+        return new StatsVector(set(root, shift, index, value), shift, size);
+    }
+
+    private static Object[] set(Object[] node, int level, int index, CharacterStats value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = set((Object[]) node[child], level - BITS, index, value);
+        }
+        return copy;
+    }
+}
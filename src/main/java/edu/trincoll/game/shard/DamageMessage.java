@@ -0,0 +1,14 @@
+package edu.trincoll.game.shard;
+
+/**
+ * Damage from an attack whose target lives on another shard.
+ *
+ * The attacker's shard has already run the attack strategy (spending any
+ * mana); the target's shard applies the damage through its own defense.
+ *
+ * @param sourceShard shard that sent the message
+ * @param sequence    per (source, destination) sequence number, from 0
+ * @param damage      raw damage before the target's defense
+ */
+public record DamageMessage(int sourceShard, long sequence, String attacker, String target, int damage) {
+}
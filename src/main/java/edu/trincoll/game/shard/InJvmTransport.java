@@ -0,0 +1,35 @@
+package edu.trincoll.game.shard;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Transport for shards that share a JVM: send() hands the batch straight
+ * to the target shard's receiver on the sending thread.
+ */
+public final class InJvmTransport implements Transport {
+    private final Map<Integer, Consumer<List<DamageMessage>>> receivers = new ConcurrentHashMap<>();
+
+    @Override
+    public void bind(int shard, Consumer<List<DamageMessage>> receiver) {
+        if (receivers.putIfAbsent(shard, receiver) != null) {
+            throw new IllegalArgumentException("Shard " + shard + " is already bound");
+        }
+    }
+
+    @Override
+    public void send(int shard, List<DamageMessage> batch) {
+        Consumer<List<DamageMessage>> receiver = receivers.get(shard);
+        if (receiver == null) {
+            throw new IllegalStateException("No shard " + shard + " in this JVM");
+        }
+        receiver.accept(batch);
+    }
+
+    @Override
+    public void close() {
+        receivers.clear();
+    }
+}
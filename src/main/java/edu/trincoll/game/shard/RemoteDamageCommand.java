@@ -0,0 +1,52 @@
+package edu.trincoll.game.shard;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+
+import java.util.List;
+
+/**
+ * Target-side half of a cross-shard attack: applies damage the
+ * attacker's shard already computed, through the target's defense.
+ */
+final class RemoteDamageCommand implements GameCommand {
+    private final String attacker;
+    private final Character target;
+    private final int damage;
+    private int damageDealt;
+
+    RemoteDamageCommand(String attacker, Character target, int damage) {
+        this.attacker = attacker;
+        this.target = target;
+        this.damage = damage;
+    }
+
+    @Override
+    public void execute() {
+        int healthBefore = target.getStats().health();
+        target.takeDamage(damage);
+        damageDealt = Math.max(0, healthBefore - target.getStats().health());
+    }
+
+    @Override
+    public void undo() {
+        target.heal(damageDealt);
+    }
+
+    @Override
+    public String getDescription() {
+        StringBuilder out = new StringBuilder(32);
+        describeTo(out);
+        return out.toString();
+    }
+
+    @Override
+    public void describeTo(StringBuilder out) {
+        out.append(attacker).append(" attacks ").append(target.getName()).append(" (remote)");
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        return List.of(target);
+    }
+}
@@ -0,0 +1,357 @@
+package edu.trincoll.game.shard;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.CommandPool;
+import edu.trincoll.game.model.Character;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * One partition of a world: owns the characters whose names hash to it,
+ * with its own CommandInvoker and a single thread that runs everything
+ * touching them.
+ *
+ * Attacks are submitted to the attacker's shard. If the target is local
+ * the attack is an ordinary AttackCommand; otherwise the attacker's
+ * strategy runs here against a view of the target and the damage is sent
+ * to the target's shard, which applies it through its own invoker.
+ *
+ * Work runs in rounds: the thread drains its inbox, runs the tasks in
+ * arrival order, then flushes one batch per destination shard, so busy
+ * shards send few, large batches. Messages carry per-destination
+ * sequence numbers and a shard fails fast if a sender's messages arrive
+ * out of order.
+ *
+ * Remote characters are seen through views copied when the shard is
+ * created and never updated. Only the ranged finishing bonus looks at
+ * the target, so that bonus doesn't apply across shards. The mana an
+ * attacker spends on a remote attack isn't in the undo history.
+ */
+public final class Shard implements AutoCloseable {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    private static final int HISTORY_LIMIT = 1024;
+    private static final int MAX_ROUND = 4096;
+
+    private final int id;
+    private final int shardCount;
+    private final int batchSize;
+    private final Transport transport;
+    private final Map<String, Character> owned = new HashMap<>();
+    private final Map<String, Character> views = new HashMap<>();
+    private final CommandInvoker invoker = new CommandInvoker(HISTORY_LIMIT);
+    private final BlockingQueue<Runnable> inbox = new LinkedBlockingQueue<>();
+    private final List<List<DamageMessage>> outbound = new ArrayList<>();
+    private final long[] nextSequenceTo;
+    private final long[] nextSequenceFrom;
+    private final List<CompletableFuture<Void>> syncs = new ArrayList<>();
+    private final Thread worker;
+    private volatile boolean open = true;
+    private volatile RuntimeException failure;
+    // Written only by the worker thread
+    private volatile long localAttacks;
+    private volatile long messagesSent;
+    private volatile long messagesReceived;
+    private volatile long rejected;
+
+    public Shard(int id, int shardCount, List<Character> world, Transport transport) {
+        this(id, shardCount, world, transport, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param world     every character in the world; this shard takes the
+     *                  ones that hash to it and copies the rest as views
+     * @param batchSize messages per destination after which a batch is
+     *                  sent without waiting for the end of the round
+     */
+    public Shard(int id, int shardCount, List<Character> world, Transport transport, int batchSize) {
+        if (shardCount <= 0 || id < 0 || id >= shardCount) {
+            throw new IllegalArgumentException("Shard id must be in [0, " + shardCount + ")");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.id = id;
+        this.shardCount = shardCount;
+        this.batchSize = batchSize;
+        this.transport = transport;
+        for (Character character : world) {
+            String name = character.getName();
+            if (owned.containsKey(name) || views.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate character name: " + name);
+            }
+            if (shardOf(name, shardCount) == id) {
+                owned.put(name, character);
+            } else {
+                views.put(name, character.copyAs(name));
+            }
+        }
+        for (int i = 0; i < shardCount; i++) {
+            outbound.add(new ArrayList<>(batchSize));
+        }
+        nextSequenceTo = new long[shardCount];
+        nextSequenceFrom = new long[shardCount];
+
+        transport.bind(id, batch -> enqueue(() -> receive(batch)), this::fail);
+        worker = new Thread(this::run, "shard-" + id);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Shard that owns the named character.
+     */
+    public static int shardOf(String name, int shardCount) {
+        int h = name.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return Math.floorMod(h, shardCount);
+    }
+
+    /**
+     * Queue an attack by a character this shard owns. Attacks by dead or
+     * out-of-mana attackers are skipped and counted as rejected.
+     *
+     * @throws IllegalArgumentException if the attacker isn't owned here or
+     *                                  the target isn't in the world
+     */
+    public void submitAttack(String attacker, String target) {
+        if (!owned.containsKey(attacker)) {
+            throw new IllegalArgumentException(attacker + " is not on shard " + id);
+        }
+        if (!owned.containsKey(target) && !views.containsKey(target)) {
+            throw new IllegalArgumentException("Unknown character: " + target);
+        }
+        enqueue(() -> attack(attacker, target));
+    }
+
+    /**
+     * Completes once everything queued before the call has run and the
+     * resulting batches were handed to the transport.
+     */
+    public CompletableFuture<Void> sync() {
+        SyncTask sync = new SyncTask();
+        enqueue(sync);
+        if (!open) {
+            // Lost a race with the worker shutting down
+            sync.done.completeExceptionally(closedException());
+        }
+        return sync.done;
+    }
+
+    /**
+     * Wait until a group of shards has nothing left to do: every message
+     * sent has been received and applied. Submitting more work meanwhile
+     * can keep this from returning.
+     *
+     * @throws IllegalStateException on timeout or if a shard failed
+     */
+    public static void awaitQuiescence(Collection<Shard> shards, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            for (Shard shard : shards) {
+                shard.sync().join();
+            }
+            long sent = 0;
+            long received = 0;
+            for (Shard shard : shards) {
+                sent += shard.messagesSent;
+                received += shard.messagesReceived;
+            }
+            if (sent == received) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Shards still busy: " + (sent - received) + " messages in flight");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * A character owned by this shard, or null. Only read it from outside
+     * after sync() or awaitQuiescence().
+     */
+    public Character getCharacter(String name) {
+        return owned.get(name);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getOwnedCount() {
+        return owned.size();
+    }
+
+    /**
+     * Attacks whose target was on this shard.
+     */
+    public long getLocalAttackCount() {
+        return localAttacks;
+    }
+
+    public long getMessagesSent() {
+        return messagesSent;
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived;
+    }
+
+    public long getRejectedCount() {
+        return rejected;
+    }
+
+    /**
+     * Stop the thread. Queued work is dropped and pending sync() futures
+     * fail. Doesn't close the transport, which other shards may share.
+     */
+    @Override
+    public void close() {
+        open = false;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        if (!open) {
+            throw closedException();
+        }
+        inbox.add(task);
+    }
+
+    /**
+     * Fail the shard from a transport thread, as if a task had thrown.
+     */
+    private void fail(RuntimeException cause) {
+        if (open) {
+            inbox.add(() -> {
+                throw cause;
+            });
+        }
+    }
+
+    private IllegalStateException closedException() {
+        return new IllegalStateException("Shard " + id + " is closed", failure);
+    }
+
+    private void run() {
+        List<Runnable> round = new ArrayList<>();
+        try {
+            while (open) {
+                round.add(inbox.take());
+                inbox.drainTo(round, MAX_ROUND);
+                for (int i = 0; i < round.size(); i++) {
+                    round.get(i).run();
+                }
+                round.clear();
+                for (int shard = 0; shard < shardCount; shard++) {
+                    flush(shard);
+                }
+                for (CompletableFuture<Void> sync : syncs) {
+                    sync.complete(null);
+                }
+                syncs.clear();
+            }
+        } catch (InterruptedException e) {
+            // Closing
+        } catch (RuntimeException e) {
+            failure = e;
+            open = false;
+        }
+        RuntimeException cause = closedException();
+        for (CompletableFuture<Void> sync : syncs) {
+            sync.completeExceptionally(cause);
+        }
+        for (Runnable task : inbox) {
+            if (task instanceof SyncTask sync) {
+                sync.done.completeExceptionally(cause);
+            }
+        }
+        inbox.clear();
+    }
+
+    private void attack(String attackerName, String targetName) {
+        Character attacker = owned.get(attackerName);
+        if (attacker.isDead()) {
+            rejected++;
+            return;
+        }
+        Character target = owned.get(targetName);
+        if (target != null) {
+            AttackCommand command = CommandPool.acquireAttack(attacker, target);
+            try {
+                invoker.executeCommand(command);
+                localAttacks++;
+            } catch (IllegalStateException outOfMana) {
+                CommandPool.release(command);
+                rejected++;
+            }
+            return;
+        }
+
+        int damage;
+        try {
+            damage = attacker.attack(views.get(targetName));
+        } catch (IllegalStateException outOfMana) {
+            rejected++;
+            return;
+        }
+        int destination = shardOf(targetName, shardCount);
+        List<DamageMessage> batch = outbound.get(destination);
+        batch.add(new DamageMessage(id, nextSequenceTo[destination]++, attackerName, targetName, damage));
+        messagesSent++;
+        if (batch.size() >= batchSize) {
+            flush(destination);
+        }
+    }
+
+    private void receive(List<DamageMessage> batch) {
+        for (DamageMessage message : batch) {
+            int source = message.sourceShard();
+            if (message.sequence() != nextSequenceFrom[source]) {
+                throw new IllegalStateException("Shard " + id + " expected message " + nextSequenceFrom[source]
+                    + " from shard " + source + " but got " + message.sequence());
+            }
+            nextSequenceFrom[source]++;
+            Character target = owned.get(message.target());
+            if (target == null) {
+                throw new IllegalStateException(message.target() + " is not on shard " + id);
+            }
+            invoker.executeCommand(new RemoteDamageCommand(message.attacker(), target, message.damage()));
+            messagesReceived++;
+        }
+    }
+
+    private void flush(int destination) {
+        List<DamageMessage> batch = outbound.get(destination);
+        if (batch.isEmpty()) {
+            return;
+        }
+        outbound.set(destination, new ArrayList<>(batchSize));
+        transport.send(destination, batch);
+    }
+
+    private final class SyncTask implements Runnable {
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        @Override
+        public void run() {
+            syncs.add(done);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package edu.trincoll.game.shard;
+
+import edu.trincoll.game.model.Character;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All shards of a world hosted in one process, sharing a transport.
+ *
+ * For a world spread over processes, each process creates just its own
+ * Shards on a SocketTransport, routed to the other processes' ports.
+ */
+public final class ShardedWorld implements AutoCloseable {
+    private static final Duration QUIESCENCE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final List<Shard> shards = new ArrayList<>();
+    private final Transport transport;
+
+    /**
+     * Shards connected by an InJvmTransport.
+     */
+    public ShardedWorld(List<Character> roster, int shardCount) {
+        this(roster, shardCount, new InJvmTransport(), Shard.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param transport owned by the world from now on and closed with it
+     */
+    public ShardedWorld(List<Character> roster, int shardCount, Transport transport, int batchSize) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.transport = transport;
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i, shardCount, roster, transport, batchSize));
+        }
+    }
+
+    /**
+     * Queue an attack on the attacker's shard.
+     */
+    public void attack(String attacker, String target) {
+        shardFor(attacker).submitAttack(attacker, target);
+    }
+
+    /**
+     * Wait until every queued attack has been applied on every shard.
+     */
+    public void awaitQuiescence() {
+        Shard.awaitQuiescence(shards, QUIESCENCE_TIMEOUT);
+    }
+
+    /**
+     * The live character, from its owning shard. Read it after
+     * awaitQuiescence().
+     */
+    public Character getCharacter(String name) {
+        return shardFor(name).getCharacter(name);
+    }
+
+    public Shard getShard(int id) {
+        return shards.get(id);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+        transport.close();
+    }
+
+    private Shard shardFor(String name) {
+        return shards.get(Shard.shardOf(name, shards.size()));
+    }
+}
@@ -0,0 +1,216 @@
+package edu.trincoll.game.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Transport between processes on the same machine over loopback TCP.
+ *
+ * Each process listens on one port and hosts some shards. route() tells
+ * it which port hosts a remote shard. There is one connection per remote
+ * port, and every batch is written as one frame under that connection's
+ * lock, so TCP keeps batches to a shard in order. Batches for shards
+ * bound locally skip the socket.
+ *
+ * A connection that fails to write is dropped, so the next send() to
+ * that port reconnects. A reader that fails (a broken connection, a
+ * malformed frame, a batch for a shard not bound here) reports it to
+ * every shard bound in this process, since any of them may have lost
+ * batches.
+ *
+ * Frame: int shard, int count, then per message int source, long
+ * sequence, UTF attacker, UTF target, int damage.
+ */
+public final class SocketTransport implements Transport {
+    private final ServerSocket server;
+    private final Map<Integer, Consumer<List<DamageMessage>>> receivers = new ConcurrentHashMap<>();
+    private final Map<Integer, Consumer<RuntimeException>> failureHandlers = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> routes = new ConcurrentHashMap<>();
+    private final Map<Integer, Connection> connections = new ConcurrentHashMap<>();
+    private final List<Socket> accepted = new ArrayList<>();
+    private volatile boolean closed;
+
+    private static final class Connection {
+        private final Socket socket;
+        private final DataOutputStream out;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+        }
+    }
+
+    /**
+     * Listen on a loopback port; 0 picks a free one (see getPort()).
+     *
+     * @throws IllegalStateException if the port can't be bound
+     */
+    public SocketTransport(int port) {
+        try {
+            server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not listen on port " + port, e);
+        }
+        Thread acceptor = new Thread(this::acceptLoop, "shard-transport-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Send batches for the shard to the process listening on the port.
+     */
+    public void route(int shard, int port) {
+        routes.put(shard, port);
+    }
+
+    @Override
+    public void bind(int shard, Consumer<List<DamageMessage>> receiver) {
+        bind(shard, receiver, failure -> { });
+    }
+
+    @Override
+    public void bind(int shard, Consumer<List<DamageMessage>> receiver, Consumer<RuntimeException> onFailure) {
+        if (receivers.putIfAbsent(shard, receiver) != null) {
+            throw new IllegalArgumentException("Shard " + shard + " is already bound");
+        }
+        failureHandlers.put(shard, onFailure);
+    }
+
+    @Override
+    public void send(int shard, List<DamageMessage> batch) {
+        Consumer<List<DamageMessage>> local = receivers.get(shard);
+        if (local != null) {
+            local.accept(batch);
+            return;
+        }
+        Integer port = routes.get(shard);
+        if (port == null) {
+            throw new IllegalStateException("No route to shard " + shard);
+        }
+        Connection connection = connect(port);
+        synchronized (connection) {
+            try {
+                DataOutputStream out = connection.out;
+                out.writeInt(shard);
+                out.writeInt(batch.size());
+                for (DamageMessage message : batch) {
+                    out.writeInt(message.sourceShard());
+                    out.writeLong(message.sequence());
+                    out.writeUTF(message.attacker());
+                    out.writeUTF(message.target());
+                    out.writeInt(message.damage());
+                }
+                out.flush();
+            } catch (IOException e) {
+                connections.remove(port, connection);
+                closeQuietly(connection.socket);
+                throw new IllegalStateException("Could not send to shard " + shard, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(server);
+        for (Connection connection : connections.values()) {
+            closeQuietly(connection.socket);
+        }
+        synchronized (accepted) {
+            for (Socket socket : accepted) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private Connection connect(int port) {
+        if (closed) {
+            throw new IllegalStateException("Transport is closed");
+        }
+        return connections.computeIfAbsent(port, p -> {
+            try {
+                Socket socket = new Socket();
+                socket.setTcpNoDelay(true);
+                socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), p));
+                return new Connection(socket);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not connect to port " + p, e);
+            }
+        });
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                synchronized (accepted) {
+                    accepted.add(socket);
+                }
+                Thread reader = new Thread(() -> readLoop(socket), "shard-transport-read");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                // Server socket closed
+                return;
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(socket.getInputStream(), 64 * 1024))) {
+            while (true) {
+                int shard = in.readInt();
+                int count = in.readInt();
+                List<DamageMessage> batch = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    batch.add(new DamageMessage(in.readInt(), in.readLong(), in.readUTF(), in.readUTF(), in.readInt()));
+                }
+                Consumer<List<DamageMessage>> receiver = receivers.get(shard);
+                if (receiver == null) {
+                    throw new IllegalStateException("Received a batch for shard " + shard + " which isn't bound here");
+                }
+                receiver.accept(batch);
+            }
+        } catch (EOFException e) {
+            // Peer closed the connection
+        } catch (IOException e) {
+            if (!closed) {
+                reportFailure(new IllegalStateException("Shard connection failed", e));
+            }
+        } catch (RuntimeException e) {
+            reportFailure(e);
+        }
+    }
+
+    private void reportFailure(RuntimeException failure) {
+        for (Consumer<RuntimeException> handler : failureHandlers.values()) {
+            handler.accept(failure);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Already closing
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package edu.trincoll.game.shard;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries batches of DamageMessages between shards.
+ *
+ * Implementations must deliver the batches one sender sends to one shard
+ * in the order they were sent; shards rely on it for per-shard ordering.
+ * Receivers may be called from transport threads.
+ */
+public interface Transport extends AutoCloseable {
+
+    /**
+     * Deliver batches addressed to a shard hosted in this process.
+     */
+    void bind(int shard, Consumer<List<DamageMessage>> receiver);
+
+    /**
+     * As bind(shard, receiver), also reporting failures on transport
+     * threads after which batches for this process may be lost, so the
+     * shard can fail rather than wait for them. Transports that deliver on
+     * the sending thread report nothing: send() throws instead.
+     */
+    default void bind(int shard, Consumer<List<DamageMessage>> receiver, Consumer<RuntimeException> onFailure) {
+        bind(shard, receiver);
+    }
+
+    /**
+     * Send a batch to a shard, which may live in another process. The
+     * transport may keep the list, so don't modify it afterwards.
+     *
+     * @throws IllegalStateException if the shard can't be reached
+     */
+    void send(int shard, List<DamageMessage> batch);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,108 @@
+package edu.trincoll.game.stm;
+
+import edu.trincoll.game.command.GameCommand;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocks of character updates atomically, retrying on conflict.
+ *
+ * A block may run several times, so it should do nothing but read and
+ * change characters (and its own locals or command fields) until it
+ * returns. An exception other than a conflict leaves every character as
+ * it was and propagates. A block started inside another joins it.
+ *
+ * Usage:
+ * <pre>
+ * Stm stm = new Stm();
+ * stm.execute(new LifeDrainCommand(vampire, victim));
+ * stm.atomic(() -> { healer.useMana(10); tank.heal(30); });
+ * </pre>
+ */
+public final class Stm {
+    private static final int SPIN_ATTEMPTS = 6;
+
+    private final int maxAttempts;
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public Stm() {
+        this(10_000);
+    }
+
+    /**
+     * @param maxAttempts attempts before giving up on a contended block
+     */
+    public Stm(int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Attempts must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Execute the command atomically. Its undo data is whatever the
+     * committed attempt recorded.
+     */
+    public void execute(GameCommand command) {
+        atomic(command::execute);
+    }
+
+    public void atomic(Runnable block) {
+        atomic(() -> {
+            block.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run the block atomically and return what the committed attempt returned.
+     *
+     * @throws IllegalStateException if every attempt conflicted
+     */
+    public <T> T atomic(Supplier<T> block) {
+        if (Transaction.current() != null) {
+            return block.get();
+        }
+        Transaction transaction = new Transaction();
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            transaction.begin();
+            try {
+                T result = block.get();
+                if (transaction.commit()) {
+                    commits.increment();
+                    return result;
+                }
+            } catch (Transaction.Abort e) {
+                // Conflict: retry below
+            } finally {
+                transaction.end();
+            }
+            conflicts.increment();
+            backOff(attempt);
+        }
+        throw new IllegalStateException("Transaction still conflicting after " + maxAttempts + " attempts");
+    }
+
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    /**
+     * Attempts aborted by a conflict and retried.
+     */
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    private static void backOff(int attempt) {
+        if (attempt <= SPIN_ATTEMPTS) {
+            for (int i = 0; i < 1 << attempt; i++) {
+                Thread.onSpinWait();
+            }
+        } else {
+            Thread.yield();
+        }
+    }
+}
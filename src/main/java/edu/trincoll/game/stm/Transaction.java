@@ -0,0 +1,273 @@
+package edu.trincoll.game.stm;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One attempt at an atomic update of several characters, in the style of
+ * TL2 (transactional locking II).
+ *
+ * A global clock counts commits. Each character maps to a versioned lock
+ * (one of 16384, picked by identity hash): an even word holding the clock
+ * value of the last commit to it, or odd while a commit is writing it.
+ *
+ * - Reads check the character's lock is free and no newer than the
+ *   clock value the transaction started at; anything else aborts, so a
+ *   transaction never sees a half-made or too-new state.
+ * - Writes go to a redo log; characters are untouched until commit.
+ * - Commit locks the written characters without waiting (a taken lock
+ *   aborts, so there's no deadlock), takes a new clock value, checks
+ *   nothing read has changed since, writes the log back and releases the
+ *   locks stamped with the new value.
+ *
+ * Only changes made inside transactions are tracked: characters shared
+ * between threads must only be changed through Stm.
+ *
+ * Character routes getStats() and its updates through current(), so
+ * commands and strategies run unchanged inside a transaction.
+ */
+public final class Transaction {
+    private static final int STRIPES = 1 << 14;
+    private static final AtomicLongArray LOCKS = new AtomicLongArray(STRIPES);
+    private static final AtomicLong CLOCK = new AtomicLong();
+    private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+    // Threads inside a transaction; while zero, current() skips the thread-local
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+
+    /**
+     * Thrown to unwind an attempt that can't commit. Preallocated, with
+     * no stack trace.
+     */
+    static final class Abort extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private static final Abort INSTANCE = new Abort();
+
+        private Abort() {
+            super("Transaction aborted", null, false, false);
+        }
+    }
+
+    private long readVersion;
+    private boolean aborted;
+
+    private int[] readStripes = new int[8];
+    private int readCount;
+
+    private Character[] written = new Character[4];
+    private CharacterStats[] writtenStats = new CharacterStats[4];
+    private int writeCount;
+
+    private int[] lockedStripes = new int[4];
+    private long[] lockedWords = new long[4];
+    private int lockedCount;
+
+    Transaction() {
+    }
+
+    /**
+     * The transaction running on this thread, or null.
+     */
+    public static Transaction current() {
+        return RUNNING.get() == 0 ? null : CURRENT.get();
+    }
+
+    /**
+     * This transaction's view of the character's stats.
+     */
+    public CharacterStats read(Character character) {
+        int index = indexOf(character);
+        if (index >= 0) {
+            return writtenStats[index];
+        }
+        int stripe = stripeOf(character);
+        long before = LOCKS.get(stripe);
+        if (isLocked(before) || versionOf(before) > readVersion) {
+            throw abort();
+        }
+        CharacterStats stats = character.getCommittedStats();
+        VarHandle.loadLoadFence();
+        if (LOCKS.get(stripe) != before) {
+            throw abort();
+        }
+        if (readCount == readStripes.length) {
+            readStripes = Arrays.copyOf(readStripes, readCount * 2);
+        }
+        readStripes[readCount++] = stripe;
+        return stats;
+    }
+
+    /**
+     * Buffer new stats for the character until commit.
+     */
+    public void write(Character character, CharacterStats stats) {
+        int index = indexOf(character);
+        if (index >= 0) {
+            writtenStats[index] = stats;
+            return;
+        }
+        if (writeCount == written.length) {
+            written = Arrays.copyOf(written, writeCount * 2);
+            writtenStats = Arrays.copyOf(writtenStats, writeCount * 2);
+        }
+        written[writeCount] = character;
+        writtenStats[writeCount] = stats;
+        writeCount++;
+    }
+
+    /**
+     * Characters written so far in this attempt.
+     */
+    public int getWriteCount() {
+        return writeCount;
+    }
+
+    void begin() {
+        readVersion = CLOCK.get();
+        aborted = false;
+        readCount = 0;
+        Arrays.fill(written, 0, writeCount, null);
+        Arrays.fill(writtenStats, 0, writeCount, null);
+        writeCount = 0;
+        lockedCount = 0;
+        RUNNING.incrementAndGet();
+        CURRENT.set(this);
+    }
+
+    /**
+     * @return false if the attempt must be retried
+     */
+    boolean commit() {
+        CURRENT.remove();
+        if (aborted) {
+            return false;
+        }
+        if (writeCount == 0) {
+            // Every read was checked against readVersion as it happened
+            return true;
+        }
+        for (int i = 0; i < writeCount; i++) {
+            if (!lock(stripeOf(written[i]))) {
+                unlock();
+                return false;
+            }
+        }
+        long writeVersion = CLOCK.incrementAndGet();
+        if (writeVersion != readVersion + 1 && !validate()) {
+            unlock();
+            return false;
+        }
+        for (int i = 0; i < writeCount; i++) {
+            written[i].restoreStats(writtenStats[i]);
+        }
+        long released = writeVersion << 1;
+        for (int i = 0; i < lockedCount; i++) {
+            LOCKS.set(lockedStripes[i], released);
+        }
+        lockedCount = 0;
+        return true;
+    }
+
+    /**
+     * Leave the thread, whether or not the attempt committed.
+     */
+    void end() {
+        if (lockedCount > 0) {
+            unlock();
+        }
+        CURRENT.remove();
+        RUNNING.decrementAndGet();
+    }
+
+    private RuntimeException abort() {
+        aborted = true;
+        return Abort.INSTANCE;
+    }
+
+    private boolean lock(int stripe) {
+        for (int i = 0; i < lockedCount; i++) {
+            if (lockedStripes[i] == stripe) {
+                return true;
+            }
+        }
+        long word = LOCKS.get(stripe);
+        if (isLocked(word) || !LOCKS.compareAndSet(stripe, word, word | 1)) {
+            return false;
+        }
+        if (lockedCount == lockedStripes.length) {
+            lockedStripes = Arrays.copyOf(lockedStripes, lockedCount * 2);
+            lockedWords = Arrays.copyOf(lockedWords, lockedCount * 2);
+        }
+        lockedStripes[lockedCount] = stripe;
+        lockedWords[lockedCount] = word;
+        lockedCount++;
+        return true;
+    }
+
+    private void unlock() {
+        for (int i = 0; i < lockedCount; i++) {
+            LOCKS.set(lockedStripes[i], lockedWords[i]);
+        }
+        lockedCount = 0;
+    }
+
+    /**
+     * Check nothing read has been committed to since the transaction began.
+     */
+    private boolean validate() {
+        for (int i = 0; i < readCount; i++) {
+            int stripe = readStripes[i];
+            long word = LOCKS.get(stripe);
+            if (isLocked(word)) {
+                word = lockedWordOf(stripe);
+                if (word < 0) {
+                    return false;
+                }
+            }
+            if (versionOf(word) > readVersion) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the word before this transaction locked the stripe, or -1
+     *         if another transaction holds it
+     */
+    private long lockedWordOf(int stripe) {
+        for (int i = 0; i < lockedCount; i++) {
+            if (lockedStripes[i] == stripe) {
+                return lockedWords[i];
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(Character character) {
+        for (int i = 0; i < writeCount; i++) {
+            if (written[i] == character) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int stripeOf(Character character) {
+        int hash = System.identityHashCode(character);
+        return (hash ^ (hash >>> 14)) & (STRIPES - 1);
+    }
+
+    private static boolean isLocked(long word) {
+        return (word & 1) != 0;
+    }
+
+    private static long versionOf(long word) {
+        return word >>> 1;
+    }
+}
@@ -8,6 +8,10 @@ import edu.trincoll.game.model.Character;
  *
  * This is a functional interface, so it can be implemented with lambda expressions
  * for custom attack behaviors (modern Java approach from Week 7).
+ *
+ * Built-in strategies also report a Kind, which lets Character dispatch
+ * them with a switch instead of an interface call. Lambdas and other
+ * implementations are CUSTOM and are called through the interface.
  */
 @FunctionalInterface
 public interface AttackStrategy {
@@ -19,4 +23,23 @@ public interface AttackStrategy {
      * @return The amount of damage to apply (before defense calculation)
      */
     int calculateDamage(Character attacker, Character target);
+
+    /**
+     * Built-in attack strategies, plus CUSTOM for everything else.
+     */
+    enum Kind {
+        MELEE,
+        MAGIC,
+        RANGED,
+        CUSTOM
+    }
+
+    /**
+     * The kind of this strategy. Only the built-in strategies override
+     * this; Character treats any other strategy as CUSTOM whatever it
+     * returns.
+     */
+    default Kind kind() {
+        return Kind.CUSTOM;
+    }
 }
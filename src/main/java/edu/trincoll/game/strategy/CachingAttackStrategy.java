@@ -0,0 +1,93 @@
+package edu.trincoll.game.strategy;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.util.Objects;
+
+/**
+ * Opt-in memoizing decorator for an AttackStrategy.
+ *
+ * Results are keyed by the attacker's attack power and mana and the
+ * target's health and max health - everything the built-in strategies
+ * read. The wrapped strategy must be a deterministic function of those
+ * stats; don't wrap strategies that roll dice or look at anything else.
+ *
+ * Side effects: a miss compares the attacker's stats before and after the
+ * call. A change in mana (e.g. MagicAttackStrategy's useMana(10)) is
+ * stored with the damage and replayed on every hit. Any other change -
+ * to the target, or to the attacker's health - makes the result
+ * uncacheable, and the strategy is simply called every time.
+ */
+public class CachingAttackStrategy implements AttackStrategy {
+    private final AttackStrategy delegate;
+    private final DamageCache cache;
+    private long uncacheable;
+
+    public CachingAttackStrategy(AttackStrategy delegate, int maxEntries) {
+        this.delegate = Objects.requireNonNull(delegate, "Attack strategy cannot be null");
+        this.cache = new DamageCache(maxEntries);
+    }
+
+    @Override
+    public int calculateDamage(Character attacker, Character target) {
+        CharacterStats attackerStats = attacker.getStats();
+        CharacterStats targetStats = target.getStats();
+        long key = key(attackerStats, targetStats);
+        if (key < 0) {
+            return delegate.calculateDamage(attacker, target);
+        }
+
+        int slot = cache.find(key);
+        if (slot >= 0) {
+            long value = cache.valueAt(slot);
+            int manaSpent = (int) value;
+            if (manaSpent > 0) {
+                attacker.useMana(manaSpent);
+            } else if (manaSpent < 0) {
+                attacker.restoreMana(-manaSpent);
+            }
+            return (int) (value >> 32);
+        }
+
+        int damage = delegate.calculateDamage(attacker, target);
+        CharacterStats attackerAfter = attacker.getStats();
+        if (target.getStats().equals(targetStats)
+            && attackerAfter.withMana(attackerStats.mana()).equals(attackerStats)) {
+            int manaSpent = attackerStats.mana() - attackerAfter.mana();
+            cache.put(key, (long) damage << 32 | (manaSpent & 0xFFFF_FFFFL));
+        } else {
+            uncacheable++;
+        }
+        return damage;
+    }
+
+    /**
+     * Pack the inputs into 63 bits, or -1 if any is out of range.
+     */
+    private static long key(CharacterStats attacker, CharacterStats target) {
+        if (attacker.attackPower() > 0x7FFF || attacker.mana() > 0xFFFF
+            || target.health() > 0xFFFF || target.maxHealth() > 0xFFFF) {
+            return -1;
+        }
+        return (long) attacker.attackPower() << 48
+            | (long) attacker.mana() << 32
+            | (long) target.health() << 16
+            | target.maxHealth();
+    }
+
+    public AttackStrategy getDelegate() {
+        return delegate;
+    }
+
+    public DamageCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Number of calls whose side effects could not be replayed, so were not cached.
+     */
+    public long getUncacheableCount() {
+        return uncacheable;
+    }
+}
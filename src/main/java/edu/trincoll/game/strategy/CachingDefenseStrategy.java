@@ -0,0 +1,73 @@
+package edu.trincoll.game.strategy;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.util.Objects;
+
+/**
+ * Opt-in memoizing decorator for a DefenseStrategy.
+ *
+ * Results are keyed by the defender's defense and health and the incoming
+ * damage. The wrapped strategy must be a deterministic function of those
+ * values. Calls that change the defender's stats are never cached.
+ */
+public class CachingDefenseStrategy implements DefenseStrategy {
+    private final DefenseStrategy delegate;
+    private final DamageCache cache;
+    private long uncacheable;
+
+    public CachingDefenseStrategy(DefenseStrategy delegate, int maxEntries) {
+        this.delegate = Objects.requireNonNull(delegate, "Defense strategy cannot be null");
+        this.cache = new DamageCache(maxEntries);
+    }
+
+    @Override
+    public int calculateDamageReduction(Character defender, int incomingDamage) {
+        CharacterStats stats = defender.getStats();
+        long key = key(stats, incomingDamage);
+        if (key < 0) {
+            return delegate.calculateDamageReduction(defender, incomingDamage);
+        }
+
+        int slot = cache.find(key);
+        if (slot >= 0) {
+            return (int) cache.valueAt(slot);
+        }
+
+        int damage = delegate.calculateDamageReduction(defender, incomingDamage);
+        if (defender.getStats().equals(stats)) {
+            cache.put(key, damage);
+        } else {
+            uncacheable++;
+        }
+        return damage;
+    }
+
+    /**
+     * Pack the inputs into 63 bits, or -1 if any is out of range.
+     */
+    private static long key(CharacterStats defender, int incomingDamage) {
+        if (defender.defense() > 0xFFFF || defender.health() > 0x7FFF) {
+            return -1;
+        }
+        return (long) defender.health() << 48
+            | (long) defender.defense() << 32
+            | (incomingDamage & 0xFFFF_FFFFL);
+    }
+
+    public DefenseStrategy getDelegate() {
+        return delegate;
+    }
+
+    public DamageCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Number of calls that changed the defender's stats, so were not cached.
+     */
+    public long getUncacheableCount() {
+        return uncacheable;
+    }
+}
@@ -0,0 +1,172 @@
+package edu.trincoll.game.strategy;
+
+import java.util.Arrays;
+
+/**
+ * Bounded primitive hash map (long key to long value) for memoized strategy results.
+ *
+ * Open addressing with linear probing in parallel long arrays - no boxing,
+ * no per-entry objects. When full, an entry is evicted with the CLOCK
+ * algorithm: a hand sweeps the table, giving recently hit entries a
+ * second chance. Keys must be non-negative.
+ *
+ * Not thread-safe: use one cache (and decorator) per simulation thread.
+ */
+public final class DamageCache {
+    private static final long EMPTY = -1L;
+
+    private final long[] keys;
+    private final long[] values;
+    private final boolean[] referenced;
+    private final int mask;
+    private final int maxEntries;
+    private int size;
+    private int hand;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxEntries maximum number of cached results before eviction starts
+     */
+    public DamageCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        // Keep the load factor at or below one half
+        int capacity = Integer.highestOneBit(Math.max(2, maxEntries * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.referenced = new boolean[capacity];
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Find the slot holding the key, counting a hit or a miss.
+     *
+     * @return the slot index, or -1 if the key is not cached
+     */
+    int find(long key) {
+        for (int slot = home(key); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                referenced[slot] = true;
+                hits++;
+                return slot;
+            }
+        }
+        misses++;
+        return -1;
+    }
+
+    long valueAt(int slot) {
+        return values[slot];
+    }
+
+    void put(long key, long value) {
+        int slot = home(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size >= maxEntries) {
+            evict();
+            // Eviction shifts entries, so probe again for a free slot
+            slot = home(key);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        referenced[slot] = false;
+        size++;
+    }
+
+    private void evict() {
+        while (true) {
+            hand = (hand + 1) & mask;
+            if (keys[hand] == EMPTY) {
+                continue;
+            }
+            if (referenced[hand]) {
+                referenced[hand] = false;
+                continue;
+            }
+            removeAt(hand);
+            evictions++;
+            return;
+        }
+    }
+
+    /**
+     * Backward-shift deletion: pull later entries of the probe run into the
+     * hole so lookups never need tombstones.
+     */
+    private void removeAt(int slot) {
+        int hole = slot;
+        for (int i = (slot + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int distanceFromHome = (i - home(keys[i])) & mask;
+            int distanceFromHole = (i - hole) & mask;
+            if (distanceFromHome >= distanceFromHole) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                referenced[hole] = referenced[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+        referenced[hole] = false;
+        size--;
+    }
+
+    private int home(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(referenced, false);
+        size = 0;
+        hand = 0;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long evictions() {
+        return evictions;
+    }
+
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DamageCache[size=%d/%d, hits=%d, misses=%d, evictions=%d]",
+            size, maxEntries, hits, misses, evictions);
+    }
+}
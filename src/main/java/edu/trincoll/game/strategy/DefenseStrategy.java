@@ -7,6 +7,7 @@ import edu.trincoll.game.model.Character;
  * Different defense strategies reduce incoming damage differently.
  *
  * This is a functional interface, so it can be implemented with lambda expressions.
+ * Built-in strategies report a Kind for switch dispatch (see AttackStrategy).
  */
 @FunctionalInterface
 public interface DefenseStrategy {
@@ -18,4 +19,22 @@ public interface DefenseStrategy {
      * @return The actual damage after defense calculation
      */
     int calculateDamageReduction(Character defender, int incomingDamage);
+
+    /**
+     * Built-in defense strategies, plus CUSTOM for everything else.
+     */
+    enum Kind {
+        STANDARD,
+        HEAVY_ARMOR,
+        CUSTOM
+    }
+
+    /**
+     * The kind of this strategy. Only the built-in strategies override
+     * this; Character treats any other strategy as CUSTOM whatever it
+     * returns.
+     */
+    default Kind kind() {
+        return Kind.CUSTOM;
+    }
 }
@@ -24,9 +24,21 @@ import edu.trincoll.game.model.Character;
  *   But max reduction is 75%, so: 100 * 0.25 = 25
  *   Return: 25
  */
-public class HeavyArmorDefenseStrategy implements DefenseStrategy {
+public final class HeavyArmorDefenseStrategy implements DefenseStrategy {
     @Override
     public int calculateDamageReduction(Character defender, int incomingDamage) {
+        return reduce(defender, incomingDamage);
+    }
+
+    @Override
+    public Kind kind() {
+        return Kind.HEAVY_ARMOR;
+    }
+
+    /**
+     * The heavy armor formula, callable without a strategy instance.
+     */
+    public static int reduce(Character defender, int incomingDamage) {
         int damageReduction = defender.getStats().defense();
         int actualDamage = incomingDamage - damageReduction;
         if (damageReduction >= 80) {
@@ -21,9 +21,21 @@ import edu.trincoll.game.model.Character;
  *   Total: 65
  *   After attack: mana reduced by 10
  */
-public class MagicAttackStrategy implements AttackStrategy {
+public final class MagicAttackStrategy implements AttackStrategy {
     @Override
     public int calculateDamage(Character attacker, Character target) {
+        return damage(attacker);
+    }
+
+    @Override
+    public Kind kind() {
+        return Kind.MAGIC;
+    }
+
+    /**
+     * The magic formula, callable without a strategy instance. Spends 10 mana.
+     */
+    public static int damage(Character attacker) {
         // TODO 1b: Implement magic attack calculation
         int damage = attacker.getStats().attackPower() + (attacker.getStats().mana() / 10);
         attacker.useMana(10);
@@ -18,9 +18,21 @@ import edu.trincoll.game.model.Character;
  *   With bonus: 50 * 1.2 = 60
  *   Return: 60
  */
-public class MeleeAttackStrategy implements AttackStrategy {
+public final class MeleeAttackStrategy implements AttackStrategy {
     @Override
     public int calculateDamage(Character attacker, Character target) {
+        return damage(attacker);
+    }
+
+    @Override
+    public Kind kind() {
+        return Kind.MELEE;
+    }
+
+    /**
+     * The melee formula, callable without a strategy instance.
+     */
+    public static int damage(Character attacker) {
         // TODO 1a: Implement melee attack calculation
         int damage = (int) (attacker.getStats().attackPower() * 1.2);
         return damage;
@@ -27,9 +27,21 @@ import edu.trincoll.game.model.Character;
  *   Critical bonus: 40 * 1.5 = 60
  *   Return: 60
  */
-public class RangedAttackStrategy implements AttackStrategy {
+public final class RangedAttackStrategy implements AttackStrategy {
     @Override
     public int calculateDamage(Character attacker, Character target) {
+        return damage(attacker, target);
+    }
+
+    @Override
+    public Kind kind() {
+        return Kind.RANGED;
+    }
+
+    /**
+     * The ranged formula, callable without a strategy instance.
+     */
+    public static int damage(Character attacker, Character target) {
         int damage = attacker.getStats().attackPower();
         int damageAccuracy = (int) (damage * 0.8);
 
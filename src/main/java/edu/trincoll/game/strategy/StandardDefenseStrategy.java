@@ -18,9 +18,21 @@ import edu.trincoll.game.model.Character;
  *   Actual damage: 50 - 10 = 40
  *   Return: 40
  */
-public class StandardDefenseStrategy implements DefenseStrategy {
+public final class StandardDefenseStrategy implements DefenseStrategy {
     @Override
     public int calculateDamageReduction(Character defender, int incomingDamage) {
+        return reduce(defender, incomingDamage);
+    }
+
+    @Override
+    public Kind kind() {
+        return Kind.STANDARD;
+    }
+
+    /**
+     * The standard defense formula, callable without a strategy instance.
+     */
+    public static int reduce(Character defender, int incomingDamage) {
         int damageReduction = defender.getStats().defense() / 2;
         int actualDamage = incomingDamage - damageReduction;
         if (actualDamage < 0 ) {
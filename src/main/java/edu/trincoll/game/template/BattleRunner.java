@@ -0,0 +1,160 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.CommandPool;
+import edu.trincoll.game.model.Character;
+
+import java.util.List;
+
+/**
+ * Plays a whole battle between two teams, one side per turn.
+ *
+ * On its turn every living member of the acting team attacks the first
+ * living enemy through a pooled AttackCommand. A character that can't
+ * pay for its attack (out of mana) rests instead and recovers some mana.
+ * The battle ends when a team is wiped out or the turn limit is reached.
+ *
+ * Not thread-safe; run each battle on a single thread.
+ */
+public final class BattleRunner {
+    /**
+     * Mana a character recovers by resting instead of attacking.
+     */
+    public static final int REST_MANA = 20;
+    private static final int HISTORY_LIMIT = 64;
+
+    public enum Outcome { FIRST_TEAM, SECOND_TEAM, DRAW }
+
+    private final List<Character> firstTeam;
+    private final List<Character> secondTeam;
+    private final int turnLimit;
+    private final CommandInvoker invoker = new CommandInvoker(HISTORY_LIMIT);
+    private int turns;
+    private long commands;
+    private long rests;
+
+    public BattleRunner(List<Character> firstTeam, List<Character> secondTeam, int turnLimit) {
+        if (firstTeam.isEmpty() || secondTeam.isEmpty()) {
+            throw new IllegalArgumentException("Both teams need at least one character");
+        }
+        if (turnLimit <= 0) {
+            throw new IllegalArgumentException("Turn limit must be positive");
+        }
+        this.firstTeam = List.copyOf(firstTeam);
+        this.secondTeam = List.copyOf(secondTeam);
+        this.turnLimit = turnLimit;
+    }
+
+    /**
+     * Play one turn for the side whose turn it is.
+     *
+     * @return true if the battle continues
+     */
+    public boolean playTurn() {
+        if (isFinished()) {
+            return false;
+        }
+        boolean firstActs = turns % 2 == 0;
+        List<Character> acting = firstActs ? firstTeam : secondTeam;
+        List<Character> opposing = firstActs ? secondTeam : firstTeam;
+        for (int i = 0; i < acting.size(); i++) {
+            Character attacker = acting.get(i);
+            Character target = firstAlive(opposing);
+            if (target == null) {
+                break;
+            }
+            if (attacker.isAlive()) {
+                attack(attacker, target);
+            }
+        }
+        turns++;
+        if (isFinished()) {
+            // Hand the pooled commands back for the next battle
+            invoker.clearHistory();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Play turns until the battle ends.
+     */
+    public Outcome run() {
+        while (playTurn()) {
+            // keep playing
+        }
+        return getOutcome();
+    }
+
+    public boolean isFinished() {
+        return turns >= turnLimit || firstAlive(firstTeam) == null || firstAlive(secondTeam) == null;
+    }
+
+    /**
+     * @throws IllegalStateException if the battle is still running
+     */
+    public Outcome getOutcome() {
+        if (!isFinished()) {
+            throw new IllegalStateException("Battle is still running");
+        }
+        boolean firstStanding = firstAlive(firstTeam) != null;
+        boolean secondStanding = firstAlive(secondTeam) != null;
+        if (firstStanding == secondStanding) {
+            return Outcome.DRAW;
+        }
+        return firstStanding ? Outcome.FIRST_TEAM : Outcome.SECOND_TEAM;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Attack commands executed so far (rests not included).
+     */
+    public long getCommandCount() {
+        return commands;
+    }
+
+    public long getRestCount() {
+        return rests;
+    }
+
+    public List<Character> getFirstTeam() {
+        return firstTeam;
+    }
+
+    public List<Character> getSecondTeam() {
+        return secondTeam;
+    }
+
+    private void attack(Character attacker, Character target) {
+        AttackCommand command = CommandPool.acquireAttack(attacker, target);
+        try {
+            invoker.executeCommand(command);
+            commands++;
+        } catch (IllegalStateException outOfMana) {
+            CommandPool.release(command);
+            rest(attacker);
+            rests++;
+        }
+    }
+
+    /**
+     * What a character out of mana does on its turn: recover REST_MANA
+     * (stats cap mana at its max).
+     */
+    public static void rest(Character character) {
+        character.restoreMana(REST_MANA);
+    }
+
+    private static Character firstAlive(List<Character> team) {
+        for (int i = 0; i < team.size(); i++) {
+            if (team.get(i).isAlive()) {
+                return team.get(i);
+            }
+        }
+        return null;
+    }
+}
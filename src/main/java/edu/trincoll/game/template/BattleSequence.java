@@ -1,5 +1,6 @@
 package edu.trincoll.game.template;
 
+import edu.trincoll.game.effect.StatusEffects;
 import edu.trincoll.game.model.Character;
 
 /**
@@ -14,10 +15,21 @@ import edu.trincoll.game.model.Character;
  * 5. End turn
  *
  * Subclasses can override hook methods to customize behavior.
+ *
+ * With a StatusEffects engine attached, the default hooks drive it:
+ * beginTurn() advances the effect clock, canAttack() skips the attack
+ * steps while the attacker is stunned, and endTurn() clears the effects
+ * of anyone who died. Subclasses overriding these hooks should call super.
+ *
+ * A TurnObserver attached with withObserver() hears about every attack
+ * played, e.g. to record outcomes in a results store.
  */
 public abstract class BattleSequence {
     protected final Character attacker;
     protected final Character defender;
+    private StatusEffects statusEffects;
+    private TurnObserver observer;
+    private int turns;
 
     public BattleSequence(Character attacker, Character defender) {
         this.attacker = attacker;
@@ -36,22 +48,89 @@ public abstract class BattleSequence {
      * 5. endTurn()
      *
      * Make this method final so subclasses can't override the sequence.
+     * Steps 2-4 are skipped when canAttack() says no.
      */
     public final void executeTurn() {
+        turns++;
         beginTurn();
-        preAttackAction();
-        performAttack();
-        postAttackAction();
+        if (canAttack()) {
+            int healthBefore = defender.getStats().health();
+            preAttackAction();
+            performAttack();
+            postAttackAction();
+            if (observer != null) {
+                observer.attackPlayed(this, turns, healthBefore - defender.getStats().health());
+            }
+        }
         endTurn();
     }
 
+    /**
+     * Drive a status-effect engine from this sequence's turns.
+     * Several sequences may share one engine; each turn advances it once.
+     */
+    public BattleSequence withStatusEffects(StatusEffects statusEffects) {
+        this.statusEffects = statusEffects;
+        return this;
+    }
+
+    public StatusEffects getStatusEffects() {
+        return statusEffects;
+    }
+
+    /**
+     * Report every attack this sequence plays to the given observer.
+     */
+    public BattleSequence withObserver(TurnObserver observer) {
+        this.observer = observer;
+        return this;
+    }
+
+    public Character getAttacker() {
+        return attacker;
+    }
+
+    public Character getDefender() {
+        return defender;
+    }
+
+    /**
+     * Turns executed so far, including ones where the attack was skipped.
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Name used to group this sequence's results; the class's simple name
+     * unless overridden.
+     */
+    public String getName() {
+        String name = getClass().getSimpleName();
+        return name.isEmpty() ? getClass().getName() : name;
+    }
+
     /**
      * Hook method - called at the start of turn.
-     * Default implementation does nothing.
+     * Default: advances the attached status effects, if any.
      * Subclasses can override to add behavior.
      */
     protected void beginTurn() {
-        // Default: do nothing
+        if (statusEffects != null) {
+            statusEffects.advance();
+        }
+    }
+
+    /**
+     * Hook method - decides whether the attack steps run this turn.
+     * Default: yes; with status effects attached, not while the attacker
+     * is dead or stunned.
+     */
+    protected boolean canAttack() {
+        if (statusEffects == null) {
+            return true;
+        }
+        return attacker.isAlive() && !statusEffects.isStunned(attacker);
     }
 
     /**
@@ -78,9 +157,12 @@ public abstract class BattleSequence {
 
     /**
      * Hook method - called at the end of turn.
-     * Default implementation does nothing.
+     * Default: clears the status effects of a fallen attacker or defender.
      */
     protected void endTurn() {
-        // Default: do nothing
+        if (statusEffects != null) {
+            statusEffects.clearIfDead(attacker);
+            statusEffects.clearIfDead(defender);
+        }
     }
 }
@@ -0,0 +1,17 @@
+package edu.trincoll.game.template;
+
+/**
+ * Told about every attack a BattleSequence plays.
+ *
+ * Called on the thread running the turn, after postAttackAction() and
+ * before endTurn(); turns where canAttack() said no are not reported.
+ */
+@FunctionalInterface
+public interface TurnObserver {
+
+    /**
+     * @param turn   how many turns the sequence has run, this one included
+     * @param damage health the defender lost this turn
+     */
+    void attackPlayed(BattleSequence sequence, int turn, int damage);
+}
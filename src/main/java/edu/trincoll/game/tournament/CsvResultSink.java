@@ -0,0 +1,74 @@
+package edu.trincoll.game.tournament;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams match results to CSV, one row per match, as they arrive.
+ * Nothing is kept in memory beyond the writer's buffer.
+ */
+public final class CsvResultSink implements ResultSink, AutoCloseable {
+    static final String HEADER = "stage,match,first,second,winner,turns,first_health,second_health";
+
+    private final Writer writer;
+    private final StringBuilder row = new StringBuilder(96);
+    private long rows;
+
+    public CsvResultSink(Writer writer) {
+        this.writer = writer;
+        write(HEADER);
+    }
+
+    public static CsvResultSink toFile(Path file) throws IOException {
+        return new CsvResultSink(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalStateException if the row can't be written
+     */
+    @Override
+    public synchronized void accept(MatchResult result) {
+        row.setLength(0);
+        row.append(escape(result.stage())).append(',')
+            .append(result.matchId()).append(',')
+            .append(escape(result.first())).append(',')
+            .append(escape(result.second())).append(',')
+            .append(result.winner() == null ? "" : escape(result.winner())).append(',')
+            .append(result.turns()).append(',')
+            .append(result.firstHealth()).append(',')
+            .append(result.secondHealth());
+        write(row);
+        rows++;
+    }
+
+    public synchronized long getRowCount() {
+        return rows;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot close tournament results", e);
+        }
+    }
+
+    private void write(CharSequence line) {
+        try {
+            writer.append(line).append('\n');
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write tournament results", e);
+        }
+    }
+
+    static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
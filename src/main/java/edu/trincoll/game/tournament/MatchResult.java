@@ -0,0 +1,28 @@
+package edu.trincoll.game.tournament;
+
+/**
+ * Outcome of one tournament match.
+ *
+ * @param stage        "round-robin" or "elimination-N"
+ * @param matchId      unique, increasing in the order matches were scheduled
+ * @param first        entrant that moved first
+ * @param second       the other entrant
+ * @param winner       name of the winner, or null for a draw
+ * @param turns        turns played
+ * @param firstHealth  first entrant's health at the end
+ * @param secondHealth second entrant's health at the end
+ */
+public record MatchResult(
+    String stage,
+    long matchId,
+    String first,
+    String second,
+    String winner,
+    int turns,
+    int firstHealth,
+    int secondHealth
+) {
+    public boolean isDraw() {
+        return winner == null;
+    }
+}
@@ -0,0 +1,12 @@
+package edu.trincoll.game.tournament;
+
+/**
+ * Receives match results as soon as each match finishes.
+ *
+ * Matches run in parallel, so accept() may be called from several
+ * threads at once; implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface ResultSink {
+    void accept(MatchResult result);
+}
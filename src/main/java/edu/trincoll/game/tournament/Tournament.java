@@ -0,0 +1,324 @@
+package edu.trincoll.game.tournament;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.BattleRunner;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.PowerAttackSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balance tournament: a round-robin between all entrants, then a
+ * single-elimination bracket seeded by the round-robin standings.
+ *
+ * Every match is a duel between fresh copies of two prototypes, played
+ * with StandardBattleSequence turns and a PowerAttackSequence every
+ * few turns. Round-robin matches run in parallel (each pairing once in
+ * both orders, since moving first matters). In the bracket each match
+ * is scheduled as soon as its two feeder matches finish, so one side
+ * of the bracket never waits for the other.
+ *
+ * Results go to the ResultSink as each match finishes; the tournament
+ * itself only keeps win/loss/draw counters and the bracket's winners.
+ */
+public final class Tournament {
+    static final String ROUND_ROBIN = "round-robin";
+    private static final int NO_ENTRANT = -1;
+
+    private final List<Character> prototypes;
+    private final int turnLimit;
+    private final int powerAttackEvery;
+    private final Executor executor;
+    private final ResultSink sink;
+    private final AtomicLong nextMatchId = new AtomicLong();
+    private final AtomicLong matchesPlayed = new AtomicLong();
+
+    /**
+     * Round-robin record of one entrant.
+     */
+    public record Standing(String name, int wins, int losses, int draws) {
+    }
+
+    /**
+     * @param champion  winner of the elimination bracket
+     * @param standings round-robin standings, best first
+     */
+    public record Result(String champion, List<Standing> standings, long matchesPlayed) {
+    }
+
+    private Tournament(Builder builder) {
+        this.prototypes = List.copyOf(builder.prototypes);
+        this.turnLimit = builder.turnLimit;
+        this.powerAttackEvery = builder.powerAttackEvery;
+        this.executor = builder.executor;
+        this.sink = builder.sink;
+    }
+
+    /**
+     * Run the whole tournament, blocking until the final is decided.
+     */
+    public Result run() {
+        return start().join();
+    }
+
+    /**
+     * Start the tournament on the executor.
+     * Each call plays a new, independent tournament.
+     */
+    public CompletableFuture<Result> start() {
+        int entrants = prototypes.size();
+        AtomicIntegerArray wins = new AtomicIntegerArray(entrants);
+        AtomicIntegerArray losses = new AtomicIntegerArray(entrants);
+        AtomicIntegerArray draws = new AtomicIntegerArray(entrants);
+
+        List<CompletableFuture<Void>> roundRobin = new ArrayList<>();
+        for (int i = 0; i < entrants; i++) {
+            for (int j = 0; j < entrants; j++) {
+                if (i == j) {
+                    continue;
+                }
+                int first = i;
+                int second = j;
+                long matchId = nextMatchId.getAndIncrement();
+                roundRobin.add(CompletableFuture.runAsync(() -> {
+                    MatchResult result = play(ROUND_ROBIN, matchId, first, second);
+                    if (result.isDraw()) {
+                        draws.incrementAndGet(first);
+                        draws.incrementAndGet(second);
+                    } else {
+                        int winner = result.winner().equals(result.first()) ? first : second;
+                        wins.incrementAndGet(winner);
+                        losses.incrementAndGet(winner == first ? second : first);
+                    }
+                }, executor));
+            }
+        }
+
+        return CompletableFuture.allOf(roundRobin.toArray(new CompletableFuture<?>[0]))
+            .thenCompose(done -> {
+                List<Standing> standings = standings(wins, losses, draws);
+                return bracket(seeds(standings))
+                    .thenApply(champion -> new Result(prototypes.get(champion).getName(),
+                        standings, matchesPlayed.get()));
+            });
+    }
+
+    private List<Standing> standings(AtomicIntegerArray wins, AtomicIntegerArray losses,
+                                     AtomicIntegerArray draws) {
+        List<Standing> standings = new ArrayList<>();
+        for (int i = 0; i < prototypes.size(); i++) {
+            standings.add(new Standing(prototypes.get(i).getName(), wins.get(i), losses.get(i), draws.get(i)));
+        }
+        // Stable sort: ties keep entry order
+        standings.sort(Comparator.comparingInt(Standing::wins).reversed()
+            .thenComparing(Comparator.comparingInt(Standing::draws).reversed()));
+        return standings;
+    }
+
+    private int[] seeds(List<Standing> standings) {
+        int[] seeds = new int[standings.size()];
+        for (int seed = 0; seed < seeds.length; seed++) {
+            seeds[seed] = indexOf(standings.get(seed).name());
+        }
+        return seeds;
+    }
+
+    /**
+     * Build the bracket as a tree of futures. Each match depends only on
+     * the two matches that feed it; top seeds get byes when the field
+     * isn't a power of two.
+     */
+    private CompletableFuture<Integer> bracket(int[] seeds) {
+        int size = 1;
+        while (size < seeds.length) {
+            size <<= 1;
+        }
+        List<CompletableFuture<Integer>> level = new ArrayList<>(size);
+        for (int position : bracketOrder(size)) {
+            int entrant = position < seeds.length ? seeds[position] : NO_ENTRANT;
+            level.add(CompletableFuture.completedFuture(entrant));
+        }
+
+        int round = 1;
+        while (level.size() > 1) {
+            String stage = "elimination-" + round;
+            List<CompletableFuture<Integer>> next = new ArrayList<>(level.size() / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                long matchId = nextMatchId.getAndIncrement();
+                next.add(level.get(i).thenCombineAsync(level.get(i + 1),
+                    (first, second) -> knockout(stage, matchId, first, second), executor));
+            }
+            level = next;
+            round++;
+        }
+        return level.get(0);
+    }
+
+    private int knockout(String stage, long matchId, int first, int second) {
+        if (first == NO_ENTRANT || second == NO_ENTRANT) {
+            return first == NO_ENTRANT ? second : first;
+        }
+        MatchResult result = play(stage, matchId, first, second);
+        if (!result.isDraw()) {
+            return result.winner().equals(result.first()) ? first : second;
+        }
+        // Draws go to whoever kept more of their health; exact ties to the first mover
+        double firstShare = (double) result.firstHealth() / prototypes.get(first).getStats().maxHealth();
+        double secondShare = (double) result.secondHealth() / prototypes.get(second).getStats().maxHealth();
+        return secondShare > firstShare ? second : first;
+    }
+
+    /**
+     * Seed positions in bracket order, e.g. 0,7,3,4,1,6,2,5 for 8 slots,
+     * so the top two seeds can only meet in the final.
+     */
+    static int[] bracketOrder(int size) {
+        int[] order = {0};
+        while (order.length < size) {
+            int slots = order.length * 2;
+            int[] next = new int[slots];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = slots - 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    private MatchResult play(String stage, long matchId, int firstIndex, int secondIndex) {
+        Character firstPrototype = prototypes.get(firstIndex);
+        Character secondPrototype = prototypes.get(secondIndex);
+        Character first = CharacterFactory.spawn(firstPrototype, firstPrototype.getName());
+        Character second = CharacterFactory.spawn(secondPrototype, secondPrototype.getName());
+
+        // Sequences are reusable, so build the four a match needs once
+        BattleSequence[] sequences = {
+            new StandardBattleSequence(first, second),
+            new StandardBattleSequence(second, first),
+            new PowerAttackSequence(first, second),
+            new PowerAttackSequence(second, first)
+        };
+        int turns = 0;
+        while (turns < turnLimit && first.isAlive() && second.isAlive()) {
+            boolean firstActs = turns % 2 == 0;
+            boolean power = powerAttackEvery > 0 && (turns / 2 + 1) % powerAttackEvery == 0;
+            Character attacker = firstActs ? first : second;
+            try {
+                sequences[(power ? 2 : 0) + (firstActs ? 0 : 1)].executeTurn();
+            } catch (IllegalStateException outOfMana) {
+                BattleRunner.rest(attacker);
+            }
+            turns++;
+        }
+
+        String winner = null;
+        if (first.isAlive() != second.isAlive()) {
+            winner = first.isAlive() ? first.getName() : second.getName();
+        }
+        MatchResult result = new MatchResult(stage, matchId, first.getName(), second.getName(), winner,
+            turns, Math.max(0, first.getStats().health()), Math.max(0, second.getStats().health()));
+        matchesPlayed.incrementAndGet();
+        sink.accept(result);
+        return result;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < prototypes.size(); i++) {
+            if (prototypes.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unknown entrant: " + name);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for tournaments. Defaults: one prototype per CharacterType,
+     * 200 turns per match, a power attack every third turn, the common
+     * fork-join pool, and results discarded.
+     */
+    public static class Builder {
+        private List<Character> prototypes;
+        private int turnLimit = 200;
+        private int powerAttackEvery = 3;
+        private Executor executor = ForkJoinPool.commonPool();
+        private ResultSink sink = result -> { };
+
+        public Builder prototypes(List<Character> prototypes) {
+            this.prototypes = prototypes;
+            return this;
+        }
+
+        public Builder turnLimit(int turnLimit) {
+            this.turnLimit = turnLimit;
+            return this;
+        }
+
+        /**
+         * Use a PowerAttackSequence on every Nth turn of each side (0 = never).
+         */
+        public Builder powerAttackEvery(int powerAttackEvery) {
+            this.powerAttackEvery = powerAttackEvery;
+            return this;
+        }
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder sink(ResultSink sink) {
+            this.sink = sink;
+            return this;
+        }
+
+        public Tournament build() {
+            if (prototypes == null) {
+                prototypes = archetypes();
+            }
+            if (prototypes.size() < 2) {
+                throw new IllegalStateException("A tournament needs at least two entrants");
+            }
+            Set<String> names = new HashSet<>();
+            for (Character prototype : prototypes) {
+                if (!names.add(prototype.getName())) {
+                    throw new IllegalStateException("Duplicate entrant name: " + prototype.getName());
+                }
+            }
+            if (turnLimit <= 0) {
+                throw new IllegalStateException("turnLimit must be positive");
+            }
+            if (powerAttackEvery < 0) {
+                throw new IllegalStateException("powerAttackEvery cannot be negative");
+            }
+            if (executor == null || sink == null) {
+                throw new IllegalStateException("executor and sink cannot be null");
+            }
+            return new Tournament(this);
+        }
+
+        private static List<Character> archetypes() {
+            List<Character> archetypes = new ArrayList<>();
+            for (CharacterType type : CharacterType.values()) {
+                archetypes.add(CharacterFactory.createCharacter(type.name(), type));
+            }
+            return archetypes;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package edu.trincoll.game.ai;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.roster.Roster;
+import edu.trincoll.game.roster.RosterAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AI Opponent Tests")
+class AiOpponentTest {
+
+    private static SearchConfig config(SearchConfig.Algorithm algorithm) {
+        return SearchConfig.defaults()
+            .withAlgorithm(algorithm)
+            .withTimeBudget(Duration.ofMillis(100))
+            .withParallelism(2);
+    }
+
+    @Nested
+    @DisplayName("Decisions")
+    class DecisionTests {
+
+        @ParameterizedTest
+        @EnumSource(SearchConfig.Algorithm.class)
+        @DisplayName("Takes a finishing blow when one is available")
+        void testFinishingBlow(SearchConfig.Algorithm algorithm) {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            mage.setHealth(10);
+
+            AiOpponent ai = new AiOpponent(config(algorithm), new int[]{0}, new int[]{1});
+            Optional<RosterAction> action = ai.chooseAction(List.of(warrior, mage));
+
+            assertThat(action).isPresent();
+            assertThat(action.get()).isNotInstanceOf(RosterAction.Heal.class);
+            assertThat(action.get().target()).isEqualTo(1);
+        }
+
+        @ParameterizedTest
+        @EnumSource(SearchConfig.Algorithm.class)
+        @DisplayName("Only chooses actions for its own team")
+        void testActsForOwnTeam(SearchConfig.Algorithm algorithm) {
+            Roster roster = Roster.of(List.of(
+                CharacterFactory.createWarrior("A"), CharacterFactory.createMage("B"),
+                CharacterFactory.createArcher("C"), CharacterFactory.createRogue("D")));
+
+            AiOpponent ai = new AiOpponent(config(algorithm), new int[]{2, 3}, new int[]{0, 1});
+            RosterAction action = ai.chooseAction(roster).orElseThrow();
+
+            assertThat(action.actor()).isIn(2, 3);
+            assertThatCode(() -> roster.apply(action)).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Returns empty when the team has no legal move")
+        void testNoLegalMove() {
+            Character mage = CharacterFactory.createMage("Mage");
+            mage.useMana(100);
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+
+            AiOpponent ai = new AiOpponent(config(SearchConfig.Algorithm.ALPHA_BETA).withHealAmount(0),
+                new int[]{0}, new int[]{1});
+
+            assertThat(ai.chooseAction(List.of(mage, warrior))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Budget and configuration")
+    class ConfigTests {
+
+        @ParameterizedTest
+        @EnumSource(SearchConfig.Algorithm.class)
+        @DisplayName("Respects the time budget")
+        void testTimeBudget(SearchConfig.Algorithm algorithm) {
+            Roster roster = Roster.of(List.of(
+                CharacterFactory.createWarrior("A"), CharacterFactory.createMage("B"),
+                CharacterFactory.createArcher("C"), CharacterFactory.createRogue("D")));
+            AiOpponent ai = new AiOpponent(config(algorithm).withMaxDepth(50), new int[]{0, 1}, new int[]{2, 3});
+
+            long start = System.nanoTime();
+            ai.chooseAction(roster);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertThat(elapsedMillis).isLessThan(1_000);
+        }
+
+        @Test
+        @DisplayName("Rejects invalid settings")
+        void testInvalidConfig() {
+            assertThatThrownBy(() -> SearchConfig.defaults().withTimeBudget(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new AiOpponent(SearchConfig.defaults(), new int[0], new int[]{1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package edu.trincoll.game.codec;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Character Codec Tests")
+class CharacterCodecTest {
+
+    private static List<Character> roster(int size) {
+        List<Character> roster = new ArrayList<>(size);
+        CharacterType[] types = CharacterType.values();
+        for (int i = 0; i < size; i++) {
+            Character character = CharacterFactory.createCharacter("Hero-" + i, types[i % types.length]);
+            if (i % 3 == 0) {
+                character.setHealth(i % character.getStats().maxHealth());
+            }
+            roster.add(character);
+        }
+        return roster;
+    }
+
+    private static void assertSameCharacter(Character actual, Character expected) {
+        assertThat(actual.getName()).isEqualTo(expected.getName());
+        assertThat(actual.getType()).isEqualTo(expected.getType());
+        assertThat(actual.getStats()).isEqualTo(expected.getStats());
+        assertThat(actual.getAttackStrategy().kind()).isEqualTo(expected.getAttackStrategy().kind());
+        assertThat(actual.getDefenseStrategy().kind()).isEqualTo(expected.getDefenseStrategy().kind());
+    }
+
+    @Nested
+    @DisplayName("Records")
+    class RecordTests {
+
+        @Test
+        @DisplayName("Every type round-trips with its stats and strategies")
+        void testRoundTrip() {
+            Character mage = CharacterFactory.createMage("Mage");
+            mage.useMana(30);
+            mage.takeDamage(25);
+            List<Character> characters = List.of(CharacterFactory.createWarrior("Warrior"), mage,
+                CharacterFactory.createArcher("Archer"), CharacterFactory.createRogue("R\u00f6gue"));
+            CharacterEncoder encoder = new CharacterEncoder();
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            encoder.writeHeader(buffer);
+            for (Character character : characters) {
+                encoder.encode(buffer, character);
+            }
+            encoder.writeEnd(buffer);
+            buffer.flip();
+
+            CharacterDecoder decoder = new CharacterDecoder();
+            decoder.readHeader(buffer);
+            for (Character character : characters) {
+                assertSameCharacter(decoder.decode(buffer), character);
+            }
+            assertThat(decoder.decode(buffer)).isNull();
+            assertThat(buffer.hasRemaining()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Repeated names become table references")
+        void testNameTable() {
+            Character warrior = CharacterFactory.createWarrior("A rather long warrior name");
+            CharacterEncoder encoder = new CharacterEncoder();
+            ByteBuffer buffer = ByteBuffer.allocate(128);
+
+            encoder.encode(buffer, warrior);
+            int first = buffer.position();
+            encoder.encode(buffer, warrior);
+            int second = buffer.position() - first;
+            buffer.flip();
+
+            assertThat(second).isLessThan(first).isLessThanOrEqualTo(10);
+            CharacterDecoder decoder = new CharacterDecoder();
+            assertThat(decoder.decode(buffer).getName()).isSameAs(decoder.decode(buffer).getName());
+            assertThat(decoder.getNameCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Stats alone use the same varint layout")
+        void testStats() {
+            CharacterStats stats = new CharacterStats(10, 150, 40, 30, 0, 0);
+            ByteBuffer buffer = ByteBuffer.allocate(32);
+
+            CharacterCodec.writeStats(buffer, stats);
+            buffer.flip();
+
+            assertThat(buffer.remaining()).isLessThanOrEqualTo(8);
+            assertThat(CharacterCodec.readStats(buffer)).isEqualTo(stats);
+        }
+
+        @Test
+        @DisplayName("Custom strategies, foreign streams and bad references are rejected")
+        void testRejects() {
+            Character custom = CharacterFactory.createWarrior("Custom");
+            custom.setAttackStrategy((attacker, target) -> 1);
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+
+            assertThatThrownBy(() -> new CharacterEncoder().encode(buffer, custom))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new CharacterDecoder().readHeader(ByteBuffer.wrap(new byte[]{'G', 'C', 9})))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new CharacterDecoder().readHeader(ByteBuffer.wrap(new byte[]{'X', 'Y', 1})))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new CharacterDecoder().decode(ByteBuffer.wrap(new byte[]{7, 0})))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Whole rosters stream through small buffers")
+        void testStreamRoster() {
+            List<Character> roster = roster(5_000);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            long written = new CharacterEncoder().encodeAll(roster, Channels.newChannel(bytes), ByteBuffer.allocate(256));
+
+            assertThat(written).isEqualTo(bytes.size());
+            List<Character> decoded = new ArrayList<>();
+            int count = new CharacterDecoder().decodeAll(
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), ByteBuffer.allocate(100), decoded::add);
+            assertThat(count).isEqualTo(roster.size());
+            for (int i = 0; i < roster.size(); i++) {
+                assertSameCharacter(decoded.get(i), roster.get(i));
+            }
+        }
+
+        @Test
+        @DisplayName("A stream cut short is reported")
+        void testTruncated() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new CharacterEncoder().encodeAll(roster(10), Channels.newChannel(bytes), ByteBuffer.allocate(256));
+            byte[] cut = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 3);
+
+            assertThatThrownBy(() -> new CharacterDecoder().decodeAll(
+                Channels.newChannel(new ByteArrayInputStream(cut)), ByteBuffer.allocate(64), character -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Encoded rosters are several times smaller than Java serialization")
+        void testSmallerThanJavaSerialization() throws IOException {
+            List<Character> roster = roster(1_000);
+            ByteArrayOutputStream codec = new ByteArrayOutputStream();
+            new CharacterEncoder().encodeAll(roster, Channels.newChannel(codec), ByteBuffer.allocate(4096));
+
+            // Characters aren't Serializable, so serialize the same fields
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+                for (Character character : roster) {
+                    CharacterStats stats = character.getStats();
+                    out.writeObject(new Object[]{character.getName(), character.getType(),
+                        character.getAttackStrategy().kind(), character.getDefenseStrategy().kind(),
+                        new int[]{stats.health(), stats.maxHealth(), stats.attackPower(),
+                            stats.defense(), stats.mana(), stats.maxMana()}});
+                }
+            }
+
+            assertThat(codec.size() * 3).isLessThan(serialized.size());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package edu.trincoll.game.codec;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.StatField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Delta Codec Tests")
+class DeltaCodecTest {
+
+    @Nested
+    @DisplayName("Varints")
+    class VarintTests {
+
+        @Test
+        @DisplayName("Round-trips edge values and uses the expected sizes")
+        void testRoundTrip() {
+            int[] values = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            for (int value : values) {
+                Varints.writeUnsigned(buffer, value);
+                Varints.writeSigned(buffer, value);
+                Varints.writeUnsignedLong(buffer, value & 0xFFFFFFFFL);
+            }
+            buffer.flip();
+
+            for (int value : values) {
+                assertThat(Varints.readUnsigned(buffer)).isEqualTo(value);
+                assertThat(Varints.readSigned(buffer)).isEqualTo(value);
+                assertThat(Varints.readUnsignedLong(buffer)).isEqualTo(value & 0xFFFFFFFFL);
+            }
+            assertThat(Varints.sizeOfUnsigned(127)).isEqualTo(1);
+            assertThat(Varints.sizeOfUnsigned(128)).isEqualTo(2);
+            assertThat(Varints.sizeOfUnsigned(-1)).isEqualTo(Varints.MAX_INT_BYTES);
+        }
+
+        @Test
+        @DisplayName("Overlong varints are rejected")
+        void testMalformed() {
+            ByteBuffer buffer = ByteBuffer.wrap(new byte[]{-1, -1, -1, -1, -1, 1});
+
+            assertThatThrownBy(() -> Varints.readUnsigned(buffer))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Dirty fields")
+    class DirtyFieldTests {
+
+        @Test
+        @DisplayName("Mutations mark only the fields they change")
+        void testMutationsMarkFields() {
+            Character mage = CharacterFactory.createMage("Mage");
+            assertThat(mage.isDirty()).as("New characters start clean").isFalse();
+
+            mage.takeDamage(20);
+            mage.useMana(10);
+
+            assertThat(mage.getDirtyFields()).isEqualTo(StatField.HEALTH.bit() | StatField.MANA.bit());
+            mage.clearDirtyFields();
+
+            mage.heal(0);
+            mage.restoreMana(100);
+            mage.restoreMana(5);
+            assertThat(mage.getDirtyFields()).isEqualTo(StatField.MANA.bit());
+
+            mage.clearDirtyFields();
+            mage.adjustAttackPower(5);
+            assertThat(mage.getDirtyFields()).isEqualTo(StatField.ATTACK_POWER.bit());
+        }
+
+        @Test
+        @DisplayName("Restoring the same stats leaves a character clean")
+        void testNoOpRestore() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+
+            warrior.restoreStats(warrior.getStats());
+            warrior.setHealth(warrior.getStats().health());
+
+            assertThat(warrior.isDirty()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Delta export and import")
+    class DeltaTests {
+
+        private List<Character> source;
+        private List<Character> replica;
+        private DeltaExporter exporter;
+        private DeltaImporter importer;
+
+        @BeforeEach
+        void setUp() {
+            source = new ArrayList<>();
+            replica = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                source.add(CharacterFactory.createMage("M" + i));
+                replica.add(CharacterFactory.createMage("M" + i));
+            }
+            exporter = new DeltaExporter(source);
+            importer = new DeltaImporter(replica);
+        }
+
+        @Test
+        @DisplayName("Only changed fields travel and the replica converges")
+        void testExportImport() {
+            source.get(3).takeDamage(30);
+            source.get(700).useMana(40);
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+            int written = exporter.export(buffer);
+            buffer.flip();
+
+            assertThat(written).isEqualTo(2);
+            assertThat(buffer.remaining()).as("Two small records and the end marker").isLessThanOrEqualTo(10);
+            assertThat(importer.apply(buffer)).isEqualTo(2);
+            assertThat(replica.get(3).getStats()).isEqualTo(source.get(3).getStats());
+            assertThat(replica.get(700).getStats()).isEqualTo(source.get(700).getStats());
+            assertThat(exporter.hasPendingChanges()).isFalse();
+        }
+
+        @Test
+        @DisplayName("An export with nothing dirty is a single end marker")
+        void testEmptyDelta() {
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+
+            assertThat(exporter.export(buffer)).isZero();
+            buffer.flip();
+
+            assertThat(buffer.remaining()).isEqualTo(1);
+            assertThat(importer.apply(buffer)).isZero();
+        }
+
+        @Test
+        @DisplayName("Changes that don't fit stay dirty for the next export")
+        void testSmallBuffer() {
+            exporter.markAllDirty();
+            ByteBuffer buffer = ByteBuffer.allocate(512);
+            int exports = 0;
+
+            while (exporter.hasPendingChanges()) {
+                buffer.clear();
+                assertThat(exporter.export(buffer)).isPositive();
+                buffer.flip();
+                importer.apply(buffer);
+                exports++;
+            }
+
+            assertThat(exports).isGreaterThan(1);
+            source.get(999).setHealth(1);
+            buffer.clear();
+            exporter.export(buffer);
+            buffer.flip();
+            importer.apply(buffer);
+            assertThat(replica.get(999).getStats().health()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Corrupt or truncated deltas are rejected")
+        void testCorrupt() {
+            ByteBuffer badSlot = ByteBuffer.allocate(16);
+            Varints.writeUnsigned(badSlot, 5_000);
+            badSlot.put((byte) StatField.HEALTH.bit());
+            Varints.writeUnsigned(badSlot, 10);
+            badSlot.put((byte) 0).flip();
+            ByteBuffer truncated = ByteBuffer.wrap(new byte[]{1, (byte) StatField.HEALTH.bit()});
+            ByteBuffer overMax = ByteBuffer.wrap(new byte[]{1, (byte) StatField.HEALTH.bit(), (byte) 0xFF, 0x7F, 0});
+
+            assertThatThrownBy(() -> importer.apply(badSlot)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> importer.apply(truncated)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> importer.apply(overMax))
+                .as("Health above max health")
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("A delta that fails partway applies none of its records")
+        void testAllOrNothing() {
+            source.get(3).setHealth(10);
+            source.get(700).setHealth(20);
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            exporter.export(buffer);
+            buffer.flip();
+            // Drop the end marker so the second record's stream runs out
+            buffer.limit(buffer.limit() - 1);
+            var before = replica.get(3).getStats();
+
+            assertThatThrownBy(() -> importer.apply(buffer)).isInstanceOf(IllegalArgumentException.class);
+            assertThat(replica.get(3).getStats()).isSameAs(before);
+            assertThat(replica.get(3).isDirty()).isFalse();
+        }
+    }
+}
@@ -2,11 +2,23 @@ package edu.trincoll.game.command;
 
 import edu.trincoll.game.factory.CharacterFactory;
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("Command Pattern Tests")
@@ -239,4 +251,767 @@ class CommandPatternTest {
                 .doesNotThrowAnyException();
         }
     }
+
+    @Nested
+    @DisplayName("Checkpoints and Redo")
+    class CheckpointTests {
+
+        private CommandInvoker invoker;
+        private Character attacker;
+        private Character target;
+
+        @BeforeEach
+        void setUp() {
+            invoker = new CommandInvoker();
+            attacker = CharacterFactory.createMage("Attacker");
+            target = CharacterFactory.createWarrior("Target");
+        }
+
+        @Test
+        @DisplayName("Rollback restores every character touched since the mark")
+        void testRollbackToCheckpoint() {
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            var attackerAtMark = attacker.getStats();
+            var targetAtMark = target.getStats();
+
+            CommandInvoker.Checkpoint round = invoker.mark("round-2");
+            for (int i = 0; i < 5; i++) {
+                invoker.executeCommand(new AttackCommand(attacker, target));
+            }
+            invoker.executeCommand(new HealCommand(target, 10));
+
+            invoker.rollbackTo(round);
+
+            assertThat(attacker.getStats()).as("Mana spent after the mark is restored").isEqualTo(attackerAtMark);
+            assertThat(target.getStats()).isEqualTo(targetAtMark);
+            assertThat(invoker.getCommandHistory()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Rolling back to an outer checkpoint skips nested ones")
+        void testNestedCheckpoints() {
+            var targetAtStart = target.getStats();
+            CommandInvoker.Checkpoint turn = invoker.mark();
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            invoker.mark();
+            invoker.executeCommand(new AttackCommand(attacker, target));
+
+            invoker.rollbackTo(turn);
+
+            assertThat(target.getStats()).isEqualTo(targetAtStart);
+            assertThat(invoker.hasCommandsToUndo()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Rolled back commands can be redone in order")
+        void testRedoAfterRollback() {
+            CommandInvoker.Checkpoint checkpoint = invoker.mark();
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            var targetAfterAttacks = target.getStats();
+
+            invoker.rollbackTo(checkpoint);
+            invoker.redoLastCommand();
+            invoker.redoLastCommand();
+
+            assertThat(target.getStats()).isEqualTo(targetAfterAttacks);
+            assertThat(invoker.hasCommandsToRedo()).isFalse();
+            assertThat(invoker.getCommandHistory()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Redo re-executes an undone command")
+        void testRedoAfterUndo() {
+            var attackerAtStart = attacker.getStats();
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            int healthAfterAttack = target.getStats().health();
+            int manaAfterAttack = attacker.getStats().mana();
+
+            invoker.undoLastCommand();
+            // The mage's spent mana comes back with the undo
+            assertThat(attacker.getStats()).isEqualTo(attackerAtStart);
+            invoker.redoLastCommand();
+
+            assertThat(target.getStats().health()).isEqualTo(healthAfterAttack);
+            assertThat(attacker.getStats().mana()).isEqualTo(manaAfterAttack);
+        }
+
+        @Test
+        @DisplayName("Executing a new command clears the redo stack")
+        void testExecuteClearsRedo() {
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            invoker.undoLastCommand();
+
+            invoker.executeCommand(new HealCommand(target, 5));
+
+            assertThat(invoker.hasCommandsToRedo()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Commands without affected characters fall back to undo()")
+        void testOpaqueCommandRollback() {
+            int[] counter = {0};
+            GameCommand opaque = new GameCommand() {
+                @Override
+                public void execute() {
+                    counter[0]++;
+                }
+
+                @Override
+                public void undo() {
+                    counter[0]--;
+                }
+
+                @Override
+                public String getDescription() {
+                    return "increment";
+                }
+            };
+            CommandInvoker.Checkpoint checkpoint = invoker.mark();
+            invoker.executeCommand(opaque);
+            invoker.executeCommand(new AttackCommand(attacker, target));
+
+            invoker.rollbackTo(checkpoint);
+
+            assertThat(counter[0]).isZero();
+            assertThat(target.getStats().health()).isEqualTo(target.getStats().maxHealth());
+        }
+
+        @Test
+        @DisplayName("Released or expired checkpoints are rejected")
+        void testExpiredCheckpoint() {
+            CommandInvoker.Checkpoint outer = invoker.mark();
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            CommandInvoker.Checkpoint inner = invoker.mark();
+            invoker.release(inner);
+
+            assertThatThrownBy(() -> invoker.rollbackTo(inner))
+                .isInstanceOf(IllegalArgumentException.class);
+
+            invoker.rollbackTo(outer);
+            assertThat(target.getStats().health()).isEqualTo(target.getStats().maxHealth());
+        }
+    }
+
+    @Nested
+    @DisplayName("Command Pooling")
+    class CommandPoolTests {
+
+        private Character attacker;
+        private Character target;
+
+        @BeforeEach
+        void setUp() {
+            attacker = CharacterFactory.createWarrior("Attacker");
+            target = CharacterFactory.createWarrior("Target");
+        }
+
+        @Test
+        @DisplayName("Released commands are reused by the next acquire")
+        void testAcquireReusesReleased() {
+            AttackCommand first = CommandPool.acquireAttack(attacker, target);
+            CommandPool.release(first);
+
+            AttackCommand second = CommandPool.acquireAttack(target, attacker);
+
+            assertThat(second).isSameAs(first);
+            assertThat(second.getDescription()).isEqualTo("Target attacks Attacker");
+        }
+
+        @Test
+        @DisplayName("Recycled commands start with fresh undo state")
+        void testRecycledHealUndo() {
+            target.setHealth(100);
+            HealCommand heal = CommandPool.acquireHeal(target, 30);
+            heal.execute();
+            CommandPool.release(heal);
+
+            target.setHealth(50);
+            HealCommand recycled = CommandPool.acquireHeal(target, 10);
+            recycled.execute();
+            recycled.undo();
+
+            assertThat(target.getStats().health()).isEqualTo(50);
+        }
+
+        @Test
+        @DisplayName("Bounded history evicts oldest commands back to the pool")
+        void testBoundedHistoryRecycles() {
+            CommandInvoker invoker = new CommandInvoker(8);
+            Set<GameCommand> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            for (int i = 0; i < 1_000; i++) {
+                AttackCommand attack = CommandPool.acquireAttack(attacker, target);
+                distinct.add(attack);
+                invoker.executeCommand(attack);
+                target.setHealth(150);
+            }
+
+            assertThat(invoker.getCommandHistory()).hasSize(8);
+            assertThat(distinct).as("Steady state allocates no new commands").hasSizeLessThanOrEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("Commands created with new are never pooled")
+        void testUnpooledReleaseIgnored() {
+            int idleBefore = CommandPool.idleCount();
+
+            CommandPool.release(new AttackCommand(attacker, target));
+
+            assertThat(CommandPool.idleCount()).isEqualTo(idleBefore);
+        }
+
+        @Test
+        @DisplayName("Double release does not hand out the same command twice")
+        void testDoubleRelease() {
+            AttackCommand command = CommandPool.acquireAttack(attacker, target);
+            CommandPool.release(command);
+            CommandPool.release(command);
+
+            AttackCommand a = CommandPool.acquireAttack(attacker, target);
+            AttackCommand b = CommandPool.acquireAttack(attacker, target);
+
+            assertThat(a).isNotSameAs(b);
+        }
+
+        @Test
+        @DisplayName("Checkpoints survive eviction of the commands after them")
+        void testRollbackPastEvictedCommands() {
+            CommandInvoker invoker = new CommandInvoker(4);
+            var targetAtMark = target.getStats();
+            CommandInvoker.Checkpoint checkpoint = invoker.mark();
+
+            for (int i = 0; i < 10; i++) {
+                invoker.executeCommand(CommandPool.acquireAttack(attacker, target));
+            }
+            invoker.rollbackTo(checkpoint);
+
+            assertThat(target.getStats()).isEqualTo(targetAtMark);
+            assertThat(invoker.hasCommandsToUndo()).isFalse();
+            assertThat(invoker.hasCommandsToRedo()).as("Partial sequence cannot be redone").isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Command Logging")
+    class CommandLoggingTests {
+
+        private Character attacker;
+        private Character target;
+
+        @BeforeEach
+        void setUp() {
+            attacker = CharacterFactory.createWarrior("Attacker");
+            target = CharacterFactory.createMage("Target");
+        }
+
+        @Test
+        @DisplayName("describeTo appends the same text as getDescription")
+        void testDescribeTo() {
+            StringBuilder out = new StringBuilder("> ");
+            new AttackCommand(attacker, target).describeTo(out);
+            out.append(" | ");
+            new HealCommand(target, 15).describeTo(out);
+
+            assertThat(out.toString()).isEqualTo("> Attacker attacks Target | Heal Target for 15 HP");
+        }
+
+        @Test
+        @DisplayName("History dump lists commands oldest first")
+        void testDescribeHistory() {
+            CommandInvoker invoker = new CommandInvoker();
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            invoker.executeCommand(new HealCommand(target, 10));
+
+            StringBuilder out = new StringBuilder();
+            invoker.describeHistory(out);
+
+            assertThat(out.toString()).isEqualTo("Attacker attacks Target\nHeal Target for 10 HP\n");
+        }
+
+        @Test
+        @DisplayName("Sink records opcode, names and amounts across buffer swaps")
+        void testSinkRoundTrip() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CommandInvoker invoker = new CommandInvoker(16);
+            int commands = 2_000;
+
+            try (CommandLogSink sink = new CommandLogSink(Channels.newChannel(bytes), 4096)) {
+                invoker.setLogSink(sink);
+                for (int i = 0; i < commands / 2; i++) {
+                    invoker.executeCommand(CommandPool.acquireAttack(attacker, target));
+                    invoker.executeCommand(CommandPool.acquireHeal(target, 1_000));
+                }
+                assertThat(sink.getRecordCount()).isEqualTo(commands);
+            }
+
+            List<CommandLogSink.Entry> entries = CommandLogSink.read(ByteBuffer.wrap(bytes.toByteArray()));
+            assertThat(entries).hasSize(commands);
+            CommandLogSink.Entry attack = entries.get(0);
+            assertThat(attack.opcode()).isEqualTo(CommandLogSink.Opcode.ATTACK);
+            assertThat(attack.actor()).isEqualTo("Attacker");
+            assertThat(attack.target()).isEqualTo("Target");
+            assertThat(attack.amount()).isPositive();
+            CommandLogSink.Entry heal = entries.get(1);
+            assertThat(heal.opcode()).isEqualTo(CommandLogSink.Opcode.HEAL);
+            assertThat(heal.target()).isEqualTo("Target");
+            assertThat(heal.amount()).as("Heal logs healing actually done").isEqualTo(attack.amount());
+        }
+
+        @Test
+        @DisplayName("Custom commands are logged as their description")
+        void testCustomCommandLogged() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            GameCommand custom = new GameCommand() {
+                @Override
+                public void execute() {
+                }
+
+                @Override
+                public void undo() {
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Shuffle initiative";
+                }
+            };
+
+            try (CommandLogSink sink = new CommandLogSink(Channels.newChannel(bytes))) {
+                sink.log(custom);
+            }
+
+            List<CommandLogSink.Entry> entries = CommandLogSink.read(ByteBuffer.wrap(bytes.toByteArray()));
+            assertThat(entries).singleElement()
+                .extracting(CommandLogSink.Entry::description)
+                .isEqualTo("Shuffle initiative");
+        }
+
+        @Test
+        @DisplayName("Closed sink rejects further records")
+        void testClosedSink() {
+            CommandLogSink sink = new CommandLogSink(Channels.newChannel(new ByteArrayOutputStream()));
+            sink.close();
+
+            assertThatThrownBy(() -> sink.log(new AttackCommand(attacker, target)))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Multi-target Commands")
+    class MultiTargetTests {
+
+        /**
+         * A mixed crowd; every 5th member is wounded and every 9th is dead.
+         */
+        private List<Character> crowd(int size) {
+            CharacterType[] types = CharacterType.values();
+            List<Character> crowd = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Character character = CharacterFactory.createCharacter("P" + i, types[i % types.length]);
+                if (i % 5 == 0) {
+                    character.setHealth(20);
+                }
+                if (i % 9 == 0) {
+                    character.setHealth(0);
+                }
+                crowd.add(character);
+            }
+            return crowd;
+        }
+
+        private List<CharacterStats> statsOf(List<Character> characters) {
+            return characters.stream().map(Character::getStats).toList();
+        }
+
+        @Test
+        @DisplayName("Area attack deals what single attacks would, in serial and parallel runs")
+        void testAreaAttackMatchesSingleAttacks() {
+            for (int size : new int[] {10, 600}) {
+                for (CharacterType type : List.of(CharacterType.WARRIOR, CharacterType.ARCHER)) {
+                    Character boss = CharacterFactory.createCharacter("Boss", type);
+                    List<Character> hitTogether = crowd(size);
+                    List<Character> hitOneByOne = crowd(size);
+
+                    AreaAttackCommand area = new AreaAttackCommand(boss, hitTogether);
+                    area.execute();
+                    long expectedTotal = 0;
+                    for (Character target : hitOneByOne) {
+                        if (target.isAlive()) {
+                            AttackCommand single = new AttackCommand(boss, target);
+                            single.execute();
+                            expectedTotal += single.getDamageDealt();
+                        }
+                    }
+
+                    assertThat(statsOf(hitTogether)).isEqualTo(statsOf(hitOneByOne));
+                    assertThat(area.getTotalDamage()).isEqualTo(expectedTotal);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("A mage's area attack costs mana once, and undo refunds it")
+        void testAreaAttackManaAndUndo() {
+            Character mage = CharacterFactory.createMage("Mage");
+            List<Character> targets = crowd(300);
+            List<CharacterStats> before = statsOf(targets);
+            int manaBefore = mage.getStats().mana();
+
+            AreaAttackCommand area = new AreaAttackCommand(mage, targets);
+            area.execute();
+
+            assertThat(mage.getStats().mana()).isEqualTo(manaBefore - 10);
+            assertThat(area.getDamageDealt(0)).isZero();
+            assertThat(area.getDamageDealt(1)).isPositive();
+
+            area.undo();
+
+            assertThat(mage.getStats().mana()).isEqualTo(manaBefore);
+            assertThat(statsOf(targets)).isEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("Group heal skips the dead and undo restores every target")
+        void testGroupHeal() {
+            List<Character> targets = crowd(400);
+            List<CharacterStats> before = statsOf(targets);
+
+            GroupHealCommand heal = new GroupHealCommand(targets, 30);
+            heal.execute();
+
+            assertThat(targets.get(0).isDead()).isTrue();
+            assertThat(targets.get(5).getStats().health()).isEqualTo(50);
+            assertThat(targets.get(1).getStats().health()).isEqualTo(targets.get(1).getStats().maxHealth());
+            long expected = 0;
+            for (int i = 0; i < targets.size(); i++) {
+                expected += targets.get(i).getStats().health() - before.get(i).health();
+            }
+            assertThat(heal.getTotalHealing()).isEqualTo(expected);
+
+            heal.undo();
+
+            assertThat(statsOf(targets)).isEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("Checkpoints roll back multi-target commands through their snapshots")
+        void testRollback() {
+            CommandInvoker invoker = new CommandInvoker();
+            Character boss = CharacterFactory.createMage("Boss");
+            List<Character> raid = crowd(500);
+            List<CharacterStats> before = statsOf(raid);
+            CharacterStats bossBefore = boss.getStats();
+
+            CommandInvoker.Checkpoint checkpoint = invoker.mark();
+            invoker.executeCommand(new AreaAttackCommand(boss, raid));
+            invoker.executeCommand(new GroupHealCommand(raid, 15));
+            invoker.executeCommand(new AreaAttackCommand(boss, raid));
+            invoker.rollbackTo(checkpoint);
+
+            assertThat(statsOf(raid)).isEqualTo(before);
+            assertThat(boss.getStats()).isEqualTo(bossBefore);
+        }
+
+        @Test
+        @DisplayName("Multi-target commands need targets")
+        void testEmptyTargets() {
+            Character boss = CharacterFactory.createWarrior("Boss");
+
+            assertThatThrownBy(() -> new AreaAttackCommand(boss, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new GroupHealCommand(List.of(), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel Command Executor")
+    class ParallelExecutorTests {
+
+        private List<Character> roster(int size) {
+            CharacterType[] types = CharacterType.values();
+            List<Character> roster = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                roster.add(CharacterFactory.createCharacter("P" + i, types[i % types.length]));
+            }
+            return roster;
+        }
+
+        /**
+         * Random attacks and heals, with a command that throws at failAt
+         * (-1 for none) and an opaque command every barrierEvery commands.
+         */
+        private List<GameCommand> batch(List<Character> roster, int size, int failAt, int barrierEvery) {
+            SplittableRandom random = new SplittableRandom(17);
+            List<GameCommand> commands = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Character actor = roster.get(random.nextInt(roster.size()));
+                Character target = roster.get(random.nextInt(roster.size()));
+                if (i == failAt) {
+                    commands.add(new FailingCommand(target));
+                } else if (barrierEvery > 0 && i % barrierEvery == barrierEvery - 1) {
+                    commands.add(new HealAllCommand(roster));
+                } else if (random.nextInt(4) == 0) {
+                    commands.add(new HealCommand(target, 15));
+                } else {
+                    commands.add(new AttackCommand(actor, target));
+                }
+            }
+            return commands;
+        }
+
+        private List<CharacterStats> statsOf(List<Character> characters) {
+            return characters.stream().map(Character::getStats).toList();
+        }
+
+        private String historyOf(CommandInvoker invoker) {
+            StringBuilder out = new StringBuilder();
+            invoker.describeHistory(out);
+            return out.toString();
+        }
+
+        private void assertMatchesSequential(int failAt, int barrierEvery) {
+            List<Character> parallelRoster = roster(3000);
+            List<Character> sequentialRoster = roster(3000);
+            CommandInvoker parallelInvoker = new CommandInvoker();
+            CommandInvoker sequentialInvoker = new CommandInvoker();
+            ParallelCommandExecutor executor = new ParallelCommandExecutor(parallelInvoker);
+
+            RuntimeException parallelError = null;
+            RuntimeException sequentialError = null;
+            try {
+                executor.executeAll(batch(parallelRoster, 4000, failAt, barrierEvery));
+            } catch (RuntimeException e) {
+                parallelError = e;
+            }
+            try {
+                for (GameCommand command : batch(sequentialRoster, 4000, failAt, barrierEvery)) {
+                    sequentialInvoker.executeCommand(command);
+                }
+            } catch (RuntimeException e) {
+                sequentialError = e;
+            }
+
+            assertThat(statsOf(parallelRoster)).isEqualTo(statsOf(sequentialRoster));
+            assertThat(historyOf(parallelInvoker)).isEqualTo(historyOf(sequentialInvoker));
+            if (sequentialError == null) {
+                assertThat(parallelError).isNull();
+            } else {
+                assertThat(parallelError).hasMessage(sequentialError.getMessage());
+            }
+
+            // Undo order is the sequential one too
+            while (sequentialInvoker.hasCommandsToUndo()) {
+                parallelInvoker.undoLastCommand();
+                sequentialInvoker.undoLastCommand();
+            }
+            assertThat(statsOf(parallelRoster)).isEqualTo(statsOf(sequentialRoster));
+        }
+
+        @Test
+        @DisplayName("Matches sequential execution, history and undo")
+        void testMatchesSequential() {
+            assertMatchesSequential(-1, 0);
+        }
+
+        @Test
+        @DisplayName("Commands without affected characters act as barriers")
+        void testBarriers() {
+            assertMatchesSequential(-1, 500);
+
+            ParallelCommandExecutor executor = new ParallelCommandExecutor(new CommandInvoker());
+            executor.executeAll(batch(roster(3000), 4000, -1, 500));
+            assertThat(executor.getBarriers()).isEqualTo(8);
+            assertThat(executor.getCommandsExecuted()).isEqualTo(4000);
+        }
+
+        @Test
+        @DisplayName("A failing command leaves the state a sequential loop would")
+        void testFailure() {
+            assertMatchesSequential(1200, 0);
+            assertMatchesSequential(2, 700);
+        }
+
+        @Test
+        @DisplayName("A later failure that ran first is undone when an earlier one fails")
+        void testTwoFailures() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            Character rogue = CharacterFactory.createRogue("Rogue");
+            CharacterStats rogueBefore = rogue.getStats();
+            CommandInvoker invoker = new CommandInvoker();
+
+            // Fail on Rogue runs in the first wave; Fail on Mage waits for the attack
+            assertThatThrownBy(() -> new ParallelCommandExecutor(invoker).executeAll(List.of(
+                new AttackCommand(warrior, mage),
+                new FailingCommand(mage),
+                new FailingCommand(rogue))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Failed on Mage");
+
+            // Sequentially: the attack lands, Fail on Mage takes 5 HP and stops the batch
+            Character expectedMage = CharacterFactory.createMage("Mage");
+            new AttackCommand(CharacterFactory.createWarrior("Warrior"), expectedMage).execute();
+            expectedMage.setHealth(expectedMage.getStats().health() - 5);
+
+            assertThat(rogue.getStats()).isSameAs(rogueBefore);
+            assertThat(mage.getStats()).isEqualTo(expectedMage.getStats());
+            assertThat(invoker.getCommandHistory()).extracting(GameCommand::getDescription)
+                .containsExactly("Warrior attacks Mage");
+        }
+
+        @Test
+        @DisplayName("Pooled commands that fail or are discarded go back to the pool")
+        void testFailureReleasesPooled() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            Character rogue = CharacterFactory.createRogue("Rogue");
+            Character archer = CharacterFactory.createArcher("Archer");
+            Character knight = CharacterFactory.createWarrior("Knight");
+            Character squire = CharacterFactory.createWarrior("Squire");
+            mage.useMana(mage.getStats().mana() - 5);
+            CommandInvoker invoker = new CommandInvoker();
+
+            AttackCommand ok = CommandPool.acquireAttack(warrior, rogue);
+            AttackCommand outOfMana = CommandPool.acquireAttack(mage, archer);
+            AttackCommand neverRun = CommandPool.acquireAttack(rogue, archer);
+            AttackCommand discarded = CommandPool.acquireAttack(knight, squire);
+            int idleBefore = CommandPool.idleCount();
+
+            assertThatThrownBy(() -> new ParallelCommandExecutor(invoker)
+                .executeAll(List.of(ok, outOfMana, neverRun, discarded)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Not enough mana");
+
+            assertThat(invoker.getCommandHistory()).containsExactly(ok);
+            assertThat(ok.getAttacker()).isSameAs(warrior);
+            assertThat(List.of(outOfMana, neverRun, discarded)).allSatisfy(command ->
+                assertThat(command.getAttacker()).as("Released").isNull());
+            assertThat(CommandPool.idleCount()).isEqualTo(idleBefore + 3);
+        }
+
+        @Test
+        @DisplayName("Invokers with a listener are rejected before anything runs")
+        void testListenerRejected() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            CharacterStats mageBefore = mage.getStats();
+            CommandInvoker invoker = new CommandInvoker();
+            invoker.setListener(new CommandListener() {
+                @Override
+                public void executed(GameCommand command) {
+                }
+
+                @Override
+                public void undone(GameCommand command) {
+                }
+
+                @Override
+                public void rolledBack() {
+                }
+            });
+
+            assertThatThrownBy(() -> new ParallelCommandExecutor(invoker).executeAll(
+                List.of(new AttackCommand(warrior, mage))))
+                .isInstanceOf(IllegalStateException.class);
+            assertThat(mage.getStats()).isSameAs(mageBefore);
+            assertThat(invoker.hasCommandsToUndo()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Independent commands share a wave; dependent ones keep their order")
+        void testWaves() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            Character archer = CharacterFactory.createArcher("Archer");
+            Character rogue = CharacterFactory.createRogue("Rogue");
+            CommandInvoker invoker = new CommandInvoker();
+            ParallelCommandExecutor executor = new ParallelCommandExecutor(invoker);
+
+            executor.executeAll(List.of(
+                new AttackCommand(warrior, mage),
+                new AttackCommand(archer, rogue),
+                new HealCommand(mage, 10)));
+
+            assertThat(executor.getWavesExecuted()).isEqualTo(2);
+            assertThat(invoker.getCommandHistory()).extracting(GameCommand::getDescription)
+                .containsExactly("Warrior attacks Mage", "Archer attacks Rogue", "Heal Mage for 10 HP");
+        }
+
+        @Test
+        @DisplayName("Checkpoints see the batch like separate commands")
+        void testCheckpoint() {
+            List<Character> roster = roster(3000);
+            List<CharacterStats> before = statsOf(roster);
+            CommandInvoker invoker = new CommandInvoker();
+            CommandInvoker.Checkpoint checkpoint = invoker.mark();
+
+            new ParallelCommandExecutor(invoker).executeAll(batch(roster, 4000, -1, 0));
+            invoker.rollbackTo(checkpoint);
+
+            assertThat(statsOf(roster)).isEqualTo(before);
+        }
+    }
+
+    /**
+     * Takes 5 HP from its target, then throws.
+     */
+    private static final class FailingCommand implements GameCommand {
+        private final Character target;
+
+        private FailingCommand(Character target) {
+            this.target = target;
+        }
+
+        @Override
+        public void execute() {
+            target.setHealth(target.getStats().health() - 5);
+            throw new IllegalStateException("Failed on " + target.getName());
+        }
+
+        @Override
+        public void undo() {
+        }
+
+        @Override
+        public String getDescription() {
+            return "Fail on " + target.getName();
+        }
+
+        @Override
+        public List<Character> getAffectedCharacters() {
+            return List.of(target);
+        }
+    }
+
+    /**
+     * Heals every living character a little, without reporting them.
+     */
+    private static final class HealAllCommand implements GameCommand {
+        private final List<Character> roster;
+
+        private HealAllCommand(List<Character> roster) {
+            this.roster = roster;
+        }
+
+        @Override
+        public void execute() {
+            for (Character character : roster) {
+                if (character.isAlive()) {
+                    character.heal(1);
+                }
+            }
+        }
+
+        @Override
+        public void undo() {
+        }
+
+        @Override
+        public String getDescription() {
+            return "Heal everyone";
+        }
+    }
 }
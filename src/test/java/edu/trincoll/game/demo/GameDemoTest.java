@@ -1,12 +1,18 @@
 package edu.trincoll.game.demo;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class GameDemoTest {
 
@@ -38,4 +44,39 @@ class GameDemoTest {
             .as("demo output should highlight key collaboration moments")
             .contains("✓ Hero attacks Boss", "✓ Boss uses POWER ATTACK", "✓ Hero healed +25 HP");
     }
+
+    @Test
+    void transcriptMode_writesEveryBattleToFile(@TempDir Path dir) throws IOException {
+        Path transcript = dir.resolve("transcript.log");
+
+        GameDemo.main(new String[] {"--transcript", "20", transcript.toString()});
+
+        List<String> lines = Files.readAllLines(transcript);
+        assertThat(lines.stream().filter(line -> line.startsWith("Battle "))).hasSize(20);
+        assertThat(lines.stream().filter(line -> line.startsWith("  result: "))).hasSize(20);
+        assertThat(lines).anyMatch(line -> line.contains(" attacks "));
+    }
+
+    @Test
+    void transcriptMode_rejectsMissingBattleCount() {
+        assertThatThrownBy(() -> GameDemo.main(new String[] {"--transcript"}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void loadMode_printsThroughputReport() {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        PrintStream capturingStream = new PrintStream(capture, true, StandardCharsets.UTF_8);
+        try {
+            System.setOut(capturingStream);
+            GameDemo.main(new String[] {"--load", "--battles", "50", "--threads", "1", "--warmup", "0"});
+        } finally {
+            System.setOut(originalOut);
+            capturingStream.close();
+        }
+
+        assertThat(capture.toString(StandardCharsets.UTF_8))
+            .contains("Load run: 50 battles", "throughput:", "turn time:", "allocation:", "gc:");
+    }
 }
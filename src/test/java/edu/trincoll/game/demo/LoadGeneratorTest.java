@@ -0,0 +1,51 @@
+package edu.trincoll.game.demo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Load Generator Tests")
+class LoadGeneratorTest {
+
+    @Test
+    @DisplayName("Options keep defaults for anything omitted")
+    void testParseDefaults() {
+        LoadOptions options = LoadOptions.parse(new String[] {"--load", "--battles", "500", "--threads", "2"});
+
+        assertThat(options.battles()).isEqualTo(500);
+        assertThat(options.threads()).isEqualTo(2);
+        assertThat(options.rosterSize()).isEqualTo(LoadOptions.defaults().rosterSize());
+        assertThat(options.turnLimit()).isEqualTo(LoadOptions.defaults().turnLimit());
+    }
+
+    @Test
+    @DisplayName("Bad options are rejected")
+    void testParseErrors() {
+        assertThatThrownBy(() -> LoadOptions.parse(new String[] {"--speed", "9"}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("--speed");
+        assertThatThrownBy(() -> LoadOptions.parse(new String[] {"--battles"}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadOptions.parse(new String[] {"--threads", "many"}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadOptions.parse(new String[] {"--roster", "0"}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Run plays every battle and reports consistent metrics")
+    void testRun() {
+        LoadOptions options = new LoadOptions(200, 2, 3, 200, 20, 7L);
+
+        LoadGenerator.Report report = LoadGenerator.run(options);
+
+        assertThat(report.battles()).isEqualTo(200);
+        assertThat(report.turns()).isGreaterThanOrEqualTo(200);
+        assertThat(report.commands()).isPositive();
+        assertThat(report.p50Nanos()).isLessThanOrEqualTo(report.p99Nanos());
+        assertThat(report.p99Nanos()).isLessThanOrEqualTo(report.maxNanos());
+        assertThat(report.turnsPerSecond()).isPositive();
+        assertThat(report.format()).contains("200 battles", "turns/s", "p99", "gc:");
+    }
+}
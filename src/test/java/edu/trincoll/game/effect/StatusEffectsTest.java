@@ -0,0 +1,297 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.StandardBattleSequence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Status Effect Tests")
+class StatusEffectsTest {
+
+    private Character warrior;
+    private Character mage;
+
+    @BeforeEach
+    void setUp() {
+        warrior = CharacterFactory.createWarrior("Warrior");
+        mage = CharacterFactory.createMage("Mage");
+    }
+
+    @Nested
+    @DisplayName("Effect ticks")
+    class TickTests {
+
+        @Test
+        @DisplayName("Damage over time ticks every turn and ignores defense")
+        void testDamageOverTime() {
+            StatusEffects effects = new StatusEffects();
+            effects.apply(warrior, EffectType.DAMAGE_OVER_TIME, 10, 3);
+
+            effects.advance(5);
+
+            assertThat(warrior.getStats().health()).isEqualTo(120);
+            assertThat(effects.getActiveCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Heal and mana regen are capped at their maximums")
+        void testHealAndRegen() {
+            StatusEffects effects = new StatusEffects();
+            warrior.setHealth(100);
+            mage.useMana(50);
+            effects.apply(warrior, EffectType.HEAL_OVER_TIME, 20, 5);
+            effects.apply(mage, EffectType.MANA_REGEN, 15, 2);
+
+            effects.advance(5);
+
+            assertThat(warrior.getStats().health()).isEqualTo(warrior.getStats().maxHealth());
+            assertThat(mage.getStats().mana()).isEqualTo(80);
+        }
+
+        @Test
+        @DisplayName("Custom periods tick every N turns")
+        void testCustomPeriod() {
+            StatusEffects effects = new StatusEffects();
+            effects.apply(warrior, EffectType.DAMAGE_OVER_TIME, 5, 9, 3);
+
+            effects.advance(2);
+            assertThat(warrior.getStats().health()).isEqualTo(150);
+            effects.advance(7);
+
+            assertThat(warrior.getStats().health()).isEqualTo(135);
+        }
+
+        @Test
+        @DisplayName("Dead characters don't tick")
+        void testNoTicksOnDead() {
+            StatusEffects effects = new StatusEffects();
+            warrior.setHealth(0);
+            effects.apply(warrior, EffectType.HEAL_OVER_TIME, 20, 3);
+
+            effects.advance(3);
+
+            assertThat(warrior.isDead()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Effect lifecycle")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Stuns and buffs apply at once and revert on expiry")
+        void testStunAndBuff() {
+            StatusEffects effects = new StatusEffects();
+            int baseAttack = warrior.getStats().attackPower();
+            effects.apply(warrior, EffectType.STUN, 0, 2);
+            effects.apply(warrior, EffectType.ATTACK_BUFF, 15, 3);
+
+            assertThat(effects.isStunned(warrior)).isTrue();
+            assertThat(warrior.getStats().attackPower()).isEqualTo(baseAttack + 15);
+
+            effects.advance(2);
+            assertThat(effects.isStunned(warrior)).isFalse();
+            assertThat(effects.effectCount(warrior)).isEqualTo(1);
+
+            effects.advance();
+            assertThat(warrior.getStats().attackPower()).isEqualTo(baseAttack);
+        }
+
+        @Test
+        @DisplayName("Cancelled effects revert and their handles go stale")
+        void testCancel() {
+            StatusEffects effects = new StatusEffects();
+            long stun = effects.apply(mage, EffectType.STUN, 0, 10);
+
+            assertThat(effects.cancel(stun)).isTrue();
+
+            assertThat(effects.isStunned(mage)).isFalse();
+            assertThat(effects.cancel(stun)).isFalse();
+            assertThat(effects.remainingTurns(stun)).isZero();
+        }
+
+        @Test
+        @DisplayName("Long effects cascade through every wheel level")
+        void testLongDurations() {
+            StatusEffects effects = new StatusEffects();
+            long[] handles = new long[4];
+            int[] durations = {63, 64, 4_097, 300_000};
+            for (int i = 0; i < durations.length; i++) {
+                handles[i] = effects.apply(warrior, EffectType.STUN, 0, durations[i]);
+            }
+
+            int turn = 0;
+            for (int i = 0; i < durations.length; i++) {
+                effects.advance(durations[i] - 1 - turn);
+                turn = durations[i] - 1;
+                assertThat(effects.remainingTurns(handles[i])).as("duration %d", durations[i]).isEqualTo(1);
+                effects.advance();
+                turn++;
+                assertThat(effects.remainingTurns(handles[i])).isZero();
+            }
+            assertThat(effects.isStunned(warrior)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Expired slots are reused instead of growing storage")
+        void testSlotReuse() {
+            StatusEffects effects = new StatusEffects(8, 0);
+
+            for (int turn = 0; turn < 10_000; turn++) {
+                effects.apply(warrior, EffectType.STUN, 0, 4);
+                effects.advance();
+            }
+
+            assertThat(effects.getActiveCount()).isEqualTo(3);
+            assertThat(effects.getCapacity()).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Characters whose effects have all ended free their owner ids")
+        void testOwnerReuse() {
+            StatusEffects effects = new StatusEffects(8, 2);
+
+            for (int i = 0; i < 1_000; i++) {
+                Character passerby = CharacterFactory.createRogue("Passerby" + i);
+                long stun = effects.apply(passerby, EffectType.STUN, 0, 2);
+                effects.apply(passerby, EffectType.DAMAGE_OVER_TIME, 1, 1);
+                if (i % 2 == 0) {
+                    effects.cancel(stun);
+                }
+                effects.advance();
+            }
+            effects.advance(3);
+
+            assertThat(effects.getActiveCount()).isZero();
+            assertThat(effects.getOwnerCapacity()).isLessThanOrEqualTo(8);
+
+            // A recycled id starts clean
+            effects.apply(mage, EffectType.DAMAGE_OVER_TIME, 1, 3);
+            assertThat(effects.isStunned(mage)).isFalse();
+            assertThat(effects.effectCount(mage)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Invalid effects are rejected")
+        void testValidation() {
+            StatusEffects effects = new StatusEffects();
+
+            assertThatThrownBy(() -> effects.apply(warrior, EffectType.STUN, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> effects.apply(warrior, EffectType.STUN, 0, 3, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> effects.apply(warrior, EffectType.DAMAGE_OVER_TIME, 5, 3, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> effects.apply(null, EffectType.STUN, 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Undo")
+    class UndoTests {
+
+        @Test
+        @DisplayName("Undoing ticks restores stats, expired effects and the clock")
+        void testUndoAdvance() {
+            StatusEffects effects = new StatusEffects(16, 4);
+            int baseAttack = warrior.getStats().attackPower();
+            long dot = effects.apply(warrior, EffectType.DAMAGE_OVER_TIME, 10, 2);
+            effects.apply(warrior, EffectType.ATTACK_BUFF, 5, 1);
+            effects.apply(warrior, EffectType.STUN, 0, 1);
+
+            effects.advance(2);
+            assertThat(effects.getActiveCount()).isZero();
+
+            effects.undoAdvance();
+            effects.undoAdvance();
+
+            assertThat(effects.getTurn()).isZero();
+            assertThat(warrior.getStats().health()).isEqualTo(150);
+            assertThat(warrior.getStats().attackPower()).isEqualTo(baseAttack + 5);
+            assertThat(effects.isStunned(warrior)).isTrue();
+            assertThat(effects.remainingTurns(dot)).as("Same handle is revived").isEqualTo(2);
+
+            effects.advance(2);
+            assertThat(warrior.getStats().health()).isEqualTo(130);
+        }
+
+        @Test
+        @DisplayName("Only the configured number of advances can be undone")
+        void testUndoDepth() {
+            StatusEffects effects = new StatusEffects(16, 2);
+            effects.advance(3);
+
+            effects.undoAdvance();
+            effects.undoAdvance();
+
+            assertThatThrownBy(effects::undoAdvance).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Effect commands undo through the invoker")
+        void testCommands() {
+            StatusEffects effects = new StatusEffects(16, 8);
+            CommandInvoker invoker = new CommandInvoker();
+            CommandInvoker.Checkpoint start = invoker.mark();
+
+            invoker.executeCommand(new ApplyEffectCommand(effects, warrior, EffectType.DAMAGE_OVER_TIME, 10, 3));
+            invoker.executeCommand(new ApplyEffectCommand(effects, warrior, EffectType.STUN, 0, 1));
+            invoker.executeCommand(new EffectTickCommand(effects));
+            invoker.executeCommand(new EffectTickCommand(effects));
+            assertThat(warrior.getStats().health()).isEqualTo(130);
+
+            invoker.rollbackTo(start);
+
+            assertThat(warrior.getStats().health()).isEqualTo(150);
+            assertThat(effects.getActiveCount()).isZero();
+            assertThat(effects.getTurn()).isZero();
+            assertThatThrownBy(() -> new EffectTickCommand(new StatusEffects()))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Battle sequence integration")
+    class BattleSequenceTests {
+
+        @Test
+        @DisplayName("Stunned attackers skip their attack while effects still tick")
+        void testStunSkipsAttack() {
+            StatusEffects effects = new StatusEffects();
+            effects.apply(warrior, EffectType.STUN, 0, 2);
+            effects.apply(warrior, EffectType.DAMAGE_OVER_TIME, 5, 5);
+            StandardBattleSequence turn = new StandardBattleSequence(warrior, mage);
+            turn.withStatusEffects(effects);
+
+            turn.executeTurn();
+
+            assertThat(mage.getStats().health()).isEqualTo(mage.getStats().maxHealth());
+            assertThat(warrior.getStats().health()).isEqualTo(145);
+
+            turn.executeTurn();
+            assertThat(mage.getStats().health()).isLessThan(mage.getStats().maxHealth());
+        }
+
+        @Test
+        @DisplayName("Effects on characters killed during the turn are cleared")
+        void testDeadCleared() {
+            StatusEffects effects = new StatusEffects();
+            mage.setHealth(1);
+            effects.apply(mage, EffectType.HEAL_OVER_TIME, 10, 5);
+            StandardBattleSequence turn = new StandardBattleSequence(warrior, mage);
+            turn.withStatusEffects(effects);
+
+            turn.executeTurn();
+
+            assertThat(mage.isDead()).isTrue();
+            assertThat(effects.effectCount(mage)).isZero();
+        }
+    }
+}
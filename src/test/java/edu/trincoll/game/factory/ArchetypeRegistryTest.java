@@ -0,0 +1,135 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Archetype Registry Tests")
+class ArchetypeRegistryTest {
+
+    private static String defaultConfig() throws IOException {
+        try (InputStream in = ArchetypeRegistryTest.class.getResourceAsStream("/archetypes.properties")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("Default archetypes match the documented stats")
+    void testDefaultArchetypes() {
+        Archetype warrior = ArchetypeRegistry.getDefault().get(CharacterType.WARRIOR);
+
+        assertThat(warrior.stats().maxHealth()).isEqualTo(150);
+        assertThat(warrior.stats().attackPower()).isEqualTo(40);
+        assertThat(warrior.stats().defense()).isEqualTo(30);
+        assertThat(warrior.defenseStrategy()).isInstanceOf(HeavyArmorDefenseStrategy.class);
+        assertThat(ArchetypeRegistry.getDefault().get(CharacterType.ARCHER).attackStrategy())
+            .isInstanceOf(RangedAttackStrategy.class);
+    }
+
+    @Test
+    @DisplayName("Archetypes reject blank names like the builder does")
+    void testBlankName() {
+        Archetype mage = ArchetypeRegistry.getDefault().get(CharacterType.MAGE);
+
+        assertThatThrownBy(() -> mage.create(" "))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("name");
+    }
+
+    @Test
+    @DisplayName("Reload swaps every archetype at once")
+    void testReload() throws IOException {
+        ArchetypeRegistry registry = ArchetypeRegistry.fromProperties(load(defaultConfig()));
+
+        registry.reload(load(defaultConfig().replace("rogue.stats=90, 55", "rogue.stats=95, 60")));
+        Character rogue = registry.get(CharacterType.ROGUE).create("Rogue");
+
+        assertThat(rogue.getStats().maxHealth()).isEqualTo(95);
+        assertThat(rogue.getStats().attackPower()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Invalid config is rejected and the previous archetypes kept")
+    void testInvalidReload() throws IOException {
+        ArchetypeRegistry registry = ArchetypeRegistry.fromProperties(load(defaultConfig()));
+
+        assertThatThrownBy(() -> registry.reload(load(defaultConfig().replace("mage.attack=MAGIC", "mage.attack=LASER"))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("MAGE");
+        assertThatThrownBy(() -> registry.reload(load("warrior.stats=1, 2")))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.get(CharacterType.MAGE).stats().maxMana()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Watcher reloads the registry when the file changes")
+    void testHotReload(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("archetypes.properties");
+        Files.writeString(file, defaultConfig());
+        ArchetypeRegistry registry = ArchetypeRegistry.fromFile(file);
+
+        try (ArchetypeWatcher watcher = registry.watch(file)) {
+            Path staged = dir.resolve("staged.tmp");
+            Files.writeString(staged, defaultConfig().replace("warrior.stats=150", "warrior.stats=200"));
+            Files.move(staged, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (registry.get(CharacterType.WARRIOR).stats().maxHealth() != 200
+                && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertThat(registry.get(CharacterType.WARRIOR).stats().maxHealth()).isEqualTo(200);
+            assertThat(watcher.getReloadCount()).isPositive();
+        }
+    }
+
+    @Test
+    @DisplayName("Watcher passes failed reloads to the callback and keeps the old table")
+    void testFailedReload(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("archetypes.properties");
+        Files.writeString(file, defaultConfig());
+        ArchetypeRegistry registry = ArchetypeRegistry.fromFile(file);
+        List<RuntimeException> reported = new CopyOnWriteArrayList<>();
+
+        try (ArchetypeWatcher watcher = registry.watch(file, reported::add)) {
+            Path staged = dir.resolve("staged.tmp");
+            Files.writeString(staged, defaultConfig().replace("mage.attack=MAGIC", "mage.attack=LASER"));
+            Files.move(staged, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (watcher.getFailureCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertThat(watcher.getFailureCount()).isPositive();
+            assertThat(reported).isNotEmpty().first().isSameAs(watcher.getLastFailure());
+            assertThat(watcher.getLastFailure()).isInstanceOf(IllegalArgumentException.class);
+            assertThat(registry.get(CharacterType.MAGE).stats().maxMana()).isEqualTo(100);
+        }
+    }
+
+    private static Properties load(String text) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(text));
+        return properties;
+    }
+}
@@ -157,4 +157,62 @@ class FactoryPatternTest {
             assertThat(CharacterFactory.createCharacter("Test", CharacterType.ROGUE)).isNotNull();
         }
     }
+
+    @Nested
+    @DisplayName("Prototype Spawning")
+    class PrototypeSpawningTests {
+
+        @Test
+        @DisplayName("Spawned character copies the prototype's state")
+        void testSpawnCopiesPrototype() {
+            Character prototype = CharacterFactory.createMage("Template");
+            prototype.takeDamage(20);
+
+            Character spawned = CharacterFactory.spawn(prototype, "Clone");
+
+            assertThat(spawned.getName()).isEqualTo("Clone");
+            assertThat(spawned.getType()).isEqualTo(CharacterType.MAGE);
+            assertThat(spawned.getStats()).isEqualTo(prototype.getStats());
+            assertThat(spawned.getAttackStrategy()).isSameAs(prototype.getAttackStrategy());
+        }
+
+        @Test
+        @DisplayName("Spawned characters change independently of the prototype")
+        void testSpawnIsIndependent() {
+            Character prototype = CharacterFactory.createWarrior("Template");
+            Character spawned = CharacterFactory.spawn(prototype, "Clone");
+
+            spawned.takeDamage(50);
+            spawned.setAttackStrategy(new MagicAttackStrategy());
+
+            assertThat(prototype.getStats().health()).isEqualTo(150);
+            assertThat(prototype.getAttackStrategy()).isInstanceOf(MeleeAttackStrategy.class);
+        }
+
+        @Test
+        @DisplayName("Bulk spawn fills one character per name, in order")
+        void testSpawnAll() {
+            Character prototype = CharacterFactory.createRogue("Goblin");
+            String[] names = new String[100_000];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = "Goblin" + i;
+            }
+
+            Character[] wave = CharacterFactory.spawnAll(prototype, names);
+
+            assertThat(wave).hasSize(100_000);
+            assertThat(wave[0].getName()).isEqualTo("Goblin0");
+            assertThat(wave[99_999].getName()).isEqualTo("Goblin99999");
+            assertThat(wave[500].getStats()).isEqualTo(prototype.getStats());
+        }
+
+        @Test
+        @DisplayName("Spawn still requires a name")
+        void testSpawnNullName() {
+            Character prototype = CharacterFactory.createArcher("Template");
+
+            assertThatThrownBy(() -> CharacterFactory.spawn(prototype, null))
+                .isInstanceOf(NullPointerException.class);
+        }
+    }
 }
@@ -0,0 +1,178 @@
+package edu.trincoll.game.log;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Game Event Logger Tests")
+class GameEventLoggerTest {
+
+    private static String written(ByteArrayOutputStream bytes) {
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Writing")
+    class WritingTests {
+
+        @Test
+        @DisplayName("Lines from one thread are written in order with UTF-8")
+        void testSingleProducerOrder() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            StringBuilder line = new StringBuilder();
+
+            try (GameEventLogger logger = new GameEventLogger(Channels.newChannel(bytes), 8,
+                    GameEventLogger.OverflowPolicy.BLOCK)) {
+                for (int i = 0; i < 100; i++) {
+                    line.setLength(0);
+                    line.append("✓ event ").append(i);
+                    logger.log(line);
+                }
+            }
+
+            List<String> lines = written(bytes).lines().toList();
+            assertThat(lines).hasSize(100);
+            assertThat(lines.get(0)).isEqualTo("✓ event 0");
+            assertThat(lines.get(99)).isEqualTo("✓ event 99");
+        }
+
+        @Test
+        @DisplayName("BLOCK policy writes every line from concurrent producers")
+        void testConcurrentProducers() throws InterruptedException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            int threads = 4;
+            int perThread = 5_000;
+
+            try (GameEventLogger logger = new GameEventLogger(Channels.newChannel(bytes), 64,
+                    GameEventLogger.OverflowPolicy.BLOCK)) {
+                List<Thread> producers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int id = t;
+                    Thread producer = new Thread(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            logger.log(id + ":" + i);
+                        }
+                    });
+                    producer.start();
+                    producers.add(producer);
+                }
+                for (Thread producer : producers) {
+                    producer.join();
+                }
+            }
+
+            Set<String> lines = new HashSet<>(written(bytes).lines().toList());
+            assertThat(lines).hasSize(threads * perThread).contains("0:0", "3:4999");
+        }
+
+        @Test
+        @DisplayName("Logger opened on a file writes it and closes it")
+        void testFileLogger(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("events.log");
+
+            try (GameEventLogger logger = GameEventLogger.toFile(file, 16,
+                    GameEventLogger.OverflowPolicy.BLOCK)) {
+                logger.log("Hero attacks Boss");
+                logger.log("Boss wins");
+            }
+
+            assertThat(Files.readAllLines(file)).containsExactly("Hero attacks Boss", "Boss wins");
+        }
+    }
+
+    @Nested
+    @DisplayName("Overload and lifecycle")
+    class OverloadTests {
+
+        @Test
+        @DisplayName("DROP policy discards lines when the writer falls behind")
+        void testDropPolicy() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            WritableByteChannel slow = new WritableByteChannel() {
+                private final WritableByteChannel delegate = Channels.newChannel(bytes);
+
+                @Override
+                public int write(ByteBuffer src) throws IOException {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return delegate.write(src);
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            int accepted = 0;
+            int attempts = 10_000;
+
+            GameEventLogger logger = new GameEventLogger(slow, 4, GameEventLogger.OverflowPolicy.DROP);
+            try (logger) {
+                for (int i = 0; i < attempts; i++) {
+                    if (logger.log("line " + i)) {
+                        accepted++;
+                    }
+                }
+            }
+
+            assertThat(logger.getDroppedCount()).isPositive();
+            assertThat(accepted + logger.getDroppedCount()).isEqualTo(attempts);
+            assertThat(written(bytes).lines()).hasSize(accepted);
+        }
+
+        @Test
+        @DisplayName("Capacity is rounded up to a power of two")
+        void testCapacityRounding() {
+            try (GameEventLogger logger = new GameEventLogger(
+                    Channels.newChannel(new ByteArrayOutputStream()), 100,
+                    GameEventLogger.OverflowPolicy.DROP)) {
+                assertThat(logger.getCapacity()).isEqualTo(128);
+            }
+        }
+
+        @Test
+        @DisplayName("Closed logger rejects lines")
+        void testClosedLogger() {
+            GameEventLogger logger = new GameEventLogger(
+                Channels.newChannel(new ByteArrayOutputStream()), 8, GameEventLogger.OverflowPolicy.BLOCK);
+            logger.close();
+
+            assertThatThrownBy(() -> logger.log("late"))
+                .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Invalid configuration is rejected")
+        void testInvalidConfiguration() {
+            WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+
+            assertThatThrownBy(() -> new GameEventLogger(channel, 0, GameEventLogger.OverflowPolicy.DROP))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new GameEventLogger(channel, 8, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
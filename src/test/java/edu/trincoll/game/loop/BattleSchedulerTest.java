@@ -0,0 +1,142 @@
+package edu.trincoll.game.loop;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Battle Scheduler Tests")
+class BattleSchedulerTest {
+
+    private static final int BATTLES = 2_000;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutDown() {
+        pool.shutdownNow();
+    }
+
+    private static List<Character[]> pairs() {
+        List<Character[]> pairs = new ArrayList<>();
+        for (int i = 0; i < BATTLES; i++) {
+            pairs.add(new Character[] {
+                i % 2 == 0 ? CharacterFactory.createWarrior("Warrior " + i) : CharacterFactory.createArcher("Archer " + i),
+                i % 3 == 0 ? CharacterFactory.createMage("Mage " + i) : CharacterFactory.createRogue("Rogue " + i)
+            });
+        }
+        return pairs;
+    }
+
+    private static List<CharacterStats> statsOf(List<Character[]> pairs) {
+        List<CharacterStats> stats = new ArrayList<>();
+        for (Character[] pair : pairs) {
+            stats.add(pair[0].getStats());
+            stats.add(pair[1].getStats());
+        }
+        return stats;
+    }
+
+    @Test
+    @DisplayName("Parallel ticks end every battle exactly as sequential turns do")
+    void testMatchesSequential() {
+        List<Character[]> parallel = pairs();
+        BattleScheduler scheduler = BattleScheduler.builder().pool(pool).build();
+        for (Character[] pair : parallel) {
+            scheduler.add(new StandardBattleSequence(pair[0], pair[1]));
+        }
+        int ticks = 0;
+        do {
+            scheduler.runTick();
+            ticks++;
+        } while (scheduler.getActiveBattles() > 0);
+
+        List<Character[]> sequential = pairs();
+        List<BattleSequence> battles = new ArrayList<>();
+        for (Character[] pair : sequential) {
+            battles.add(new StandardBattleSequence(pair[0], pair[1]));
+        }
+        for (int tick = 0; tick < ticks; tick++) {
+            Iterator<BattleSequence> it = battles.iterator();
+            while (it.hasNext()) {
+                BattleSequence battle = it.next();
+                battle.executeTurn();
+                if (battle.getAttacker().isDead() || battle.getDefender().isDead()) {
+                    it.remove();
+                }
+            }
+        }
+
+        assertThat(battles).isEmpty();
+        assertThat(statsOf(parallel)).isEqualTo(statsOf(sequential));
+        assertThat(scheduler.getFinishedBattles()).isEqualTo(BATTLES);
+        assertThat(scheduler.getTicks()).isEqualTo(ticks);
+    }
+
+    @Test
+    @DisplayName("Battles are spread evenly over the partitions")
+    void testPartitioning() {
+        BattleScheduler scheduler = BattleScheduler.builder().pool(pool).partitions(8).build();
+        for (int i = 0; i < 80; i++) {
+            scheduler.add(new StandardBattleSequence(
+                CharacterFactory.createWarrior("Warrior " + i), CharacterFactory.createWarrior("Guard " + i)));
+        }
+        assertThat(scheduler.getActiveBattles()).isZero();
+
+        assertThat(scheduler.runTick()).isEqualTo(80);
+        assertThat(scheduler.getPartitionSizes()).hasSize(8).containsOnly(10);
+    }
+
+    @Test
+    @DisplayName("A character can only be in one battle at a time")
+    void testSharedCharacters() {
+        BattleScheduler scheduler = BattleScheduler.builder().pool(pool).build();
+        Character warrior = CharacterFactory.createWarrior("Warrior");
+        Character mage = CharacterFactory.createMage("Mage");
+        scheduler.add(new StandardBattleSequence(warrior, mage));
+
+        assertThatThrownBy(() -> scheduler.add(new StandardBattleSequence(CharacterFactory.createRogue("Rogue"), mage)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Mage");
+        assertThatThrownBy(() -> scheduler.add(new StandardBattleSequence(warrior, warrior)))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        while (scheduler.getFinishedBattles() == 0) {
+            scheduler.runTick();
+        }
+        // Once the battle is over, the winner is free to fight again
+        Character winner = warrior.isAlive() ? warrior : mage;
+        assertThatCode(() -> scheduler.add(new StandardBattleSequence(winner, CharacterFactory.createRogue("Rogue"))))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("A battle whose turn throws is dropped and counted")
+    void testFailingBattle() {
+        BattleScheduler scheduler = BattleScheduler.builder().pool(pool).build();
+        scheduler.add(new StandardBattleSequence(
+            CharacterFactory.createWarrior("Warrior"), CharacterFactory.createMage("Mage")) {
+            @Override
+            protected void performAttack() {
+                throw new IllegalStateException("Broken turn");
+            }
+        });
+
+        scheduler.runTick();
+
+        assertThat(scheduler.getFailures()).isEqualTo(1);
+        assertThat(scheduler.getActiveBattles()).isZero();
+        assertThat(scheduler.getFinishedBattles()).isEqualTo(1);
+    }
+}
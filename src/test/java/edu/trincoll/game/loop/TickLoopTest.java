@@ -0,0 +1,180 @@
+package edu.trincoll.game.loop;
+
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.StandardBattleSequence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tick Loop Tests")
+class TickLoopTest {
+
+    /**
+     * Appends its label to a shared list when executed.
+     */
+    private record Note(List<String> seen, String label) implements GameCommand {
+        @Override
+        public void execute() {
+            seen.add(label);
+        }
+
+        @Override
+        public void undo() {
+        }
+
+        @Override
+        public String getDescription() {
+            return label;
+        }
+    }
+
+    @Nested
+    @DisplayName("Single ticks")
+    class TickTests {
+
+        @Test
+        @DisplayName("Queued commands run before due turns, in submission order")
+        void testOrder() {
+            TickLoop loop = TickLoop.builder().build();
+            List<String> seen = new ArrayList<>();
+            loop.schedule(() -> seen.add("turn"), 1);
+            loop.submit(new Note(seen, "first"));
+            loop.submit(new Note(seen, "second"));
+
+            loop.runTick();
+
+            assertThat(seen).containsExactly("first", "second", "turn");
+            assertThat(loop.getStats().commands()).isEqualTo(2);
+            assertThat(loop.getStats().turns()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Work past the budget is deferred to later ticks")
+        void testBudget() {
+            TickLoop loop = TickLoop.builder().budget(Duration.ofNanos(1)).build();
+            List<String> seen = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                loop.submit(new Note(seen, "c" + i));
+            }
+            TickLoop.Scheduled turn = loop.schedule(() -> seen.add("turn"), 1);
+
+            loop.runTick();
+            assertThat(seen).containsExactly("c0");
+
+            for (int i = 0; i < 4; i++) {
+                loop.runTick();
+            }
+            // A deferred turn runs once when it gets its slot, not once per missed tick
+            assertThat(seen).containsExactly("c0", "c1", "c2", "turn", "turn");
+            assertThat(turn.getRuns()).isEqualTo(2);
+            assertThat(loop.getStats().deferredTicks()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Tasks run every N ticks until cancelled")
+        void testSchedule() {
+            TickLoop loop = TickLoop.builder().build();
+            TickLoop.Scheduled everyThird = loop.schedule(() -> { }, 3);
+
+            for (int i = 0; i < 9; i++) {
+                loop.runTick();
+            }
+            assertThat(everyThird.getRuns()).isEqualTo(3);
+
+            everyThird.cancel();
+            for (int i = 0; i < 9; i++) {
+                loop.runTick();
+            }
+            assertThat(everyThird.getRuns()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Scheduled turns stop once the battle is decided")
+        void testScheduledTurns() {
+            TickLoop loop = TickLoop.builder().build();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            TickLoop.Scheduled turns = loop.scheduleTurns(new StandardBattleSequence(warrior, mage), 1);
+
+            for (int i = 0; i < 50 && !turns.isCancelled(); i++) {
+                loop.runTick();
+            }
+
+            assertThat(mage.isDead()).isTrue();
+            assertThat(turns.isCancelled()).isTrue();
+        }
+
+        @Test
+        @DisplayName("A failing command is counted and the tick carries on")
+        void testFailure() {
+            TickLoop loop = TickLoop.builder().build();
+            CommandInvoker invoker = new CommandInvoker();
+            Character target = CharacterFactory.createWarrior("Target");
+            target.setHealth(50);
+            loop.submit(invoker, new GameCommand() {
+                @Override
+                public void execute() {
+                    throw new IllegalStateException("Not enough mana");
+                }
+
+                @Override
+                public void undo() {
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Broken";
+                }
+            });
+            loop.submit(invoker, new HealCommand(target, 10));
+
+            loop.runTick();
+
+            assertThat(loop.getStats().failures()).isEqualTo(1);
+            assertThat(target.getStats().health()).isEqualTo(60);
+            assertThat(invoker.getCommandHistory()).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("A started loop ticks on its own thread")
+    void testRunning() throws InterruptedException {
+        TickLoop loop = TickLoop.builder().ticksPerSecond(50).build();
+        List<String> seen = new ArrayList<>();
+        loop.submit(new Note(seen, "command"));
+        loop.start();
+        try {
+            Thread.sleep(300);
+            assertThatThrownBy(loop::runTick).isInstanceOf(IllegalStateException.class);
+        } finally {
+            loop.close();
+        }
+
+        TickStats stats = loop.getStats();
+        assertThat(stats.ticks()).isBetween(3L, 30L);
+        assertThat(stats.commands()).isEqualTo(1);
+        assertThat(stats.p99Nanos()).isLessThanOrEqualTo(stats.maxNanos());
+        assertThat(seen).containsExactly("command");
+    }
+
+    @Test
+    @DisplayName("Rates and budgets are validated")
+    void testValidation() {
+        assertThatThrownBy(() -> TickLoop.builder().ticksPerSecond(0).build())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TickLoop.builder().budget(Duration.ZERO).build())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TickLoop.builder().build().schedule(() -> { }, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package edu.trincoll.game.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Latency Histogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Small values are counted exactly")
+    void testExactSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.percentile(50)).isEqualTo(50);
+        assertThat(histogram.percentile(99)).isEqualTo(99);
+        assertThat(histogram.percentile(100)).isEqualTo(100);
+        assertThat(histogram.getMean()).isEqualTo(50.5);
+    }
+
+    @Test
+    @DisplayName("Large values are reported within bucket precision")
+    void testRelativePrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1_000; value <= 1_000_000; value += 1_000) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.percentile(50)).isCloseTo(500_000, withinPercentage(2));
+        assertThat(histogram.percentile(99)).isCloseTo(990_000, withinPercentage(2));
+        assertThat(histogram.percentile(100)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    @DisplayName("Bucket boundaries are contiguous")
+    void testBucketsContiguous() {
+        for (long value : new long[] {127, 128, 255, 256, 1L << 40, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Merging combines counts and maxima")
+    void testMerge() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(20);
+        second.record(-5);
+
+        first.merge(second);
+
+        assertThat(first.getCount()).isEqualTo(3);
+        assertThat(first.getMax()).isEqualTo(20);
+        assertThat(first.percentile(1)).as("Negative values count as zero").isZero();
+    }
+
+    @Test
+    @DisplayName("Empty and reset histograms report zero")
+    void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.percentile(99)).isZero();
+
+        histogram.record(1_000);
+        histogram.reset();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.percentile(50)).isZero();
+        assertThatThrownBy(() -> histogram.percentile(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,205 @@
+package edu.trincoll.game.regen;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Regeneration Tests")
+class RegenEngineTest {
+
+    private RegenEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = RegenEngine.withDefaults();
+    }
+
+    private static List<Character> hurtCrowd(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        CharacterType[] types = CharacterType.values();
+        List<Character> crowd = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CharacterType type = types[random.nextInt(types.length)];
+            Character character = CharacterFactory.createCharacter("C" + i, type);
+            int roll = random.nextInt(4);
+            if (roll == 0) {
+                character.setHealth(0);
+            } else if (roll > 1) {
+                character.setHealth(random.nextInt(1, character.getStats().maxHealth()));
+                character.useMana(random.nextInt(character.getStats().mana() + 1));
+            }
+            crowd.add(character);
+        }
+        return crowd;
+    }
+
+    @Nested
+    @DisplayName("Character lists")
+    class ListTests {
+
+        @Test
+        @DisplayName("Living characters regain health and mana at their type's rate")
+        void testRegenerate() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            warrior.setHealth(100);
+            mage.setHealth(50);
+            mage.useMana(60);
+
+            int changed = engine.regenerate(List.of(warrior, mage));
+
+            assertThat(changed).isEqualTo(2);
+            assertThat(warrior.getStats().health()).isEqualTo(103);
+            assertThat(mage.getStats().health()).isEqualTo(51);
+            assertThat(mage.getStats().mana()).isEqualTo(45);
+        }
+
+        @Test
+        @DisplayName("Dead and full characters are skipped and nothing exceeds max")
+        void testSkipsDeadAndFull() {
+            Character dead = CharacterFactory.createArcher("Dead");
+            Character full = CharacterFactory.createRogue("Full");
+            Character almost = CharacterFactory.createWarrior("Almost");
+            dead.setHealth(0);
+            almost.setHealth(149);
+            var fullStats = full.getStats();
+
+            int changed = engine.regenerate(List.of(dead, full, almost));
+
+            assertThat(changed).isEqualTo(1);
+            assertThat(dead.isDead()).isTrue();
+            assertThat(full.getStats()).as("Untouched characters keep their record").isSameAs(fullStats);
+            assertThat(almost.getStats().health()).isEqualTo(150);
+        }
+
+        @Test
+        @DisplayName("Types without rates don't regenerate")
+        void testMissingRates() {
+            RegenEngine mageOnly = new RegenEngine(Map.of(CharacterType.MAGE, new RegenRates(0, 10)));
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            warrior.setHealth(10);
+
+            assertThat(mageOnly.regenerate(List.of(warrior))).isZero();
+            assertThat(mageOnly.getRates(CharacterType.WARRIOR)).isEqualTo(new RegenRates(0, 0));
+            assertThatThrownBy(() -> new RegenRates(-1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Parallel passes match sequential ones")
+        void testParallelMatchesSequential() {
+            List<Character> sequential = hurtCrowd(5_000, 7);
+            List<Character> parallel = hurtCrowd(5_000, 7);
+
+            int expected = engine.regenerate(sequential);
+            int actual = engine.regenerateParallel(parallel);
+
+            assertThat(actual).isEqualTo(expected);
+            for (int i = 0; i < sequential.size(); i++) {
+                assertThat(parallel.get(i).getStats()).isEqualTo(sequential.get(i).getStats());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Columnar stats table")
+    class TableTests {
+
+        @Test
+        @DisplayName("Table passes give the same stats as list passes")
+        void testTableMatchesList() {
+            List<Character> viaList = hurtCrowd(3_000, 11);
+            List<Character> viaTable = hurtCrowd(3_000, 11);
+            StatsTable table = StatsTable.of(viaTable);
+
+            for (int tick = 0; tick < 30; tick++) {
+                engine.regenerate(viaList);
+                if (tick % 2 == 0) {
+                    engine.regenerate(table);
+                } else {
+                    engine.regenerateParallel(table);
+                }
+            }
+            table.writeTo(viaTable);
+
+            for (int i = 0; i < viaList.size(); i++) {
+                assertThat(viaTable.get(i).getStats()).isEqualTo(viaList.get(i).getStats());
+            }
+        }
+
+        @Test
+        @DisplayName("Words where every slot is pending take the dense path")
+        void testDenseWords() {
+            List<Character> viaList = new ArrayList<>();
+            List<Character> viaTable = new ArrayList<>();
+            for (int i = 0; i < 256; i++) {
+                CharacterType type = CharacterType.values()[i % CharacterType.values().length];
+                viaList.add(CharacterFactory.createCharacter("L" + i, type));
+                viaTable.add(CharacterFactory.createCharacter("T" + i, type));
+                viaList.get(i).setHealth(1 + i % 7);
+                viaTable.get(i).setHealth(1 + i % 7);
+            }
+            StatsTable table = StatsTable.of(viaTable);
+            assertThat(table.pendingCount()).isEqualTo(256);
+
+            for (int tick = 0; tick < 100; tick++) {
+                engine.regenerate(viaList);
+                engine.regenerate(table);
+            }
+            table.writeTo(viaTable);
+
+            for (int i = 0; i < viaList.size(); i++) {
+                assertThat(viaTable.get(i).getStats().health()).isEqualTo(viaList.get(i).getStats().health());
+            }
+        }
+
+        @Test
+        @DisplayName("Pending bits drop characters once they're full or dead")
+        void testPendingBits() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            warrior.setHealth(148);
+            StatsTable table = StatsTable.of(List.of(warrior, mage));
+            assertThat(table.pendingCount()).isEqualTo(1);
+
+            engine.regenerate(table);
+            assertThat(table.health(0)).isEqualTo(150);
+            assertThat(table.pendingCount()).isZero();
+
+            table.setMana(1, 10);
+            assertThat(table.pendingCount()).isEqualTo(1);
+            table.setHealth(1, 0);
+            assertThat(table.pendingCount()).as("Dead characters don't regenerate").isZero();
+            assertThat(table.isAlive(1)).isFalse();
+        }
+
+        @Test
+        @DisplayName("writeTo only touches changed characters and refresh picks up battle damage")
+        void testWriteToAndRefresh() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character archer = CharacterFactory.createArcher("Archer");
+            List<Character> characters = List.of(warrior, archer);
+            StatsTable table = StatsTable.of(characters);
+
+            warrior.setHealth(90);
+            table.refresh(characters);
+            engine.regenerate(table);
+
+            assertThat(table.writeTo(characters)).isEqualTo(1);
+            assertThat(warrior.getStats().health()).isEqualTo(93);
+            assertThatThrownBy(() -> table.refresh(List.of(warrior)))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
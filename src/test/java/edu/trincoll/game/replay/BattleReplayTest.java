@@ -0,0 +1,234 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.CommandPool;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Battle Replay Tests")
+class BattleReplayTest {
+
+    private static final int TURNS = 2_000;
+    private static final int SNAPSHOT_INTERVAL = 50;
+
+    @TempDir
+    Path directory;
+
+    private static List<Character> roster() {
+        return new ArrayList<>(List.of(
+            CharacterFactory.createWarrior("Warrior"),
+            CharacterFactory.createArcher("Archer"),
+            CharacterFactory.createRogue("Rogue"),
+            CharacterFactory.createWarrior("Guard")));
+    }
+
+    private static List<CharacterStats> statsOf(List<Character> characters) {
+        return characters.stream().map(Character::getStats).toList();
+    }
+
+    /**
+     * Play a random battle of attacks, heals and the occasional undo or
+     * opaque command, journaling it and remembering the roster's stats at
+     * the end of every turn.
+     */
+    private List<List<CharacterStats>> record(Path journal, int turns) throws IOException {
+        List<Character> roster = roster();
+        List<List<CharacterStats>> states = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(11);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            JournalWriter writer = new JournalWriter(channel, roster, SNAPSHOT_INTERVAL);
+            CommandInvoker invoker = new CommandInvoker(16);
+            invoker.setListener(writer);
+            states.add(statsOf(roster));
+            for (int turn = 1; turn <= turns; turn++) {
+                writer.nextTurn();
+                Character attacker = roster.get(random.nextInt(roster.size()));
+                Character target = roster.get(random.nextInt(roster.size()));
+                if (attacker != target) {
+                    if (target.getStats().health() < 50) {
+                        invoker.executeCommand(CommandPool.acquireHeal(target, 70));
+                    } else {
+                        invoker.executeCommand(CommandPool.acquireAttack(attacker, target));
+                    }
+                }
+                int roll = random.nextInt(20);
+                if (roll == 0) {
+                    invoker.undoLastCommand();
+                } else if (roll == 1) {
+                    invoker.executeCommand(new SetHealthCommand(target, 1 + random.nextInt(40)));
+                }
+                states.add(statsOf(roster));
+            }
+            writer.close();
+            assertThat(writer.getSnapshotCount()).isEqualTo(turns / SNAPSHOT_INTERVAL);
+        }
+        return states;
+    }
+
+    @Nested
+    @DisplayName("Seeking")
+    class SeekTests {
+
+        @Test
+        @DisplayName("Every turn replays to the recorded stats")
+        void testSeekForward() throws IOException {
+            Path journal = directory.resolve("battle.journal");
+            List<List<CharacterStats>> states = record(journal, TURNS);
+
+            try (BattleReplay replay = BattleReplay.open(journal)) {
+                assertThat(replay.getTurnCount()).isEqualTo(TURNS);
+                for (int turn = 0; turn <= TURNS; turn++) {
+                    replay.seek(turn);
+                    assertThat(statsOf(replay.getRoster())).as("turn %d", turn).isEqualTo(states.get(turn));
+                }
+                // Each journaled command ran once, with no replay from the start
+                assertThat(replay.getCommandsReplayed()).isLessThanOrEqualTo(TURNS);
+            }
+        }
+
+        @Test
+        @DisplayName("Random seeks start from the nearest snapshot")
+        void testRandomAccess() throws IOException {
+            Path journal = directory.resolve("battle.journal");
+            List<List<CharacterStats>> states = record(journal, TURNS);
+
+            try (BattleReplay replay = BattleReplay.open(journal)) {
+                SplittableRandom random = new SplittableRandom(5);
+                for (int i = 0; i < 100; i++) {
+                    int turn = random.nextInt(TURNS + 1);
+                    long commandsBefore = replay.getCommandsReplayed();
+                    replay.seek(turn);
+
+                    assertThat(statsOf(replay.getRoster())).as("turn %d", turn).isEqualTo(states.get(turn));
+                    // At most one command per turn, and never more than one interval of turns
+                    assertThat(replay.getCommandsReplayed() - commandsBefore)
+                        .isLessThanOrEqualTo(2L * SNAPSHOT_INTERVAL);
+                }
+                assertThat(replay.getSnapshotsRestored()).isPositive();
+            }
+        }
+
+        @Test
+        @DisplayName("Seeking backwards to before the first snapshot rewinds")
+        void testRewind() throws IOException {
+            Path journal = directory.resolve("battle.journal");
+            List<List<CharacterStats>> states = record(journal, TURNS);
+
+            try (BattleReplay replay = BattleReplay.open(journal)) {
+                replay.seek(TURNS);
+                replay.seek(3);
+
+                assertThat(replay.getTurn()).isEqualTo(3);
+                assertThat(statsOf(replay.getRoster())).isEqualTo(states.get(3));
+            }
+        }
+
+        @Test
+        @DisplayName("Turns outside the journal are rejected")
+        void testOutOfRange() throws IOException {
+            Path journal = directory.resolve("battle.journal");
+            record(journal, 10);
+
+            try (BattleReplay replay = BattleReplay.open(journal)) {
+                assertThatThrownBy(() -> replay.seek(11)).isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> replay.seek(-1)).isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Damaged journals")
+    class DamagedJournalTests {
+
+        @Test
+        @DisplayName("A journal cut short is indexed by scanning what survived")
+        void testTruncated() throws IOException {
+            Path journal = directory.resolve("battle.journal");
+            List<List<CharacterStats>> states = record(journal, TURNS);
+            byte[] bytes = Files.readAllBytes(journal);
+            Path truncated = directory.resolve("truncated.journal");
+            Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2 + 1));
+
+            try (BattleReplay replay = BattleReplay.open(truncated)) {
+                int lastTurn = replay.getTurnCount();
+                assertThat(lastTurn).isBetween(TURNS / 4, TURNS - 1);
+                assertThat(replay.getSnapshotCount()).isEqualTo(lastTurn / SNAPSHOT_INTERVAL);
+
+                // The last turn may be incomplete, the ones before it are not
+                replay.seek(lastTurn - 1);
+                assertThat(statsOf(replay.getRoster())).isEqualTo(states.get(lastTurn - 1));
+            }
+        }
+
+        @Test
+        @DisplayName("Other files are rejected")
+        void testNotAJournal() throws IOException {
+            Path other = directory.resolve("other.bin");
+            Files.write(other, new byte[] {'G', 'C', 1, 0, 0});
+
+            assertThatThrownBy(() -> BattleReplay.open(other)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Characters outside the roster can't be journaled")
+    void testUnknownCharacter() throws IOException {
+        Path journal = directory.resolve("battle.journal");
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             JournalWriter writer = new JournalWriter(channel, roster(), SNAPSHOT_INTERVAL)) {
+            Character stranger = CharacterFactory.createMage("Stranger");
+
+            assertThatThrownBy(() -> writer.capture(stranger))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Stranger");
+        }
+    }
+
+    /**
+     * A command the journal can't replay, so it records the outcome.
+     */
+    private static final class SetHealthCommand implements GameCommand {
+        private final Character target;
+        private final int health;
+        private int healthBefore;
+
+        private SetHealthCommand(Character target, int health) {
+            this.target = target;
+            this.health = health;
+        }
+
+        @Override
+        public void execute() {
+            healthBefore = target.getStats().health();
+            target.setHealth(health);
+        }
+
+        @Override
+        public void undo() {
+            target.setHealth(healthBefore);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Set " + target.getName() + " to " + health + " HP";
+        }
+    }
+}
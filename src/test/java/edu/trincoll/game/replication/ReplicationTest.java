@@ -0,0 +1,246 @@
+package edu.trincoll.game.replication;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Replication Tests")
+class ReplicationTest {
+
+    private List<Character> primaryRoster;
+    private CommandInvoker invoker;
+
+    private static List<Character> roster() {
+        List<Character> roster = new ArrayList<>();
+        CharacterType[] types = CharacterType.values();
+        for (int i = 0; i < 8; i++) {
+            roster.add(CharacterFactory.createCharacter("C" + i, types[i % types.length]));
+        }
+        return roster;
+    }
+
+    private static void assertInSync(List<Character> primary, Replica replica) {
+        for (int i = 0; i < primary.size(); i++) {
+            assertThat(replica.getStats(i)).as("slot %d", i).isEqualTo(primary.get(i).getStats());
+        }
+    }
+
+    private void attack(int attacker, int target) {
+        invoker.executeCommand(new AttackCommand(primaryRoster.get(attacker), primaryRoster.get(target)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        primaryRoster = roster();
+        invoker = new CommandInvoker();
+    }
+
+    @Nested
+    @DisplayName("In-memory channel")
+    class InMemoryTests {
+
+        private Primary primary;
+        private Replica replica;
+        private InMemoryChannel channel;
+
+        @BeforeEach
+        void setUp() {
+            primary = new Primary(primaryRoster, 4, 100);
+            primary.attachTo(invoker);
+            replica = new Replica(roster());
+            channel = new InMemoryChannel(replica);
+            primary.addReplica(channel);
+        }
+
+        @Test
+        @DisplayName("Executed commands reach the replica in batches")
+        void testBatches() {
+            attack(0, 1);
+            attack(2, 3);
+            attack(4, 5);
+            assertThat(primary.getLag(channel)).as("Below the batch size nothing is sent").isEqualTo(3);
+
+            attack(6, 7);
+
+            assertThat(primary.getLag(channel)).isZero();
+            assertThat(replica.getAppliedSequence()).isEqualTo(4);
+            assertInSync(primaryRoster, replica);
+            assertThat(replica.getStats("C1")).isEqualTo(primaryRoster.get(1).getStats());
+        }
+
+        @Test
+        @DisplayName("Undo, rollback and opaque commands replicate too")
+        void testUndoRollbackOpaque() {
+            CommandInvoker.Checkpoint checkpoint = invoker.mark();
+            attack(0, 1);
+            invoker.executeCommand(new HealCommand(primaryRoster.get(1), 5));
+            invoker.undoLastCommand();
+            attack(3, 2);
+            invoker.rollbackTo(checkpoint);
+            invoker.executeCommand(new GameCommand() {
+                @Override
+                public void execute() {
+                    primaryRoster.get(7).setHealth(1);
+                }
+
+                @Override
+                public void undo() {
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Opaque";
+                }
+            });
+            primary.flush();
+
+            assertInSync(primaryRoster, replica);
+            assertThat(replica.getStats(7).health()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("No-op commands don't use sequence numbers")
+        void testNoOp() {
+            invoker.executeCommand(new HealCommand(primaryRoster.get(0), 10));
+
+            assertThat(primary.getSequence()).isZero();
+        }
+
+        @Test
+        @DisplayName("A roster with unexported changes is rejected, not wiped")
+        void testDirtyRoster() {
+            List<Character> dirty = roster();
+            dirty.get(3).setHealth(1);
+            int fields = dirty.get(3).getDirtyFields();
+
+            assertThatThrownBy(() -> new Primary(dirty))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("C3");
+            assertThat(dirty.get(3).getDirtyFields()).isEqualTo(fields).isNotZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Catch-up")
+    class CatchUpTests {
+
+        @Test
+        @DisplayName("A lagging replica gets the tail, one too far behind a snapshot")
+        void testTailAndSnapshot() {
+            Primary primary = new Primary(primaryRoster, 1, 3);
+            primary.attachTo(invoker);
+            Replica replica = new Replica(roster());
+            InMemoryChannel channel = new InMemoryChannel(replica);
+            primary.addReplica(channel);
+            attack(0, 1);
+
+            primary.removeReplica(channel);
+            attack(2, 3);
+            attack(4, 5);
+            assertThat(primary.getLag(channel)).isEqualTo(2);
+            primary.addReplica(channel);
+            assertThat(replica.getAppliedSequence()).as("Caught up from the tail").isEqualTo(3);
+            assertInSync(primaryRoster, replica);
+
+            primary.removeReplica(channel);
+            for (int i = 0; i < 4; i++) {
+                attack(i, i + 4);
+            }
+            primary.addReplica(channel);
+            assertThat(replica.getAppliedSequence()).as("Caught up from a snapshot").isEqualTo(7);
+            assertInSync(primaryRoster, replica);
+
+            Replica fresh = new Replica(roster());
+            primary.addReplica(new InMemoryChannel(fresh));
+            assertInSync(primaryRoster, fresh);
+            assertThat(primary.getReplicaCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Replicas skip entries they already have and reject gaps")
+        void testDuplicatesAndGaps() {
+            List<ByteBuffer> sent = new ArrayList<>();
+            Replica replica = new Replica(roster());
+            ReplicationChannel recording = new ReplicationChannel() {
+                @Override
+                public void send(ByteBuffer batch) {
+                    sent.add(ByteBuffer.allocate(batch.remaining()).put(batch.duplicate()).flip());
+                    replica.apply(batch);
+                }
+
+                @Override
+                public long getAcknowledgedSequence() {
+                    return replica.getAppliedSequence();
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            Primary primary = new Primary(primaryRoster, 1, 0);
+            primary.attachTo(invoker);
+            primary.addReplica(recording);
+            attack(0, 1);
+            attack(2, 3);
+
+            replica.apply(sent.get(1).duplicate());
+            assertThat(replica.getAppliedSequence()).isEqualTo(2);
+            assertInSync(primaryRoster, replica);
+
+            Replica fresh = new Replica(roster());
+            assertThatThrownBy(() -> fresh.apply(sent.get(2).duplicate()))
+                .as("Entries before any snapshot")
+                .isInstanceOf(IllegalStateException.class);
+            fresh.apply(sent.get(0).duplicate());
+            assertThatThrownBy(() -> fresh.apply(sent.get(2).duplicate()))
+                .as("Entry 2 without entry 1")
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Socket channel")
+    class SocketTests {
+
+        @Test
+        @DisplayName("A replica behind a loopback socket catches up and acknowledges")
+        void testSocketReplica() throws InterruptedException {
+            Primary primary = new Primary(primaryRoster, 2, 100);
+            primary.attachTo(invoker);
+            attack(0, 1);
+            Replica replica = new Replica(roster());
+
+            try (ReplicaServer server = new ReplicaServer(replica, 0);
+                 SocketReplicationChannel channel = new SocketReplicationChannel(server.getPort())) {
+                primary.addReplica(channel);
+                for (int i = 0; i < 20; i++) {
+                    invoker.executeCommand(new HealCommand(primaryRoster.get(1), 1));
+                    attack(i % 8, (i + 3) % 8);
+                }
+                primary.flush();
+
+                long deadline = System.nanoTime() + 10_000_000_000L;
+                while (primary.getLag(channel) > 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+
+                assertThat(primary.getLag(channel)).isZero();
+                assertInSync(primaryRoster, replica);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package edu.trincoll.game.results;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.PowerAttackSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Result Store Tests")
+class ResultStoreTest {
+
+    private static final CharacterType[] TYPES = CharacterType.values();
+    private static final String[] SEQUENCES = {"Standard", "Power"};
+
+    /**
+     * Record the same pseudo-random rows into the store and return them
+     * as {attacker, defender, sequence, turn, damage, defeated} for checking.
+     */
+    private static int[][] fill(ResultStore store, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[][] rows = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int[] row = {random.nextInt(TYPES.length), random.nextInt(TYPES.length),
+                random.nextInt(SEQUENCES.length), random.nextInt(1, 40),
+                random.nextInt(0, 300), random.nextInt(8) == 0 ? 1 : 0};
+            store.record(TYPES[row[0]], TYPES[row[1]], SEQUENCES[row[2]], row[3], row[4], row[5] == 1);
+            rows[i] = row;
+        }
+        return rows;
+    }
+
+    private static void assertMatchesRows(ResultStore store, int[][] rows) {
+        List<GroupStats> groups = store.aggregate(ResultQuery.all(), Dimension.ATTACKER_TYPE);
+        assertThat(groups).hasSize(TYPES.length);
+        for (GroupStats group : groups) {
+            int type = CharacterType.valueOf(group.key().get(0)).ordinal();
+            int[][] expected = Arrays.stream(rows).filter(row -> row[0] == type).toArray(int[][]::new);
+            assertThat(group.attacks()).isEqualTo(expected.length);
+            assertThat(group.wins()).isEqualTo(Arrays.stream(expected).filter(row -> row[5] == 1).count());
+            assertThat(group.totalDamage()).isEqualTo(Arrays.stream(expected).mapToLong(row -> row[4]).sum());
+            assertThat(Arrays.stream(group.damageHistogram()).sum()).isEqualTo(expected.length);
+        }
+    }
+
+    @Nested
+    @DisplayName("Storage")
+    class StorageTests {
+
+        @Test
+        @DisplayName("Aggregates cover sealed chunks and the rows still being filled")
+        void testPlainStore() {
+            try (ResultStore store = ResultStore.builder().chunkRows(100).build()) {
+                int[][] rows = fill(store, 1_050, 1);
+
+                assertThat(store.getRowCount()).isEqualTo(1_050);
+                assertThat(store.getChunkCount()).isEqualTo(10);
+                assertMatchesRows(store, rows);
+            }
+        }
+
+        @Test
+        @DisplayName("Compressed chunks give the same answers in less heap")
+        void testCompressedStore() {
+            try (ResultStore plain = ResultStore.builder().chunkRows(1_000).build();
+                 ResultStore packed = ResultStore.builder().chunkRows(1_000).compress(true).build()) {
+                fill(plain, 5_000, 2);
+                int[][] rows = fill(packed, 5_000, 2);
+
+                assertThat(packed.getHeapBytes()).isLessThan(plain.getHeapBytes());
+                assertMatchesRows(packed, rows);
+            }
+        }
+
+        @Test
+        @DisplayName("Chunks past the heap budget are spilled and still scanned")
+        void testSpill(@TempDir Path directory) {
+            try (ResultStore store = ResultStore.builder().chunkRows(100).spillTo(directory, 3_000).build()) {
+                int[][] rows = fill(store, 2_000, 3);
+
+                assertThat(store.getHeapBytes()).isLessThanOrEqualTo(3_000);
+                assertThat(store.getSpilledBytes()).isPositive();
+                assertMatchesRows(store, rows);
+            }
+        }
+
+        @Test
+        @DisplayName("Sequence names are dictionary-encoded in first-seen order")
+        void testSequenceDictionary() {
+            try (ResultStore store = ResultStore.builder().build()) {
+                store.record(CharacterType.MAGE, CharacterType.ROGUE, "Power", 1, 10, false);
+                store.record(CharacterType.MAGE, CharacterType.ROGUE, "Standard", 2, 10, false);
+                store.record(CharacterType.MAGE, CharacterType.ROGUE, "Power", 3, 10, false);
+
+                assertThat(store.getSequenceNames()).containsExactly("Power", "Standard");
+            }
+        }
+
+        @Test
+        @DisplayName("A closed store rejects appends and queries")
+        void testClosed() {
+            ResultStore store = ResultStore.builder().build();
+            store.close();
+
+            assertThatThrownBy(() -> store.record(CharacterType.MAGE, CharacterType.ROGUE, "S", 1, 1, false))
+                .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> store.total(ResultQuery.all()))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Filters combine and groups come back in key order")
+        void testFilterAndGroup() {
+            try (ResultStore store = ResultStore.builder().chunkRows(64).build()) {
+                int[][] rows = fill(store, 3_000, 4);
+
+                ResultQuery query = ResultQuery.all().withDefender(CharacterType.ARCHER).withTurns(5, 9);
+                List<GroupStats> groups = store.aggregate(query, Dimension.SEQUENCE, Dimension.TURN);
+
+                int defender = CharacterType.ARCHER.ordinal();
+                for (GroupStats group : groups) {
+                    int sequence = Arrays.asList(SEQUENCES).indexOf(group.key().get(0));
+                    int turn = Integer.parseInt(group.key().get(1));
+                    long expected = Arrays.stream(rows)
+                        .filter(row -> row[1] == defender && row[2] == sequence && row[3] == turn)
+                        .count();
+                    assertThat(turn).isBetween(5, 9);
+                    assertThat(group.attacks()).isEqualTo(expected);
+                }
+                // Sequence values follow the dictionary, turns ascend within each
+                List<String> names = store.getSequenceNames();
+                assertThat(groups).extracting(GroupStats::key).containsExactly(
+                    List.of(names.get(0), "5"), List.of(names.get(0), "6"), List.of(names.get(0), "7"),
+                    List.of(names.get(0), "8"), List.of(names.get(0), "9"),
+                    List.of(names.get(1), "5"), List.of(names.get(1), "6"), List.of(names.get(1), "7"),
+                    List.of(names.get(1), "8"), List.of(names.get(1), "9"));
+            }
+        }
+
+        @Test
+        @DisplayName("Win rate, mean damage and histogram buckets")
+        void testDerivedStats() {
+            try (ResultStore store = ResultStore.builder().build()) {
+                store.record(CharacterType.ROGUE, CharacterType.MAGE, "S", 1, 0, false);
+                store.record(CharacterType.ROGUE, CharacterType.MAGE, "S", 2, 5, false);
+                store.record(CharacterType.ROGUE, CharacterType.MAGE, "S", 3, 7, true);
+                store.record(CharacterType.ROGUE, CharacterType.MAGE, "S", 4, 100, true);
+
+                GroupStats total = store.total(ResultQuery.all());
+
+                assertThat(total.winRate()).isEqualTo(0.5);
+                assertThat(total.meanDamage()).isEqualTo(28.0);
+                assertThat(total.damageHistogram()[0]).isEqualTo(1);
+                assertThat(total.damageHistogram()[3]).isEqualTo(2);
+                assertThat(total.damageHistogram()[7]).isEqualTo(1);
+                assertThat(GroupStats.bucketLowerBound(7)).isEqualTo(64);
+            }
+        }
+
+        @Test
+        @DisplayName("Equal aggregates compare equal, histogram included")
+        void testEquality() {
+            try (ResultStore first = ResultStore.builder().build();
+                 ResultStore second = ResultStore.builder().build()) {
+                fill(first, 10, 5);
+                fill(second, 10, 5);
+
+                GroupStats total = first.total(ResultQuery.all());
+                assertThat(second.total(ResultQuery.all()))
+                    .isEqualTo(total)
+                    .hasSameHashCodeAs(total)
+                    .hasToString(total.toString());
+                assertThat(total.toString()).contains(Arrays.toString(total.damageHistogram()));
+            }
+        }
+
+        @Test
+        @DisplayName("Unknown sequence names match nothing")
+        void testUnknownSequence() {
+            try (ResultStore store = ResultStore.builder().build()) {
+                fill(store, 10, 5);
+
+                assertThat(store.aggregate(ResultQuery.all().withSequence("Missing"))).isEmpty();
+                assertThat(store.total(ResultQuery.all().withSequence("Missing")).attacks()).isZero();
+            }
+        }
+
+        @Test
+        @DisplayName("Bad groupings are rejected")
+        void testBadGrouping() {
+            try (ResultStore store = ResultStore.builder().build()) {
+                store.record(CharacterType.MAGE, CharacterType.ROGUE, "S", 5_000, 1, false);
+
+                assertThatThrownBy(() -> store.aggregate(ResultQuery.all(), Dimension.TURN))
+                    .isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> store.aggregate(ResultQuery.all(),
+                        Dimension.ATTACKER_TYPE, Dimension.ATTACKER_TYPE))
+                    .isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> ResultQuery.all().withTurns(5, 4))
+                    .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Battle sequences record their attacks")
+    void testBattleSequenceIntegration() {
+        try (ResultStore store = ResultStore.builder().chunkRows(4).build()) {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+
+            BattleSequence standard = new StandardBattleSequence(warrior, mage).withObserver(store);
+            while (mage.isAlive()) {
+                standard.executeTurn();
+            }
+            int warriorHealth = warrior.getStats().health();
+            new PowerAttackSequence(mage, warrior).withObserver(store).executeTurn();
+
+            List<GroupStats> groups = store.aggregate(ResultQuery.all(), Dimension.SEQUENCE, Dimension.ATTACKER_TYPE);
+            assertThat(groups).extracting(GroupStats::key).containsExactly(
+                List.of("StandardBattleSequence", "WARRIOR"),
+                List.of("PowerAttackSequence", "MAGE"));
+            assertThat(groups.get(0).attacks()).isEqualTo(standard.getTurns());
+            assertThat(groups.get(0).wins()).isEqualTo(1);
+            assertThat(groups.get(0).totalDamage()).isEqualTo(mage.getStats().maxHealth());
+            assertThat(groups.get(1).totalDamage()).isEqualTo(warriorHealth - warrior.getStats().health());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package edu.trincoll.game.roster;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Persistent Roster Tests")
+class RosterTest {
+
+    private Character warrior;
+    private Character mage;
+    private Roster roster;
+
+    @BeforeEach
+    void setUp() {
+        warrior = CharacterFactory.createWarrior("Warrior");
+        mage = CharacterFactory.createMage("Mage");
+        roster = Roster.of(List.of(warrior, mage));
+    }
+
+    @Test
+    @DisplayName("Apply returns a new version and leaves the old one unchanged")
+    void testApplyIsPersistent() {
+        Roster next = roster.apply(new RosterAction.Attack(0, 1));
+
+        assertThat(next.stats(1).health()).isLessThan(roster.stats(1).health());
+        assertThat(roster.stats(1)).isEqualTo(mage.getStats());
+        assertThat(mage.getStats().health()).as("Live characters are untouched").isEqualTo(80);
+    }
+
+    @Test
+    @DisplayName("Actions follow the same rules as the live commands")
+    void testMatchesLiveCommand() {
+        Roster next = roster.apply(new RosterAction.Attack(1, 0));
+        new AttackCommand(mage, warrior).execute();
+
+        assertThat(next.stats(0)).isEqualTo(warrior.getStats());
+        assertThat(next.stats(1)).as("Mana use is captured").isEqualTo(mage.getStats());
+    }
+
+    @Test
+    @DisplayName("Heal and power attack actions")
+    void testHealAndPowerAttack() {
+        Roster hurt = roster.apply(new RosterAction.PowerAttack(0, 1));
+        assertThat(hurt.stats(0).health()).as("Recoil").isEqualTo(135);
+
+        Roster healed = hurt.apply(new RosterAction.Heal(0, 0, 10));
+        assertThat(healed.stats(0).health()).isEqualTo(145);
+    }
+
+    @Test
+    @DisplayName("Impossible actions throw and produce no version")
+    void testImpossibleAction() {
+        Roster drained = roster.withStats(1, mage.getStats().withMana(0));
+
+        assertThatThrownBy(() -> drained.apply(new RosterAction.Attack(1, 0)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Large rosters share structure across versions")
+    void testLargeRoster() {
+        List<Character> army = new ArrayList<>();
+        IntStream.range(0, 2000).forEach(i ->
+            army.add(CharacterFactory.createCharacter("Unit" + i, CharacterType.values()[i % 4])));
+        Roster big = Roster.of(army);
+
+        Roster next = big.apply(new RosterAction.Attack(0, 1999));
+
+        assertThat(next.size()).isEqualTo(2000);
+        assertThat(next.stats(1999).health()).isLessThan(big.stats(1999).health());
+        assertThat(next.stats(1000)).isSameAs(big.stats(1000));
+        assertThat(next.name(1999)).isEqualTo("Unit1999");
+    }
+
+    @Test
+    @DisplayName("Stats hash tracks the version's contents")
+    void testStatsHash() {
+        Roster attacked = roster.apply(new RosterAction.Attack(0, 1));
+        Roster restored = attacked.withStats(1, mage.getStats());
+
+        assertThat(attacked.statsHash()).isNotEqualTo(roster.statsHash());
+        assertThat(restored.statsHash()).isEqualTo(roster.statsHash());
+    }
+
+    @Test
+    @DisplayName("A version can be written back to live characters")
+    void testWriteTo() {
+        Roster next = roster.apply(new RosterAction.Attack(0, 1));
+
+        next.writeTo(List.of(warrior, mage));
+
+        assertThat(mage.getStats()).isEqualTo(next.stats(1));
+    }
+}
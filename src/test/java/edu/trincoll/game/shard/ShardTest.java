@@ -0,0 +1,214 @@
+package edu.trincoll.game.shard;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Sharded World Tests")
+class ShardTest {
+
+    private static List<Character> warriors(int count) {
+        List<Character> roster = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            roster.add(CharacterFactory.createWarrior("W" + i));
+        }
+        return roster;
+    }
+
+    private static int netHitDamage() {
+        Character attacker = CharacterFactory.createWarrior("A");
+        Character target = CharacterFactory.createWarrior("T");
+        new AttackCommand(attacker, target).execute();
+        return 150 - target.getStats().health();
+    }
+
+    @Test
+    @DisplayName("Names hash to a stable shard in range")
+    void testShardOf() {
+        int[] counts = new int[4];
+        for (int i = 0; i < 4_000; i++) {
+            int shard = Shard.shardOf("W" + i, 4);
+            assertThat(shard).isEqualTo(Shard.shardOf("W" + i, 4)).isBetween(0, 3);
+            counts[shard]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(800, 1_200);
+        }
+    }
+
+    @Nested
+    @DisplayName("In-JVM transport")
+    class InJvmTests {
+
+        @Test
+        @DisplayName("Local and cross-shard attacks land exactly once")
+        void testAttacksAcrossShards() {
+            List<Character> roster = warriors(40);
+            int net = netHitDamage();
+
+            try (ShardedWorld world = new ShardedWorld(roster, 4)) {
+                for (int i = 0; i < 40; i++) {
+                    world.attack("W" + i, "W" + (i + 1) % 40);
+                }
+                world.awaitQuiescence();
+
+                long local = 0;
+                long sent = 0;
+                for (int i = 0; i < world.getShardCount(); i++) {
+                    local += world.getShard(i).getLocalAttackCount();
+                    sent += world.getShard(i).getMessagesSent();
+                }
+                assertThat(local + sent).isEqualTo(40);
+                assertThat(sent).as("Some targets live on other shards").isPositive();
+                for (int i = 0; i < 40; i++) {
+                    assertThat(world.getCharacter("W" + i).getStats().health()).isEqualTo(150 - net);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Cross-shard messages are batched per destination")
+        void testBatching() {
+            List<Character> roster = warriors(64);
+            AtomicInteger batches = new AtomicInteger();
+            AtomicInteger largest = new AtomicInteger();
+            InJvmTransport inner = new InJvmTransport();
+            Transport counting = new Transport() {
+                @Override
+                public void bind(int shard, Consumer<List<DamageMessage>> receiver) {
+                    inner.bind(shard, receiver);
+                }
+
+                @Override
+                public void send(int shard, List<DamageMessage> batch) {
+                    batches.incrementAndGet();
+                    largest.accumulateAndGet(batch.size(), Math::max);
+                    inner.send(shard, batch);
+                }
+
+                @Override
+                public void close() {
+                    inner.close();
+                }
+            };
+
+            try (ShardedWorld world = new ShardedWorld(roster, 2, counting, 8)) {
+                Shard first = world.getShard(0);
+                String attacker = null;
+                String remoteTarget = null;
+                for (Character character : roster) {
+                    int shard = Shard.shardOf(character.getName(), 2);
+                    if (shard == 0 && attacker == null) {
+                        attacker = character.getName();
+                    } else if (shard == 1 && remoteTarget == null) {
+                        remoteTarget = character.getName();
+                    }
+                }
+                for (int i = 0; i < 3; i++) {
+                    first.submitAttack(attacker, remoteTarget);
+                }
+                world.awaitQuiescence();
+
+                assertThat(first.getMessagesSent()).isEqualTo(3);
+                assertThat(world.getShard(1).getMessagesReceived()).isEqualTo(3);
+                assertThat(largest.get()).isLessThanOrEqualTo(8);
+                assertThat(batches.get()).isLessThanOrEqualTo(3);
+                assertThat(world.getCharacter(remoteTarget).getStats().health())
+                    .isEqualTo(150 - 3 * netHitDamage());
+            }
+        }
+
+        @Test
+        @DisplayName("Bad submissions are rejected and closed shards refuse work")
+        void testValidation() {
+            List<Character> roster = warriors(8);
+            ShardedWorld world = new ShardedWorld(roster, 2);
+            Shard shard = world.getShard(0);
+            String foreign = roster.stream().map(Character::getName)
+                .filter(name -> Shard.shardOf(name, 2) == 1).findFirst().orElseThrow();
+
+            assertThatThrownBy(() -> shard.submitAttack(foreign, "W0"))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> world.attack("W0", "Nobody"))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new ShardedWorld(List.of(roster.get(0), roster.get(0)), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+
+            world.close();
+            assertThatThrownBy(() -> world.attack("W0", "W1")).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Socket transport")
+    class SocketTests {
+
+        @Test
+        @DisplayName("Shards in separate worlds exchange damage over loopback")
+        void testAcrossProcesses() {
+            // Two copies of the world stand in for two processes
+            List<Character> worldA = warriors(30);
+            List<Character> worldB = warriors(30);
+            int net = netHitDamage();
+
+            try (SocketTransport transportA = new SocketTransport(0);
+                 SocketTransport transportB = new SocketTransport(0)) {
+                transportA.route(1, transportB.getPort());
+                transportB.route(0, transportA.getPort());
+                try (Shard shardA = new Shard(0, 2, worldA, transportA, 4);
+                     Shard shardB = new Shard(1, 2, worldB, transportB, 4)) {
+                    for (int i = 0; i < 30; i++) {
+                        String attacker = "W" + i;
+                        String target = "W" + (i + 7) % 30;
+                        (Shard.shardOf(attacker, 2) == 0 ? shardA : shardB).submitAttack(attacker, target);
+                    }
+                    Shard.awaitQuiescence(List.of(shardA, shardB), Duration.ofSeconds(10));
+
+                    assertThat(shardA.getMessagesSent() + shardB.getMessagesSent()).isPositive();
+                    for (int i = 0; i < 30; i++) {
+                        String name = "W" + i;
+                        Shard owner = Shard.shardOf(name, 2) == 0 ? shardA : shardB;
+                        assertThat(owner.getCharacter(name).getStats().health()).isEqualTo(150 - net);
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("A failed reader fails the shards it delivers to")
+        void testReaderFailure() {
+            List<Character> world = warriors(10);
+
+            try (SocketTransport transportA = new SocketTransport(0);
+                 SocketTransport transportB = new SocketTransport(0)) {
+                // Shard 5 isn't bound anywhere, so B's reader can't deliver the batch
+                transportA.route(5, transportB.getPort());
+                try (Shard shardB = new Shard(1, 2, world, transportB)) {
+                    transportA.send(5, List.of(new DamageMessage(0, 0, "W0", "W1", 10)));
+
+                    assertThatThrownBy(() -> {
+                        for (int i = 0; i < 5_000; i++) {
+                            shardB.sync().join();
+                            Thread.sleep(1);
+                        }
+                    }).hasRootCauseMessage("Received a batch for shard 5 which isn't bound here");
+                    assertThatThrownBy(() -> Shard.awaitQuiescence(List.of(shardB), Duration.ofSeconds(10)))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessage("Shard 1 is closed");
+                }
+            }
+        }
+    }
+}
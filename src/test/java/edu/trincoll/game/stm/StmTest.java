@@ -0,0 +1,226 @@
+package edu.trincoll.game.stm;
+
+import edu.trincoll.game.command.AreaAttackCommand;
+import edu.trincoll.game.command.LifeDrainCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Software Transaction Tests")
+class StmTest {
+
+    @Nested
+    @DisplayName("Single thread")
+    class SingleThreadTests {
+
+        @Test
+        @DisplayName("A life drain damages and heals in one commit")
+        void testLifeDrain() {
+            Stm stm = new Stm();
+            Character vampire = CharacterFactory.createWarrior("Vampire");
+            Character victim = CharacterFactory.createRogue("Victim");
+            vampire.setHealth(60);
+            int victimBefore = victim.getStats().health();
+
+            LifeDrainCommand drain = new LifeDrainCommand(vampire, victim);
+            stm.execute(drain);
+
+            assertThat(drain.getDamageDealt()).isPositive();
+            assertThat(victim.getStats().health()).isEqualTo(victimBefore - drain.getDamageDealt());
+            assertThat(vampire.getStats().health()).isEqualTo(60 + drain.getDamageDealt());
+            assertThat(stm.getCommits()).isEqualTo(1);
+
+            drain.undo();
+            assertThat(vampire.getStats().health()).isEqualTo(60);
+            assertThat(victim.getStats().health()).isEqualTo(victimBefore);
+        }
+
+        @Test
+        @DisplayName("A block that throws changes nothing")
+        void testFailure() {
+            Stm stm = new Stm();
+            Character healer = CharacterFactory.createMage("Healer");
+            Character tank = CharacterFactory.createWarrior("Tank");
+            tank.setHealth(40);
+            CharacterStats healerBefore = healer.getStats();
+            CharacterStats tankBefore = tank.getStats();
+
+            assertThatThrownBy(() -> stm.atomic(() -> {
+                tank.heal(30);
+                healer.useMana(healer.getStats().mana() + 1);
+            })).isInstanceOf(IllegalStateException.class).hasMessage("Not enough mana");
+
+            assertThat(tank.getStats()).isSameAs(tankBefore);
+            assertThat(healer.getStats()).isSameAs(healerBefore);
+        }
+
+        @Test
+        @DisplayName("Writes are visible inside the block and only reach characters on commit")
+        void testIsolation() {
+            Stm stm = new Stm();
+            Character tank = CharacterFactory.createWarrior("Tank");
+            tank.setHealth(40);
+
+            int seenInside = stm.atomic(() -> {
+                tank.heal(30);
+                assertThat(tank.getCommittedStats().health()).isEqualTo(40);
+                // A nested block joins the outer one
+                stm.atomic(() -> tank.heal(5));
+                return tank.getStats().health();
+            });
+
+            assertThat(seenInside).isEqualTo(75);
+            assertThat(tank.getStats().health()).isEqualTo(75);
+            assertThat(tank.isDirty()).isTrue();
+            assertThat(stm.getCommits()).isEqualTo(1);
+            assertThat(Transaction.current()).isNull();
+        }
+
+        @Test
+        @DisplayName("A copy made inside a block starts from the block's view")
+        void testCopyInside() {
+            Stm stm = new Stm();
+            Character tank = CharacterFactory.createWarrior("Tank");
+            tank.setHealth(40);
+
+            Character copy = stm.atomic(() -> {
+                tank.heal(30);
+                return tank.copyAs("Copy");
+            });
+
+            assertThat(copy.getStats().health()).isEqualTo(70);
+        }
+
+        @Test
+        @DisplayName("A large area attack stays inside the block")
+        void testLargeAreaAttack() {
+            Stm stm = new Stm();
+            Character attacker = CharacterFactory.createWarrior("Attacker");
+            List<Character> targets = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                targets.add(CharacterFactory.createWarrior("T" + i));
+            }
+
+            assertThatThrownBy(() -> stm.atomic(() -> {
+                new AreaAttackCommand(attacker, targets).execute();
+                throw new IllegalStateException("Abandoned");
+            })).hasMessage("Abandoned");
+            assertThat(targets).allSatisfy(target -> assertThat(target.getStats().health()).isEqualTo(150));
+
+            stm.execute(new AreaAttackCommand(attacker, targets));
+            int health = targets.get(0).getStats().health();
+            assertThat(health).isLessThan(150);
+            assertThat(targets).allSatisfy(target -> assertThat(target.getStats().health()).isEqualTo(health));
+        }
+
+        @Test
+        @DisplayName("Attempts must be positive")
+        void testValidation() {
+            assertThatThrownBy(() -> new Stm(0)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Conflicts")
+    class ConflictTests {
+
+        @Test
+        @DisplayName("A commit to something read forces a retry")
+        void testRetry() {
+            Stm stm = new Stm();
+            Character source = CharacterFactory.createWarrior("Source");
+            Character sink = CharacterFactory.createWarrior("Sink");
+            source.setHealth(100);
+            sink.setHealth(50);
+            int[] attempts = {0};
+
+            stm.atomic(() -> {
+                int health = source.getStats().health();
+                if (attempts[0]++ == 0) {
+                    // Another thread commits to source after it was read
+                    CompletableFuture.runAsync(() -> stm.atomic(() -> source.setHealth(90))).join();
+                }
+                source.setHealth(health - 10);
+                sink.heal(10);
+            });
+
+            assertThat(attempts[0]).isEqualTo(2);
+            assertThat(stm.getConflicts()).isEqualTo(1);
+            assertThat(source.getStats().health()).isEqualTo(80);
+            assertThat(sink.getStats().health()).isEqualTo(60);
+        }
+
+        @Test
+        @DisplayName("Giving up after the last attempt is an error")
+        void testGiveUp() {
+            Stm stm = new Stm(1);
+            Character source = CharacterFactory.createWarrior("Source");
+
+            assertThatThrownBy(() -> stm.atomic(() -> {
+                int health = source.getStats().health();
+                CompletableFuture.runAsync(() -> new Stm().atomic(() -> source.setHealth(10))).join();
+                source.setHealth(health - 1);
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(source.getStats().health()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Concurrent transfers never lose or create health")
+        void testConcurrentTransfers() throws Exception {
+            Stm stm = new Stm();
+            List<Character> party = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                Character character = CharacterFactory.createWarrior("W" + i);
+                character.setHealth(75);
+                party.add(character);
+            }
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    SplittableRandom random = new SplittableRandom(t);
+                    workers.add(pool.submit(() -> {
+                        for (int i = 0; i < 20_000; i++) {
+                            Character from = party.get(random.nextInt(party.size()));
+                            Character to = party.get(random.nextInt(party.size()));
+                            if (from == to) {
+                                continue;
+                            }
+                            stm.atomic(() -> {
+                                int fromHealth = from.getStats().health();
+                                int toHealth = to.getStats().health();
+                                if (fromHealth > 1 && toHealth < to.getStats().maxHealth()) {
+                                    from.setHealth(fromHealth - 1);
+                                    to.setHealth(toHealth + 1);
+                                }
+                            });
+                        }
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            int total = party.stream().mapToInt(character -> character.getStats().health()).sum();
+            assertThat(total).isEqualTo(12 * 75);
+            assertThat(stm.getCommits()).isPositive();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package edu.trincoll.game.strategy;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Caching Strategy Decorator Tests")
+class CachingStrategyTest {
+
+    @Nested
+    @DisplayName("Attack Cache")
+    class AttackCacheTests {
+
+        @Test
+        @DisplayName("Repeated stat combinations hit the cache")
+        void testRepeatedAttackHits() {
+            CachingAttackStrategy cached = new CachingAttackStrategy(new MeleeAttackStrategy(), 64);
+            Character attacker = CharacterFactory.createWarrior("Attacker");
+            Character target = CharacterFactory.createWarrior("Target");
+
+            int first = cached.calculateDamage(attacker, target);
+            int second = cached.calculateDamage(attacker, target);
+
+            assertThat(second).isEqualTo(first).isEqualTo(48);
+            assertThat(cached.getCache().hits()).isEqualTo(1);
+            assertThat(cached.getCache().misses()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Mana use is replayed on cache hits")
+        void testMagicManaReplayed() {
+            CachingAttackStrategy cached = new CachingAttackStrategy(new MagicAttackStrategy(), 64);
+            Character mage1 = CharacterFactory.createMage("Mage1");
+            Character mage2 = CharacterFactory.createMage("Mage2");
+            Character target = CharacterFactory.createWarrior("Target");
+
+            int damage1 = cached.calculateDamage(mage1, target);
+            int damage2 = cached.calculateDamage(mage2, target);
+
+            assertThat(damage2).isEqualTo(damage1).isEqualTo(70);
+            assertThat(cached.getCache().hits()).isEqualTo(1);
+            assertThat(mage2.getStats().mana()).as("Hit must still spend mana").isEqualTo(90);
+        }
+
+        @Test
+        @DisplayName("Mana is part of the key, so out-of-mana still throws")
+        void testOutOfManaNotCached() {
+            CachingAttackStrategy cached = new CachingAttackStrategy(new MagicAttackStrategy(), 64);
+            Character mage = CharacterFactory.createMage("Mage");
+            Character target = CharacterFactory.createWarrior("Target");
+            mage.useMana(95);
+
+            assertThatThrownBy(() -> cached.calculateDamage(mage, target))
+                .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> cached.calculateDamage(mage, target))
+                .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Target health is part of the key (ranged critical hits)")
+        void testRangedCriticalKeyed() {
+            CachingAttackStrategy cached = new CachingAttackStrategy(new RangedAttackStrategy(), 64);
+            Character archer = CharacterFactory.createArcher("Archer");
+            Character target = CharacterFactory.createWarrior("Target");
+
+            int normal = cached.calculateDamage(archer, target);
+            target.setHealth(20);
+            int critical = cached.calculateDamage(archer, target);
+
+            assertThat(critical).isGreaterThan(normal);
+        }
+
+        @Test
+        @DisplayName("Strategies that change other stats are never cached")
+        void testUncacheableSideEffects() {
+            CachingAttackStrategy cached = new CachingAttackStrategy((attacker, target) -> {
+                attacker.setHealth(attacker.getStats().health() - 1);
+                return 10;
+            }, 64);
+            Character attacker = CharacterFactory.createWarrior("Attacker");
+            Character target = CharacterFactory.createWarrior("Target");
+            attacker.setHealth(100);
+
+            cached.calculateDamage(attacker, target);
+            attacker.setHealth(100);
+            cached.calculateDamage(attacker, target);
+
+            assertThat(attacker.getStats().health()).isEqualTo(99);
+            assertThat(cached.getCache().size()).isZero();
+            assertThat(cached.getUncacheableCount()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Defense Cache")
+    class DefenseCacheTests {
+
+        @Test
+        @DisplayName("Defense results are memoized by defense and incoming damage")
+        void testDefenseHits() {
+            CachingDefenseStrategy cached = new CachingDefenseStrategy(new HeavyArmorDefenseStrategy(), 64);
+            Character defender = CharacterFactory.createWarrior("Defender");
+
+            assertThat(cached.calculateDamageReduction(defender, 100)).isEqualTo(70);
+            assertThat(cached.calculateDamageReduction(defender, 100)).isEqualTo(70);
+            assertThat(cached.calculateDamageReduction(defender, 50)).isEqualTo(20);
+
+            assertThat(cached.getCache().hits()).isEqualTo(1);
+            assertThat(cached.getCache().misses()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Decorators plug into characters like any strategy")
+        void testOnCharacter() {
+            Character defender = CharacterFactory.createWarrior("Defender");
+            defender.setDefenseStrategy(new CachingDefenseStrategy(defender.getDefenseStrategy(), 16));
+
+            defender.takeDamage(100);
+
+            assertThat(defender.getStats().health()).isEqualTo(80);
+        }
+    }
+
+    @Nested
+    @DisplayName("CLOCK Eviction")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Cache never grows past its bound")
+        void testBoundedSize() {
+            StandardDefenseStrategy uncached = new StandardDefenseStrategy();
+            CachingDefenseStrategy cached = new CachingDefenseStrategy(uncached, 8);
+            Character defender = CharacterFactory.createRogue("Defender");
+
+            for (int damage = 0; damage < 1000; damage++) {
+                assertThat(cached.calculateDamageReduction(defender, damage))
+                    .isEqualTo(uncached.calculateDamageReduction(defender, damage));
+            }
+
+            assertThat(cached.getCache().size()).isEqualTo(8);
+            assertThat(cached.getCache().evictions()).isEqualTo(992);
+        }
+
+        @Test
+        @DisplayName("Recently used entries get a second chance")
+        void testSecondChance() {
+            CachingDefenseStrategy cached = new CachingDefenseStrategy(new StandardDefenseStrategy(), 4);
+            Character defender = CharacterFactory.createRogue("Defender");
+
+            for (int round = 0; round < 50; round++) {
+                cached.calculateDamageReduction(defender, 42);
+                cached.calculateDamageReduction(defender, 1000 + round);
+            }
+
+            assertThat(cached.getCache().hits()).as("Hot key should stay resident").isGreaterThanOrEqualTo(45);
+        }
+    }
+}
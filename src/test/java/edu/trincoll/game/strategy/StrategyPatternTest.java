@@ -1,5 +1,6 @@
 package edu.trincoll.game.strategy;
 
+import edu.trincoll.game.factory.CharacterFactory;
 import edu.trincoll.game.model.Character;
 import edu.trincoll.game.model.CharacterStats;
 import edu.trincoll.game.model.CharacterType;
@@ -297,4 +298,94 @@ class StrategyPatternTest {
             assertThat(actualDamage).isEqualTo(50);
         }
     }
+
+    @Nested
+    @DisplayName("Strategy Kinds and Dispatch")
+    class StrategyKindTests {
+
+        @Test
+        @DisplayName("Built-in strategies report their kind")
+        void testBuiltInKinds() {
+            assertThat(new MeleeAttackStrategy().kind()).isEqualTo(AttackStrategy.Kind.MELEE);
+            assertThat(new MagicAttackStrategy().kind()).isEqualTo(AttackStrategy.Kind.MAGIC);
+            assertThat(new RangedAttackStrategy().kind()).isEqualTo(AttackStrategy.Kind.RANGED);
+            assertThat(new StandardDefenseStrategy().kind()).isEqualTo(DefenseStrategy.Kind.STANDARD);
+            assertThat(new HeavyArmorDefenseStrategy().kind()).isEqualTo(DefenseStrategy.Kind.HEAVY_ARMOR);
+        }
+
+        @Test
+        @DisplayName("Lambdas are custom strategies")
+        void testLambdaKind() {
+            AttackStrategy attack = (attacker, target) -> 1;
+            DefenseStrategy defense = (defender, damage) -> damage;
+
+            assertThat(attack.kind()).isEqualTo(AttackStrategy.Kind.CUSTOM);
+            assertThat(defense.kind()).isEqualTo(DefenseStrategy.Kind.CUSTOM);
+        }
+
+        @Test
+        @DisplayName("Switch dispatch matches calling the strategy directly")
+        void testDispatchMatchesStrategy() {
+            Character target = CharacterFactory.createArcher("Target");
+            target.setHealth(20);
+            for (CharacterType type : CharacterType.values()) {
+                Character viaCharacter = CharacterFactory.createCharacter("A", type);
+                Character viaStrategy = CharacterFactory.createCharacter("B", type);
+
+                assertThat(viaCharacter.attack(target))
+                    .isEqualTo(viaStrategy.getAttackStrategy().calculateDamage(viaStrategy, target));
+                assertThat(viaCharacter.getStats().mana()).isEqualTo(viaStrategy.getStats().mana());
+                assertThat(viaCharacter.defend(75))
+                    .isEqualTo(viaStrategy.getDefenseStrategy().calculateDamageReduction(viaStrategy, 75));
+            }
+        }
+
+        @Test
+        @DisplayName("Swapping to a lambda at runtime switches to the fallback path")
+        void testRuntimeSwapToLambda() {
+            Character fighter = CharacterFactory.createWarrior("Fighter");
+            Character target = CharacterFactory.createWarrior("Target");
+
+            fighter.setAttackStrategy((attacker, t) -> 7);
+            assertThat(fighter.attack(target)).isEqualTo(7);
+
+            fighter.setAttackStrategy(new MeleeAttackStrategy());
+            assertThat(fighter.attack(target)).isEqualTo(48);
+        }
+
+        @Test
+        @DisplayName("A custom strategy claiming a built-in kind still runs its own formula")
+        void testClaimedKindIgnored() {
+            Character fighter = CharacterFactory.createWarrior("Fighter");
+            Character target = CharacterFactory.createWarrior("Target");
+
+            fighter.setAttackStrategy(new AttackStrategy() {
+                @Override
+                public int calculateDamage(Character attacker, Character t) {
+                    return 7;
+                }
+
+                @Override
+                public Kind kind() {
+                    return Kind.MELEE;
+                }
+            });
+            fighter.setDefenseStrategy(new DefenseStrategy() {
+                @Override
+                public int calculateDamageReduction(Character defender, int damage) {
+                    return 1;
+                }
+
+                @Override
+                public Kind kind() {
+                    return Kind.HEAVY_ARMOR;
+                }
+            });
+
+            assertThat(fighter.getAttackKind()).isEqualTo(AttackStrategy.Kind.CUSTOM);
+            assertThat(fighter.getDefenseKind()).isEqualTo(DefenseStrategy.Kind.CUSTOM);
+            assertThat(fighter.attack(target)).isEqualTo(7);
+            assertThat(fighter.defend(75)).isEqualTo(1);
+        }
+    }
 }
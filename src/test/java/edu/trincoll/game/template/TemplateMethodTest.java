@@ -7,6 +7,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("Template Method Pattern Tests")
@@ -157,4 +159,62 @@ class TemplateMethodTest {
             }
         }
     }
+
+    @Nested
+    @DisplayName("Battle Runner")
+    class BattleRunnerTests {
+
+        @Test
+        @DisplayName("Battle runs until one team is defeated")
+        void testRunToVictory() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character rogue = CharacterFactory.createRogue("Rogue");
+
+            BattleRunner runner = new BattleRunner(List.of(warrior), List.of(rogue), 100);
+            BattleRunner.Outcome outcome = runner.run();
+
+            assertThat(outcome).isNotEqualTo(BattleRunner.Outcome.DRAW);
+            assertThat(warrior.isAlive()).isNotEqualTo(rogue.isAlive());
+            assertThat(runner.getCommandCount()).isEqualTo(runner.getTurns());
+            assertThat(runner.playTurn()).as("Finished battles play no more turns").isFalse();
+        }
+
+        @Test
+        @DisplayName("Characters out of mana rest instead of attacking")
+        void testRestWhenOutOfMana() {
+            Character mage = CharacterFactory.createMage("Mage");
+            mage.useMana(mage.getStats().mana());
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+
+            BattleRunner runner = new BattleRunner(List.of(mage), List.of(warrior), 1);
+            runner.playTurn();
+
+            assertThat(runner.getRestCount()).isEqualTo(1);
+            assertThat(mage.getStats().mana()).isEqualTo(BattleRunner.REST_MANA);
+            assertThat(warrior.getStats().health()).isEqualTo(warrior.getStats().maxHealth());
+        }
+
+        @Test
+        @DisplayName("Reaching the turn limit is a draw")
+        void testTurnLimitDraw() {
+            BattleRunner runner = new BattleRunner(
+                List.of(CharacterFactory.createWarrior("A")),
+                List.of(CharacterFactory.createWarrior("B")), 2);
+
+            assertThat(runner.run()).isEqualTo(BattleRunner.Outcome.DRAW);
+            assertThat(runner.getTurns()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Outcome is unavailable while the battle runs")
+        void testOutcomeWhileRunning() {
+            BattleRunner runner = new BattleRunner(
+                List.of(CharacterFactory.createWarrior("A")),
+                List.of(CharacterFactory.createWarrior("B")), 50);
+
+            assertThatThrownBy(runner::getOutcome).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> new BattleRunner(List.of(), List.of(CharacterFactory.createWarrior("B")), 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
 }
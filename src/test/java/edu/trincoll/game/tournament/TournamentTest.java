@@ -0,0 +1,132 @@
+package edu.trincoll.game.tournament;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tournament Tests")
+class TournamentTest {
+
+    @Nested
+    @DisplayName("Brackets")
+    class BracketTests {
+
+        @Test
+        @DisplayName("Default tournament pits every archetype against every other")
+        void testArchetypeTournament() {
+            ConcurrentLinkedQueue<MatchResult> results = new ConcurrentLinkedQueue<>();
+
+            Tournament.Result result = Tournament.builder().sink(results::add).build().run();
+
+            // 4 entrants: 12 ordered round-robin pairings, then 2 + 1 bracket matches
+            assertThat(result.matchesPlayed()).isEqualTo(15);
+            assertThat(results).hasSize(15);
+            assertThat(results.stream().filter(r -> r.stage().equals(Tournament.ROUND_ROBIN))).hasSize(12);
+            assertThat(results.stream().filter(r -> r.stage().equals("elimination-2")))
+                .singleElement()
+                .satisfies(fin -> assertThat(List.of(fin.first(), fin.second())).contains(result.champion()));
+            assertThat(result.standings()).extracting(Tournament.Standing::name)
+                .containsExactlyInAnyOrder("WARRIOR", "MAGE", "ARCHER", "ROGUE");
+            assertThat(result.standings().get(0).wins())
+                .isGreaterThanOrEqualTo(result.standings().get(3).wins());
+        }
+
+        @Test
+        @DisplayName("Top seeds get byes when the field isn't a power of two")
+        void testByes() {
+            List<Character> entrants = List.of(
+                CharacterFactory.createWarrior("Conan"),
+                CharacterFactory.createMage("Merlin"),
+                CharacterFactory.createArcher("Robin"));
+            ConcurrentLinkedQueue<MatchResult> results = new ConcurrentLinkedQueue<>();
+
+            Tournament.Result result = Tournament.builder()
+                .prototypes(entrants).sink(results::add).build().run();
+
+            // 6 round-robin matches, one semifinal (top seed has a bye) and the final
+            assertThat(result.matchesPlayed()).isEqualTo(8);
+            String topSeed = result.standings().get(0).name();
+            assertThat(results.stream().filter(r -> r.stage().equals("elimination-1")))
+                .singleElement()
+                .satisfies(semi -> assertThat(List.of(semi.first(), semi.second())).doesNotContain(topSeed));
+        }
+
+        @Test
+        @DisplayName("Bracket order keeps the top two seeds apart until the final")
+        void testBracketOrder() {
+            assertThat(Tournament.bracketOrder(8)).containsExactly(0, 7, 3, 4, 1, 6, 2, 5);
+            assertThat(Tournament.bracketOrder(2)).containsExactly(0, 1);
+        }
+
+        @Test
+        @DisplayName("Matches run on the supplied executor")
+        void testCustomExecutor() {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Tournament.Result result = Tournament.builder().executor(executor).build().run();
+
+                assertThat(result.champion()).isNotBlank();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Invalid tournaments are rejected")
+        void testValidation() {
+            Character conan = CharacterFactory.createWarrior("Conan");
+
+            assertThatThrownBy(() -> Tournament.builder().prototypes(List.of(conan)).build())
+                .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> Tournament.builder()
+                    .prototypes(List.of(conan, CharacterFactory.createMage("Conan"))).build())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Duplicate");
+            assertThatThrownBy(() -> Tournament.builder().turnLimit(0).build())
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV output")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Every match is streamed as one CSV row")
+        void testCsvRows() {
+            StringWriter out = new StringWriter();
+
+            try (CsvResultSink sink = new CsvResultSink(out)) {
+                Tournament.builder().sink(sink).build().run();
+                assertThat(sink.getRowCount()).isEqualTo(15);
+            }
+
+            List<String> lines = out.toString().lines().toList();
+            assertThat(lines.get(0)).isEqualTo(CsvResultSink.HEADER);
+            assertThat(lines).hasSize(16);
+        }
+
+        @Test
+        @DisplayName("Draws leave the winner empty and names are escaped")
+        void testCsvFormatting() {
+            StringWriter out = new StringWriter();
+
+            try (CsvResultSink sink = new CsvResultSink(out)) {
+                sink.accept(new MatchResult("round-robin", 7, "Smith, John", "Say \"hi\"", null, 200, 5, 9));
+            }
+
+            assertThat(out.toString().lines().skip(1))
+                .containsExactly("round-robin,7,\"Smith, John\",\"Say \"\"hi\"\"\",,200,5,9");
+        }
+    }
+}